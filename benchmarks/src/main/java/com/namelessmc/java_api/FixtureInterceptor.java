@@ -0,0 +1,107 @@
+package com.namelessmc.java_api;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+
+import com.github.mizosoft.methanol.Methanol;
+import com.github.mizosoft.methanol.ResponseBuilder;
+
+/**
+ * Serves fixture responses without touching the network, so benchmarks measure the library rather than a web
+ * server. The response body is handed to the library's own body handler, so response reading and parsing run
+ * exactly like they do for a real response.
+ */
+final class FixtureInterceptor implements Methanol.Interceptor {
+
+	private static final String ROUTE_PREFIX = "route=/api/v2/";
+	private static final HttpHeaders HEADERS = HttpHeaders.of(
+			Map.of("Content-Type", List.of("application/json")), (name, value) -> true);
+	private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+
+	private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+
+	/**
+	 * @param route Route without parameters, for example "users"
+	 */
+	FixtureInterceptor respond(final String route, final byte[] body) {
+		this.responses.put(route, body);
+		return this;
+	}
+
+	@Override
+	public <T> HttpResponse<T> intercept(final HttpRequest request, final Methanol.Interceptor.Chain<T> chain) throws IOException {
+		final String query = request.uri().getRawQuery();
+		final int start = query.indexOf(ROUTE_PREFIX) + ROUTE_PREFIX.length();
+		final int end = query.indexOf('&', start);
+		final String route = query.substring(start, end < 0 ? query.length() : end);
+		final byte[] body = this.responses.getOrDefault(route, EMPTY_OBJECT);
+
+		final HttpResponse.ResponseInfo info = new HttpResponse.ResponseInfo() {
+			@Override
+			public int statusCode() {
+				return 200;
+			}
+
+			@Override
+			public HttpHeaders headers() {
+				return HEADERS;
+			}
+
+			@Override
+			public HttpClient.Version version() {
+				return HttpClient.Version.HTTP_1_1;
+			}
+		};
+
+		final HttpResponse.BodySubscriber<T> subscriber = chain.bodyHandler().apply(info);
+		subscriber.onSubscribe(new Flow.Subscription() {
+			private boolean done;
+
+			@Override
+			public void request(final long n) {
+				// The subscriber may request more from onNext, only deliver the body once
+				if (this.done) {
+					return;
+				}
+				this.done = true;
+				subscriber.onNext(List.of(ByteBuffer.wrap(body)));
+				subscriber.onComplete();
+			}
+
+			@Override
+			public void cancel() {
+				this.done = true;
+			}
+		});
+
+		final T value = subscriber.getBody().toCompletableFuture().join();
+		return ResponseBuilder.<T>create()
+				.request(request)
+				.uri(request.uri())
+				.version(HttpClient.Version.HTTP_1_1)
+				.statusCode(200)
+				.headers(HEADERS)
+				.body(value)
+				.build();
+	}
+
+	@Override
+	public <T> CompletableFuture<HttpResponse<T>> interceptAsync(final HttpRequest request, final Methanol.Interceptor.Chain<T> chain) {
+		try {
+			return CompletableFuture.completedFuture(this.intercept(request, chain));
+		} catch (final IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+}
@@ -0,0 +1,384 @@
+package com.namelessmc.java_api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Response payloads for benchmarks. Payloads are generated from a fixed seed, so every run and every version of
+ * this library is benchmarked against exactly the same data. {@link Random} is specified to produce the same
+ * sequence on every JVM. Small payloads are also committed as files, so they can be inspected, and so a change to
+ * the generator that would silently change benchmark results is noticed.
+ * <p>
+ * Run {@link #main(String[])} with the resources directory as argument to write the committed fixtures again.
+ */
+public final class Fixtures {
+
+	private static final long SEED = 0x4e616d656c657373L;
+	private static final long BASE_TIMESTAMP = 1_514_764_800L; // 2018-01-01
+	private static final long TIMESTAMP_RANGE = 6L * 365 * 24 * 3600;
+
+	private static final String[][] GROUPS = {
+			{"1", "Member", "false"},
+			{"2", "Admin", "true"},
+			{"3", "Moderator", "true"},
+			{"4", "VIP", "false"},
+			{"5", "VIP+", "false"},
+			{"6", "Builder", "false"},
+	};
+	private static final String[][] PROFILE_FIELDS = {
+			{"1", "Location", "1", "Where do you live?"},
+			{"2", "About me", "2", "Tell us something about yourself"},
+			{"3", "Birthday", "3", "Your date of birth"},
+			{"4", "Discord", "1", "Your Discord username"},
+	};
+	private static final String[] LOCALES = {"en_UK", "en_US", "nl_NL", "de_DE", "fr_FR", "es_ES"};
+	private static final String[] CURRENCIES = {"USD", "EUR", "GBP"};
+
+	static final String USERS_100 = "users-100.json";
+	static final String STORE_PRODUCTS = "store-products.json";
+	static final String STORE_PAYMENTS_100 = "store-payments-100.json";
+	static final int PRODUCT_COUNT = 50;
+
+	private Fixtures() {
+	}
+
+	/**
+	 * @return API instance that never makes network requests, responses are served by the given interceptor
+	 */
+	static NamelessAPI api(final FixtureInterceptor interceptor) {
+		try {
+			return NamelessAPI.builder(new URL("http://benchmark.invalid/index.php?route=/api/v2/"), "benchmark")
+					.interceptor(interceptor)
+					.responseSizeLimit(Integer.MAX_VALUE)
+					.build();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return Committed fixture, after checking that the generator still produces the same content
+	 */
+	static byte[] committed(final String name, final byte[] generated) {
+		final byte[] committed;
+		try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+			if (in == null) {
+				throw new IllegalStateException("Missing fixture " + name);
+			}
+			committed = in.readAllBytes();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (!Arrays.equals(committed, generated)) {
+			throw new IllegalStateException("Fixture " + name + " does not match the generator. If the generator " +
+					"was changed on purpose, write the fixtures again. Results are not comparable to earlier runs.");
+		}
+		return committed;
+	}
+
+	static byte[] info() {
+		return ("{\"nameless_version\":\"2.1.2\",\"locale\":\"en_UK\",\"modules\":" +
+				"[\"Core\",\"Forum\",\"Discord Integration\",\"Cookie Consent\",\"Store\",\"Websend\",\"Suggestions\"]}")
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	static byte[] users(final int count) {
+		if (count == 100) {
+			return committed(USERS_100, generateUsers(count));
+		}
+		return generateUsers(count);
+	}
+
+	static byte[] products() {
+		return committed(STORE_PRODUCTS, generateProducts(PRODUCT_COUNT));
+	}
+
+	static byte[] payments(final int count) {
+		if (count == 100) {
+			return committed(STORE_PAYMENTS_100, generatePayments(count));
+		}
+		return generatePayments(count);
+	}
+
+	static byte[] generateUsers(final int count) {
+		final Random random = new Random(SEED);
+		return write(writer -> {
+			writer.beginObject();
+			writer.name("limit").value(0);
+			writer.name("users").beginArray();
+			for (int id = 1; id <= count; id++) {
+				writeUser(writer, random, id);
+			}
+			writer.endArray();
+			writer.endObject();
+		});
+	}
+
+	private static void writeUser(final JsonWriter writer, final Random random, final int id) throws IOException {
+		final String username = username(random);
+		final long registered = BASE_TIMESTAMP + (long) (random.nextDouble() * TIMESTAMP_RANGE);
+		writer.beginObject();
+		writer.name("id").value(id);
+		writer.name("username").value(username);
+		writer.name("displayname").value(random.nextInt(4) == 0 ? username(random) : username);
+		writer.name("avatar_url").value("https://example.com/uploads/avatars/" + id + ".png");
+		writer.name("locale").value(LOCALES[random.nextInt(LOCALES.length)]);
+		writer.name("registered_timestamp").value(registered);
+		writer.name("last_online_timestamp").value(registered + (long) (random.nextDouble() * 90 * 24 * 3600));
+		writer.name("banned").value(random.nextInt(50) == 0);
+		writer.name("validated").value(random.nextInt(10) != 0);
+
+		writer.name("groups").beginArray();
+		final int groupCount = 1 + random.nextInt(3);
+		int groupMask = 1; // Everyone is a member
+		for (int i = 1; i < groupCount; i++) {
+			groupMask |= 1 << (1 + random.nextInt(GROUPS.length - 1));
+		}
+		for (int i = 0; i < GROUPS.length; i++) {
+			if ((groupMask & (1 << i)) != 0) {
+				writer.beginObject();
+				writer.name("id").value(Integer.parseInt(GROUPS[i][0]));
+				writer.name("name").value(GROUPS[i][1]);
+				writer.name("staff").value(Boolean.parseBoolean(GROUPS[i][2]));
+				writer.name("order").value(i + 1);
+				writer.endObject();
+			}
+		}
+		writer.endArray();
+
+		writer.name("profile_fields").beginObject();
+		for (final String[] field : PROFILE_FIELDS) {
+			if (random.nextBoolean()) {
+				writer.name(field[0]).beginObject();
+				writer.name("name").value(field[1]);
+				writer.name("type").value(Integer.parseInt(field[2]));
+				writer.name("public").value(true);
+				writer.name("required").value(false);
+				writer.name("description").value(field[3]);
+				writer.name("value").value(random.nextInt(5) == 0 ? null : text(random, 4 + random.nextInt(40)));
+				writer.endObject();
+			}
+		}
+		writer.endObject();
+
+		writer.name("integrations").beginArray();
+		if (random.nextInt(10) != 0) {
+			final UUID uuid = new UUID(random.nextLong(), random.nextLong());
+			writeIntegration(writer, random, "Minecraft", NamelessAPI.javaUuidToWebsiteUuid(uuid), username);
+		}
+		if (random.nextInt(10) < 4) {
+			final long discordId = 100_000_000_000_000_000L + (long) (random.nextDouble() * 900_000_000_000_000_000L);
+			writeIntegration(writer, random, "Discord", Long.toString(discordId), username.toLowerCase() + "#" + (1000 + random.nextInt(9000)));
+		}
+		writer.endArray();
+
+		writer.endObject();
+	}
+
+	private static void writeIntegration(final JsonWriter writer, final Random random, final String name,
+										 final String identifier, final String username) throws IOException {
+		writer.beginObject();
+		writer.name("integration").value(name);
+		writer.name("identifier").value(identifier);
+		writer.name("username").value(username);
+		writer.name("verified").value(random.nextInt(5) != 0);
+		writer.name("linked_date").value(BASE_TIMESTAMP + (long) (random.nextDouble() * TIMESTAMP_RANGE));
+		writer.name("show_publicly").value(random.nextBoolean());
+		writer.endObject();
+	}
+
+	static byte[] generateProducts(final int count) {
+		final Random random = new Random(SEED);
+		final int categoryCount = Math.max(1, count / 8);
+		return write(writer -> {
+			writer.beginObject();
+			writer.name("products").beginArray();
+			for (int id = 1; id <= count; id++) {
+				writer.beginObject();
+				writer.name("id").value(id);
+				writer.name("category_id").value(1 + random.nextInt(categoryCount));
+				writer.name("name").value(text(random, 5 + random.nextInt(20)));
+				writer.name("price_cents").value(99 + random.nextInt(5000));
+				writer.name("hidden").value(random.nextInt(10) == 0);
+				writer.name("disabled").value(random.nextInt(20) == 0);
+				writer.name("required_products").beginArray();
+				if (id > 1 && random.nextInt(5) == 0) {
+					writer.value(1 + random.nextInt(id - 1));
+				}
+				writer.endArray();
+				writer.name("required_groups").beginArray();
+				if (random.nextInt(4) == 0) {
+					writer.value(1 + random.nextInt(GROUPS.length));
+				}
+				writer.endArray();
+				writer.name("required_integrations").beginArray();
+				if (random.nextBoolean()) {
+					writer.value(1);
+				}
+				writer.endArray();
+				writer.name("description").value("<p>" + text(random, 50 + random.nextInt(400)) + "</p>");
+				writer.name("fields").beginArray();
+				final int fieldCount = random.nextInt(3);
+				for (int i = 0; i < fieldCount; i++) {
+					writer.beginObject();
+					writer.name("id").value(id * 10 + i);
+					writer.name("identifier").value("field_" + i);
+					writer.name("type").value(1 + random.nextInt(4));
+					writer.name("required").value(random.nextBoolean());
+					writer.name("min").value(random.nextInt(3));
+					writer.name("regex").value(random.nextBoolean() ? null : "^[a-zA-Z0-9_]+$");
+					writer.name("default_value").value("");
+					writer.endObject();
+				}
+				writer.endArray();
+				writer.name("actions").beginArray();
+				final int actionCount = 1 + random.nextInt(3);
+				for (int i = 0; i < actionCount; i++) {
+					writer.beginObject();
+					writer.name("id").value(id * 10 + i);
+					writer.name("type").value(1 + random.nextInt(3));
+					writer.name("service_id").value(1 + random.nextInt(3));
+					writer.name("command").value("lp user {username} parent add " + GROUPS[random.nextInt(GROUPS.length)][1]);
+					writer.name("require_online").value(random.nextBoolean());
+					writer.name("own_connections").value(random.nextBoolean());
+					writer.endObject();
+				}
+				writer.endArray();
+				writer.endObject();
+			}
+			writer.endArray();
+			writer.name("categories").beginArray();
+			for (int id = 1; id <= categoryCount; id++) {
+				writer.beginObject();
+				writer.name("id").value(id);
+				writer.name("name").value(text(random, 4 + random.nextInt(12)));
+				writer.name("hidden").value(random.nextInt(10) == 0);
+				writer.name("disabled").value(false);
+				writer.endObject();
+			}
+			writer.endArray();
+			writer.endObject();
+		});
+	}
+
+	static byte[] generatePayments(final int count) {
+		final Random random = new Random(SEED);
+		return write(writer -> {
+			writer.beginObject();
+			writer.name("payments").beginArray();
+			for (int id = 1; id <= count; id++) {
+				final long created = BASE_TIMESTAMP + (long) (random.nextDouble() * TIMESTAMP_RANGE);
+				final int cents = 99 + random.nextInt(10000);
+				writer.beginObject();
+				writer.name("id").value(id);
+				writer.name("order_id").value(id);
+				writer.name("gateway_id").value(1 + random.nextInt(3));
+				writer.name("transaction").value(random.nextInt(10) == 0 ? null : Long.toHexString(random.nextLong()).toUpperCase());
+				writer.name("amount").value(cents / 100 + "." + String.format(Locale.ROOT, "%02d", cents % 100));
+				writer.name("currency").value(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+				writer.name("fee").value("0." + String.format(Locale.ROOT, "%02d", random.nextInt(100)));
+				writer.name("status_id").value(random.nextInt(10) < 8 ? 1 : random.nextInt(5));
+				writer.name("created").value(created);
+				writer.name("last_updated").value(created + random.nextInt(3600));
+				writeCustomer(writer.name("customer"), random);
+				writeCustomer(writer.name("recipient"), random);
+				writer.name("products").beginArray();
+				final int productCount = 1 + random.nextInt(3);
+				for (int i = 0; i < productCount; i++) {
+					writer.beginObject();
+					writer.name("id").value(1 + random.nextInt(PRODUCT_COUNT));
+					writer.name("name").value(text(random, 5 + random.nextInt(20)));
+					writer.endObject();
+				}
+				writer.endArray();
+				writer.endObject();
+			}
+			writer.endArray();
+			writer.endObject();
+		});
+	}
+
+	private static void writeCustomer(final JsonWriter writer, final Random random) throws IOException {
+		writer.beginObject();
+		writer.name("customer_id").value(1 + random.nextInt(100_000));
+		if (random.nextInt(3) == 0) {
+			writer.name("user_id").nullValue();
+		} else {
+			writer.name("user_id").value(1 + random.nextInt(100_000));
+		}
+		writer.name("username").value(username(random));
+		writer.name("identifier").value(NamelessAPI.javaUuidToWebsiteUuid(new UUID(random.nextLong(), random.nextLong())));
+		writer.endObject();
+	}
+
+	private static String username(final Random random) {
+		final int length = 3 + random.nextInt(14);
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			final int c = random.nextInt(63);
+			chars[i] = c < 26 ? (char) ('a' + c) : c < 52 ? (char) ('A' + c - 26) : c < 62 ? (char) ('0' + c - 52) : '_';
+		}
+		return new String(chars);
+	}
+
+	private static String text(final Random random, final int length) {
+		final StringBuilder text = new StringBuilder(length);
+		while (text.length() < length) {
+			if (text.length() > 0) {
+				text.append(' ');
+			}
+			final int wordLength = 1 + random.nextInt(9);
+			for (int i = 0; i < wordLength; i++) {
+				text.append((char) ('a' + random.nextInt(26)));
+			}
+		}
+		return text.toString();
+	}
+
+	private static byte[] write(final FixtureWriter fixture) {
+		final StringWriter out = new StringWriter();
+		try (JsonWriter writer = new JsonWriter(out)) {
+			fixture.write(writer);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@FunctionalInterface
+	private interface FixtureWriter {
+
+		void write(JsonWriter writer) throws IOException;
+
+	}
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: Fixtures <resources directory>");
+			System.exit(1);
+		}
+		final Path directory = Paths.get(args[0], "fixtures");
+		Files.createDirectories(directory);
+		for (final Map.Entry<String, byte[]> fixture : Map.of(
+				USERS_100, generateUsers(100),
+				STORE_PRODUCTS, generateProducts(PRODUCT_COUNT),
+				STORE_PAYMENTS_100, generatePayments(100)).entrySet()) {
+			Files.write(directory.resolve(fixture.getKey()), fixture.getValue());
+		}
+	}
+
+}
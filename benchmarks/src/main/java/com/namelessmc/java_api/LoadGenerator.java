@@ -0,0 +1,263 @@
+package com.namelessmc.java_api;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+
+/**
+ * Simulates Minecraft servers using the library against {@link MockNamelessServer}, to measure throughput and
+ * latency under a realistic traffic profile. Every simulated server:
+ * <ul>
+ *     <li>handles player joins: {@link NamelessAPI#userByMinecraftUuid(UUID)}, {@link NamelessUser#groups()} and
+ *     {@link NamelessUser#notificationCount()}, like the Minecraft plugin does when a player joins</li>
+ *     <li>polls store pending commands</li>
+ *     <li>polls websend commands</li>
+ * </ul>
+ * All simulated servers share one API instance and a fixed thread pool making blocking calls, like a proxy plugin,
+ * or a virtual thread per call. Work is scheduled at a fixed rate whether or not earlier work has finished, so join
+ * latency includes time spent waiting for a thread.
+ * <p>
+ * Options with a comma separated list of values are run for every combination, each combination is reported as
+ * one line. Run with "help" as argument for a list of options.
+ */
+public final class LoadGenerator {
+
+	private static final String[] OPTIONS = {
+			"servers=20", "Number of simulated Minecraft servers",
+			"joins=2", "Player joins per second, per server",
+			"store-interval=10", "Seconds between store pending commands requests, per server",
+			"websend-interval=2", "Seconds between websend commands requests, per server",
+			"users=10000", "Number of users on the website",
+			"latency=5-20", "Website latency range in milliseconds",
+			"warmup=10", "Warmup duration in seconds",
+			"duration=30", "Measurement duration in seconds",
+			"threads=16", "Threads making blocking API calls, or virtual for a virtual thread per call and virtual threads in the API, which requires Java 21 (list)",
+			"http=1.1", "HTTP version, 1.1 or 2 (list)",
+			"cache=off", "HTTP cache, on or off (list). When on, the server sends caching headers.",
+	};
+
+	private final Map<String, String> options;
+	private final MockNamelessServer server;
+	private final List<UUID> uuids = new ArrayList<>();
+
+	private LoadGenerator(final Map<String, String> options, final MockNamelessServer server) {
+		this.options = options;
+		this.server = server;
+		for (final JsonObject user : server.data().users()) {
+			for (final JsonElement integration : user.getAsJsonArray("integrations")) {
+				if (integration.getAsJsonObject().get("integration").getAsString().equals("Minecraft")) {
+					this.uuids.add(NamelessAPI.websiteUuidToJavaUuid(integration.getAsJsonObject().get("identifier").getAsString()));
+				}
+			}
+		}
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final Map<String, String> options = new LinkedHashMap<>();
+		for (int i = 0; i < OPTIONS.length; i += 2) {
+			final String[] option = OPTIONS[i].split("=", 2);
+			options.put(option[0], option[1]);
+		}
+		for (final String arg : args) {
+			final String[] option = arg.replaceFirst("^--", "").split("=", 2);
+			if (option.length != 2 || !options.containsKey(option[0])) {
+				System.out.println("Options:");
+				for (int i = 0; i < OPTIONS.length; i += 2) {
+					System.out.printf("  --%-20s %s%n", OPTIONS[i], OPTIONS[i + 1]);
+				}
+				System.exit(option[0].equals("help") ? 0 : 1);
+			}
+			options.put(option[0], option[1]);
+		}
+
+		final MockData data = MockData.generate(Integer.parseInt(options.get("users")));
+		final int servers = Integer.parseInt(options.get("servers"));
+		for (int i = 1; i <= servers; i++) {
+			data.addPendingCommand(i, 1 + i, "give {username} diamond 1");
+		}
+
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final String[] latency = options.get("latency").split("-");
+			server.latency(Duration.ofMillis(Long.parseLong(latency[0])),
+					Duration.ofMillis(Long.parseLong(latency[latency.length - 1])));
+
+			final LoadGenerator generator = new LoadGenerator(options, server);
+			System.out.printf("%d servers, %s joins/s per server, %s users, latency %sms%n", servers,
+					options.get("joins"), options.get("users"), options.get("latency"));
+			System.out.printf("%-8s %-5s %-6s %10s %8s %10s %10s %10s %12s %10s %8s%n", "threads", "http", "cache",
+					"requests", "req/s", "join p50", "join p99", "join p999", "req p99", "alloc MB/s", "errors");
+			for (final String threads : options.get("threads").split(",")) {
+				for (final String http : options.get("http").split(",")) {
+					for (final String cache : options.get("cache").split(",")) {
+						generator.run(threads, http, cache.equals("on"));
+					}
+				}
+			}
+			if (Arrays.asList(options.get("threads").split(",")).contains("virtual")) {
+				System.out.println("alloc MB/s is n/a for virtual threads, allocation is only measured per platform thread");
+			}
+		}
+	}
+
+	private void run(final String threads, final String http, final boolean cache) throws InterruptedException {
+		final boolean virtual = threads.equals("virtual");
+		final HttpClient.Version version = http.equals("2") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+		final HistogramMetricsRecorder metrics = MetricsRecorder.histogram();
+		final NamelessApiBuilder builder = this.server.apiBuilder()
+				.httpVersion(version)
+				.metricsRecorder(metrics)
+				.virtualThreads(virtual);
+		if (cache) {
+			builder.memoryCache(64 * 1024 * 1024);
+		}
+		this.server.cacheHeaders(cache ? Duration.ofSeconds(5) : null);
+		final NamelessAPI api = builder.build();
+
+		final ExecutorService workers = virtual
+				? virtualThreadPerTaskExecutor()
+				: Executors.newFixedThreadPool(Integer.parseInt(threads));
+		final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		final LatencyHistogram joinLatency = new LatencyHistogram();
+		final LongAdder errors = new LongAdder();
+
+		final int servers = Integer.parseInt(this.options.get("servers"));
+		final long joinIntervalNanos = (long) (1_000_000_000 / Double.parseDouble(this.options.get("joins")));
+		final long storeIntervalNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(this.options.get("store-interval")));
+		final long websendIntervalNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(this.options.get("websend-interval")));
+		for (int i = 1; i <= servers; i++) {
+			final int serverId = i;
+			schedule(scheduler, workers, joinIntervalNanos, () -> {
+				final long start = System.nanoTime();
+				final UUID uuid = this.uuids.get(ThreadLocalRandom.current().nextInt(this.uuids.size()));
+				final NamelessUser user = api.userByMinecraftUuid(uuid);
+				if (user != null) {
+					user.groups();
+					user.notificationCount();
+				}
+				joinLatency.record(System.nanoTime() - start);
+			}, errors);
+			schedule(scheduler, workers, storeIntervalNanos, () -> api.store().pendingCommands(serverId), errors);
+			schedule(scheduler, workers, websendIntervalNanos, () -> api.websend().commands(serverId), errors);
+		}
+
+		Thread.sleep(TimeUnit.SECONDS.toMillis(Long.parseLong(this.options.get("warmup"))));
+		joinLatency.reset();
+		metrics.reset();
+		errors.reset();
+		final Map<Long, Long> allocatedBefore = allocatedBytes();
+		final long start = System.nanoTime();
+
+		Thread.sleep(TimeUnit.SECONDS.toMillis(Long.parseLong(this.options.get("duration"))));
+
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		long allocated = 0;
+		for (final Map.Entry<Long, Long> thread : allocatedBytes().entrySet()) {
+			allocated += thread.getValue() - allocatedBefore.getOrDefault(thread.getKey(), 0L);
+		}
+		// Per thread allocation counters don't include virtual threads, and a heap wide counter would include the mock
+		// server running in the same JVM
+		final String allocatedRate = virtual ? "n/a" : String.format("%.1f", allocated / seconds / 1024 / 1024);
+		scheduler.shutdownNow();
+		workers.shutdownNow();
+		workers.awaitTermination(10, TimeUnit.SECONDS);
+
+		long requests = 0;
+		for (final HistogramMetricsRecorder.RouteMetrics route : metrics.routes().values()) {
+			requests += route.requestCount();
+		}
+		// Approximate the overall request p99 by the worst route, routes are not merged into one histogram
+		Duration requestP99 = Duration.ZERO;
+		for (final HistogramMetricsRecorder.RouteMetrics route : metrics.routes().values()) {
+			if (route.latency().p99().compareTo(requestP99) > 0) {
+				requestP99 = route.latency().p99();
+			}
+		}
+
+		System.out.printf("%-8s %-5s %-6s %10d %8.0f %10s %10s %10s %12s %10s %8d%n", threads, http,
+				cache ? "on" : "off", requests, requests / seconds, millis(joinLatency.p50()),
+				millis(joinLatency.p99()), millis(joinLatency.p999()), millis(requestP99),
+				allocatedRate, errors.sum());
+		for (final Map.Entry<String, HistogramMetricsRecorder.RouteMetrics> route : metrics.routes().entrySet()) {
+			System.out.printf("    %-40s %s%n", route.getKey(), route.getValue());
+		}
+	}
+
+	@FunctionalInterface
+	private interface Task {
+
+		void run() throws Exception;
+
+	}
+
+	private static void schedule(final ScheduledExecutorService scheduler, final ExecutorService workers,
+								 final long intervalNanos, final Task task, final LongAdder errors) {
+		final long initialDelay = ThreadLocalRandom.current().nextLong(intervalNanos);
+		scheduler.scheduleAtFixedRate(() -> {
+			try {
+				workers.execute(() -> {
+					try {
+						task.run();
+					} catch (final Exception e) {
+						errors.increment();
+					}
+				});
+			} catch (final RejectedExecutionException e) {
+				// Shutting down
+			}
+		}, initialDelay, intervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private static ExecutorService virtualThreadPerTaskExecutor() {
+		// The benchmarks are compiled for Java 11
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (final ReflectiveOperationException e) {
+			throw new IllegalStateException("Virtual threads require Java 21 or newer", e);
+		}
+	}
+
+	private static String millis(final Duration duration) {
+		return String.format("%.1fms", duration.toNanos() / 1e6);
+	}
+
+	/**
+	 * @return Bytes allocated so far by each live platform thread, except the mock server's threads which run in the
+	 * same JVM. Allocations by virtual threads, and by threads that exit during a measurement, are not counted.
+	 */
+	private static Map<Long, Long> allocatedBytes() {
+		final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		final long[] ids = Arrays.stream(threads.getThreadInfo(threads.getAllThreadIds()))
+				.filter(info -> info != null && !info.getThreadName().startsWith("mock-nameless"))
+				.mapToLong(ThreadInfo::getThreadId)
+				.toArray();
+		final long[] allocated = threads.getThreadAllocatedBytes(ids);
+		final Map<Long, Long> result = new HashMap<>();
+		for (int i = 0; i < ids.length; i++) {
+			if (allocated[i] >= 0) {
+				result.put(ids[i], allocated[i]);
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.namelessmc.java_api;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.exception.NamelessException;
+
+/**
+ * Parsing the user list. {@link #users()} decodes users one at a time from the response stream, {@link #usersTree()}
+ * builds a JSON tree of the entire response first, like all responses were parsed before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+	@Param({"100", "10000", "100000"})
+	public int users;
+
+	private NamelessAPI api;
+
+	@Setup
+	public void setup() {
+		this.api = Fixtures.api(new FixtureInterceptor().respond("users", Fixtures.users(this.users)));
+	}
+
+	@Benchmark
+	public List<NamelessUser> users() throws NamelessException {
+		return this.api.users().makeRequest();
+	}
+
+	@Benchmark
+	public JsonObject usersTree() throws NamelessException {
+		return this.api.users().makeRawRequest();
+	}
+
+}
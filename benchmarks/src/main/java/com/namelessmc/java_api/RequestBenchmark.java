@@ -0,0 +1,57 @@
+package com.namelessmc.java_api;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.exception.NamelessException;
+
+/**
+ * Cost of building a request: route and parameter encoding, and a complete GET request with a tiny response, which
+ * is the fixed overhead every API call pays on top of parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBenchmark {
+
+	private RequestHandler requests;
+	private String uuid;
+
+	@Setup
+	public void setup() {
+		this.requests = Fixtures.api(new FixtureInterceptor()).requests();
+		this.uuid = NamelessAPI.javaUuidToWebsiteUuid(UUID.randomUUID());
+	}
+
+	@Benchmark
+	public String encodeParameters() {
+		return this.requests.routeWithParameters("users", "groups", null, "operator", "AND", "limit", 0,
+				"integration", "minecraft", "search", "Derkades & friends");
+	}
+
+	@Benchmark
+	public JsonObject get() throws NamelessException {
+		return this.requests.get("users/integration_id:minecraft:" + this.uuid);
+	}
+
+	@Benchmark
+	public JsonObject getWithParameters() throws NamelessException {
+		return this.requests.get("store/pending-commands", "connection_id", 1, "player", this.uuid);
+	}
+
+}
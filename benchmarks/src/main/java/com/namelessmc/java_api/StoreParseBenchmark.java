@@ -0,0 +1,90 @@
+package com.namelessmc.java_api;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.modules.store.StoreAPI;
+import com.namelessmc.java_api.modules.store.StorePayment;
+import com.namelessmc.java_api.modules.store.StoreProduct;
+
+/**
+ * Parsing store products and payments into model objects, compared to only building a JSON tree of the response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StoreParseBenchmark {
+
+	private RequestHandler requests;
+	private StoreAPI store;
+
+	@Setup
+	public void setup() throws NamelessException {
+		final NamelessAPI api = Fixtures.api(new FixtureInterceptor()
+				.respond("info", Fixtures.info())
+				.respond("store/products", Fixtures.products()));
+		this.requests = api.requests();
+		this.store = api.store();
+	}
+
+	@Benchmark
+	public List<StoreProduct> products() throws NamelessException {
+		return this.store.products();
+	}
+
+	@Benchmark
+	public JsonObject productsTree() throws NamelessException {
+		return this.requests.get("store/products");
+	}
+
+	@Benchmark
+	public List<StorePayment> payments(final Payments payments) throws NamelessException {
+		return payments.store.payments();
+	}
+
+	@Benchmark
+	public JsonObject paymentsTree(final Payments payments) throws NamelessException {
+		return payments.requests.get("store/payments");
+	}
+
+	/**
+	 * Separate state, so only the payments benchmarks run for every payment count
+	 */
+	@State(Scope.Benchmark)
+	public static class Payments {
+
+		@Param({"100", "10000"})
+		public int payments;
+
+		private RequestHandler requests;
+		private StoreAPI store;
+
+		@Setup
+		public void setup() throws NamelessException {
+			final NamelessAPI api = Fixtures.api(new FixtureInterceptor()
+					.respond("info", Fixtures.info())
+					.respond("store/payments", Fixtures.payments(this.payments)));
+			this.requests = api.requests();
+			this.store = api.store();
+		}
+
+	}
+
+}
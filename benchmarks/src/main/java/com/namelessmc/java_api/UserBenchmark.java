@@ -0,0 +1,70 @@
+package com.namelessmc.java_api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.namelessmc.java_api.exception.NamelessException;
+
+/**
+ * Building model objects from user info that has already been parsed, for all 100 users in the committed fixture.
+ * A new {@link NamelessUser} is created every time, so results cached inside the user object are not reused.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserBenchmark {
+
+	private NamelessAPI api;
+	private JsonObject[] users;
+
+	@Setup
+	public void setup() {
+		this.api = Fixtures.api(new FixtureInterceptor());
+		final JsonArray users = JsonParser.parseString(new String(Fixtures.users(100), StandardCharsets.UTF_8))
+				.getAsJsonObject().getAsJsonArray("users");
+		this.users = new JsonObject[users.size()];
+		for (int i = 0; i < this.users.length; i++) {
+			this.users[i] = users.get(i).getAsJsonObject();
+		}
+	}
+
+	@Benchmark
+	public void groups(final Blackhole blackhole) throws NamelessException {
+		for (final JsonObject user : this.users) {
+			blackhole.consume(new NamelessUser(this.api, user).groups());
+		}
+	}
+
+	@Benchmark
+	public void integrations(final Blackhole blackhole) throws NamelessException {
+		for (final JsonObject user : this.users) {
+			blackhole.consume(new NamelessUser(this.api, user).integrations());
+		}
+	}
+
+	@Benchmark
+	public void profileFields(final Blackhole blackhole) throws NamelessException {
+		for (final JsonObject user : this.users) {
+			blackhole.consume(new NamelessUser(this.api, user).profileFields());
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.namelessmc.java_api;
+
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Retained memory of cached user information: the json tree as returned by the website, compared to the parsed
+ * {@link UserInfo} records. Groups and profile field definitions are shared between records, so they are measured
+ * once for all users, like they would be in a {@link UserCache}.
+ * <p>
+ * Usage: <code>java -cp target/benchmarks.jar com.namelessmc.java_api.UserFootprint [users]</code>
+ */
+public final class UserFootprint {
+
+	private UserFootprint() {
+	}
+
+	public static void main(final String[] args) {
+		final int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		final JsonArray users = JsonParser.parseString(new String(Fixtures.users(count), StandardCharsets.UTF_8))
+				.getAsJsonObject().getAsJsonArray("users");
+
+		final UserInfoInterner interner = new UserInfoInterner();
+		final JsonObject[] json = new JsonObject[users.size()];
+		final UserInfo[] records = new UserInfo[users.size()];
+		for (int i = 0; i < json.length; i++) {
+			json[i] = users.get(i).getAsJsonObject();
+			records[i] = UserInfo.parse(json[i], interner);
+		}
+
+		final GraphLayout jsonLayout = GraphLayout.parseInstance((Object) json);
+		final GraphLayout recordLayout = GraphLayout.parseInstance((Object) records);
+		final long estimated = estimatedSize(records);
+
+		System.out.printf("users:       %d%n", json.length);
+		System.out.printf("json tree:   %,d bytes (%,d per user, %,d objects)%n",
+				jsonLayout.totalSize(), jsonLayout.totalSize() / json.length, jsonLayout.totalCount());
+		System.out.printf("UserInfo:    %,d bytes (%,d per user, %,d objects)%n",
+				recordLayout.totalSize(), recordLayout.totalSize() / json.length, recordLayout.totalCount());
+		System.out.printf("estimated:   %,d bytes (%,d per user, used as UserCache weight)%n",
+				estimated, estimated / json.length);
+		System.out.printf("reduction:   %.1fx%n", (double) jsonLayout.totalSize() / recordLayout.totalSize());
+		System.out.println();
+		System.out.println(recordLayout.toFootprint());
+	}
+
+	private static long estimatedSize(final UserInfo[] records) {
+		long size = 0;
+		for (final UserInfo record : records) {
+			size += record.estimatedSize();
+		}
+		return size;
+	}
+
+}
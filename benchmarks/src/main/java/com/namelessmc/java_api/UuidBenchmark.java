@@ -0,0 +1,120 @@
+package com.namelessmc.java_api;
+
+import java.math.BigInteger;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converting between website UUID strings and Java UUIDs, done for every Minecraft integration and UUID lookup.
+ * The <code>legacy</code> benchmarks are the implementations used before {@link IdentifierCodec}, for comparison.
+ * Bulk benchmarks convert all {@value #COUNT} UUIDs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UuidBenchmark {
+
+	private static final int COUNT = 1024;
+
+	private final UUID[] uuids = new UUID[COUNT];
+	private final String[] websiteUuids = new String[COUNT];
+	private final UUID[] uuidResult = new UUID[COUNT];
+	private final String[] websiteUuidResult = new String[COUNT];
+	private int index;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(0);
+		for (int i = 0; i < COUNT; i++) {
+			this.uuids[i] = new UUID(random.nextLong(), random.nextLong());
+			this.websiteUuids[i] = NamelessAPI.javaUuidToWebsiteUuid(this.uuids[i]);
+		}
+	}
+
+	@Benchmark
+	public UUID websiteUuidToJavaUuid() {
+		return NamelessAPI.websiteUuidToJavaUuid(this.websiteUuids[this.index++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public String javaUuidToWebsiteUuid() {
+		return NamelessAPI.javaUuidToWebsiteUuid(this.uuids[this.index++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public String minecraftTransformer() {
+		return IdentifierCodec.minecraftTransformer(this.uuids[this.index++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public UUID[] bulkWebsiteUuidsToJavaUuids() {
+		IdentifierCodec.websiteUuidsToJavaUuids(this.websiteUuids, this.uuidResult);
+		return this.uuidResult;
+	}
+
+	@Benchmark
+	public String[] bulkJavaUuidsToWebsiteUuids() {
+		IdentifierCodec.javaUuidsToWebsiteUuids(this.uuids, this.websiteUuidResult);
+		return this.websiteUuidResult;
+	}
+
+	@Benchmark
+	public UUID legacyWebsiteUuidToJavaUuid() {
+		return legacyWebsiteUuidToJavaUuid(this.websiteUuids[this.index++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public String legacyJavaUuidToWebsiteUuid() {
+		return legacyJavaUuidToWebsiteUuid(this.uuids[this.index++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public String legacyMinecraftTransformer() {
+		return URLEncoder.encode("integration_id:Minecraft:" + legacyJavaUuidToWebsiteUuid(this.uuids[this.index++ & (COUNT - 1)]),
+				StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public UUID[] legacyBulkWebsiteUuidsToJavaUuids() {
+		for (int i = 0; i < COUNT; i++) {
+			this.uuidResult[i] = legacyWebsiteUuidToJavaUuid(this.websiteUuids[i]);
+		}
+		return this.uuidResult;
+	}
+
+	@Benchmark
+	public String[] legacyBulkJavaUuidsToWebsiteUuids() {
+		for (int i = 0; i < COUNT; i++) {
+			this.websiteUuidResult[i] = legacyJavaUuidToWebsiteUuid(this.uuids[i]);
+		}
+		return this.websiteUuidResult;
+	}
+
+	private static UUID legacyWebsiteUuidToJavaUuid(final String uuid) {
+		final BigInteger a = new BigInteger(uuid.substring(0, 16), 16);
+		final BigInteger b = new BigInteger(uuid.substring(16, 32), 16);
+		return new UUID(a.longValue(), b.longValue());
+	}
+
+	private static String legacyJavaUuidToWebsiteUuid(final UUID uuid) {
+		return uuid.toString().replace("-", "");
+	}
+
+}
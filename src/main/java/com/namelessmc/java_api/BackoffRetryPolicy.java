@@ -0,0 +1,156 @@
+package com.namelessmc.java_api;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Retry policy with exponential backoff and "decorrelated jitter": every delay is picked randomly between the
+ * base delay and three times the previous delay, capped at the maximum delay. This spreads out retries from
+ * many clients better than plain exponential backoff.
+ * @see RetryPolicy#backoff()
+ */
+public final class BackoffRetryPolicy implements RetryPolicy {
+
+	/**
+	 * Any network error, except for responses that are larger than the response size limit
+	 */
+	public static final Predicate<IOException> NETWORK_ERRORS = e -> !(e instanceof ResponseTooLargeException);
+
+	/**
+	 * Only network errors where the request has certainly not reached the website
+	 */
+	public static final Predicate<IOException> NOT_SENT_ERRORS = e -> {
+		final @Nullable String message = e.getMessage();
+		return e instanceof ConnectException ||
+				e instanceof HttpConnectTimeoutException ||
+				(message != null && message.contains("GOAWAY received"));
+	};
+
+	static final BackoffRetryPolicy NONE = new Builder().maxRetries(0).build();
+	static final BackoffRetryPolicy DEFAULT_GET = new Builder()
+			.retryOn(NETWORK_ERRORS)
+			.retryOnStatus(429, 502, 503, 504, 520, 521, 522, 523, 524)
+			.build();
+	static final BackoffRetryPolicy DEFAULT_POST = new Builder()
+			.retryOn(NOT_SENT_ERRORS)
+			.retryOnStatus(429)
+			.build();
+
+	private final int maxRetries;
+	private final @NonNull Duration baseDelay;
+	private final @NonNull Duration maxDelay;
+	private final @NonNull Predicate<IOException> retryOn;
+	private final @NonNull Set<Integer> retryOnStatus;
+
+	private BackoffRetryPolicy(final @NonNull Builder builder) {
+		this.maxRetries = builder.maxRetries;
+		this.baseDelay = builder.baseDelay;
+		this.maxDelay = builder.maxDelay;
+		this.retryOn = builder.retryOn;
+		this.retryOnStatus = Set.copyOf(builder.retryOnStatus);
+	}
+
+	@Override
+	public @Nullable Duration retryAfterException(final int retries,
+												  final @Nullable Duration previousDelay,
+												  final @NonNull IOException exception) {
+		if (retries >= this.maxRetries || !this.retryOn.test(exception)) {
+			return null;
+		}
+		return this.nextDelay(previousDelay);
+	}
+
+	@Override
+	public @Nullable Duration retryAfterResponse(final int retries,
+												 final @Nullable Duration previousDelay,
+												 final int statusCode) {
+		if (retries >= this.maxRetries || !this.retryOnStatus.contains(statusCode)) {
+			return null;
+		}
+		return this.nextDelay(previousDelay);
+	}
+
+	private @NonNull Duration nextDelay(final @Nullable Duration previousDelay) {
+		final long base = this.baseDelay.toNanos();
+		final long previous = previousDelay != null ? previousDelay.toNanos() : base;
+		final long upper = Math.max(base, Math.min(this.maxDelay.toNanos(), previous * 3));
+		final long delay = upper > base ? ThreadLocalRandom.current().nextLong(base, upper + 1) : base;
+		return Duration.ofNanos(delay);
+	}
+
+	public static final class Builder {
+
+		private int maxRetries = 2;
+		private @NonNull Duration baseDelay = Duration.ofMillis(100);
+		private @NonNull Duration maxDelay = Duration.ofSeconds(2);
+		private @NonNull Predicate<IOException> retryOn = NETWORK_ERRORS;
+		private final @NonNull Set<Integer> retryOnStatus = new HashSet<>();
+
+		Builder() {
+		}
+
+		/**
+		 * @param maxRetries Maximum number of retries for a single request, default 2
+		 */
+		public @NonNull Builder maxRetries(final int maxRetries) {
+			Preconditions.checkArgument(maxRetries >= 0, "Max retries must not be negative");
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		/**
+		 * @param baseDelay Minimum delay before a retry, default 100ms
+		 */
+		public @NonNull Builder baseDelay(final @NonNull Duration baseDelay) {
+			Preconditions.checkArgument(!baseDelay.isNegative(), "Base delay must not be negative");
+			this.baseDelay = baseDelay;
+			return this;
+		}
+
+		/**
+		 * @param maxDelay Maximum delay before a retry, default 2 seconds
+		 */
+		public @NonNull Builder maxDelay(final @NonNull Duration maxDelay) {
+			Preconditions.checkArgument(!maxDelay.isNegative(), "Max delay must not be negative");
+			this.maxDelay = maxDelay;
+			return this;
+		}
+
+		/**
+		 * @param retryOn Network errors to retry, default {@link #NETWORK_ERRORS}
+		 */
+		public @NonNull Builder retryOn(final @NonNull Predicate<IOException> retryOn) {
+			this.retryOn = Objects.requireNonNull(retryOn, "Predicate is null");
+			return this;
+		}
+
+		/**
+		 * @param statusCodes Status codes to retry, in addition to status codes added before. By default, no status codes are retried.
+		 */
+		public @NonNull Builder retryOnStatus(final int... statusCodes) {
+			for (final int statusCode : statusCodes) {
+				this.retryOnStatus.add(statusCode);
+			}
+			return this;
+		}
+
+		public @NonNull BackoffRetryPolicy build() {
+			Preconditions.checkArgument(this.maxDelay.compareTo(this.baseDelay) >= 0, "Max delay must not be smaller than base delay");
+			return new BackoffRetryPolicy(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,323 @@
+package com.namelessmc.java_api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.integrations.StandardIntegrationTypes;
+
+/**
+ * Looks up many users at once by listing users, instead of one request per user. Pages of users are requested
+ * until every requested user has been found or all users have been listed, so requested users that are not
+ * registered cost a full listing. If the {@link UserIndex} is fresh, no requests are made at all.
+ * <p>
+ * Users found in a listing are added to the {@link UserCache} if configured, provided the listing contains all user
+ * information. If the listing does not contain integrations, users are looked up one at a time instead.
+ *
+ * @param <K> Type of identifier, like a Minecraft UUID
+ */
+final class BulkUserLookup<K> {
+
+	private final @NonNull NamelessAPI api;
+	private final @Nullable UserFilter<String> filter;
+	private final @Nullable String filterValue;
+	// Normalizes identifiers, so users can be matched case insensitively
+	private final @NonNull Function<K, Object> normalize;
+	// Normalized identifier of a listed user, or null if the user has no such identifier
+	private final @NonNull IdentifierExtractor identifier;
+	private final @NonNull Function<K, NamelessUser> lazyUser;
+	private final @Nullable IndexLookup<K> indexLookup;
+	private final int pageSize;
+
+	private BulkUserLookup(final @NonNull NamelessAPI api,
+						   final @Nullable String integration,
+						   final @NonNull Function<K, Object> normalize,
+						   final @NonNull IdentifierExtractor identifier,
+						   final @NonNull Function<K, NamelessUser> lazyUser,
+						   final @Nullable IndexLookup<K> indexLookup,
+						   final int pageSize) {
+		this.api = api;
+		this.filter = integration != null ? UserFilter.INTEGRATION : null;
+		this.filterValue = integration;
+		this.normalize = normalize;
+		this.identifier = identifier;
+		this.lazyUser = lazyUser;
+		this.indexLookup = indexLookup;
+		this.pageSize = pageSize;
+	}
+
+	static @NonNull BulkUserLookup<UUID> minecraftUuids(final @NonNull NamelessAPI api, final int pageSize) {
+		return new BulkUserLookup<>(api,
+				StandardIntegrationTypes.MINECRAFT,
+				uuid -> uuid,
+				userInfo -> {
+					final @Nullable String identifier = userInfo.integrationIdentifier(StandardIntegrationTypes.MINECRAFT);
+					if (identifier == null) {
+						return null;
+					}
+					try {
+						return IdentifierCodec.websiteUuidToJavaUuid(identifier);
+					} catch (final IllegalArgumentException e) {
+						invalidIdentifier(api, userInfo, StandardIntegrationTypes.MINECRAFT, identifier);
+						return null;
+					}
+				},
+				api::userByMinecraftUuidLazy,
+				UserIndex::userByMinecraftUuid,
+				pageSize);
+	}
+
+	static @NonNull BulkUserLookup<Long> discordIds(final @NonNull NamelessAPI api, final int pageSize) {
+		return new BulkUserLookup<>(api,
+				StandardIntegrationTypes.DISCORD,
+				id -> id,
+				userInfo -> {
+					final @Nullable String identifier = userInfo.integrationIdentifier(StandardIntegrationTypes.DISCORD);
+					if (identifier == null) {
+						return null;
+					}
+					try {
+						return Long.parseLong(identifier);
+					} catch (final NumberFormatException e) {
+						invalidIdentifier(api, userInfo, StandardIntegrationTypes.DISCORD, identifier);
+						return null;
+					}
+				},
+				api::userByDiscordIdLazy,
+				UserIndex::userByDiscordId,
+				pageSize);
+	}
+
+	static @NonNull BulkUserLookup<String> usernames(final @NonNull NamelessAPI api, final int pageSize) {
+		return new BulkUserLookup<>(api,
+				null,
+				username -> username.toLowerCase(Locale.ROOT),
+				userInfo -> userInfo.username().toLowerCase(Locale.ROOT),
+				api::userByUsernameLazy,
+				UserIndex::userByUsername,
+				pageSize);
+	}
+
+	/**
+	 * Identifiers of any integration, matched case insensitively
+	 */
+	static @NonNull BulkUserLookup<String> integrationIdentifiers(final @NonNull NamelessAPI api,
+																 final @NonNull String integration,
+																 final int pageSize) {
+		return new BulkUserLookup<>(api,
+				integration,
+				identifier -> identifier.toLowerCase(Locale.ROOT),
+				userInfo -> {
+					final @Nullable String identifier = userInfo.integrationIdentifier(integration);
+					return identifier != null ? identifier.toLowerCase(Locale.ROOT) : null;
+				},
+				identifier -> api.byIntegrationIdentifierLazy(integration, identifier),
+				null,
+				pageSize);
+	}
+
+	private static void invalidIdentifier(final @NonNull NamelessAPI api,
+										  final @NonNull UserInfo userInfo,
+										  final @NonNull String integration,
+										  final @NonNull String identifier) {
+		api.requests().debug(() -> "Ignoring invalid " + integration + " identifier '" + identifier + "' of user " + userInfo.id());
+	}
+
+	/**
+	 * Look up users, blocking the current thread. Does not wait for the completion executor, so it is safe to use on
+	 * the completion executor thread.
+	 */
+	@NonNull Map<K, Optional<NamelessUser>> lookup(final @NonNull Collection<K> identifiers) throws NamelessException {
+		final Map<K, Optional<NamelessUser>> result = new LinkedHashMap<>();
+		final @Nullable Map<Object, List<K>> remaining = this.start(identifiers, result);
+		if (remaining == null) {
+			return result;
+		}
+
+		final FilteredUserListBuilder builder = this.listBuilder();
+		int offset = 0;
+		int firstUserId = -1;
+		while (true) {
+			final List<NamelessUser> page = builder.page(this.pageSize, offset);
+			if (!this.matchPage(page, offset, firstUserId, result, remaining)) {
+				this.api.requests().debug(() -> "User list does not contain integrations, looking up " + remaining.size() + " users one at a time");
+				for (final List<K> keys : remaining.values()) {
+					final NamelessUser user = this.lazyUser.apply(keys.get(0));
+					final @Nullable UserInfo userInfo = user.requestIfExists();
+					for (final K key : keys) {
+						result.put(key, userInfo != null ? Optional.of(user) : Optional.empty());
+					}
+				}
+				return result;
+			}
+			if (remaining.isEmpty() || page.size() < this.pageSize) {
+				return result;
+			}
+			if (firstUserId < 0 && !page.isEmpty()) {
+				firstUserId = page.get(0).cachedUserInfo().id();
+			}
+			offset += page.size();
+		}
+	}
+
+	/**
+	 * Look up users without blocking
+	 * @return Future completed on the thread that handled the last response, not on the completion executor
+	 */
+	@NonNull CompletableFuture<Map<K, Optional<NamelessUser>>> lookupAsync(final @NonNull Collection<K> identifiers) {
+		final Map<K, Optional<NamelessUser>> result = new LinkedHashMap<>();
+		final @Nullable Map<Object, List<K>> remaining = this.start(identifiers, result);
+		if (remaining == null) {
+			return CompletableFuture.completedFuture(result);
+		}
+
+		return this.listPage(this.listBuilder(), result, remaining, 0, -1).thenCompose(complete -> {
+			if (complete || remaining.isEmpty()) {
+				return CompletableFuture.completedFuture(result);
+			}
+			this.api.requests().debug(() -> "User list does not contain integrations, looking up " + remaining.size() + " users one at a time");
+			return this.lookupIndividually(result, remaining);
+		});
+	}
+
+	/**
+	 * Add an empty entry to the result for every identifier, or answer the lookup from the user index if it is fresh
+	 * @return Identifiers to find by normalized identifier, or null if the lookup has been answered
+	 */
+	private @Nullable Map<Object, List<K>> start(final @NonNull Collection<K> identifiers,
+												 final @NonNull Map<K, Optional<NamelessUser>> result) {
+		if (identifiers.isEmpty()) {
+			return null;
+		}
+
+		final @Nullable IndexLookup<K> indexLookup = this.indexLookup;
+		final @Nullable UserIndex userIndex = this.api.userIndex();
+		if (indexLookup != null && userIndex != null && userIndex.isFresh()) {
+			for (final K key : identifiers) {
+				result.put(key, Optional.ofNullable(indexLookup.user(userIndex, key)));
+			}
+			return null;
+		}
+
+		final Map<Object, List<K>> remaining = new HashMap<>();
+		for (final K key : identifiers) {
+			result.put(key, Optional.empty());
+			remaining.computeIfAbsent(this.normalize.apply(key), k -> new ArrayList<>(1)).add(key);
+		}
+		return remaining;
+	}
+
+	private @NonNull FilteredUserListBuilder listBuilder() {
+		final FilteredUserListBuilder builder = this.api.users();
+		if (this.filter != null && this.filterValue != null) {
+			builder.withFilter(this.filter, this.filterValue);
+		}
+		return builder;
+	}
+
+	/**
+	 * @return Future completed with false if the listing lacked the fields needed to identify users
+	 */
+	private @NonNull CompletableFuture<Boolean> listPage(final @NonNull FilteredUserListBuilder builder,
+														  final @NonNull Map<K, Optional<NamelessUser>> result,
+														  final @NonNull Map<Object, List<K>> remaining,
+														  final int offset,
+														  final int firstUserId) {
+		return builder.pageAsync(this.pageSize, offset).thenCompose(page -> {
+			try {
+				if (!this.matchPage(page, offset, firstUserId, result, remaining)) {
+					return CompletableFuture.completedFuture(false);
+				}
+			} catch (final NamelessException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+			if (remaining.isEmpty() || page.size() < this.pageSize) {
+				return CompletableFuture.completedFuture(true);
+			}
+			final int first = firstUserId >= 0 || page.isEmpty() ? firstUserId : page.get(0).cachedUserInfo().id();
+			return this.listPage(builder, result, remaining, offset + page.size(), first);
+		});
+	}
+
+	/**
+	 * Find requested users in a page of the user listing
+	 * @param firstUserId Id of the first listed user, or -1 for the first page
+	 * @return False if the listing lacked the fields needed to identify users
+	 */
+	private boolean matchPage(final @NonNull List<NamelessUser> page,
+							  final int offset,
+							  final int firstUserId,
+							  final @NonNull Map<K, Optional<NamelessUser>> result,
+							  final @NonNull Map<Object, List<K>> remaining) throws NamelessException {
+		if (!page.isEmpty() && offset > 0 && page.get(0).cachedUserInfo().id() == firstUserId) {
+			throw new NamelessException("Website returned the first page again, it does not support the offset parameter");
+		}
+		for (final NamelessUser user : page) {
+			final UserInfo userInfo = user.cachedUserInfo();
+			if (this.filter != null && !userInfo.hasIntegrations()) {
+				return false;
+			}
+			final @Nullable Object identifier = this.identifier.identifier(userInfo);
+			final @Nullable List<K> keys = identifier != null ? remaining.remove(identifier) : null;
+			if (keys != null) {
+				for (final K key : keys) {
+					result.put(key, Optional.of(user));
+				}
+				this.seedUserCache(userInfo);
+			}
+		}
+		return true;
+	}
+
+	private @NonNull CompletableFuture<Map<K, Optional<NamelessUser>>> lookupIndividually(
+			final @NonNull Map<K, Optional<NamelessUser>> result,
+			final @NonNull Map<Object, List<K>> remaining) {
+		final List<CompletableFuture<Void>> futures = new ArrayList<>(remaining.size());
+		for (final List<K> keys : remaining.values()) {
+			// Not through the user loader, which may use this class to resolve its batches
+			final NamelessUser user = this.lazyUser.apply(keys.get(0));
+			futures.add(user.requestIfExistsAsync().thenAccept(userInfo -> {
+				synchronized (result) {
+					for (final K key : keys) {
+						result.put(key, userInfo != null ? Optional.of(user) : Optional.empty());
+					}
+				}
+			}));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> result);
+	}
+
+	private void seedUserCache(final @NonNull UserInfo userInfo) {
+		final @Nullable UserCache userCache = this.api.userCache();
+		if (userCache != null && userInfo.isComplete()) {
+			userCache.put(userInfo, null);
+		}
+	}
+
+	@FunctionalInterface
+	private interface IdentifierExtractor {
+
+		@Nullable Object identifier(@NonNull UserInfo userInfo);
+
+	}
+
+	@FunctionalInterface
+	private interface IndexLookup<K> {
+
+		@Nullable NamelessUser user(@NonNull UserIndex userIndex, K key);
+
+	}
+
+}
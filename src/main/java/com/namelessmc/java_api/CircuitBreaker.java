@@ -0,0 +1,299 @@
+package com.namelessmc.java_api;
+
+import java.time.Duration;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.namelessmc.java_api.exception.CircuitBreakerOpenException;
+
+/**
+ * Stops sending requests to the website for a while when too many recent requests failed, so callers fail fast
+ * with a {@link CircuitBreakerOpenException} instead of waiting for a timeout. After the open duration, a limited
+ * number of test requests is let through. If they all succeed, requests are sent normally again.
+ * <p>
+ * Network errors and 5xx responses count as failures. Other responses, including API errors, count as success.
+ * Every attempt counts, including retries.
+ * <p>
+ * Configure using {@link NamelessApiBuilder#circuitBreaker(CircuitBreaker)}.
+ */
+public final class CircuitBreaker {
+
+	public enum State {
+
+		/**
+		 * Requests are sent normally
+		 */
+		CLOSED,
+
+		/**
+		 * Requests fail immediately
+		 */
+		OPEN,
+
+		/**
+		 * A limited number of test requests are sent, other requests fail immediately
+		 */
+		HALF_OPEN,
+
+	}
+
+	@FunctionalInterface
+	public interface StateListener {
+
+		/**
+		 * Called after the circuit breaker changed state, on the thread that caused the change. Must not block.
+		 */
+		void onStateChange(@NonNull State previous, @NonNull State current);
+
+	}
+
+	private final double failureRateThreshold;
+	private final int minimumRequests;
+	private final long openNanos;
+	private final int halfOpenRequests;
+	private final @Nullable StateListener stateListener;
+
+	// Outcomes of recent requests, as a ring buffer
+	private final boolean[] window;
+	private int windowPosition = 0;
+	private int windowCount = 0;
+	private int windowFailures = 0;
+
+	private @NonNull State state = State.CLOSED;
+	// Incremented on every state change, so results of requests started in a previous state are ignored
+	private long generation = 0;
+	private long openedAt;
+	private int halfOpenStarted = 0;
+	private int halfOpenSucceeded = 0;
+
+	private CircuitBreaker(final @NonNull Builder builder) {
+		this.failureRateThreshold = builder.failureRateThreshold;
+		this.minimumRequests = builder.minimumRequests;
+		this.openNanos = builder.openDuration.toNanos();
+		this.halfOpenRequests = builder.halfOpenRequests;
+		this.stateListener = builder.stateListener;
+		this.window = new boolean[builder.windowSize];
+	}
+
+	public synchronized @NonNull State state() {
+		return this.state;
+	}
+
+	/**
+	 * Acquire permission to send a request
+	 * @throws CircuitBreakerOpenException If the request should not be sent
+	 */
+	@NonNull Permit acquire() throws CircuitBreakerOpenException {
+		final State previous;
+		final State current;
+		final Permit permit;
+		synchronized (this) {
+			previous = this.state;
+			if (this.state == State.OPEN) {
+				final long remaining = this.openNanos - (System.nanoTime() - this.openedAt);
+				if (remaining > 0) {
+					throw new CircuitBreakerOpenException(Duration.ofNanos(remaining));
+				}
+				this.transition(State.HALF_OPEN);
+			}
+			if (this.state == State.HALF_OPEN) {
+				if (this.halfOpenStarted >= this.halfOpenRequests) {
+					throw new CircuitBreakerOpenException(Duration.ZERO);
+				}
+				this.halfOpenStarted++;
+			}
+			permit = new Permit(this, this.generation);
+			current = this.state;
+		}
+		this.notifyListener(previous, current);
+		return permit;
+	}
+
+	private void onResult(final long generation, final boolean failure) {
+		final State previous;
+		final State current;
+		synchronized (this) {
+			previous = this.state;
+			if (generation != this.generation) {
+				return;
+			}
+			if (this.state == State.CLOSED) {
+				this.record(failure);
+				if (this.windowCount >= this.minimumRequests &&
+						this.windowFailures >= this.failureRateThreshold * this.windowCount) {
+					this.transition(State.OPEN);
+				}
+			} else if (this.state == State.HALF_OPEN) {
+				if (failure) {
+					this.transition(State.OPEN);
+				} else if (++this.halfOpenSucceeded >= this.halfOpenRequests) {
+					this.transition(State.CLOSED);
+				}
+			}
+			current = this.state;
+		}
+		this.notifyListener(previous, current);
+	}
+
+	private synchronized void onRelease(final long generation) {
+		// A test request was not completed, let another request test the website
+		if (generation == this.generation && this.state == State.HALF_OPEN) {
+			this.halfOpenStarted--;
+		}
+	}
+
+	private void record(final boolean failure) {
+		if (this.windowCount == this.window.length) {
+			if (this.window[this.windowPosition]) {
+				this.windowFailures--;
+			}
+		} else {
+			this.windowCount++;
+		}
+		this.window[this.windowPosition] = failure;
+		if (failure) {
+			this.windowFailures++;
+		}
+		this.windowPosition = (this.windowPosition + 1) % this.window.length;
+	}
+
+	private void transition(final @NonNull State state) {
+		this.state = state;
+		this.generation++;
+		if (state == State.OPEN) {
+			this.openedAt = System.nanoTime();
+		} else if (state == State.HALF_OPEN) {
+			this.halfOpenStarted = 0;
+			this.halfOpenSucceeded = 0;
+		} else {
+			this.windowPosition = 0;
+			this.windowCount = 0;
+			this.windowFailures = 0;
+		}
+	}
+
+	private void notifyListener(final @NonNull State previous, final @NonNull State current) {
+		if (previous != current && this.stateListener != null) {
+			this.stateListener.onStateChange(previous, current);
+		}
+	}
+
+	public static @NonNull Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Permission to send a single request. Only the first reported result counts.
+	 */
+	static final class Permit {
+
+		static final Permit NONE = new Permit(null, 0);
+
+		private final @Nullable CircuitBreaker circuitBreaker;
+		private final long generation;
+		private boolean done = false;
+
+		private Permit(final @Nullable CircuitBreaker circuitBreaker, final long generation) {
+			this.circuitBreaker = circuitBreaker;
+			this.generation = generation;
+		}
+
+		void success() {
+			this.result(false);
+		}
+
+		void failure() {
+			this.result(true);
+		}
+
+		/**
+		 * The request was aborted before it could succeed or fail
+		 */
+		void release() {
+			if (this.circuitBreaker != null && !this.done) {
+				this.done = true;
+				this.circuitBreaker.onRelease(this.generation);
+			}
+		}
+
+		private void result(final boolean failure) {
+			if (this.circuitBreaker != null && !this.done) {
+				this.done = true;
+				this.circuitBreaker.onResult(this.generation, failure);
+			}
+		}
+
+	}
+
+	public static final class Builder {
+
+		private double failureRateThreshold = 0.5;
+		private int windowSize = 20;
+		private int minimumRequests = 10;
+		private @NonNull Duration openDuration = Duration.ofSeconds(30);
+		private int halfOpenRequests = 3;
+		private @Nullable StateListener stateListener;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param failureRateThreshold Fraction of failed requests in the window that opens the circuit, default 0.5
+		 */
+		public @NonNull Builder failureRateThreshold(final double failureRateThreshold) {
+			Preconditions.checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 1, "Failure rate threshold must be in (0, 1]");
+			this.failureRateThreshold = failureRateThreshold;
+			return this;
+		}
+
+		/**
+		 * @param windowSize Number of recent requests to calculate the failure rate over, default 20
+		 */
+		public @NonNull Builder windowSize(final int windowSize) {
+			Preconditions.checkArgument(windowSize >= 1, "Window size must be at least 1");
+			this.windowSize = windowSize;
+			return this;
+		}
+
+		/**
+		 * @param minimumRequests Minimum number of requests in the window before the circuit can open, default 10
+		 */
+		public @NonNull Builder minimumRequests(final int minimumRequests) {
+			Preconditions.checkArgument(minimumRequests >= 1, "Minimum requests must be at least 1");
+			this.minimumRequests = minimumRequests;
+			return this;
+		}
+
+		/**
+		 * @param openDuration Time requests fail immediately, before test requests are sent, default 30 seconds
+		 */
+		public @NonNull Builder openDuration(final @NonNull Duration openDuration) {
+			Preconditions.checkArgument(!openDuration.isNegative(), "Open duration must not be negative");
+			this.openDuration = openDuration;
+			return this;
+		}
+
+		/**
+		 * @param halfOpenRequests Number of test requests that must succeed to close the circuit again, default 3
+		 */
+		public @NonNull Builder halfOpenRequests(final int halfOpenRequests) {
+			Preconditions.checkArgument(halfOpenRequests >= 1, "Half open requests must be at least 1");
+			this.halfOpenRequests = halfOpenRequests;
+			return this;
+		}
+
+		public @NonNull Builder stateListener(final @Nullable StateListener stateListener) {
+			this.stateListener = stateListener;
+			return this;
+		}
+
+		public @NonNull CircuitBreaker build() {
+			Preconditions.checkArgument(this.minimumRequests <= this.windowSize, "Minimum requests must not be larger than window size");
+			return new CircuitBreaker(this);
+		}
+
+	}
+
+}
@@ -1,19 +1,24 @@
 package com.namelessmc.java_api;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
+import com.google.common.base.Preconditions;
 import com.google.gson.JsonObject;
 import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.exception.UncheckedNamelessException;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class FilteredUserListBuilder {
 
 	private final @NonNull NamelessAPI api;
 	private @Nullable Map<UserFilter<?>, Object> filters;
 	private @NonNull String operator = "AND";
+	private int pageSize = 500;
+	private boolean prefetch = false;
 
 	FilteredUserListBuilder(@NonNull NamelessAPI api) {
 		this.api = api;
@@ -42,37 +47,106 @@ public class FilteredUserListBuilder {
 		return this;
 	}
 
+	/**
+	 * Number of users requested at once by {@link #makeIterator()} and {@link #stream()}, default 500
+	 */
+	public @NonNull FilteredUserListBuilder pageSize(final int pageSize) {
+		Preconditions.checkArgument(pageSize >= 1, "Page size must be at least 1");
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	/**
+	 * Request the next page of users while the current page is being iterated over, see {@link #makeIterator()}.
+	 * Disabled by default.
+	 */
+	public @NonNull FilteredUserListBuilder prefetch(final boolean prefetch) {
+		this.prefetch = prefetch;
+		return this;
+	}
+
 	public JsonObject makeRawRequest() throws NamelessException {
-		final Object[] parameters;
+		return this.api.requests().get("users", this.parameters(this.filters != null ? 0 : -1, 0));
+	}
+
+	/**
+	 * @param limit Maximum number of users, 0 for no limit, or -1 to not send a limit
+	 * @param offset Number of users to skip, only sent if not 0
+	 */
+	private @Nullable Object[] parameters(final int limit, final int offset) {
+		final List<@Nullable Object> parameters = new ArrayList<>();
+		parameters.add("groups"); // Request NamelessMC to include groups in response
+		parameters.add(null);
+		final @Nullable Map<UserFilter<?>, Object> filters = this.filters;
 		if (filters != null) {
-			int filterCount = filters.size();
-			parameters = new Object[2 + 4 + filterCount * 2];
-			int i = 2;
-			parameters[i++] = "operator";
-			parameters[i++] = operator;
-			parameters[i++] = "limit";
-			parameters[i++] = 0;
-			for (Map.Entry<UserFilter<?>, Object> filter : this.filters.entrySet()) {
-				parameters[i++] = filter.getKey().name();
-				parameters[i++] = filter.getValue();
+			parameters.add("operator");
+			parameters.add(operator);
+			for (Map.Entry<UserFilter<?>, Object> filter : filters.entrySet()) {
+				parameters.add(filter.getKey().name());
+				parameters.add(filter.getValue());
 			}
-		} else {
-			parameters = new Object[2];
 		}
-
-		parameters[0] = "groups"; // Request NamelessMC to include groups in response
-
-		return this.api.requests().get("users", parameters);
+		if (limit >= 0) {
+			parameters.add("limit");
+			parameters.add(limit);
+		}
+		if (offset > 0) {
+			parameters.add("offset");
+			parameters.add(offset);
+		}
+		return parameters.toArray();
 	}
 
+	/**
+	 * Users matching the filters. Answered from the {@link UserIndex} if configured and fresh.
+	 */
 	public @NonNull List<@NonNull NamelessUser> makeRequest() throws NamelessException {
-		final JsonObject response = this.makeRawRequest();
-		final JsonArray array = response.getAsJsonArray("users");
-		final List<NamelessUser> users = new ArrayList<>(array.size());
-		for (final JsonElement e : array) {
-			users.add(new NamelessUser(this.api, e.getAsJsonObject()));
+		final @Nullable List<NamelessUser> local = this.localRequest();
+		if (local != null) {
+			return local;
 		}
-		return Collections.unmodifiableList(users);
+		return this.api.requests().get(this.api.usersDecoder(), "users", this.parameters(this.filters != null ? 0 : -1, 0));
+	}
+
+	/**
+	 * Iterate over users, requesting {@link #pageSize(int) a page of users} at a time using the <code>limit</code>
+	 * and <code>offset</code> parameters. Unlike {@link #makeRequest()}, memory usage does not depend on the number
+	 * of users on the website. If requesting a page fails, the iterator throws {@link UncheckedNamelessException}.
+	 * Users created or deleted during iteration may cause users to be skipped or returned twice. If the
+	 * {@link UserIndex} is configured and fresh, iterates over users from the index instead.
+	 */
+	public @NonNull Iterator<@NonNull NamelessUser> makeIterator() {
+		final @Nullable List<NamelessUser> local = this.localRequest();
+		if (local != null) {
+			return local.iterator();
+		}
+		return new UserPageIterator(this, this.pageSize, this.prefetch);
+	}
+
+	/**
+	 * Stream of users, requested a page at a time when the stream is consumed
+	 * @see #makeIterator()
+	 */
+	public @NonNull Stream<@NonNull NamelessUser> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.makeIterator(),
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	private @Nullable List<NamelessUser> localRequest() {
+		final @Nullable UserIndex userIndex = this.api.userIndex();
+		return userIndex != null ? userIndex.query(this.filters, this.operator.equals("OR")) : null;
+	}
+
+	@NonNull List<NamelessUser> page(final int limit, final int offset) throws NamelessException {
+		return this.api.requests().get(this.api.usersDecoder(), "users", this.parameters(limit, offset));
+	}
+
+	/**
+	 * @return Future completed on the thread that handled the response, not on the completion executor, so it is
+	 * safe to wait for
+	 */
+	@NonNull CompletableFuture<List<NamelessUser>> pageAsync(final int limit, final int offset) {
+		return this.api.requests().getAsyncDirect(this.api.usersDecoder(), "users", this.parameters(limit, offset));
 	}
 
 }
@@ -1,9 +1,12 @@
 package com.namelessmc.java_api;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.namelessmc.java_api.util.GsonHelper;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.Objects;
 
 public class Group implements Comparable<Group> {
@@ -20,6 +23,47 @@ public class Group implements Comparable<Group> {
 		this.staff = group.has("staff") && group.get("staff").getAsBoolean();
 	}
 
+	private Group(final int id, final @NonNull String name, final int order, final boolean staff) {
+		this.id = id;
+		this.name = name;
+		this.order = order;
+		this.staff = staff;
+	}
+
+	/**
+	 * Decode a group object directly from a response stream
+	 */
+	static @NonNull Group read(final @NonNull JsonReader reader) throws IOException {
+		@Nullable Integer id = null;
+		@Nullable String name = null;
+		@Nullable Integer order = null;
+		boolean staff = false;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "name":
+					name = GsonHelper.nextString(reader);
+					break;
+				case "order":
+					order = reader.nextInt();
+					break;
+				case "staff":
+					staff = GsonHelper.nextBoolean(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new Group(GsonHelper.requireField(id, "id"),
+				GsonHelper.requireField(name, "name"),
+				GsonHelper.requireField(order, "order"),
+				staff);
+	}
+
 	public int getId() {
 		return this.id;
 	}
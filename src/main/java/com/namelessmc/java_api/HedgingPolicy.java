@@ -0,0 +1,143 @@
+package com.namelessmc.java_api;
+
+import java.time.Duration;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Configures hedging of GET requests: when no response has arrived after a delay, a second identical request is
+ * sent. Whichever response arrives first is used, and the other request is cancelled. This cuts tail latency
+ * caused by an occasional slow PHP worker, at the cost of some extra requests.
+ * <p>
+ * The delay is either fixed, or derived from a percentile of recently observed latencies for the same route. The
+ * number of hedged requests is limited to a fraction of all GET requests, so hedging can't overload a website
+ * that is slow for everyone. POST requests are never hedged.
+ * <p>
+ * Configure using {@link NamelessApiBuilder#hedging(HedgingPolicy)}.
+ */
+public final class HedgingPolicy {
+
+	private final @Nullable Duration fixedDelay;
+	private final double percentile;
+	private final @NonNull Duration minDelay;
+	private final @NonNull Duration maxDelay;
+	private final int minSamples;
+	private final double maxRatio;
+
+	private HedgingPolicy(final @NonNull Builder builder) {
+		this.fixedDelay = builder.fixedDelay;
+		this.percentile = builder.percentile;
+		this.minDelay = builder.minDelay;
+		this.maxDelay = builder.maxDelay;
+		this.minSamples = builder.minSamples;
+		this.maxRatio = builder.maxRatio;
+	}
+
+	@Nullable Duration fixedDelay() {
+		return this.fixedDelay;
+	}
+
+	double percentile() {
+		return this.percentile;
+	}
+
+	@NonNull Duration minDelay() {
+		return this.minDelay;
+	}
+
+	@NonNull Duration maxDelay() {
+		return this.maxDelay;
+	}
+
+	int minSamples() {
+		return this.minSamples;
+	}
+
+	double maxRatio() {
+		return this.maxRatio;
+	}
+
+	public static @NonNull Builder builder() {
+		return new Builder();
+	}
+
+	public static final class Builder {
+
+		private @Nullable Duration fixedDelay = null;
+		private double percentile = 95;
+		private @NonNull Duration minDelay = Duration.ofMillis(10);
+		private @NonNull Duration maxDelay = Duration.ofSeconds(1);
+		private int minSamples = 50;
+		private double maxRatio = 0.05;
+
+		private Builder() {
+		}
+
+		/**
+		 * Always hedge after a fixed delay, instead of deriving the delay from observed latencies
+		 * @param delay Delay, or null to derive the delay from observed latencies (default)
+		 */
+		public @NonNull Builder delay(final @Nullable Duration delay) {
+			Preconditions.checkArgument(delay == null || !delay.isNegative(), "Delay must not be negative");
+			this.fixedDelay = delay;
+			return this;
+		}
+
+		/**
+		 * @param percentile Percentile of observed latencies for the route to use as delay, default 95
+		 */
+		public @NonNull Builder percentile(final double percentile) {
+			Preconditions.checkArgument(percentile > 0 && percentile <= 100, "Percentile must be in (0, 100]");
+			this.percentile = percentile;
+			return this;
+		}
+
+		/**
+		 * @param minDelay Lower bound for a delay derived from observed latencies, default 10ms
+		 */
+		public @NonNull Builder minDelay(final @NonNull Duration minDelay) {
+			Preconditions.checkArgument(!minDelay.isNegative(), "Min delay must not be negative");
+			this.minDelay = minDelay;
+			return this;
+		}
+
+		/**
+		 * @param maxDelay Upper bound for a delay derived from observed latencies, also used while not enough
+		 *                 latencies have been observed yet. Default 1 second.
+		 */
+		public @NonNull Builder maxDelay(final @NonNull Duration maxDelay) {
+			Preconditions.checkArgument(!maxDelay.isNegative(), "Max delay must not be negative");
+			this.maxDelay = maxDelay;
+			return this;
+		}
+
+		/**
+		 * @param minSamples Number of responses that must have been observed for a route before the delay is derived
+		 *                   from their latencies, default 50
+		 */
+		public @NonNull Builder minSamples(final int minSamples) {
+			Preconditions.checkArgument(minSamples >= 1, "Min samples must be at least 1");
+			this.minSamples = minSamples;
+			return this;
+		}
+
+		/**
+		 * @param maxRatio Maximum number of hedged requests relative to the number of GET requests, default 0.05
+		 */
+		public @NonNull Builder maxRatio(final double maxRatio) {
+			Preconditions.checkArgument(maxRatio >= 0 && maxRatio <= 1, "Max ratio must be in [0, 1]");
+			this.maxRatio = maxRatio;
+			return this;
+		}
+
+		public @NonNull HedgingPolicy build() {
+			Preconditions.checkArgument(this.maxDelay.compareTo(this.minDelay) >= 0, "Max delay must not be smaller than min delay");
+			return new HedgingPolicy(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,128 @@
+package com.namelessmc.java_api;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Default {@link MetricsRecorder}, which keeps lock-free latency and parse time histograms for every route.
+ * Create using {@link MetricsRecorder#histogram()}.
+ * <pre>
+ * HistogramMetricsRecorder metrics = MetricsRecorder.histogram();
+ * NamelessAPI api = NamelessAPI.builder(url, key).metricsRecorder(metrics).build();
+ * ...
+ * metrics.routes().forEach((route, stats) -&gt; System.out.println(route + ": " + stats.latency()));
+ * </pre>
+ */
+public final class HistogramMetricsRecorder implements MetricsRecorder {
+
+	private final @NonNull ConcurrentHashMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+	HistogramMetricsRecorder() {
+	}
+
+	@Override
+	public void record(final @NonNull RequestMetrics metrics) {
+		RouteMetrics route = this.routes.get(metrics.route());
+		if (route == null) {
+			route = this.routes.computeIfAbsent(metrics.route(), ignored -> new RouteMetrics());
+		}
+		route.record(metrics);
+	}
+
+	/**
+	 * @param route Route, as returned by {@link RequestMetrics#route()}
+	 * @return Metrics for the route, or null if no requests have been made to it
+	 */
+	public @Nullable RouteMetrics route(final @NonNull String route) {
+		return this.routes.get(route);
+	}
+
+	/**
+	 * @return Unmodifiable live view of metrics for all routes requests have been made to
+	 */
+	public @NonNull Map<String, RouteMetrics> routes() {
+		return Collections.unmodifiableMap(this.routes);
+	}
+
+	/**
+	 * Clear metrics for all routes
+	 */
+	public void reset() {
+		this.routes.clear();
+	}
+
+	/**
+	 * Metrics for a single route
+	 */
+	public static final class RouteMetrics {
+
+		private final @NonNull LatencyHistogram latency = new LatencyHistogram();
+		private final @NonNull LatencyHistogram parseTime = new LatencyHistogram();
+		private final @NonNull LongAdder requests = new LongAdder();
+		private final @NonNull LongAdder failures = new LongAdder();
+		private final @NonNull LongAdder bytesReceived = new LongAdder();
+
+		private RouteMetrics() {
+		}
+
+		private void record(final @NonNull RequestMetrics metrics) {
+			this.latency.record(metrics.latencyNanos());
+			this.parseTime.record(metrics.parseNanos());
+			this.requests.increment();
+			if (metrics.statusCode() < 0 || metrics.statusCode() >= 500) {
+				this.failures.increment();
+			}
+			this.bytesReceived.add(metrics.bytesReceived());
+		}
+
+		/**
+		 * @return Histogram of total request latency
+		 * @see RequestMetrics#latencyNanos()
+		 */
+		public @NonNull LatencyHistogram latency() {
+			return this.latency;
+		}
+
+		/**
+		 * @return Histogram of time spent parsing responses
+		 * @see RequestMetrics#parseNanos()
+		 */
+		public @NonNull LatencyHistogram parseTime() {
+			return this.parseTime;
+		}
+
+		/**
+		 * @return Number of requests, counting every retry as a separate request
+		 */
+		public long requestCount() {
+			return this.requests.sum();
+		}
+
+		/**
+		 * @return Number of requests that failed without a response or with a 5xx status code
+		 */
+		public long failureCount() {
+			return this.failures.sum();
+		}
+
+		/**
+		 * @return Total size of response bodies read
+		 */
+		public long bytesReceived() {
+			return this.bytesReceived.sum();
+		}
+
+		@Override
+		public @NonNull String toString() {
+			return "RouteMetrics[requests=" + this.requestCount() + ",failures=" + this.failureCount() +
+					",bytes=" + this.bytesReceived() + ",latency=" + this.latency + ",parseTime=" + this.parseTime + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.namelessmc.java_api;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import com.google.common.base.Preconditions;
+import com.namelessmc.java_api.integrations.StandardIntegrationTypes;
+
+/**
+ * Converts between Java UUIDs and website UUIDs, which are 32 hex characters without dashes, and builds user
+ * transformers for integration identifiers. Hex digits are parsed and formatted directly, without intermediate
+ * strings or {@link java.math.BigInteger}s.
+ */
+public final class IdentifierCodec {
+
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	// Value of hex digit characters, -1 for other characters
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	// URL encoded, like NamelessUser does for other user transformers
+	private static final byte[] MINECRAFT_TRANSFORMER_PREFIX =
+			encode("integration_id:" + StandardIntegrationTypes.MINECRAFT + ":").getBytes(StandardCharsets.US_ASCII);
+	private static final String DISCORD_TRANSFORMER_PREFIX =
+			encode("integration_id:" + StandardIntegrationTypes.DISCORD + ":");
+
+	static {
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < 10; i++) {
+			HEX_VALUES['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+		}
+	}
+
+	private IdentifierCodec() {
+	}
+
+	/**
+	 * @param uuid UUID as sent by the website, without dashes. UUIDs with dashes are also accepted.
+	 * @throws IllegalArgumentException If the string is not a valid UUID
+	 */
+	public static @NonNull UUID websiteUuidToJavaUuid(final @NonNull String uuid) {
+		Objects.requireNonNull(uuid, "UUID string is null");
+		if (uuid.length() == 32) {
+			return new UUID(parseHex(uuid, 0, 16), parseHex(uuid, 16, 32));
+		} else if (uuid.length() == 36 &&
+				uuid.charAt(8) == '-' && uuid.charAt(13) == '-' && uuid.charAt(18) == '-' && uuid.charAt(23) == '-') {
+			final long mostSignificant = parseHex(uuid, 0, 8) << 32 | parseHex(uuid, 9, 13) << 16 | parseHex(uuid, 14, 18);
+			final long leastSignificant = parseHex(uuid, 19, 23) << 48 | parseHex(uuid, 24, 36);
+			return new UUID(mostSignificant, leastSignificant);
+		} else {
+			throw new IllegalArgumentException("Invalid uuid: '" + uuid + "'");
+		}
+	}
+
+	/**
+	 * @return UUID in the format used by the website, 32 lowercase hex characters without dashes
+	 */
+	public static @NonNull String javaUuidToWebsiteUuid(final @NonNull UUID uuid) {
+		final byte[] bytes = new byte[32];
+		writeHex(uuid, bytes, 0);
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Convert many website UUIDs at once
+	 * @param uuids Website UUIDs
+	 * @param result Array of at least the same length, to store Java UUIDs in
+	 * @see #websiteUuidToJavaUuid(String)
+	 */
+	public static void websiteUuidsToJavaUuids(final @NonNull String @NonNull [] uuids,
+											   final @NonNull UUID @NonNull [] result) {
+		Preconditions.checkArgument(result.length >= uuids.length, "Result array is too small");
+		for (int i = 0; i < uuids.length; i++) {
+			result[i] = websiteUuidToJavaUuid(uuids[i]);
+		}
+	}
+
+	/**
+	 * Convert many Java UUIDs at once
+	 * @param uuids Java UUIDs
+	 * @param result Array of at least the same length, to store website UUIDs in
+	 * @see #javaUuidToWebsiteUuid(UUID)
+	 */
+	public static void javaUuidsToWebsiteUuids(final @NonNull UUID @NonNull [] uuids,
+											   final @NonNull String @NonNull [] result) {
+		Preconditions.checkArgument(result.length >= uuids.length, "Result array is too small");
+		// Every string copies the bytes, so one buffer can be used for all UUIDs
+		final byte[] bytes = new byte[32];
+		for (int i = 0; i < uuids.length; i++) {
+			writeHex(uuids[i], bytes, 0);
+			result[i] = new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+	}
+
+	/**
+	 * @return URL encoded user transformer for a Minecraft UUID
+	 */
+	static @NonNull String minecraftTransformer(final @NonNull UUID uuid) {
+		final byte[] bytes = Arrays.copyOf(MINECRAFT_TRANSFORMER_PREFIX, MINECRAFT_TRANSFORMER_PREFIX.length + 32);
+		writeHex(uuid, bytes, MINECRAFT_TRANSFORMER_PREFIX.length);
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * @return URL encoded user transformer for a Discord user id
+	 */
+	static @NonNull String discordTransformer(final long id) {
+		return DISCORD_TRANSFORMER_PREFIX + id;
+	}
+
+	private static long parseHex(final @NonNull String string, final int start, final int end) {
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			final char c = string.charAt(i);
+			final int digit = c < 128 ? HEX_VALUES[c] : -1;
+			if (digit < 0) {
+				throw new IllegalArgumentException("Invalid uuid: '" + string + "'");
+			}
+			value = value << 4 | digit;
+		}
+		return value;
+	}
+
+	private static void writeHex(final @NonNull UUID uuid, final byte @NonNull [] bytes, final int offset) {
+		writeHex(uuid.getMostSignificantBits(), bytes, offset);
+		writeHex(uuid.getLeastSignificantBits(), bytes, offset + 16);
+	}
+
+	private static void writeHex(long value, final byte @NonNull [] bytes, final int offset) {
+		for (int i = offset + 15; i >= offset; i--) {
+			bytes[i] = HEX_DIGITS[(int) value & 0xF];
+			value >>>= 4;
+		}
+	}
+
+	private static @NonNull String encode(final @NonNull String userTransformer) {
+		return URLEncoder.encode(userTransformer, StandardCharsets.UTF_8);
+	}
+
+}
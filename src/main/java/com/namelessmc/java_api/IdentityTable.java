@@ -0,0 +1,261 @@
+package com.namelessmc.java_api;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table mapping 64-bit or 128-bit keys to positive user ids and back, without boxing. Entries are
+ * stored densely in parallel arrays. Two linear probing tables of entry indices, one hashed by key and one hashed
+ * by user id, point into these arrays. Each key maps to one user id and each user id to one key, putting an
+ * entry replaces entries with the same key or user id.
+ * <p>
+ * Not thread safe. Lookups never throw when reading concurrently with a writer, so they can be used for
+ * optimistic reads that are validated afterwards.
+ */
+final class IdentityTable {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private final boolean wide;
+	// Empty if keys are not wide
+	private long[] his;
+	private long[] los = new long[MIN_CAPACITY];
+	private int[] userIds = new int[MIN_CAPACITY];
+	private int size = 0;
+	// Entry index + 1, 0 for empty slots. Capacity is a power of two, at most 3/4 full.
+	private int[] keySlots = new int[MIN_CAPACITY * 2];
+	private int[] userSlots = new int[MIN_CAPACITY * 2];
+
+	/**
+	 * @param wide True for 128-bit keys, false for 64-bit keys which only use the low half
+	 */
+	IdentityTable(final boolean wide) {
+		this.wide = wide;
+		this.his = new long[wide ? MIN_CAPACITY : 0];
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return User id, or -1 if not present
+	 */
+	int userId(final long hi, final long lo) {
+		final int[] slots = this.keySlots;
+		final long[] his = this.his;
+		final long[] los = this.los;
+		final int[] userIds = this.userIds;
+		final int mask = slots.length - 1;
+		int slot = hash(hi, lo) & mask;
+		for (int probes = 0; probes < slots.length; probes++) {
+			final int entry = slots[slot] - 1;
+			if (entry < 0 || entry >= userIds.length || entry >= los.length || (this.wide && entry >= his.length)) {
+				return -1;
+			}
+			if (los[entry] == lo && (this.wide ? his[entry] == hi : hi == 0)) {
+				return userIds[entry];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return Entry index for use with {@link #hi(int)} and {@link #lo(int)}, or -1 if not present. Only valid until
+	 * the table is modified.
+	 */
+	int entry(final int userId) {
+		final int[] slots = this.userSlots;
+		final int[] userIds = this.userIds;
+		final int mask = slots.length - 1;
+		int slot = hash(userId) & mask;
+		for (int probes = 0; probes < slots.length; probes++) {
+			final int entry = slots[slot] - 1;
+			if (entry < 0 || entry >= userIds.length) {
+				return -1;
+			}
+			if (userIds[entry] == userId) {
+				return entry;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	long hi(final int entry) {
+		final long[] his = this.his;
+		return entry >= 0 && entry < his.length ? his[entry] : 0;
+	}
+
+	long lo(final int entry) {
+		final long[] los = this.los;
+		return entry >= 0 && entry < los.length ? los[entry] : 0;
+	}
+
+	void put(final long hi, final long lo, final int userId) {
+		final int existing = this.userId(hi, lo);
+		if (existing == userId) {
+			return;
+		}
+		if (existing > 0) {
+			this.remove(existing);
+		}
+		this.remove(userId);
+
+		if (this.size == this.userIds.length) {
+			final int capacity = this.size + (this.size >> 1);
+			if (this.wide) {
+				this.his = Arrays.copyOf(this.his, capacity);
+			}
+			this.los = Arrays.copyOf(this.los, capacity);
+			this.userIds = Arrays.copyOf(this.userIds, capacity);
+		}
+		if ((this.size + 1) * 4L > this.keySlots.length * 3L) {
+			this.rehash(this.keySlots.length * 2);
+		}
+
+		final int entry = this.size++;
+		if (this.wide) {
+			this.his[entry] = hi;
+		}
+		this.los[entry] = lo;
+		this.userIds[entry] = userId;
+		insert(this.keySlots, hash(hi, lo), entry);
+		insert(this.userSlots, hash(userId), entry);
+	}
+
+	/**
+	 * Remove the entry for a user, if present. The last entry is moved into its place to keep entries dense.
+	 */
+	void remove(final int userId) {
+		final int entry = this.entry(userId);
+		if (entry < 0) {
+			return;
+		}
+		this.unlinkKey(entry);
+		this.unlinkUser(entry);
+
+		final int last = --this.size;
+		if (entry != last) {
+			final long hi = this.hi(last);
+			final long lo = this.los[last];
+			final int lastUserId = this.userIds[last];
+			if (this.wide) {
+				this.his[entry] = hi;
+			}
+			this.los[entry] = lo;
+			this.userIds[entry] = lastUserId;
+			relink(this.keySlots, hash(hi, lo), last, entry);
+			relink(this.userSlots, hash(lastUserId), last, entry);
+		}
+		this.userIds[last] = 0;
+	}
+
+	void clear() {
+		this.his = new long[this.wide ? MIN_CAPACITY : 0];
+		this.los = new long[MIN_CAPACITY];
+		this.userIds = new int[MIN_CAPACITY];
+		this.keySlots = new int[MIN_CAPACITY * 2];
+		this.userSlots = new int[MIN_CAPACITY * 2];
+		this.size = 0;
+	}
+
+	/**
+	 * @return Memory used by the arrays of this table in bytes, excluding object headers
+	 */
+	long memoryUsage() {
+		return 8L * this.his.length + 8L * this.los.length + 4L * this.userIds.length
+				+ 4L * this.keySlots.length + 4L * this.userSlots.length;
+	}
+
+	private void rehash(final int capacity) {
+		final int[] keySlots = new int[capacity];
+		final int[] userSlots = new int[capacity];
+		for (int entry = 0; entry < this.size; entry++) {
+			insert(keySlots, hash(this.hi(entry), this.los[entry]), entry);
+			insert(userSlots, hash(this.userIds[entry]), entry);
+		}
+		this.keySlots = keySlots;
+		this.userSlots = userSlots;
+	}
+
+	private void unlinkKey(final int entry) {
+		final int[] slots = this.keySlots;
+		final int mask = slots.length - 1;
+		int slot = hash(this.hi(entry), this.los[entry]) & mask;
+		while (slots[slot] != entry + 1) {
+			slot = (slot + 1) & mask;
+		}
+		this.shiftBack(slots, slot, true);
+	}
+
+	private void unlinkUser(final int entry) {
+		final int[] slots = this.userSlots;
+		final int mask = slots.length - 1;
+		int slot = hash(this.userIds[entry]) & mask;
+		while (slots[slot] != entry + 1) {
+			slot = (slot + 1) & mask;
+		}
+		this.shiftBack(slots, slot, false);
+	}
+
+	/**
+	 * Backward shift deletion: empty the slot and move later entries in the same probe sequence back, so lookups
+	 * don't need tombstones
+	 */
+	private void shiftBack(final int[] slots, int empty, final boolean byKey) {
+		final int mask = slots.length - 1;
+		int slot = empty;
+		while (true) {
+			slot = (slot + 1) & mask;
+			final int entry = slots[slot] - 1;
+			if (entry < 0) {
+				break;
+			}
+			final int home = (byKey ? hash(this.hi(entry), this.los[entry]) : hash(this.userIds[entry])) & mask;
+			// Move back if the empty slot is between the home slot and the current slot, cyclically
+			if (((slot - home) & mask) >= ((slot - empty) & mask)) {
+				slots[empty] = slots[slot];
+				empty = slot;
+			}
+		}
+		slots[empty] = 0;
+	}
+
+	private static void insert(final int[] slots, final int hash, final int entry) {
+		final int mask = slots.length - 1;
+		int slot = hash & mask;
+		while (slots[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		slots[slot] = entry + 1;
+	}
+
+	private static void relink(final int[] slots, final int hash, final int from, final int to) {
+		final int mask = slots.length - 1;
+		int slot = hash & mask;
+		while (slots[slot] != from + 1) {
+			slot = (slot + 1) & mask;
+		}
+		slots[slot] = to + 1;
+	}
+
+	private static int hash(final long hi, final long lo) {
+		return mix(hi * 0x9E3779B97F4A7C15L + lo);
+	}
+
+	private static int hash(final int userId) {
+		return mix(userId);
+	}
+
+	private static int mix(long h) {
+		// Murmur3 finalizer, spreads sequential ids and similar UUIDs over the table
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int) h;
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.namelessmc.java_api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Request body written by a {@link RequestHandler.BodyWriter}. The JSON writer encodes directly into a list of
+ * chunks, which are handed to the HTTP client as they are, so the body is never built as a String or copied into
+ * a single large array. Chunks start small and grow up to {@link #MAX_CHUNK_SIZE}, so small bodies don't waste
+ * memory and large bodies are never copied to grow a buffer.
+ * <p>
+ * The HTTP client does not tell us when it is done with a chunk, so chunks can't safely be reused for another
+ * request. The body length is known up front, so the request is sent with a Content-Length header like before.
+ */
+final class JsonBodyPublisher implements HttpRequest.BodyPublisher {
+
+	private static final int MIN_CHUNK_SIZE = 512;
+	// Same as the HTTP client's own buffer size
+	private static final int MAX_CHUNK_SIZE = 16 * 1024;
+
+	private final @NonNull List<byte[]> chunks;
+	private final long length;
+
+	private JsonBodyPublisher(final @NonNull List<byte[]> chunks, final long length) {
+		this.chunks = chunks;
+		this.length = length;
+	}
+
+	/**
+	 * Write a request body
+	 * @param gson Used to create the JSON writer, so it uses the configured formatting
+	 */
+	static @NonNull JsonBodyPublisher write(final @NonNull Gson gson,
+											final RequestHandler.@NonNull BodyWriter bodyWriter) throws IOException {
+		final ChunkOutputStream out = new ChunkOutputStream();
+		try (JsonWriter writer = gson.newJsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+			bodyWriter.write(writer);
+		}
+		return new JsonBodyPublisher(out.finish(), out.length);
+	}
+
+	@Override
+	public long contentLength() {
+		return this.length;
+	}
+
+	@Override
+	public void subscribe(final Flow.@NonNull Subscriber<? super ByteBuffer> subscriber) {
+		// Let the JDK deal with the reactive streams protocol, it wraps the chunks without copying them
+		HttpRequest.BodyPublishers.ofByteArrays(this.chunks).subscribe(subscriber);
+	}
+
+	/**
+	 * @return Body as a string, for debug logging
+	 */
+	@NonNull String asString() {
+		final byte[] bytes = new byte[(int) this.length];
+		int position = 0;
+		for (final byte[] chunk : this.chunks) {
+			System.arraycopy(chunk, 0, bytes, position, chunk.length);
+			position += chunk.length;
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static final class ChunkOutputStream extends OutputStream {
+
+		private final @NonNull List<byte[]> chunks = new ArrayList<>();
+		private byte @NonNull [] current = new byte[MIN_CHUNK_SIZE];
+		private int position = 0;
+		private long length = 0;
+
+		@Override
+		public void write(final int b) {
+			if (this.position == this.current.length) {
+				this.nextChunk();
+			}
+			this.current[this.position++] = (byte) b;
+			this.length++;
+		}
+
+		@Override
+		public void write(final byte @NonNull [] b, int off, int len) {
+			this.length += len;
+			while (len > 0) {
+				if (this.position == this.current.length) {
+					this.nextChunk();
+				}
+				final int count = Math.min(len, this.current.length - this.position);
+				System.arraycopy(b, off, this.current, this.position, count);
+				this.position += count;
+				off += count;
+				len -= count;
+			}
+		}
+
+		private void nextChunk() {
+			this.chunks.add(this.current);
+			this.current = new byte[Math.min(MAX_CHUNK_SIZE, this.current.length * 2)];
+			this.position = 0;
+		}
+
+		private @NonNull List<byte[]> finish() {
+			if (this.position > 0) {
+				// Only the last chunk is partially filled, and it is small compared to the entire body
+				this.chunks.add(Arrays.copyOf(this.current, this.position));
+			}
+			return this.chunks;
+		}
+
+	}
+
+}
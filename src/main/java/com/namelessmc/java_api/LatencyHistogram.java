@@ -0,0 +1,152 @@
+package com.namelessmc.java_api;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Lock-free histogram of durations, with microsecond resolution. Like HdrHistogram, values are counted in
+ * log-linear buckets: every power of two range is split in 32 linear sub buckets, so percentiles are accurate
+ * to about 3% while the histogram stays small (8 KiB) regardless of the number of recorded values.
+ * Values larger than about 19 hours are recorded as the maximum value.
+ * @see HistogramMetricsRecorder
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 35;
+	private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+	private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+	private final @NonNull AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final @NonNull LongAdder totalCount = new LongAdder();
+	private final @NonNull LongAdder totalMicros = new LongAdder();
+	private final @NonNull LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+	public LatencyHistogram() {
+	}
+
+	/**
+	 * Record a duration
+	 * @param nanos Duration in nanoseconds, negative values are recorded as 0
+	 */
+	public void record(final long nanos) {
+		final long micros = Math.min(MAX_VALUE, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+		this.counts.incrementAndGet(bucketIndex(micros));
+		this.totalCount.increment();
+		this.totalMicros.add(micros);
+		this.maxMicros.accumulate(micros);
+	}
+
+	/**
+	 * @return Number of recorded durations
+	 */
+	public long count() {
+		return this.totalCount.sum();
+	}
+
+	/**
+	 * @return Largest recorded duration, or zero if nothing has been recorded
+	 */
+	public @NonNull Duration max() {
+		return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(this.maxMicros.get()));
+	}
+
+	/**
+	 * @return Average of recorded durations, or zero if nothing has been recorded
+	 */
+	public @NonNull Duration mean() {
+		final long count = this.totalCount.sum();
+		if (count == 0) {
+			return Duration.ZERO;
+		}
+		return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(this.totalMicros.sum() / count));
+	}
+
+	/**
+	 * @param percentile Percentile, between 0 and 100
+	 * @return Duration such that the given percentage of recorded durations is smaller than or equal to it (within
+	 * the precision of the histogram), or zero if nothing has been recorded
+	 */
+	public @NonNull Duration percentile(final double percentile) {
+		Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+		// Concurrent updates may be missed, so count the buckets instead of using the total count
+		final long[] snapshot = new long[BUCKET_COUNT];
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = this.counts.get(i);
+			count += snapshot[i];
+		}
+		if (count == 0) {
+			return Duration.ZERO;
+		}
+
+		final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				final long micros = Math.min(highestEquivalentValue(i), this.maxMicros.get());
+				return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+			}
+		}
+		return this.max();
+	}
+
+	public @NonNull Duration p50() {
+		return this.percentile(50);
+	}
+
+	public @NonNull Duration p99() {
+		return this.percentile(99);
+	}
+
+	public @NonNull Duration p999() {
+		return this.percentile(99.9);
+	}
+
+	/**
+	 * Clear all recorded values. Values recorded concurrently may or may not be cleared.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			this.counts.set(i, 0);
+		}
+		this.totalCount.reset();
+		this.totalMicros.reset();
+		this.maxMicros.reset();
+	}
+
+	static int bucketIndex(final long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long highestEquivalentValue(final int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		final int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		final long subBucket = index % SUB_BUCKET_COUNT;
+		final int shift = exponent - SUB_BUCKET_BITS;
+		return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+	}
+
+	@Override
+	public @NonNull String toString() {
+		return "LatencyHistogram[count=" + this.count() + ",p50=" + this.p50().toMillis() + "ms,p99=" +
+				this.p99().toMillis() + "ms,p999=" + this.p999().toMillis() + "ms,max=" + this.max().toMillis() + "ms]";
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.namelessmc.java_api;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Collects a response body into a byte array without blocking a thread, cancelling the
+ * subscription as soon as the body grows larger than the configured limit.
+ */
+final class LimitedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+	private final int limit;
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+	private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+	private Flow.@Nullable Subscription subscription;
+
+	LimitedBodySubscriber(final int limit) {
+		this.limit = limit;
+	}
+
+	static HttpResponse.BodyHandler<byte[]> handler(final int limit) {
+		return responseInfo -> new LimitedBodySubscriber(limit);
+	}
+
+	@Override
+	public CompletionStage<byte[]> getBody() {
+		return this.result;
+	}
+
+	@Override
+	public void onSubscribe(final Flow.Subscription subscription) {
+		this.subscription = Objects.requireNonNull(subscription);
+		subscription.request(Long.MAX_VALUE);
+	}
+
+	@Override
+	public void onNext(final List<ByteBuffer> items) {
+		if (this.result.isDone()) {
+			return;
+		}
+		for (final ByteBuffer item : items) {
+			if (this.buffer.size() + item.remaining() >= this.limit) {
+				if (this.subscription != null) {
+					this.subscription.cancel();
+				}
+				this.result.completeExceptionally(new ResponseTooLargeException(this.limit));
+				return;
+			}
+			if (item.hasArray()) {
+				this.buffer.write(item.array(), item.arrayOffset() + item.position(), item.remaining());
+			} else {
+				final byte[] bytes = new byte[item.remaining()];
+				item.get(bytes);
+				this.buffer.write(bytes, 0, bytes.length);
+			}
+		}
+	}
+
+	@Override
+	public void onError(final Throwable throwable) {
+		this.result.completeExceptionally(throwable);
+	}
+
+	@Override
+	public void onComplete() {
+		this.result.complete(this.buffer.toByteArray());
+	}
+
+}
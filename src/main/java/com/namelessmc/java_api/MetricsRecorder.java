@@ -0,0 +1,25 @@
+package com.namelessmc.java_api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Receives measurements for every request sent to the website, including retries. Configure using
+ * {@link NamelessApiBuilder#metricsRecorder(MetricsRecorder)}.
+ * <p>
+ * Recorders are called on the thread that handled the request, often an HTTP client thread, so they must be
+ * thread safe and should return quickly. Exceptions thrown by a recorder are ignored.
+ */
+@FunctionalInterface
+public interface MetricsRecorder {
+
+	void record(@NonNull RequestMetrics metrics);
+
+	/**
+	 * @return New recorder which keeps latency and parse time histograms per route, so percentiles can be
+	 * inspected at runtime
+	 */
+	static @NonNull HistogramMetricsRecorder histogram() {
+		return new HistogramMetricsRecorder();
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.namelessmc.java_api;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.modules.NamelessModule;
+
+/**
+ * Lazily created module API object, like {@link com.namelessmc.java_api.modules.store.StoreAPI}, reused for every
+ * call. Whether the module is installed is still checked for every call, using cached website info. Under
+ * contention the object may be created more than once, which is harmless.
+ */
+final class ModuleHandle<T> {
+
+	private final @NonNull NamelessModule module;
+	private final @NonNull Constructor<T> constructor;
+	private volatile @Nullable T handle;
+
+	/**
+	 * @param constructor Creates the module API object. The API instance is passed in when the object is first needed,
+	 *                    so the handle can be created while the API instance is still being constructed.
+	 */
+	ModuleHandle(final @NonNull NamelessModule module,
+				 final @NonNull Constructor<T> constructor) {
+		this.module = Objects.requireNonNull(module, "Module is null");
+		this.constructor = Objects.requireNonNull(constructor, "Constructor is null");
+	}
+
+	@NonNull T get(final @NonNull NamelessAPI api) throws NamelessException {
+		api.ensureModuleInstalled(this.module);
+		@Nullable T handle = this.handle;
+		if (handle == null) {
+			handle = this.constructor.construct(api);
+			this.handle = handle;
+		}
+		return handle;
+	}
+
+	@NonNull CompletableFuture<@NonNull T> getAsync(final @NonNull NamelessAPI api) {
+		// After loading website info asynchronously, get() uses cached website info so it won't block
+		return api.ensureModuleInstalledAsync(this.module).thenApply(ignored -> {
+			try {
+				return this.get(api);
+			} catch (final NamelessException e) {
+				throw new CompletionException(e);
+			}
+		});
+	}
+
+	@FunctionalInterface
+	interface Constructor<T> {
+
+		@NonNull T construct(@NonNull NamelessAPI api) throws NamelessException;
+
+	}
+
+}
@@ -1,23 +1,25 @@
 package com.namelessmc.java_api;
 
-import java.math.BigInteger;
 import java.net.URL;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.namelessmc.java_api.exception.ApiError;
 import com.namelessmc.java_api.exception.ApiException;
 import com.namelessmc.java_api.exception.MissingModuleException;
@@ -38,16 +40,55 @@ public final class NamelessAPI {
 	private final @NonNull URL apiUrl;
 	private final @NonNull String apiKey;
 
-	private static final long CACHED_WEBSITE_INFO_VALIDITY = 60_000;
-	private @Nullable Website cachedWebsiteInfo = null;
-	private long cachedWebsiteInfoTime = 0;
+	private static final int BULK_LOOKUP_PAGE_SIZE = 1000;
+	private static final ResponseDecoder<List<Group>> GROUPS = ResponseDecoder.list("groups", Group::read);
+	private final @NonNull WebsiteCache websiteCache;
+	private final @Nullable UserCache userCache;
+	private final @Nullable UserIndex userIndex;
+	private final @Nullable UserIdentityMap identityMap;
+	private final @Nullable UserLoader userLoader;
+	private final @NonNull UserInfoInterner userInfoInterner = new UserInfoInterner();
+	// One decoder for all user list requests, identical requests are only coalesced and cached if they use the same
+	// decoder. Created on first use, it needs a fully constructed API instance.
+	private volatile @Nullable ResponseDecoder<List<NamelessUser>> usersDecoder;
+	private final @NonNull ModuleHandle<DiscordAPI> discord =
+			new ModuleHandle<>(NamelessModule.DISCORD_INTEGRATION, DiscordAPI::new);
+	private final @NonNull ModuleHandle<StoreAPI> store =
+			new ModuleHandle<>(NamelessModule.STORE, StoreAPI::new);
+	private final @NonNull ModuleHandle<SuggestionsAPI> suggestions =
+			new ModuleHandle<>(NamelessModule.SUGGESTIONS, SuggestionsAPI::new);
+	private final @NonNull ModuleHandle<WebsendAPI> websend =
+			new ModuleHandle<>(NamelessModule.WEBSEND, WebsendAPI::new);
 
 	NamelessAPI(final @NonNull RequestHandler requests,
 				final @NonNull URL apiUrl,
-				final @NonNull String apiKey) {
+				final @NonNull String apiKey,
+				final @NonNull Duration websiteInfoTtl,
+				final @NonNull Duration websiteInfoJitter,
+				final @Nullable UserCache userCache,
+				final UserIndex.@Nullable Builder userIndex,
+				final @Nullable UserIdentityMap identityMap,
+				final UserLoader.@Nullable Builder userLoader) {
 		this.requests = Objects.requireNonNull(requests, "Request handler is null");
 		this.apiUrl = apiUrl;
 		this.apiKey = apiKey;
+		this.websiteCache = new WebsiteCache(requests, websiteInfoTtl, websiteInfoJitter);
+		this.userCache = userCache;
+		this.userIndex = userIndex != null ? userIndex.build(this) : null;
+		this.identityMap = identityMap;
+		this.userLoader = userLoader != null ? userLoader.build(this) : null;
+	}
+
+	@NonNull ResponseDecoder<List<NamelessUser>> usersDecoder() {
+		@Nullable ResponseDecoder<List<NamelessUser>> decoder = this.usersDecoder;
+		if (decoder == null) {
+			// Users are decoded one at a time while the response is read, so the entire user list is never held as a JSON tree
+			decoder = ResponseDecoder.list("users",
+					reader -> new NamelessUser(this, JsonParser.parseReader(reader).getAsJsonObject()));
+			// Racing threads may each create a decoder, only their first requests are not shared
+			this.usersDecoder = decoder;
+		}
+		return decoder;
 	}
 
 	public @NonNull RequestHandler requests() {
@@ -62,6 +103,46 @@ public final class NamelessAPI {
 		return this.apiKey;
 	}
 
+	/**
+	 * @return User cache configured using {@link NamelessApiBuilder#userCache(UserCache)}, or null
+	 */
+	public @Nullable UserCache userCache() {
+		return this.userCache;
+	}
+
+	/**
+	 * @return User index configured using {@link NamelessApiBuilder#userIndex(UserIndex.Builder)}, or null
+	 */
+	public @Nullable UserIndex userIndex() {
+		return this.userIndex;
+	}
+
+	/**
+	 * @return Identity map configured using {@link NamelessApiBuilder#identityMap(UserIdentityMap)}, or null
+	 */
+	public @Nullable UserIdentityMap identityMap() {
+		return this.identityMap;
+	}
+
+	/**
+	 * @return User loader configured using {@link NamelessApiBuilder#userLoader(UserLoader.Builder)}, or null
+	 */
+	public @Nullable UserLoader userLoader() {
+		return this.userLoader;
+	}
+
+	/**
+	 * Parse user information from a user info response or user listing, and add its integrations to the
+	 * identity map
+	 */
+	@NonNull UserInfo parseUserInfo(final @NonNull JsonObject json) {
+		final UserInfo userInfo = UserInfo.parse(json, this.userInfoInterner);
+		if (this.identityMap != null) {
+			this.identityMap.add(userInfo, this.requests);
+		}
+		return userInfo;
+	}
+
 	/**
 	 * Get announcements visible to guests. Use {@link NamelessUser#announcements()} for non-guest announcements.
 	 * @return List of announcements
@@ -72,6 +153,13 @@ public final class NamelessAPI {
 		return announcements(response);
 	}
 
+	/**
+	 * Asynchronous version of {@link #announcements()}
+	 */
+	public @NonNull CompletableFuture<@NonNull List<@NonNull Announcement>> announcementsAsync() {
+		return this.requests.getAsync(NamelessAPI::announcements, "announcements");
+	}
+
 	/**
 	 * Convert announcement json to objects
 	 * @param response Announcements json API response
@@ -92,6 +180,13 @@ public final class NamelessAPI {
 		this.requests.post("minecraft/server-info", jsonData);
 	}
 
+	/**
+	 * Asynchronous version of {@link #submitServerInfo(JsonObject)}
+	 */
+	public @NonNull CompletableFuture<Void> submitServerInfoAsync(final @NonNull JsonObject jsonData) {
+		return this.requests.postAsync("minecraft/server-info", jsonData, response -> null);
+	}
+
 	/**
 	 * Send Minecraft groups to website. Only available in Nameless 2.1.0+
 	 * @param groups
@@ -100,40 +195,46 @@ public final class NamelessAPI {
 	 */
 	@Deprecated
 	public void sendMinecraftGroups(final int serverId, final Map<UUID, Set<String>> groups) throws NamelessException {
-		final JsonObject groupsJson = new JsonObject();
-		final Gson gson = this.requests().gson();
-		groups.forEach((uuid, playerGroups) -> {
-			final JsonObject playerGroupsObject = new JsonObject();
-			playerGroupsObject.add("groups", gson.toJsonTree(playerGroups));
-			groupsJson.add(javaUuidToWebsiteUuid(uuid), playerGroupsObject);
+		this.requests.post("minecraft/update-groups", writer -> {
+			writer.beginObject();
+			writer.name("server_id").value(serverId);
+			writer.name("player_groups").beginObject();
+			for (final Map.Entry<UUID, Set<String>> entry : groups.entrySet()) {
+				writer.name(javaUuidToWebsiteUuid(entry.getKey())).beginObject();
+				writer.name("groups").beginArray();
+				for (final String group : entry.getValue()) {
+					writer.value(group);
+				}
+				writer.endArray();
+				writer.endObject();
+			}
+			writer.endObject();
+			writer.endObject();
 		});
-
-		final JsonObject body = new JsonObject();
-		body.addProperty("server_id", serverId);
-		body.add("player_groups", groupsJson);
-
-		this.requests.post("minecraft/update-groups", body);
 	}
 
 	/**
-	 * Get website information
+	 * Get website information. Website information is cached, after the cache TTL has passed cached information is
+	 * still returned while it is refreshed in the background.
 	 * @return {@link Website} object containing website information
+	 * @see NamelessApiBuilder#websiteInfoCache(Duration, Duration)
 	 */
 	public Website website() throws NamelessException {
-		if (this.cachedWebsiteInfoTime + CACHED_WEBSITE_INFO_VALIDITY > System.currentTimeMillis() &&
-				this.cachedWebsiteInfo != null) {
-			return this.cachedWebsiteInfo;
-		}
+		return this.websiteCache.get();
+	}
 
-		final JsonObject json = this.requests.get("info");
-		final Website website = new Website(json);
-		this.cachedWebsiteInfo = website;
-		this.cachedWebsiteInfoTime = System.currentTimeMillis();
-		return website;
+	/**
+	 * Asynchronous version of {@link #website()}. Returns a completed future if website information is cached.
+	 */
+	public @NonNull CompletableFuture<@NonNull Website> websiteAsync() {
+		return this.websiteCache.getAsync();
 	}
 
+	/**
+	 * @return Cached website information, possibly outdated, or null if it has not been loaded yet
+	 */
 	public @Nullable Website websiteIfCached() {
-		return this.cachedWebsiteInfo;
+		return this.websiteCache.getIfPresent();
 	}
 
 	public FilteredUserListBuilder users() {
@@ -152,6 +253,30 @@ public final class NamelessAPI {
 		}
 	}
 
+	/**
+	 * Asynchronous version of {@link #userAsNullable(NamelessUser)}. Loads user information, completing
+	 * with the same user object if it exists or null if it doesn't.
+	 */
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userAsNullableAsync(final @NonNull NamelessUser user) {
+		return user.userInfoAsync().handle((userInfo, throwable) -> {
+			if (throwable == null) {
+				return user;
+			}
+			final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+					? throwable.getCause()
+					: throwable;
+			if (isUserNotFound(cause)) {
+				return null;
+			}
+			throw new CompletionException(cause);
+		});
+	}
+
+	static boolean isUserNotFound(final @NonNull Throwable throwable) {
+		return throwable instanceof ApiException &&
+				((ApiException) throwable).apiError() == ApiError.NAMELESS_CANNOT_FIND_USER;
+	}
+
 	public @Nullable NamelessUser user(final int id) throws NamelessException {
 		return this.userAsNullable(this.userLazy(id));
 	}
@@ -176,6 +301,69 @@ public final class NamelessAPI {
 		return this.userAsNullable(this.userByDiscordUsernameLazy(username));
 	}
 
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userAsync(final int id) {
+		return this.userAsNullableAsync(this.userLazy(id));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByUsernameAsync(final @NonNull String username) {
+		return this.userAsNullableAsync(this.userByUsernameLazy(username));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByMinecraftUuidAsync(final @NonNull UUID uuid) {
+		return this.userAsNullableAsync(this.userByMinecraftUuidLazy(uuid));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByMinecraftUsernameAsync(final @NonNull String username) {
+		return this.userAsNullableAsync(this.userByMinecraftUsernameLazy(username));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByDiscordIdAsync(final long id) {
+		return this.userAsNullableAsync(this.userByDiscordIdLazy(id));
+	}
+
+	public @NonNull CompletableFuture<@Nullable NamelessUser> userByDiscordUsernameAsync(final @NonNull String username) {
+		return this.userAsNullableAsync(this.userByDiscordUsernameLazy(username));
+	}
+
+	/**
+	 * Look up many users by Minecraft UUID at once, using as few user list requests as possible. For a few users,
+	 * looking them up one at a time using {@link #userByMinecraftUuidAsync(UUID)} may be faster, because
+	 * requesting a user that is not registered requires listing all users with a Minecraft integration.
+	 * @return Map with an entry for every UUID, in iteration order of the given collection, empty if no user is
+	 * registered with that UUID
+	 */
+	public @NonNull Map<UUID, Optional<NamelessUser>> usersByMinecraftUuids(final @NonNull Collection<UUID> uuids) throws NamelessException {
+		return BulkUserLookup.minecraftUuids(this, BULK_LOOKUP_PAGE_SIZE).lookup(uuids);
+	}
+
+	public @NonNull CompletableFuture<Map<UUID, Optional<NamelessUser>>> usersByMinecraftUuidsAsync(final @NonNull Collection<UUID> uuids) {
+		return this.requests.onCompletionExecutor(BulkUserLookup.minecraftUuids(this, BULK_LOOKUP_PAGE_SIZE).lookupAsync(uuids));
+	}
+
+	/**
+	 * Look up many users by Discord id at once
+	 * @see #usersByMinecraftUuids(Collection)
+	 */
+	public @NonNull Map<Long, Optional<NamelessUser>> usersByDiscordIds(final @NonNull Collection<Long> ids) throws NamelessException {
+		return BulkUserLookup.discordIds(this, BULK_LOOKUP_PAGE_SIZE).lookup(ids);
+	}
+
+	public @NonNull CompletableFuture<Map<Long, Optional<NamelessUser>>> usersByDiscordIdsAsync(final @NonNull Collection<Long> ids) {
+		return this.requests.onCompletionExecutor(BulkUserLookup.discordIds(this, BULK_LOOKUP_PAGE_SIZE).lookupAsync(ids));
+	}
+
+	/**
+	 * Look up many users by username at once. Usernames are matched case insensitively.
+	 * @see #usersByMinecraftUuids(Collection)
+	 */
+	public @NonNull Map<String, Optional<NamelessUser>> usersByUsernames(final @NonNull Collection<String> usernames) throws NamelessException {
+		return BulkUserLookup.usernames(this, BULK_LOOKUP_PAGE_SIZE).lookup(usernames);
+	}
+
+	public @NonNull CompletableFuture<Map<String, Optional<NamelessUser>>> usersByUsernamesAsync(final @NonNull Collection<String> usernames) {
+		return this.requests.onCompletionExecutor(BulkUserLookup.usernames(this, BULK_LOOKUP_PAGE_SIZE).lookupAsync(usernames));
+	}
+
 	/**
 	 * Construct a NamelessUser object without making API requests (so without checking if the user exists)
 	 * @param id NamelessMC user id
@@ -194,7 +382,14 @@ public final class NamelessAPI {
 	}
 
 	public @NonNull NamelessUser userByMinecraftUuidLazy(final @NonNull UUID uuid) {
-		return this.byIntegrationIdentifierLazy(StandardIntegrationTypes.MINECRAFT, javaUuidToWebsiteUuid(uuid));
+		if (this.identityMap != null) {
+			final int id = this.identityMap.userIdByMinecraftUuid(uuid);
+			if (id > 0) {
+				return new NamelessUser(this, IdentifierCodec.minecraftTransformer(uuid), id,
+						StandardIntegrationTypes.MINECRAFT, IdentifierCodec.javaUuidToWebsiteUuid(uuid));
+			}
+		}
+		return new NamelessUser(this, IdentifierCodec.minecraftTransformer(uuid), true);
 	}
 
 	public @NonNull NamelessUser userByMinecraftUsernameLazy(final @NonNull String username) {
@@ -202,7 +397,14 @@ public final class NamelessAPI {
 	}
 
 	public @NonNull NamelessUser userByDiscordIdLazy(final long id) {
-		return this.byIntegrationIdentifierLazy(StandardIntegrationTypes.DISCORD, String.valueOf(id));
+		if (this.identityMap != null) {
+			final int userId = this.identityMap.userIdByDiscordId(id);
+			if (userId > 0) {
+				return new NamelessUser(this, IdentifierCodec.discordTransformer(id), userId,
+						StandardIntegrationTypes.DISCORD, Long.toString(id));
+			}
+		}
+		return new NamelessUser(this, IdentifierCodec.discordTransformer(id), true);
 	}
 
 	public @NonNull NamelessUser userByDiscordUsernameLazy(final @NonNull String username) {
@@ -223,11 +425,21 @@ public final class NamelessAPI {
 	 * @return Group or null if it doesn't exist
 	 */
 	public @Nullable Group group(final int id) throws NamelessException {
-		final JsonObject response = this.requests.get("groups", "id", id);
-		final JsonArray jsonArray = response.getAsJsonArray("groups");
-		if (jsonArray.size() == 1) {
-			return new Group(jsonArray.get(0).getAsJsonObject());
-		} else if (jsonArray.isEmpty()) {
+		return singleGroup(this.requests.get(GROUPS, "groups", "id", id));
+	}
+
+	/**
+	 * Asynchronous version of {@link #group(int)}
+	 */
+	public @NonNull CompletableFuture<@Nullable Group> groupAsync(final int id) {
+		return this.requests.getAsync(GROUPS, "groups", "id", id)
+				.thenApply(NamelessAPI::singleGroup);
+	}
+
+	private static @Nullable Group singleGroup(final @NonNull List<Group> groups) {
+		if (groups.size() == 1) {
+			return groups.get(0);
+		} else if (groups.isEmpty()) {
 			return null;
 		} else {
 			throw new IllegalStateException("Website returned multiple groups for one id");
@@ -241,8 +453,15 @@ public final class NamelessAPI {
 	 */
 	public List<Group> group(final @NonNull String name) throws NamelessException {
 		Objects.requireNonNull(name, "Group name is null");
-		final JsonObject response = this.requests.get("groups", "name", name);
-		return this.groupListFromJsonArray(response.getAsJsonArray("groups"));
+		return this.requests.get(GROUPS, "groups", "name", name);
+	}
+
+	/**
+	 * Asynchronous version of {@link #group(String)}
+	 */
+	public @NonNull CompletableFuture<@NonNull List<Group>> groupAsync(final @NonNull String name) {
+		Objects.requireNonNull(name, "Group name is null");
+		return this.requests.getAsync(GROUPS, "groups", "name", name);
 	}
 
 	/**
@@ -250,26 +469,22 @@ public final class NamelessAPI {
 	 * @return list of groups
 	 */
 	public List<Group> getAllGroups() throws NamelessException {
-		final JsonObject response = this.requests.get("groups");
-		return this.groupListFromJsonArray(response.getAsJsonArray("groups"));
+		return this.requests.get(GROUPS, "groups");
+	}
 
+	/**
+	 * Asynchronous version of {@link #getAllGroups()}
+	 */
+	public @NonNull CompletableFuture<@NonNull List<Group>> getAllGroupsAsync() {
+		return this.requests.getAsync(GROUPS, "groups");
 	}
 
 	public int[] getAllGroupIds() throws NamelessException {
-		final JsonObject response = this.requests.get("groups");
-		return StreamSupport.stream(response.getAsJsonArray("groups").spliterator(), false)
-				.map(JsonElement::getAsJsonObject)
-				.mapToInt(o -> o.get("id").getAsInt())
+		return this.requests.get(GROUPS, "groups").stream()
+				.mapToInt(Group::getId)
 				.toArray();
 	}
 
-	private @NonNull List<Group> groupListFromJsonArray(final @NonNull JsonArray array) {
-		return StreamSupport.stream(array.spliterator(), false)
-				.map(JsonElement::getAsJsonObject)
-				.map(Group::new)
-				.collect(Collectors.toList());
-	}
-
 	/**
 	 * Registers a new account. The user will be emailed to set a password.
 	 *
@@ -285,7 +500,23 @@ public final class NamelessAPI {
 												  final @NonNull String email,
 												  final @NonNull IntegrationData@Nullable ... integrationData)
 			throws NamelessException {
+		final JsonObject response = this.requests.post("users/register", registerUserBody(username, email, integrationData));
+		return registerUserLink(response);
+	}
+
+	/**
+	 * Asynchronous version of {@link #registerUser(String, String, IntegrationData...)}
+	 */
+	public @NonNull CompletableFuture<Optional<String>> registerUserAsync(final @NonNull String username,
+																		 final @NonNull String email,
+																		 final @NonNull IntegrationData@Nullable ... integrationData) {
+		final JsonObject post = registerUserBody(username, email, integrationData);
+		return this.requests.postAsync("users/register", post, NamelessAPI::registerUserLink);
+	}
 
+	private static @NonNull JsonObject registerUserBody(final @NonNull String username,
+														final @NonNull String email,
+														final @NonNull IntegrationData@Nullable ... integrationData) {
 		Objects.requireNonNull(username, "Username is null");
 		Objects.requireNonNull(email, "Email address is null");
 
@@ -302,9 +533,10 @@ public final class NamelessAPI {
 			}
 			post.add("integrations", integrationsJson);
 		}
+		return post;
+	}
 
-		final JsonObject response = this.requests.post("users/register", post);
-
+	private static @NonNull Optional<String> registerUserLink(final @NonNull JsonObject response) {
 		if (response.has("link")) {
 			return Optional.of(response.get("link").getAsString());
 		} else {
@@ -333,42 +565,63 @@ public final class NamelessAPI {
 		}
 	}
 
+	/**
+	 * Asynchronous version of {@link #ensureModuleInstalled(NamelessModule)}. The future completes
+	 * exceptionally with {@link MissingModuleException} if the module is missing.
+	 */
+	public @NonNull CompletableFuture<Void> ensureModuleInstalledAsync(final @NonNull NamelessModule module) {
+		return this.websiteAsync().thenApply(website -> {
+			if (!website.modules().contains(module)) {
+				throw new CompletionException(new MissingModuleException(module));
+			}
+			return null;
+		});
+	}
+
 	public DiscordAPI discord() throws NamelessException {
-		return new DiscordAPI(this);
+		return this.discord.get(this);
+	}
+
+	public @NonNull CompletableFuture<@NonNull DiscordAPI> discordAsync() {
+		return this.discord.getAsync(this);
 	}
 
 	public StoreAPI store() throws NamelessException {
-		return new StoreAPI(this);
+		return this.store.get(this);
+	}
+
+	public @NonNull CompletableFuture<@NonNull StoreAPI> storeAsync() {
+		return this.store.getAsync(this);
 	}
 
 	public SuggestionsAPI suggestions() throws NamelessException {
-		return new SuggestionsAPI(this);
+		return this.suggestions.get(this);
+	}
+
+	public @NonNull CompletableFuture<@NonNull SuggestionsAPI> suggestionsAsync() {
+		return this.suggestions.getAsync(this);
 	}
 
 	public WebsendAPI websend() throws NamelessException {
-		return new WebsendAPI(this);
+		return this.websend.get(this);
+	}
+
+	public @NonNull CompletableFuture<@NonNull WebsendAPI> websendAsync() {
+		return this.websend.getAsync(this);
 	}
 
 	/**
-	 * Adds back dashes to a UUID string and converts it to a Java UUID object
-	 * @param uuid UUID without dashes
-	 * @return UUID with dashes
+	 * @see IdentifierCodec#websiteUuidToJavaUuid(String)
 	 */
 	public static @NonNull UUID websiteUuidToJavaUuid(final @NonNull String uuid) {
-		Objects.requireNonNull(uuid, "UUID string is null");
-		// Website sends UUIDs without dashes, so we can't use UUID#fromString
-		// https://stackoverflow.com/a/30760478
-		try {
-			final BigInteger a = new BigInteger(uuid.substring(0, 16), 16);
-			final BigInteger b = new BigInteger(uuid.substring(16, 32), 16);
-			return new UUID(a.longValue(), b.longValue());
-		} catch (final IndexOutOfBoundsException e) {
-			throw new IllegalArgumentException("Invalid uuid: '" + uuid + "'", e);
-		}
+		return IdentifierCodec.websiteUuidToJavaUuid(uuid);
 	}
 
+	/**
+	 * @see IdentifierCodec#javaUuidToWebsiteUuid(UUID)
+	 */
 	public static @NonNull String javaUuidToWebsiteUuid(final @NonNull UUID uuid) {
-		return uuid.toString().replace("-", "");
+		return IdentifierCodec.javaUuidToWebsiteUuid(uuid);
 	}
 
 	public static @NonNull NamelessApiBuilder builder(final @NonNull URL apiUrl,
@@ -1,5 +1,6 @@
 package com.namelessmc.java_api;
 
+import com.github.mizosoft.methanol.HttpCache;
 import com.github.mizosoft.methanol.Methanol;
 import com.google.gson.GsonBuilder;
 import com.namelessmc.java_api.logger.ApiLogger;
@@ -16,7 +17,12 @@ import java.net.URI;
 import java.net.URL;
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 public class NamelessApiBuilder {
 
@@ -36,8 +42,28 @@ public class NamelessApiBuilder {
 	private @Nullable ProxySelector proxy = null;
 	private @Nullable Authenticator authenticator = null;
 	private HttpClient.@Nullable Version httpVersion = null;
+	private @Nullable Executor completionExecutor = null;
+	private boolean virtualThreads = false;
 
 	private boolean pettyJsonRequests = false;
+	private boolean coalesceRequests = true;
+	private RateLimiter.@Nullable TokenBucket globalRateLimit = null;
+	private final Map<String, RateLimiter.TokenBucket> routeRateLimits = new LinkedHashMap<>();
+	private RetryPolicy getRetryPolicy = RetryPolicy.defaultGet();
+	private RetryPolicy postRetryPolicy = RetryPolicy.defaultPost();
+	private double retryBudgetRatio = 0.2;
+	private int retryBudgetMinPerSecond = 10;
+	private @Nullable CircuitBreaker circuitBreaker = null;
+	private @Nullable HttpCache httpCache = null;
+	private @Nullable MetricsRecorder metricsRecorder = null;
+	private @Nullable HedgingPolicy hedgingPolicy = null;
+	private final List<Methanol.Interceptor> interceptors = new ArrayList<>();
+	private Duration websiteInfoTtl = Duration.ofSeconds(60);
+	private Duration websiteInfoJitter = Duration.ofSeconds(5);
+	private @Nullable UserCache userCache = null;
+	private UserIndex.@Nullable Builder userIndex = null;
+	private @Nullable UserIdentityMap identityMap = null;
+	private UserLoader.@Nullable Builder userLoader = null;
 
 	NamelessApiBuilder(final @NonNull URL apiUrl,
 					   final @NonNull String apiKey) {
@@ -99,6 +125,207 @@ public class NamelessApiBuilder {
 		return this;
 	}
 
+	/**
+	 * Executor used to complete futures returned by async methods, for example a Minecraft server's main
+	 * thread executor. Response parsing is done before handing the result to this executor. By default,
+	 * futures are completed on an HTTP client thread.
+	 * @param completionExecutor Executor, or null to complete futures on HTTP client threads
+	 */
+	public NamelessApiBuilder completionExecutor(final @Nullable Executor completionExecutor) {
+		this.completionExecutor = completionExecutor;
+		return this;
+	}
+
+	/**
+	 * Run the HTTP client and background work such as delayed retries on virtual threads, instead of the HTTP
+	 * client's default thread pool and the common fork join pool. Blocking methods are cheap to call from virtual
+	 * threads, so they can then be used instead of async methods without a dedicated thread pool. Requires Java 21,
+	 * on older Java versions this option is ignored. Disabled by default.
+	 */
+	public NamelessApiBuilder virtualThreads(final boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+		return this;
+	}
+
+	/**
+	 * Whether identical concurrent GET requests should share a single request to the website. Enabled by default.
+	 * @see RequestHandler#coalescingRatio()
+	 */
+	public NamelessApiBuilder requestCoalescing(final boolean coalesceRequests) {
+		this.coalesceRequests = coalesceRequests;
+		return this;
+	}
+
+	/**
+	 * Limit the rate at which requests are sent to the website. Requests over the limit are delayed, blocking
+	 * methods wait and async methods complete later without blocking a thread. Regardless of this setting, all
+	 * requests are paused when the website responds with status code 429, or 503 with a Retry-After header.
+	 * @param requestsPerSecond Sustained request rate
+	 * @param burst Number of requests that may be sent at once, after no requests have been sent for a while
+	 */
+	public NamelessApiBuilder rateLimit(final double requestsPerSecond, final int burst) {
+		this.globalRateLimit = new RateLimiter.TokenBucket(requestsPerSecond, burst);
+		return this;
+	}
+
+	/**
+	 * Limit the rate at which requests are sent to routes starting with the given prefix, in addition to the
+	 * global rate limit. When multiple prefixes match a route, the limit that was configured first is used.
+	 * @param routePrefix Route prefix, for example <code>users/</code> or <code>store/</code>
+	 * @see #rateLimit(double, int)
+	 */
+	public NamelessApiBuilder rateLimit(final String routePrefix, final double requestsPerSecond, final int burst) {
+		Objects.requireNonNull(routePrefix, "Route prefix is null");
+		this.routeRateLimits.put(routePrefix, new RateLimiter.TokenBucket(requestsPerSecond, burst));
+		return this;
+	}
+
+	/**
+	 * Retry policy for GET requests, {@link RetryPolicy#defaultGet()} by default
+	 */
+	public NamelessApiBuilder getRetryPolicy(final RetryPolicy retryPolicy) {
+		this.getRetryPolicy = Objects.requireNonNull(retryPolicy, "Retry policy is null");
+		return this;
+	}
+
+	/**
+	 * Retry policy for POST requests, {@link RetryPolicy#defaultPost()} by default. POST requests may not be
+	 * idempotent, so be careful with retrying errors where the website may have already processed the request.
+	 */
+	public NamelessApiBuilder postRetryPolicy(final RetryPolicy retryPolicy) {
+		this.postRetryPolicy = Objects.requireNonNull(retryPolicy, "Retry policy is null");
+		return this;
+	}
+
+	/**
+	 * Limit the number of retries relative to the number of requests, so retries don't multiply the load on the
+	 * website during an outage. Default is 0.2 retries per request, with a minimum of 10 retries per second.
+	 * @param ratio Allowed number of retries per request
+	 * @param minRetriesPerSecond Retries per second that are allowed regardless of the number of requests
+	 */
+	public NamelessApiBuilder retryBudget(final double ratio, final int minRetriesPerSecond) {
+		this.retryBudgetRatio = ratio;
+		this.retryBudgetMinPerSecond = minRetriesPerSecond;
+		return this;
+	}
+
+	/**
+	 * Fail fast with a {@link com.namelessmc.java_api.exception.CircuitBreakerOpenException} instead of waiting for
+	 * timeouts, when too many recent requests to the website failed. Disabled by default.
+	 * @param circuitBreaker Circuit breaker, see {@link CircuitBreaker#builder()}, or null to disable
+	 */
+	public NamelessApiBuilder circuitBreaker(final @Nullable CircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+		return this;
+	}
+
+	/**
+	 * Cache GET responses in memory, according to the caching headers sent by the website. Cached responses are
+	 * revalidated using conditional requests, and when a response has not changed the previously parsed result is
+	 * reused without parsing the response again.
+	 * @param maxSizeBytes Maximum size of the cache
+	 * @see #httpCache(HttpCache)
+	 */
+	public NamelessApiBuilder memoryCache(final long maxSizeBytes) {
+		return this.httpCache(HttpCache.newBuilder().cacheOnMemory(maxSizeBytes).build());
+	}
+
+	/**
+	 * Cache GET responses in the provided cache, for example an on-disk cache created with
+	 * {@link HttpCache.Builder#cacheOnDisk(java.nio.file.Path, long)}. The cache is not closed by this library.
+	 * @param httpCache HTTP cache, or null to disable caching
+	 * @see #memoryCache(long)
+	 * @see RequestHandler#cacheStats()
+	 */
+	public NamelessApiBuilder httpCache(final @Nullable HttpCache httpCache) {
+		this.httpCache = httpCache;
+		return this;
+	}
+
+	/**
+	 * Report status code, response size, parse time and latency of every request to the website, including retries.
+	 * Disabled by default.
+	 * @param metricsRecorder Recorder, for example {@link MetricsRecorder#histogram()}, or null to disable
+	 */
+	public NamelessApiBuilder metricsRecorder(final @Nullable MetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
+		return this;
+	}
+
+	/**
+	 * Send a second identical GET request when the first one is slow, and use whichever response arrives first.
+	 * Disabled by default.
+	 * @param hedgingPolicy Hedging policy, see {@link HedgingPolicy#builder()}, or null to disable
+	 */
+	public NamelessApiBuilder hedging(final @Nullable HedgingPolicy hedgingPolicy) {
+		this.hedgingPolicy = hedgingPolicy;
+		return this;
+	}
+
+	/**
+	 * Add an interceptor to the HTTP client, for example to inspect or modify requests, or to serve canned responses
+	 * in tests and benchmarks. Interceptors are called in the order they were added, before the HTTP cache.
+	 */
+	public NamelessApiBuilder interceptor(final Methanol.Interceptor interceptor) {
+		this.interceptors.add(Objects.requireNonNull(interceptor, "Interceptor is null"));
+		return this;
+	}
+
+	/**
+	 * How long website information is cached, see {@link NamelessAPI#website()}. After the TTL has passed, cached
+	 * information is still used while it is refreshed in the background, also when refreshing fails. Website
+	 * information is used to check whether modules are installed. Default is 60 seconds with 5 seconds jitter.
+	 * @param ttl Time after which website information is refreshed
+	 * @param jitter Maximum random time added to or subtracted from the TTL, so that many API instances don't
+	 *               refresh at the same time. Must be less than the TTL.
+	 */
+	public NamelessApiBuilder websiteInfoCache(final Duration ttl, final Duration jitter) {
+		this.websiteInfoTtl = Objects.requireNonNull(ttl, "TTL is null");
+		this.websiteInfoJitter = Objects.requireNonNull(jitter, "Jitter is null");
+		return this;
+	}
+
+	/**
+	 * Cache user information, so users looked up again are not requested from the website again. Disabled by
+	 * default. The same cache may be passed to multiple API instances for the same website.
+	 * @param userCache User cache, see {@link UserCache#builder()}, or null to disable
+	 */
+	public NamelessApiBuilder userCache(final @Nullable UserCache userCache) {
+		this.userCache = userCache;
+		return this;
+	}
+
+	/**
+	 * Keep a copy of all users in memory, used to answer {@link NamelessAPI#users()} queries without a request to
+	 * the website. Disabled by default. Only enable this if the website has at most a few hundred thousand users.
+	 * @param userIndex User index settings, see {@link UserIndex#builder()}, or null to disable
+	 */
+	public NamelessApiBuilder userIndex(final UserIndex.@Nullable Builder userIndex) {
+		this.userIndex = userIndex;
+		return this;
+	}
+
+	/**
+	 * Remember the user ids of Minecraft UUIDs and Discord ids seen in responses, so users looked up by UUID or
+	 * Discord id are identified by user id instead. Disabled by default. The same map may be passed to multiple
+	 * API instances for the same website.
+	 * @param identityMap Identity map, or null to disable
+	 */
+	public NamelessApiBuilder identityMap(final @Nullable UserIdentityMap identityMap) {
+		this.identityMap = identityMap;
+		return this;
+	}
+
+	/**
+	 * Combine user lookups by id or integration identifier into batches, so loading many users one at a time,
+	 * for example the customers of store payments, needs few requests. Disabled by default.
+	 * @param userLoader User loader settings, see {@link UserLoader#builder()}, or null to disable
+	 */
+	public NamelessApiBuilder userLoader(final UserLoader.@Nullable Builder userLoader) {
+		this.userLoader = userLoader;
+		return this;
+	}
+
 	public NamelessAPI build() {
 		final Methanol.Builder methanolBuilder = Methanol.newBuilder()
 				.defaultHeaders(
@@ -121,6 +348,23 @@ public class NamelessApiBuilder {
 			methanolBuilder.version(this.httpVersion);
 		}
 
+		final @Nullable Executor backgroundExecutor;
+		if (this.virtualThreads && VirtualThreads.isSupported()) {
+			backgroundExecutor = VirtualThreads.newExecutor("nameless-api-");
+			methanolBuilder.executor(backgroundExecutor);
+		} else {
+			if (this.virtualThreads && this.debugLogger != null) {
+				this.debugLogger.log("Virtual threads require Java 21 or newer, using platform threads");
+			}
+			backgroundExecutor = null;
+		}
+
+		this.interceptors.forEach(methanolBuilder::interceptor);
+
+		if (this.httpCache != null) {
+			methanolBuilder.cache(this.httpCache);
+		}
+
 		methanolBuilder.sslParameters(SSL_PARAMETERS);
 
 		GsonBuilder gsonBuilder = new GsonBuilder()
@@ -136,10 +380,27 @@ public class NamelessApiBuilder {
 						methanolBuilder.build(),
 						gsonBuilder.create(),
 						this.debugLogger,
-						this.responseSizeLimit
+						this.responseSizeLimit,
+						this.completionExecutor,
+						this.coalesceRequests,
+						new RateLimiter(this.globalRateLimit, this.routeRateLimits),
+						this.getRetryPolicy,
+						this.postRetryPolicy,
+						new RetryBudget(this.retryBudgetRatio, this.retryBudgetMinPerSecond),
+						this.circuitBreaker,
+						this.httpCache,
+						this.metricsRecorder,
+						this.hedgingPolicy,
+						backgroundExecutor
 				),
 				this.apiUrl,
-				this.apiKey
+				this.apiKey,
+				this.websiteInfoTtl,
+				this.websiteInfoJitter,
+				this.userCache,
+				this.userIndex,
+				this.identityMap,
+				this.userLoader
 		);
 	}
 
@@ -2,15 +2,15 @@ package com.namelessmc.java_api;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.checkerframework.checker.index.qual.Positive;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -30,6 +30,7 @@ import com.namelessmc.java_api.integrations.IDiscordIntegrationData;
 import com.namelessmc.java_api.integrations.IMinecraftIntegrationData;
 import com.namelessmc.java_api.integrations.IntegrationData;
 import com.namelessmc.java_api.integrations.StandardIntegrationTypes;
+import com.namelessmc.java_api.modules.NamelessModule;
 import com.namelessmc.java_api.modules.discord.DiscordUser;
 import com.namelessmc.java_api.modules.store.StoreUser;
 import com.namelessmc.java_api.modules.suggestions.SuggestionsUser;
@@ -43,10 +44,21 @@ public final class NamelessUser implements LanguageEntity {
 	private int id; // -1 if not known
 	private String userTransformer;
 
+	// User id from the UserIdentityMap, 0 if not used. While the id is unknown, the user is loaded by this id, but only
+	// identified by it once the loaded user turns out to still have the integration identifier.
+	private int mappedId;
+	private @Nullable String mappedIntegration;
+	private @Nullable String mappedIdentifier;
+
 	// Do not use directly, instead use userInfo() and integrations()
-	private @Nullable JsonObject _cachedUserInfo;
+	private @Nullable UserInfo _cachedUserInfo;
 	private @Nullable Map<String, DetailedIntegrationData> _cachedIntegrationData;
 
+	// Module objects, created on first use. Only have final fields, so safe to share without synchronization.
+	private @Nullable DiscordUser _discord;
+	private @Nullable StoreUser _store;
+	private @Nullable SuggestionsUser _suggestions;
+
 
 	NamelessUser(final @NonNull NamelessAPI api, final @Positive int id) {
 		this.api = api;
@@ -57,39 +69,234 @@ public final class NamelessUser implements LanguageEntity {
 	}
 
 	NamelessUser(final @NonNull NamelessAPI api, final @NonNull String userTransformer) {
+		this(api, userTransformer, false);
+	}
+
+	/**
+	 * @param encoded True if the user transformer is already URL encoded
+	 */
+	NamelessUser(final @NonNull NamelessAPI api, final @NonNull String userTransformer, final boolean encoded) {
 		this.api = api;
 		this.requests = api.requests();
 
 		this.id = -1;
-		this.userTransformer = URLEncoder.encode(userTransformer, StandardCharsets.UTF_8);
+		this.userTransformer = encoded ? userTransformer : URLEncoder.encode(userTransformer, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * User found in the {@link UserIdentityMap}
+	 * @param userTransformer URL encoded integration_id user transformer, used if the mapping turns out to be stale
+	 * @param identifier Integration identifier in the format used by the website
+	 */
+	NamelessUser(final @NonNull NamelessAPI api, final @NonNull String userTransformer, final @Positive int mappedId,
+				 final @NonNull String integration, final @NonNull String identifier) {
+		this(api, userTransformer, true);
+		this.mappedId = mappedId;
+		this.mappedIntegration = integration;
+		this.mappedIdentifier = identifier;
 	}
 
 	NamelessUser(final NamelessAPI api, final JsonObject userInfo) {
-		this(api, userInfo.get("id").getAsInt());
+		this(api, api.parseUserInfo(userInfo));
+	}
+
+	NamelessUser(final NamelessAPI api, final UserInfo userInfo) {
+		this(api, userInfo.id());
 		this._cachedUserInfo = userInfo;
 	}
 
-	@NonNull JsonObject userInfo() throws NamelessException {
+	@NonNull UserInfo userInfo() throws NamelessException {
 		if (this._cachedUserInfo != null) {
 			return this._cachedUserInfo;
 		}
 
+		if (this.id < 0 && this.mappedId > 0) {
+			final @Nullable UserInfo mapped = this.useMapped(this.api.userAsNullable(this.mappedUser()));
+			if (mapped != null) {
+				return mapped;
+			}
+		}
+
+		final @Nullable UserInfo cached = this.userInfoFromUserCache();
+		if (cached != null) {
+			return cached;
+		}
+
+		final @Nullable UserLoader userLoader = this.api.userLoader();
+		final @Nullable Object loaderKey = userLoader != null ? UserLoader.key(this.id, this.userTransformer) : null;
+		if (userLoader != null && loaderKey != null) {
+			return this.loaded(userLoader.load(loaderKey));
+		}
+
 		final JsonObject response = this.requests.get("users/" + this.userTransformer);
+		return this.cacheUserInfo(response);
+	}
 
+	@NonNull CompletableFuture<@NonNull UserInfo> userInfoAsync() {
+		if (this._cachedUserInfo != null) {
+			return CompletableFuture.completedFuture(this._cachedUserInfo);
+		}
+
+		if (this.id < 0 && this.mappedId > 0) {
+			return this.api.userAsNullableAsync(this.mappedUser()).thenCompose(user -> {
+				final @Nullable UserInfo mapped = this.useMapped(user);
+				return mapped != null ? CompletableFuture.completedFuture(mapped) : this.userInfoAsync();
+			});
+		}
+
+		final @Nullable UserInfo cached = this.userInfoFromUserCache();
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+
+		final @Nullable UserLoader userLoader = this.api.userLoader();
+		final @Nullable Object loaderKey = userLoader != null ? UserLoader.key(this.id, this.userTransformer) : null;
+		if (userLoader != null && loaderKey != null) {
+			return this.requests.onCompletionExecutor(userLoader.loadAsync(loaderKey).thenApply(userInfo -> {
+				try {
+					return this.loaded(userInfo);
+				} catch (final ApiException e) {
+					throw new CompletionException(e);
+				}
+			}));
+		}
+
+		return this.requests.getAsync(this::cacheUserInfo, "users/" + this.userTransformer);
+	}
+
+	/**
+	 * Request user information from the website, without using the user cache or user loader
+	 * @return User information, or null if the user does not exist
+	 */
+	@Nullable UserInfo requestIfExists() throws NamelessException {
+		try {
+			return this.cacheUserInfo(this.requests.get("users/" + this.userTransformer));
+		} catch (final ApiException e) {
+			if (NamelessAPI.isUserNotFound(e)) {
+				return null;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Asynchronous version of {@link #requestIfExists()}. The future completes on the thread that handled the
+	 * response, not on the completion executor, so the user loader can wait for it.
+	 * @return Future completed with user information, or null if the user does not exist
+	 */
+	@NonNull CompletableFuture<@Nullable UserInfo> requestIfExistsAsync() {
+		return this.requests.getAsyncDirect(this::cacheUserInfo, "users/" + this.userTransformer).handle((userInfo, throwable) -> {
+			if (throwable == null) {
+				return userInfo;
+			}
+			final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+					? throwable.getCause()
+					: throwable;
+			if (NamelessAPI.isUserNotFound(cause)) {
+				return null;
+			}
+			throw new CompletionException(cause);
+		});
+	}
+
+	private @NonNull NamelessUser mappedUser() {
+		return new NamelessUser(this.api, this.mappedId);
+	}
+
+	/**
+	 * Use user information of the user with the id from the identity map, if that user still has the integration
+	 * identifier. Otherwise, the mapping is stale: the identifier was moved to another user, or the user was deleted.
+	 * @param user User with the id from the identity map, or null if it does not exist
+	 * @return User information, or null if the user must be loaded by integration identifier instead
+	 */
+	private @Nullable UserInfo useMapped(final @Nullable NamelessUser user) {
+		final int mappedId = this.mappedId;
+		this.mappedId = 0;
+		final @Nullable UserIdentityMap identityMap = this.api.identityMap();
+		if (user == null) {
+			if (identityMap != null) {
+				identityMap.remove(mappedId);
+			}
+			return null;
+		}
+		final UserInfo userInfo = user.cachedUserInfo();
+		final @Nullable String integration = this.mappedIntegration;
+		final @Nullable String identifier = integration != null && userInfo.hasIntegrations()
+				? userInfo.integrationIdentifier(integration)
+				: null;
+		// Minecraft UUIDs may be sent with or without dashes
+		if (identifier != null && identifier.replace("-", "").equalsIgnoreCase(this.mappedIdentifier)) {
+			this._cachedUserInfo = userInfo;
+			this.id = userInfo.id();
+			this.userTransformer = "id:" + this.id;
+			return userInfo;
+		}
+		if (identityMap != null) {
+			identityMap.add(userInfo, this.requests);
+		}
+		return null;
+	}
+
+	/**
+	 * Use user information loaded by the {@link UserLoader}
+	 * @param userInfo User information, or null if the user does not exist
+	 */
+	private @NonNull UserInfo loaded(final @Nullable UserInfo userInfo) throws ApiException {
+		if (userInfo == null) {
+			throw new ApiException(ApiError.NAMELESS_CANNOT_FIND_USER, null);
+		}
+		this._cachedUserInfo = userInfo;
+		this.id = userInfo.id();
+		this.userTransformer = "id:" + this.id;
+		return userInfo;
+	}
+
+	private @NonNull UserInfo cacheUserInfo(final @NonNull JsonObject response) {
 		if (!response.get("exists").getAsBoolean()) {
 			throw new IllegalStateException("User was returned by the API without an error code so it should exist");
 		}
 
-		this._cachedUserInfo = response;
+		final UserInfo userInfo = this.api.parseUserInfo(response);
+		this._cachedUserInfo = userInfo;
+
+		final @Nullable UserCache userCache = this.api.userCache();
+		if (userCache != null) {
+			userCache.put(userInfo, this.id < 0 ? this.userTransformer : null);
+		}
 
 		if (this.id < 0) {
 			// The id was unknown before (we were using some other identifier to find the user)
 			// Now that we do know the id, use the id to identify the user instead
-			this.id = response.get("id").getAsInt();
+			this.id = userInfo.id();
 			this.userTransformer = "id:" + this.id;
 		}
 
-		return response;
+		return userInfo;
+	}
+
+	/**
+	 * @return User information, for users created from a user listing
+	 */
+	@NonNull UserInfo cachedUserInfo() {
+		final @Nullable UserInfo userInfo = this._cachedUserInfo;
+		if (userInfo == null) {
+			throw new IllegalStateException("User information not loaded");
+		}
+		return userInfo;
+	}
+
+	private @Nullable UserInfo userInfoFromUserCache() {
+		final @Nullable UserCache userCache = this.api.userCache();
+		if (userCache == null) {
+			return null;
+		}
+		final @Nullable UserInfo userInfo = this.id >= 0 ? userCache.get(this.id) : userCache.get(this.userTransformer);
+		if (userInfo != null) {
+			this._cachedUserInfo = userInfo;
+			this.id = userInfo.id();
+			this.userTransformer = "id:" + this.id;
+		}
+		return userInfo;
 	}
 
 	public @NonNull NamelessAPI api() {
@@ -103,11 +310,24 @@ public final class NamelessUser implements LanguageEntity {
 	 * Calling this method will invalidate the cache and require making a new
 	 * API request. It will not make a new API request immediately. Calling
 	 * this method multiple times while the cache is already cleared has no
-	 * effect.
+	 * effect. The user is also removed from the {@link UserCache} and updated
+	 * in the {@link UserIndex}, if configured.
 	 */
 	public void invalidateCache() {
 		this._cachedUserInfo = null;
 		this._cachedIntegrationData = null;
+		final @Nullable UserCache userCache = this.api.userCache();
+		if (userCache != null) {
+			if (this.id >= 0) {
+				userCache.invalidate(this.id);
+			} else {
+				userCache.invalidate(this.userTransformer);
+			}
+		}
+		final @Nullable UserIndex userIndex = this.api.userIndex();
+		if (userIndex != null && this.id >= 0) {
+			userIndex.invalidate(this.id);
+		}
 	}
 
 	public String userTransformer() {
@@ -116,56 +336,66 @@ public final class NamelessUser implements LanguageEntity {
 
 	public int id() throws NamelessException {
 		if (this.id == -1) {
-			this.id = this.userInfo().get("id").getAsInt();
+			this.id = this.userInfo().id();
 		}
 
 		return this.id;
 	}
 
 	public @NonNull String username() throws NamelessException {
-		return this.userInfo().get("username").getAsString();
+		return this.userInfo().username();
 	}
 
 	public void updateUsername(final @NonNull String username) throws NamelessException {
 		final JsonObject post = new JsonObject();
 		post.addProperty("username", username);
 		this.requests.post("users/" + this.userTransformer + "/update-username", post);
+		this.invalidateCache();
+	}
+
+	public @NonNull CompletableFuture<Void> updateUsernameAsync(final @NonNull String username) {
+		final JsonObject post = new JsonObject();
+		post.addProperty("username", username);
+		return this.requests.postAsync("users/" + this.userTransformer + "/update-username", post, response -> {
+			this.invalidateCache();
+			return null;
+		});
 	}
 
 	public @NonNull String displayName() throws NamelessException {
-		return this.userInfo().get("displayname").getAsString();
+		return this.userInfo().displayName();
 	}
 
 	/**
 	 * @return The date the user registered on the website.
 	 */
 	public @NonNull Date registeredDate() throws NamelessException {
-		return new Date(this.userInfo().get("registered_timestamp").getAsLong() * 1000);
+		return new Date(this.userInfo().registeredTimestamp() * 1000);
 	}
 
 	public @NonNull Date lastOnline() throws NamelessException {
-		return new Date(this.userInfo().get("last_online_timestamp").getAsLong() * 1000);
+		return new Date(this.userInfo().lastOnlineTimestamp() * 1000);
 	}
 
 	/**
 	 * @return Whether this account is banned from the website.
 	 */
 	public boolean isBanned() throws NamelessException {
-		return this.userInfo().get("banned").getAsBoolean();
+		return this.userInfo().banned();
 	}
 
 	public boolean isVerified() throws NamelessException {
-		return this.userInfo().get("validated").getAsBoolean();
+		return this.userInfo().validated();
 	}
 
 	@Override
 	public @NonNull String rawLocale() throws NamelessException {
-		return this.userInfo().get("locale").getAsString();
+		return this.userInfo().locale();
 	}
 
 	public @NonNull VerificationInfo verificationInfo() throws NamelessException {
 		final boolean verified = this.isVerified();
-		final JsonObject verification = this.userInfo().getAsJsonObject("verification");
+		final JsonObject verification = this.userInfo().verification();
 		return new VerificationInfo(verified, verification);
 	}
 
@@ -173,49 +403,25 @@ public final class NamelessUser implements LanguageEntity {
 	 * @return True if the user is member of at least one staff group, otherwise false
 	 */
 	public boolean isStaff() throws NamelessException {
-		if (!this.userInfo().has("groups")) {
-			throw new IllegalStateException("Groups array missing: https://github.com/NamelessMC/Nameless/issues/3052");
-		}
-
-		final JsonArray groups = this.userInfo().getAsJsonArray("groups");
-		for (final JsonElement elem : groups) {
-			final JsonObject group = elem.getAsJsonObject();
-			if (group.has("staff") &&
-					group.get("staff").getAsBoolean()) {
-				return true;
-			}
-		}
-		return false;
+		return this.userInfo().staff();
 	}
 
 	/**
-	 * @return List of the user's groups, sorted from low order to high order.
+	 * @return Unmodifiable list of the user's groups, sorted from low order to high order.
 	 */
 	public @NonNull List<@NonNull Group> groups() throws NamelessException {
-		if (!this.userInfo().has("groups")) {
-			throw new IllegalStateException("Groups array missing: https://github.com/NamelessMC/Nameless/issues/3052");
-		}
-		return GsonHelper.toObjectList(this.userInfo().getAsJsonArray("groups"), Group::new);
+		return this.userInfo().groups();
 	}
 
 	/**
-	 * Same as doing {@link #groups()}.get(0), but with better performance
-	 * since it doesn't need to create and sort a list of group objects.
-	 * Empty if the user is not in any groups.
+	 * Same as doing {@link #groups()}.get(0), but null if the user is not in any groups.
 	 *
 	 * @return Player's group with the lowest order
 	 */
 	public @Nullable Group primaryGroup() throws NamelessException {
-		if (!this.userInfo().has("groups")) {
-			throw new IllegalStateException("Groups array missing: https://github.com/NamelessMC/Nameless/issues/3052");
-		}
-		final JsonArray groups = this.userInfo().getAsJsonArray("groups");
-		if (groups.size() > 0) {
-			// Website group response is ordered, first group is primary group.
-			return new Group(groups.get(0).getAsJsonObject());
-		} else {
-			return null;
-		}
+		final List<Group> groups = this.userInfo().groups();
+		// Website group response is ordered, first group is primary group.
+		return groups.isEmpty() ? null : groups.get(0);
 	}
 
 	public void addGroups(final @NonNull Group@NonNull ... groups) throws NamelessException {
@@ -225,18 +431,47 @@ public final class NamelessUser implements LanguageEntity {
 		this.invalidateCache(); // Groups modified, invalidate cache
 	}
 
+	public @NonNull CompletableFuture<Void> addGroupsAsync(final @NonNull Group@NonNull ... groups) {
+		final JsonObject post = new JsonObject();
+		post.add("groups", this.groupsToJsonArray(groups));
+		return this.requests.postAsync("users/" + this.userTransformer + "/groups/add", post, response -> {
+			this.invalidateCache(); // Groups modified, invalidate cache
+			return null;
+		});
+	}
+
 	public void removeGroups(final @NonNull Group@NonNull... groups) throws NamelessException {
 		final JsonObject post = new JsonObject();
 		post.add("groups", this.groupsToJsonArray(groups));
 		this.requests.post("users/" + this.userTransformer + "/groups/remove", post);
 		this.invalidateCache(); // Groups modified, invalidate cache
 	}
+
+	public @NonNull CompletableFuture<Void> removeGroupsAsync(final @NonNull Group@NonNull ... groups) {
+		final JsonObject post = new JsonObject();
+		post.add("groups", this.groupsToJsonArray(groups));
+		return this.requests.postAsync("users/" + this.userTransformer + "/groups/remove", post, response -> {
+			this.invalidateCache(); // Groups modified, invalidate cache
+			return null;
+		});
+	}
 	
 	public void updateMinecraftGroups(final String[] addedGroups, final String[] removedGroups) throws NamelessException {
 		final JsonObject post = new JsonObject();
 		post.add("add", this.requests.gson().toJsonTree(addedGroups));
 		post.add("remove", this.requests.gson().toJsonTree(removedGroups));
 		this.requests.post("minecraft/" + this.userTransformer + "/sync-groups", post);
+		this.invalidateCache(); // Groups modified, invalidate cache
+	}
+
+	public @NonNull CompletableFuture<Void> updateMinecraftGroupsAsync(final String[] addedGroups, final String[] removedGroups) {
+		final JsonObject post = new JsonObject();
+		post.add("add", this.requests.gson().toJsonTree(addedGroups));
+		post.add("remove", this.requests.gson().toJsonTree(removedGroups));
+		return this.requests.postAsync("minecraft/" + this.userTransformer + "/sync-groups", post, response -> {
+			this.invalidateCache(); // Groups modified, invalidate cache
+			return null;
+		});
 	}
 
 	private JsonArray groupsToJsonArray(final @NonNull Group@NonNull [] groups) {
@@ -252,11 +487,21 @@ public final class NamelessUser implements LanguageEntity {
 		return response.getAsJsonArray("notifications").size();
 	}
 
+	public @NonNull CompletableFuture<Integer> notificationCountAsync() {
+		return this.requests.getAsync(response -> response.getAsJsonArray("notifications").size(),
+				"users/" + this.userTransformer + "/notifications");
+	}
+
 	public List<Notification> notifications() throws NamelessException {
 		final JsonObject response = this.requests.get("users/" + this.userTransformer + "/notifications");
 		return GsonHelper.toObjectList(response.getAsJsonArray("notifications"), Notification::new);
 	}
 
+	public @NonNull CompletableFuture<List<Notification>> notificationsAsync() {
+		return this.requests.getAsync(response -> GsonHelper.toObjectList(response.getAsJsonArray("notifications"), Notification::new),
+				"users/" + this.userTransformer + "/notifications");
+	}
+
 	/**
 	 * Creates a report for a website user
 	 * @param user User to report. Lazy loading possible, only the ID is used.
@@ -342,38 +587,31 @@ public final class NamelessUser implements LanguageEntity {
 		return NamelessAPI.announcements(response);
 	}
 
+	/**
+	 * Asynchronous version of {@link #announcements()}
+	 */
+	public @NonNull CompletableFuture<@NonNull List<@NonNull Announcement>> announcementsAsync() {
+		return this.requests.getAsync(NamelessAPI::announcements, "users/" + this.userTransformer + "/announcements");
+	}
+
 	/**
 	 * Ban this user
 	 * @since 2021-10-24 commit <code>cce8d262b0be3f70818c188725cd7e7fc4fdbb9a</code>
 	 */
 	public void banUser() throws NamelessException {
 		this.requests.post("users/" + this.userTransformer + "/ban", new JsonObject());
+		this.invalidateCache();
 	}
 
-	public Collection<CustomProfileFieldValue> profileFields() throws NamelessException {
-		if (!this.userInfo().has("profile_fields")) {
-			return Collections.emptyList();
-		}
-
-		final JsonObject fieldsJson = this.userInfo().getAsJsonObject("profile_fields");
-		final List<CustomProfileFieldValue> fieldValues = new ArrayList<>(fieldsJson.size());
-		for (final Map.Entry<String, JsonElement> e : fieldsJson.entrySet()) {
-			final int id = Integer.parseInt(e.getKey());
-			final JsonObject values = e.getValue().getAsJsonObject();
-			fieldValues.add(new CustomProfileFieldValue(
-					new CustomProfileField(
-							id,
-							values.get("name").getAsString(),
-							CustomProfileFieldType.fromNamelessTypeInt(values.get("type").getAsInt()),
-							values.get("public").getAsBoolean(),
-							values.get("required").getAsBoolean(),
-							values.get("description").getAsString()
-					),
-					GsonHelper.getNullableString(values, "value")
-			));
-		}
+	public @NonNull CompletableFuture<Void> banUserAsync() {
+		return this.requests.postAsync("users/" + this.userTransformer + "/ban", new JsonObject(), response -> {
+			this.invalidateCache();
+			return null;
+		});
+	}
 
-		return fieldValues;
+	public Collection<CustomProfileFieldValue> profileFields() throws NamelessException {
+		return this.userInfo().profileFields();
 	}
 
 	public Map<String, DetailedIntegrationData> integrations() throws NamelessException {
@@ -381,8 +619,7 @@ public final class NamelessUser implements LanguageEntity {
 			return this._cachedIntegrationData;
 		}
 
-		final JsonObject userInfo = this.userInfo();
-		final JsonArray integrationsJsonArray = userInfo.getAsJsonArray("integrations");
+		final JsonArray integrationsJsonArray = this.userInfo().integrations();
 		final Map<String, DetailedIntegrationData> integrationDataMap = new HashMap<>(integrationsJsonArray.size());
 		for (final JsonElement integrationElement : integrationsJsonArray) {
 			final JsonObject integrationJson = integrationElement.getAsJsonObject();
@@ -428,18 +665,40 @@ public final class NamelessUser implements LanguageEntity {
 		final JsonObject body = new JsonObject();
 		body.addProperty("code", verificationCode);
 		this.requests.post("users/" + this.userTransformer + "/verify", body);
+		this.invalidateCache();
+	}
+
+	public @NonNull CompletableFuture<Void> verifyAsync(final @NonNull String verificationCode) {
+		final JsonObject body = new JsonObject();
+		body.addProperty("code", verificationCode);
+		return this.requests.postAsync("users/" + this.userTransformer + "/verify", body, response -> {
+			this.invalidateCache();
+			return null;
+		});
 	}
 
 	public DiscordUser discord() throws NamelessException {
-		return new DiscordUser(this);
+		this.api.ensureModuleInstalled(NamelessModule.DISCORD_INTEGRATION);
+		if (this._discord == null) {
+			this._discord = new DiscordUser(this);
+		}
+		return this._discord;
 	}
 
 	public StoreUser store() throws NamelessException {
-		return new StoreUser(this);
+		this.api.ensureModuleInstalled(NamelessModule.STORE);
+		if (this._store == null) {
+			this._store = new StoreUser(this);
+		}
+		return this._store;
 	}
 
 	public SuggestionsUser suggestions() throws NamelessException {
-		return new SuggestionsUser(this);
+		this.api.ensureModuleInstalled(NamelessModule.SUGGESTIONS);
+		if (this._suggestions == null) {
+			this._suggestions = new SuggestionsUser(this);
+		}
+		return this._suggestions;
 	}
 
 }
@@ -0,0 +1,156 @@
+package com.namelessmc.java_api;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Client side request rate limiter, with an optional global token bucket and optional token buckets for
+ * specific routes. When the website tells us to slow down (status code 429 or 503 with a Retry-After header),
+ * all requests are paused until the requested time has passed.
+ */
+final class RateLimiter {
+
+	// Used when the website responds with status code 429 without a usable Retry-After header
+	static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+	// Requests are only retried automatically if the website asks us to wait at most this long
+	static final Duration MAX_AUTOMATIC_RETRY_DELAY = Duration.ofSeconds(10);
+
+	private final @Nullable TokenBucket global;
+	private final @NonNull Map<String, TokenBucket> routes;
+	private volatile long pausedUntil = System.nanoTime();
+
+	/**
+	 * @param global Global bucket, or null for no global limit
+	 * @param routes Buckets for routes starting with a prefix. The first matching prefix is used.
+	 */
+	RateLimiter(final @Nullable TokenBucket global,
+				final @NonNull Map<String, TokenBucket> routes) {
+		this.global = global;
+		this.routes = new LinkedHashMap<>(routes);
+	}
+
+	/**
+	 * Reserve permission to send a request. Reservations are made in order, so a caller that has to wait
+	 * does not have to try again later.
+	 * @param route Route, including parameters
+	 * @return Nanoseconds to wait before the request may be sent, 0 if it may be sent immediately
+	 */
+	long reserve(final @NonNull String route) {
+		final long now = System.nanoTime();
+		long wait = Math.max(0, this.pausedUntil - now);
+		if (this.global != null) {
+			wait = Math.max(wait, this.global.reserve(now));
+		}
+		final @Nullable TokenBucket routeBucket = this.routeBucket(route);
+		if (routeBucket != null) {
+			wait = Math.max(wait, routeBucket.reserve(now));
+		}
+		return wait;
+	}
+
+	private @Nullable TokenBucket routeBucket(final @NonNull String route) {
+		for (final Map.Entry<String, TokenBucket> entry : this.routes.entrySet()) {
+			if (route.startsWith(entry.getKey())) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Pause all requests, because the website asked us to slow down
+	 */
+	void pause(final @NonNull Duration delay) {
+		final long until = System.nanoTime() + delay.toNanos();
+		synchronized (this) {
+			if (until - this.pausedUntil > 0) {
+				this.pausedUntil = until;
+			}
+		}
+	}
+
+	/**
+	 * @param statusCode Response status code
+	 * @param retryAfter Value of Retry-After header, or null if not present
+	 * @return Time the website wants us to wait before making another request, or null if the response does
+	 * not ask us to slow down
+	 */
+	static @Nullable Duration backoff(final int statusCode, final @Nullable String retryAfter) {
+		if (statusCode != 429 && statusCode != 503) {
+			return null;
+		}
+		final @Nullable Duration delay = retryAfter != null ? parseRetryAfter(retryAfter) : null;
+		if (delay != null) {
+			return delay;
+		}
+		// 503 without Retry-After is usually a maintenance page or a broken backend, not throttling
+		return statusCode == 429 ? DEFAULT_RETRY_AFTER : null;
+	}
+
+	private static @Nullable Duration parseRetryAfter(final @NonNull String value) {
+		final String trimmed = value.trim();
+		try {
+			final long seconds = Long.parseLong(trimmed);
+			return seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+		} catch (final NumberFormatException ignored) {
+			// Not delay-seconds, try HTTP-date
+		}
+		try {
+			final ZonedDateTime date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+			final Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+			return delay.isNegative() ? Duration.ZERO : delay;
+		} catch (final DateTimeParseException ignored) {
+			return null;
+		}
+	}
+
+	static final class TokenBucket {
+
+		private final double permitsPerNano;
+		private final double capacity;
+		private double tokens;
+		private long lastRefill;
+
+		/**
+		 * @param permitsPerSecond Rate at which tokens are added to the bucket
+		 * @param burst Maximum number of tokens in the bucket, the number of requests that may be sent at once
+		 */
+		TokenBucket(final double permitsPerSecond, final int burst) {
+			Preconditions.checkArgument(permitsPerSecond > 0, "Permits per second must be positive");
+			Preconditions.checkArgument(burst >= 1, "Burst must be at least 1");
+			this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+			this.capacity = burst;
+			this.tokens = burst;
+			this.lastRefill = System.nanoTime();
+		}
+
+		/**
+		 * Take a token. If the bucket is empty, the token count goes negative so later reservations
+		 * queue behind this one.
+		 * @return Nanoseconds until the taken token would have been available
+		 */
+		synchronized long reserve(final long now) {
+			if (now - this.lastRefill > 0) {
+				this.tokens = Math.min(this.capacity, this.tokens + (now - this.lastRefill) * this.permitsPerNano);
+				this.lastRefill = now;
+			}
+			this.tokens -= 1;
+			if (this.tokens >= 0) {
+				return 0;
+			}
+			return (long) Math.ceil(-this.tokens / this.permitsPerNano);
+		}
+
+	}
+
+}
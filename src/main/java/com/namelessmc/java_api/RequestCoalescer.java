@@ -0,0 +1,177 @@
+package com.namelessmc.java_api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import com.namelessmc.java_api.exception.NamelessException;
+
+/**
+ * Lets identical concurrent GET requests share a single network round trip and parsed result. A request is
+ * only shared while it is in flight, a request started after the previous identical one completed always
+ * makes a new connection. When a result is shared, every caller gets its own copy. A result that was not
+ * shared is returned as is.
+ */
+final class RequestCoalescer {
+
+	private final boolean enabled;
+	private final ConcurrentHashMap<RequestKey, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	RequestCoalescer(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Run a blocking request, or wait for an identical request which is already in flight.
+	 * @param key Identifies the request, requests are only shared if they produce the same type of result
+	 * @param copy Copies a shared result, so callers may modify their result. Must not modify its argument.
+	 */
+	<T> T execute(final @NonNull RequestKey key,
+				  final @NonNull BlockingRequest<T> request,
+				  final @NonNull UnaryOperator<T> copy) throws NamelessException {
+		this.requests.increment();
+		if (!this.enabled) {
+			return request.execute();
+		}
+
+		final InFlight<T> entry = new InFlight<>();
+		final InFlight<T> current = this.joinOrStart(key, entry);
+		if (current != entry) {
+			this.coalesced.increment();
+			return copy.apply(join(current.future));
+		}
+
+		final T value;
+		try {
+			value = request.execute();
+		} catch (final NamelessException | RuntimeException | Error e) {
+			this.inFlight.remove(key, entry);
+			entry.future.completeExceptionally(e);
+			throw e;
+		}
+		this.inFlight.remove(key, entry);
+		entry.future.complete(value);
+		// Other callers copy the original value, so it must not be returned for modification
+		return entry.joiners > 0 ? copy.apply(value) : value;
+	}
+
+	/**
+	 * Start an asynchronous request, or wait for an identical request which is already in flight.
+	 * @see #execute(RequestKey, BlockingRequest, UnaryOperator)
+	 */
+	<T> CompletableFuture<T> executeAsync(final @NonNull RequestKey key,
+										  final @NonNull Supplier<CompletableFuture<T>> request,
+										  final @NonNull UnaryOperator<T> copy) {
+		this.requests.increment();
+		if (!this.enabled) {
+			return request.get();
+		}
+
+		final InFlight<T> entry = new InFlight<>();
+		final InFlight<T> current = this.joinOrStart(key, entry);
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		if (current != entry) {
+			this.coalesced.increment();
+			current.future.whenComplete((value, throwable) -> {
+				if (throwable != null) {
+					result.completeExceptionally(throwable);
+				} else {
+					result.complete(copy.apply(value));
+				}
+			});
+			return result;
+		}
+
+		request.get().whenComplete((value, throwable) -> {
+			// Remove first, so callers reacting to the completion never join a request that has already completed
+			this.inFlight.remove(key, entry);
+			if (throwable != null) {
+				final Throwable cause = unwrap(throwable);
+				entry.future.completeExceptionally(cause);
+				result.completeExceptionally(cause);
+			} else {
+				entry.future.complete(value);
+				result.complete(entry.joiners > 0 ? copy.apply(value) : value);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * @return The in-flight request for the key, with one more joiner, or the provided entry if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> @NonNull InFlight<T> joinOrStart(final @NonNull RequestKey key, final @NonNull InFlight<T> entry) {
+		return (InFlight<T>) this.inFlight.compute(key, (ignored, existing) -> {
+			if (existing == null) {
+				return entry;
+			}
+			existing.joiners++;
+			return existing;
+		});
+	}
+
+	private static <T> T join(final @NonNull CompletableFuture<T> future) throws NamelessException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new NamelessException("Interrupted while waiting for an identical in-progress request", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = unwrap(e);
+			if (cause instanceof NamelessException) {
+				throw (NamelessException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else {
+				throw new NamelessException("In-progress request failed", cause);
+			}
+		}
+	}
+
+	private static @NonNull Throwable unwrap(final @NonNull Throwable throwable) {
+		Throwable cause = throwable;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	/**
+	 * @return Number of GET requests made through this coalescer, including coalesced requests
+	 */
+	long requestCount() {
+		return this.requests.sum();
+	}
+
+	/**
+	 * @return Number of GET requests that shared the result of an identical in-flight request
+	 */
+	long coalescedCount() {
+		return this.coalesced.sum();
+	}
+
+	private static final class InFlight<T> {
+
+		private final @NonNull CompletableFuture<T> future = new CompletableFuture<>();
+		// Only modified within compute() for the key. Read after the entry has been removed, which also locks the key.
+		private int joiners = 0;
+
+	}
+
+	@FunctionalInterface
+	interface BlockingRequest<T> {
+
+		T execute() throws NamelessException;
+
+	}
+
+}
@@ -1,55 +1,110 @@
 package com.namelessmc.java_api;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLEncoder;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import com.github.mizosoft.methanol.HttpCache;
 import com.github.mizosoft.methanol.Methanol;
 import com.github.mizosoft.methanol.MutableRequest;
 import com.google.common.base.Ascii;
 import com.google.common.base.Preconditions;
-import com.google.common.io.ByteStreams;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import com.namelessmc.java_api.exception.ApiError;
 import com.namelessmc.java_api.exception.ApiException;
+import com.namelessmc.java_api.exception.CircuitBreakerOpenException;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.logger.ApiLogger;
 
 public class RequestHandler {
 
-	private static final int RETRIES = 2;
+	// Amount of response bytes kept for error messages, when debug logging is disabled
+	private static final int ERROR_RESPONSE_PREFIX_LENGTH = 16 * 1024;
+	// Reads the entire response as a JsonObject. Also used as coalescing shape for these requests.
+	private static final Supplier<ResponseReader<JsonObject>> TREE = () -> new TreeResponseReader<>(response -> response);
 
 	private final @NonNull URL apiUrl;
 	private final @NonNull Methanol httpClient;
 	private final @Nullable ApiLogger debugLogger;
 	private final @NonNull Gson gson;
 	private final int responseLengthLimit;
+	private final @Nullable Executor completionExecutor;
+	private final @NonNull RequestCoalescer coalescer;
+	private final @NonNull RateLimiter rateLimiter;
+	private final @NonNull RetryPolicy getRetryPolicy;
+	private final @NonNull RetryPolicy postRetryPolicy;
+	private final @NonNull RetryBudget retryBudget;
+	private final @Nullable CircuitBreaker circuitBreaker;
+	private final @NonNull ResponseCache responseCache;
+	private final @Nullable MetricsRecorder metricsRecorder;
+	private final @Nullable RequestHedger hedger;
+	private final @Nullable Executor backgroundExecutor;
 
 	RequestHandler(final @NonNull URL apiUrl,
 				   final @NonNull Methanol httpClient,
 				   final @NonNull Gson gson,
 				   final @Nullable ApiLogger debugLogger,
-				   final int responseLengthLimit) {
+				   final int responseLengthLimit,
+				   final @Nullable Executor completionExecutor,
+				   final boolean coalesceRequests,
+				   final @NonNull RateLimiter rateLimiter,
+				   final @NonNull RetryPolicy getRetryPolicy,
+				   final @NonNull RetryPolicy postRetryPolicy,
+				   final @NonNull RetryBudget retryBudget,
+				   final @Nullable CircuitBreaker circuitBreaker,
+				   final @Nullable HttpCache httpCache,
+				   final @Nullable MetricsRecorder metricsRecorder,
+				   final @Nullable HedgingPolicy hedgingPolicy,
+				   final @Nullable Executor backgroundExecutor) {
 		this.apiUrl = Objects.requireNonNull(apiUrl, "API URL is null");
 		this.httpClient = Objects.requireNonNull(httpClient, "http client is null");
 		this.gson = gson;
 		this.debugLogger = debugLogger;
 		this.responseLengthLimit = responseLengthLimit;
+		this.completionExecutor = completionExecutor;
+		this.coalescer = new RequestCoalescer(coalesceRequests);
+		this.rateLimiter = Objects.requireNonNull(rateLimiter, "Rate limiter is null");
+		this.getRetryPolicy = Objects.requireNonNull(getRetryPolicy, "GET retry policy is null");
+		this.postRetryPolicy = Objects.requireNonNull(postRetryPolicy, "POST retry policy is null");
+		this.retryBudget = Objects.requireNonNull(retryBudget, "Retry budget is null");
+		this.circuitBreaker = circuitBreaker;
+		this.responseCache = new ResponseCache(httpCache);
+		this.metricsRecorder = metricsRecorder;
+		this.hedger = hedgingPolicy != null ? new RequestHedger(hedgingPolicy) : null;
+		this.backgroundExecutor = backgroundExecutor;
 	}
 
 	public Gson gson() {
@@ -58,11 +113,250 @@ public class RequestHandler {
 
 	public  JsonObject post(final String route,
 							final JsonObject postData) throws NamelessException {
-		return this.makeConnection(route, postData, RETRIES);
+		return this.post(route, this.bodyWriter(postData));
 	}
 
+	/**
+	 * Make a POST request, with a body written directly to the request instead of first building a {@link JsonObject}.
+	 * @param body Writes the request body. May be called more than once, if the request is retried.
+	 */
+	public JsonObject post(final String route,
+						   final BodyWriter body) throws NamelessException {
+		return this.makeConnection(new Call<>(route, body, TREE, null, this.postRetryPolicy));
+	}
+
+	/**
+	 * Make a GET request. If an identical GET request is already in progress, no new request is made and
+	 * the response of the in-progress request is returned instead. The returned response is never shared
+	 * with other callers, so it may be modified.
+	 */
 	public JsonObject get(final String route,
 						  final @Nullable Object... parameters) throws NamelessException {
+		final String routeWithParameters = this.routeWithParameters(route, parameters);
+		final RequestKey key = new RequestKey(routeWithParameters, TREE);
+		return this.coalescer.execute(key,
+				() -> this.makeConnection(new Call<>(routeWithParameters, null, TREE, key, this.getRetryPolicy)),
+				JsonObject::deepCopy);
+	}
+
+	/**
+	 * Make a GET request, decoding one field of the response directly from the response stream
+	 * instead of building a {@link JsonObject} for the entire response. Like {@link #get(String, Object...)},
+	 * identical in-progress requests using the same decoder are shared. The decoded value is shared with those
+	 * requests and may be reused for later responses that were not modified, so it should not be modified.
+	 * @param decoder Decoder for the response field of interest
+	 * @return Decoded field value
+	 */
+	public <T> T get(final ResponseDecoder<T> decoder,
+					 final String route,
+					 final @Nullable Object... parameters) throws NamelessException {
+		final String routeWithParameters = this.routeWithParameters(route, parameters);
+		final RequestKey key = new RequestKey(routeWithParameters, decoder);
+		return this.coalescer.execute(key,
+				() -> this.makeConnection(new Call<>(routeWithParameters, null, () -> new DecodingResponseReader<>(decoder), key, this.getRetryPolicy)),
+				UnaryOperator.identity());
+	}
+
+	/**
+	 * Asynchronous version of {@link #post(String, JsonObject)}. The returned future completes on the
+	 * completion executor configured in {@link NamelessApiBuilder#completionExecutor(Executor)}, or on an
+	 * HTTP client thread if none was configured. On failure, it completes exceptionally with a {@link NamelessException}.
+	 */
+	public CompletableFuture<JsonObject> postAsync(final String route,
+												   final JsonObject postData) {
+		return this.postAsync(route, postData, response -> response);
+	}
+
+	/**
+	 * Same as {@link #postAsync(String, JsonObject)}, but converts the response using the provided mapper
+	 * before handing the result to the completion executor.
+	 */
+	public <T> CompletableFuture<T> postAsync(final String route,
+											  final JsonObject postData,
+											  final ResponseMapper<T> mapper) {
+		return this.postAsync(route, this.bodyWriter(postData), mapper);
+	}
+
+	/**
+	 * Asynchronous version of {@link #post(String, BodyWriter)}
+	 */
+	public CompletableFuture<JsonObject> postAsync(final String route,
+												   final BodyWriter body) {
+		return this.postAsync(route, body, response -> response);
+	}
+
+	/**
+	 * Same as {@link #postAsync(String, BodyWriter)}, but converts the response using the provided mapper
+	 * before handing the result to the completion executor.
+	 */
+	public <T> CompletableFuture<T> postAsync(final String route,
+											  final BodyWriter body,
+											  final ResponseMapper<T> mapper) {
+		return this.onCompletionExecutor(this.makeConnectionAsync(
+				new Call<>(route, body, () -> new TreeResponseReader<>(mapper), null, this.postRetryPolicy)));
+	}
+
+	private @NonNull BodyWriter bodyWriter(final @NonNull JsonObject postData) {
+		Objects.requireNonNull(postData, "Post data is null");
+		return writer -> this.gson.toJson(postData, writer);
+	}
+
+	/**
+	 * Asynchronous version of {@link #get(String, Object...)}. The returned future completes on the
+	 * completion executor configured in {@link NamelessApiBuilder#completionExecutor(Executor)}, or on an
+	 * HTTP client thread if none was configured. On failure, it completes exceptionally with a {@link NamelessException}.
+	 * Identical in-progress GET requests are shared, like in {@link #get(String, Object...)}, but the response is never
+	 * shared with other callers.
+	 */
+	public CompletableFuture<JsonObject> getAsync(final String route,
+												  final @Nullable Object... parameters) {
+		return this.getAsync(response -> response, route, parameters);
+	}
+
+	/**
+	 * Same as {@link #getAsync(String, Object...)}, but converts the response using the provided mapper
+	 * before handing the result to the completion executor.
+	 */
+	public <T> CompletableFuture<T> getAsync(final ResponseMapper<T> mapper,
+											 final String route,
+											 final @Nullable Object... parameters) {
+		return this.onCompletionExecutor(this.getAsyncDirect(mapper, route, parameters));
+	}
+
+	/**
+	 * Asynchronous version of {@link #get(ResponseDecoder, String, Object...)}
+	 */
+	public <T> CompletableFuture<T> getAsync(final ResponseDecoder<T> decoder,
+											 final String route,
+											 final @Nullable Object... parameters) {
+		return this.onCompletionExecutor(this.getAsyncDirect(decoder, route, parameters));
+	}
+
+	/**
+	 * Same as {@link #getAsync(ResponseMapper, String, Object...)}, but the returned future completes on the thread
+	 * that handled the response instead of on the completion executor. For internal use by code that waits for the
+	 * result, which would never return when waiting on the completion executor thread.
+	 */
+	<T> CompletableFuture<T> getAsyncDirect(final ResponseMapper<T> mapper,
+											final String route,
+											final @Nullable Object... parameters) {
+		final CompletableFuture<JsonObject> response = this.getAsync(TREE, TREE, JsonObject::deepCopy, route, parameters);
+		// Map the response before the result is handed to the completion executor
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		response.whenComplete((json, throwable) -> {
+			if (throwable != null) {
+				result.completeExceptionally(unwrap(throwable));
+				return;
+			}
+			try {
+				result.complete(mapper.map(json));
+			} catch (final NamelessException | RuntimeException e) {
+				result.completeExceptionally(e);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Same as {@link #getAsync(ResponseDecoder, String, Object...)}, but the returned future completes on the
+	 * thread that handled the response, see {@link #getAsyncDirect(ResponseMapper, String, Object...)}
+	 */
+	<T> CompletableFuture<T> getAsyncDirect(final ResponseDecoder<T> decoder,
+											final String route,
+											final @Nullable Object... parameters) {
+		return this.getAsync(decoder, () -> new DecodingResponseReader<>(decoder), UnaryOperator.identity(), route, parameters);
+	}
+
+	/**
+	 * @param copy Copies the response for callers sharing an in-progress request, see {@link RequestCoalescer}
+	 */
+	private <T> CompletableFuture<T> getAsync(final Object shape,
+											  final Supplier<ResponseReader<T>> responseReader,
+											  final UnaryOperator<T> copy,
+											  final String route,
+											  final @Nullable Object... parameters) {
+		final String routeWithParameters;
+		try {
+			routeWithParameters = this.routeWithParameters(route, parameters);
+		} catch (final IllegalArgumentException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		final RequestKey key = new RequestKey(routeWithParameters, shape);
+		return this.coalescer.executeAsync(key,
+				() -> this.makeConnectionAsync(new Call<>(routeWithParameters, null, responseReader, key, this.getRetryPolicy)),
+				copy);
+	}
+
+	/**
+	 * @return Number of GET requests made, including requests that shared the response of an identical in-progress request
+	 */
+	public long getRequestCount() {
+		return this.coalescer.requestCount();
+	}
+
+	/**
+	 * @return Number of GET requests that did not make a connection, because they shared the response of an identical
+	 * in-progress request
+	 */
+	public long coalescedRequestCount() {
+		return this.coalescer.coalescedCount();
+	}
+
+	/**
+	 * @return Fraction of GET requests that shared the response of an identical in-progress request, between 0 and 1
+	 */
+	public double coalescingRatio() {
+		final long requests = this.coalescer.requestCount();
+		return requests == 0 ? 0 : (double) this.coalescer.coalescedCount() / requests;
+	}
+
+	/**
+	 * @return Number of times a request was retried
+	 */
+	public long retryCount() {
+		return this.retryBudget.retryCount();
+	}
+
+	/**
+	 * @return Number of times a request was not retried even though the retry policy allowed it, because the retry
+	 * budget was exhausted
+	 */
+	public long retriesDeniedByBudgetCount() {
+		return this.retryBudget.deniedCount();
+	}
+
+	/**
+	 * @return Total time spent on requests after their first attempt failed, including backoff delays
+	 */
+	public @NonNull Duration retryTime() {
+		return Duration.ofNanos(this.retryBudget.retryNanos());
+	}
+
+	/**
+	 * @return Number of hedged GET requests sent, because the original request was slow
+	 * @see NamelessApiBuilder#hedging(HedgingPolicy)
+	 */
+	public long hedgedRequestCount() {
+		return this.hedger != null ? this.hedger.hedgedCount() : 0;
+	}
+
+	/**
+	 * @return Number of hedged GET requests that received a response before the original request
+	 */
+	public long hedgeWinCount() {
+		return this.hedger != null ? this.hedger.wonCount() : 0;
+	}
+
+	/**
+	 * @return Statistics for the HTTP response cache, all zero if no cache is configured
+	 * @see NamelessApiBuilder#httpCache(HttpCache)
+	 */
+	public @NonNull ResponseCacheStats cacheStats() {
+		return this.responseCache.stats();
+	}
+
+	String routeWithParameters(final String route,
+							   final @Nullable Object... parameters) {
 		final StringBuilder urlBuilder = new StringBuilder(route);
 
 		if (parameters.length > 0) {
@@ -86,18 +380,414 @@ public class RequestHandler {
 			}
 		}
 
-		return this.makeConnection(urlBuilder.toString(), null, RETRIES);
+		return urlBuilder.toString();
 	}
 
-	private void debug(final @NonNull Supplier<String> messageSupplier) {
+	void debug(final @NonNull Supplier<String> messageSupplier) {
 		if (this.debugLogger != null) {
 			this.debugLogger.log(messageSupplier.get());
 		}
 	}
 
-	private @NonNull JsonObject makeConnection(final @NonNull String route,
-											   final @Nullable JsonObject postBody,
-											   final int retries) throws NamelessException {
+	private <T> T makeConnection(final @NonNull Call<T> call) throws NamelessException {
+		if (this.hedger != null && call.postBody == null) {
+			// Hedging needs two requests in flight at once, so use the asynchronous implementation
+			return await(this.makeConnectionAsync(call), call);
+		}
+
+		this.retryBudget.onRequest();
+		try {
+			return this.attempt(call);
+		} finally {
+			call.recordRetryTime(this.retryBudget);
+		}
+	}
+
+	private <T> T attempt(final @NonNull Call<T> call) throws NamelessException {
+		final MutableRequest request = this.createRequest(call.route, call.postBody);
+
+		// Only take a rate limit token for requests the circuit breaker lets through
+		final CircuitBreaker.Permit permit = this.acquirePermit();
+		try {
+			final long wait = this.rateLimiter.reserve(call.route);
+			if (wait > 0) {
+				this.debug(() -> "Rate limited, waiting " + TimeUnit.NANOSECONDS.toMillis(wait) + "ms before sending request");
+				sleep(wait, "Interrupted while waiting for rate limit");
+			}
+		} catch (final NamelessException | RuntimeException e) {
+			permit.release();
+			throw e;
+		}
+
+		final long requestStartTime = System.currentTimeMillis();
+		final long sendTime = System.nanoTime();
+		int statusCode = -1;
+		long bytesReceived = 0;
+		long parseNanos = 0;
+
+		@Nullable Duration retryDelay;
+		try {
+			final HttpResponse<InputStream> httpResponse = this.httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+			statusCode = httpResponse.statusCode();
+			recordResult(permit, statusCode);
+			retryDelay = this.retryDelay(httpResponse, call);
+			if (retryDelay == null) {
+				try (InputStream responseBody = httpResponse.body()) {
+					final ResponseCache.@Nullable Lookup<T> cached = this.responseCache.lookup(call.cacheKey, httpResponse);
+					if (cached != null && cached.isPresent()) {
+						this.debug(() -> "Reusing previously parsed response, not modified since");
+						return cached.value();
+					}
+					final ResponseBodyStream body = this.responseBody(responseBody);
+					final long parseStartTime = System.nanoTime();
+					final T value;
+					try {
+						value = this.handleResponse(statusCode, body, requestStartTime, call.responseReader.get());
+					} finally {
+						parseNanos = System.nanoTime() - parseStartTime;
+						bytesReceived = body.count();
+					}
+					if (cached != null) {
+						cached.store(value);
+					}
+					return value;
+				}
+			}
+			httpResponse.body().close();
+		} catch (final IOException e) {
+			recordResult(permit, e);
+			retryDelay = this.retryDelay(e, call);
+			if (retryDelay == null) {
+				throw this.networkException(e, requestStartTime);
+			}
+		} catch (final InterruptedException e) {
+			throw new NamelessException("In-progress request was aborted", e);
+		} finally {
+			// No effect if a result was recorded, otherwise the request was aborted or failed unexpectedly
+			permit.release();
+			this.recordMetrics(call, statusCode, bytesReceived, parseNanos, sendTime);
+		}
+
+		call.retry(retryDelay);
+		sleep(retryDelay.toNanos(), "Interrupted while waiting to retry request");
+		return this.attempt(call);
+	}
+
+	private CircuitBreaker.@NonNull Permit acquirePermit() throws CircuitBreakerOpenException {
+		if (this.circuitBreaker == null) {
+			return CircuitBreaker.Permit.NONE;
+		}
+		return this.circuitBreaker.acquire();
+	}
+
+	private static void recordResult(final CircuitBreaker.@NonNull Permit permit, final int statusCode) {
+		if (statusCode >= 500) {
+			permit.failure();
+		} else {
+			permit.success();
+		}
+	}
+
+	private static void recordResult(final CircuitBreaker.@NonNull Permit permit, final @NonNull IOException e) {
+		if (e instanceof ResponseTooLargeException) {
+			// The website is working, it just sent too much
+			permit.success();
+		} else {
+			permit.failure();
+		}
+	}
+
+	private static void sleep(final long nanos, final @NonNull String interruptedMessage) throws NamelessException {
+		try {
+			TimeUnit.NANOSECONDS.sleep(nanos);
+		} catch (final InterruptedException e) {
+			throw new NamelessException(interruptedMessage, e);
+		}
+	}
+
+	/**
+	 * @return Future completed on an HTTP client thread, see {@link #onCompletionExecutor(CompletableFuture)}
+	 */
+	private <T> CompletableFuture<T> makeConnectionAsync(final @NonNull Call<T> call) {
+		this.retryBudget.onRequest();
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		final CompletableFuture<T> attempt = this.hedger != null && call.postBody == null
+				? this.hedgedAttemptAsync(call, this.hedger)
+				: this.attemptAsync(call);
+		attempt.whenComplete((value, throwable) -> {
+			call.recordRetryTime(this.retryBudget);
+			if (throwable != null) {
+				result.completeExceptionally(unwrap(throwable));
+			} else {
+				result.complete(value);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Send a request, and send an identical hedged request if no response has been received after the hedging delay.
+	 * The first successful response is used and the other request is cancelled.
+	 */
+	private <T> CompletableFuture<T> hedgedAttemptAsync(final @NonNull Call<T> call,
+														final @NonNull RequestHedger hedger) {
+		hedger.onRequest();
+		final Call<T> hedge = call.hedge();
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		// Number of requests that may still complete the result, it fails when all requests have failed
+		final AtomicInteger running = new AtomicInteger(1);
+
+		this.attemptAsync(call).whenComplete((value, throwable) -> {
+			if (throwable == null) {
+				if (result.complete(value)) {
+					hedge.cancel();
+				}
+			} else if (running.decrementAndGet() == 0) {
+				result.completeExceptionally(unwrap(throwable));
+			}
+		});
+
+		final long delay = hedger.delayNanos(call.routeTemplate());
+		this.delayedExecutor(delay).execute(() -> {
+			if (result.isDone() || call.cancelled || !hedger.tryHedge()) {
+				return;
+			}
+			int current;
+			do {
+				current = running.get();
+				if (current == 0) {
+					return;
+				}
+			} while (!running.compareAndSet(current, current + 1));
+
+			this.debug(() -> "No response after " + TimeUnit.NANOSECONDS.toMillis(delay) + "ms, sending hedged request");
+			this.attemptAsync(hedge).whenComplete((value, throwable) -> {
+				if (throwable == null) {
+					if (result.complete(value)) {
+						hedger.onHedgeWon();
+						call.cancel();
+					}
+				} else if (running.decrementAndGet() == 0) {
+					result.completeExceptionally(unwrap(throwable));
+				}
+			});
+		});
+
+		return result;
+	}
+
+	private <T> CompletableFuture<T> attemptAsync(final @NonNull Call<T> call) {
+		if (call.cancelled) {
+			return CompletableFuture.failedFuture(new NamelessException("Request was cancelled"));
+		}
+
+		final MutableRequest request;
+		try {
+			request = this.createRequest(call.route, call.postBody);
+		} catch (final NamelessException | RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		// Only take a rate limit token for requests the circuit breaker lets through
+		final CircuitBreaker.Permit permit;
+		try {
+			permit = this.acquirePermit();
+		} catch (final CircuitBreakerOpenException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		final long wait = this.rateLimiter.reserve(call.route);
+		if (wait <= 0) {
+			return this.sendAsync(request, call, permit);
+		}
+
+		// Wait without blocking a thread
+		this.debug(() -> "Rate limited, waiting " + TimeUnit.NANOSECONDS.toMillis(wait) + "ms before sending request");
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		this.delayedExecutor(wait).execute(() ->
+				pipe(this.sendAsync(request, call, permit), result));
+		return result;
+	}
+
+	private <T> CompletableFuture<T> sendAsync(final @NonNull MutableRequest request,
+											   final @NonNull Call<T> call,
+											   final CircuitBreaker.@NonNull Permit permit) {
+		final long requestStartTime = System.currentTimeMillis();
+		final long sendTime = System.nanoTime();
+		final CompletableFuture<T> result = new CompletableFuture<>();
+
+		final CompletableFuture<HttpResponse<byte[]>> responseFuture;
+		try {
+			responseFuture = this.httpClient.sendAsync(request, LimitedBodySubscriber.handler(this.responseLengthLimit));
+		} catch (final RuntimeException e) {
+			// For example when the HTTP client was shut down
+			permit.release();
+			return CompletableFuture.failedFuture(new NamelessException("Failed to send request", e));
+		}
+		call.inFlight = responseFuture;
+		if (call.cancelled) {
+			responseFuture.cancel(true);
+		}
+
+		// The HTTP client completes responses on the common pool, handle them on the background executor instead
+		final BiConsumer<HttpResponse<byte[]>, Throwable> handler = (httpResponse, throwable) -> {
+			if (call.cancelled) {
+				// For example because an identical hedged request already succeeded
+				permit.release();
+				result.completeExceptionally(new NamelessException("Request was cancelled"));
+				return;
+			}
+
+			final @Nullable Throwable cause = throwable != null ? unwrap(throwable) : null;
+			if (cause instanceof IOException) {
+				recordResult(permit, (IOException) cause);
+			} else if (cause == null) {
+				recordResult(permit, httpResponse.statusCode());
+			} else {
+				permit.release();
+			}
+
+			final @Nullable Duration retryDelay;
+			if (cause instanceof IOException) {
+				retryDelay = this.retryDelay((IOException) cause, call);
+			} else if (cause == null) {
+				retryDelay = this.retryDelay(httpResponse, call);
+			} else {
+				retryDelay = null;
+			}
+
+			final int statusCode = cause == null ? httpResponse.statusCode() : -1;
+			final long bytesReceived = cause == null ? httpResponse.body().length : 0;
+			if (retryDelay != null) {
+				this.recordMetrics(call, statusCode, bytesReceived, 0, sendTime);
+				call.retry(retryDelay);
+				this.delayedExecutor(retryDelay.toNanos()).execute(() ->
+						pipe(this.attemptAsync(call), result));
+				return;
+			}
+
+			long parseNanos = 0;
+			try {
+				if (cause instanceof IOException) {
+					throw this.networkException((IOException) cause, requestStartTime);
+				} else if (cause != null) {
+					throw new NamelessException("In-progress request failed", cause);
+				}
+				final ResponseCache.@Nullable Lookup<T> cached = this.responseCache.lookup(call.cacheKey, httpResponse);
+				if (cached != null && cached.isPresent()) {
+					this.debug(() -> "Reusing previously parsed response, not modified since");
+					result.complete(cached.value());
+					return;
+				}
+				final T value;
+				final long parseStartTime = System.nanoTime();
+				try {
+					final ResponseBodyStream body = this.responseBody(new ByteArrayInputStream(httpResponse.body()));
+					value = this.handleResponse(statusCode, body, requestStartTime, call.responseReader.get());
+				} catch (final IOException e) {
+					throw this.networkException(e, requestStartTime);
+				} finally {
+					parseNanos = System.nanoTime() - parseStartTime;
+				}
+				if (cached != null) {
+					cached.store(value);
+				}
+				result.complete(value);
+			} catch (final NamelessException | RuntimeException e) {
+				result.completeExceptionally(e);
+			} finally {
+				this.recordMetrics(call, statusCode, bytesReceived, parseNanos, sendTime);
+			}
+		};
+		if (this.backgroundExecutor != null) {
+			responseFuture.whenCompleteAsync(handler, this.backgroundExecutor);
+		} else {
+			responseFuture.whenComplete(handler);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Wait for a future, for blocking requests that are implemented asynchronously
+	 */
+	private static <T> T await(final @NonNull CompletableFuture<T> future,
+							   final @NonNull Call<T> call) throws NamelessException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			call.cancel();
+			Thread.currentThread().interrupt();
+			throw new NamelessException("In-progress request was aborted", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause() != null ? e.getCause() : e;
+			if (cause instanceof NamelessException) {
+				throw (NamelessException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else {
+				throw new NamelessException("In-progress request failed", cause);
+			}
+		}
+	}
+
+	/**
+	 * @return Executor running tasks after the given delay, on the background executor if one is configured
+	 */
+	@NonNull Executor delayedExecutor(final long delayNanos) {
+		return this.backgroundExecutor != null
+				? CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, this.backgroundExecutor)
+				: CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private static <T> void pipe(final @NonNull CompletableFuture<T> from, final @NonNull CompletableFuture<T> to) {
+		from.whenComplete((value, throwable) -> {
+			if (throwable != null) {
+				to.completeExceptionally(unwrap(throwable));
+			} else {
+				to.complete(value);
+			}
+		});
+	}
+
+	/**
+	 * @return Future that is completed on the completion executor if one is configured, after the given future completes
+	 */
+	<T> CompletableFuture<T> onCompletionExecutor(final @NonNull CompletableFuture<T> future) {
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		future.whenComplete((value, throwable) -> {
+			if (throwable != null) {
+				final Throwable cause = unwrap(throwable);
+				this.onCompletionExecutor(() -> result.completeExceptionally(cause));
+			} else {
+				this.onCompletionExecutor(() -> result.complete(value));
+			}
+		});
+		return result;
+	}
+
+	private static @NonNull Throwable unwrap(final @NonNull Throwable throwable) {
+		return throwable instanceof CompletionException && throwable.getCause() != null
+				? throwable.getCause()
+				: throwable;
+	}
+
+	private void onCompletionExecutor(final @NonNull Runnable completion) {
+		if (this.completionExecutor == null) {
+			completion.run();
+			return;
+		}
+
+		try {
+			this.completionExecutor.execute(completion);
+		} catch (final RejectedExecutionException e) {
+			// Executor is shutting down, better to complete on this thread than to never complete at all
+			completion.run();
+		}
+	}
+
+	private @NonNull MutableRequest createRequest(final @NonNull String route,
+												  final @Nullable BodyWriter postBody) throws NamelessException {
 		Preconditions.checkArgument(!route.startsWith("/"), "Route must not start with a slash");
 		final URI uri = URI.create(this.apiUrl + route);
 		if (uri.getHost() == null) {
@@ -109,93 +799,200 @@ public class RequestHandler {
 
 		this.debug(() -> "Making connection " + (postBody != null ? "POST" : "GET") + " to " + request.uri());
 
-		final long requestStartTime = System.currentTimeMillis();
-
 		if (postBody != null) {
-			final byte[] postBytes = this.gson.toJson(postBody).getBytes(StandardCharsets.UTF_8);
-			request.POST(HttpRequest.BodyPublishers.ofByteArray(postBytes));
+			final JsonBodyPublisher body;
+			try {
+				body = JsonBodyPublisher.write(this.gson, postBody);
+			} catch (final IOException | JsonIOException e) {
+				throw new NamelessException("Failed to write request body", e);
+			}
+			request.POST(body);
 			request.header("Content-Type", "application/json");
 
-			this.debug(() -> "POST request body:\n" + new String(postBytes, StandardCharsets.UTF_8));
+			this.debug(() -> "POST request body:\n" + body.asString());
 		} else {
 			request.GET();
 		}
 
 		request.header("Accept", "application/json");
 
-		final int statusCode;
-		final String responseBody;
+		return request;
+	}
+
+	/**
+	 * Decide whether to retry a request after receiving a response. If the response asks us to slow down, the rate
+	 * limiter is paused, so a retry will also wait for that.
+	 * @return Delay before retrying, or null if the response should be handled normally
+	 */
+	private @Nullable Duration retryDelay(final @NonNull HttpResponse<?> httpResponse, final @NonNull Call<?> call) {
+		final int statusCode = httpResponse.statusCode();
+		if (statusCode != 429 && statusCode < 500) {
+			return null;
+		}
+
+		final @Nullable Duration backoff = RateLimiter.backoff(statusCode, httpResponse.headers().firstValue("Retry-After").orElse(null));
+		if (backoff != null) {
+			this.rateLimiter.pause(backoff);
+			this.debug(() -> "Website responded with status code " + statusCode + ", pausing requests for " + backoff.toMillis() + "ms");
+			if (backoff.compareTo(RateLimiter.MAX_AUTOMATIC_RETRY_DELAY) > 0) {
+				return null;
+			}
+		}
+
+		final @Nullable Duration delay = call.retryPolicy.retryAfterResponse(call.retries, call.previousDelay, statusCode);
+		if (delay == null || !this.retryBudget.tryRetry()) {
+			return null;
+		}
+		this.debug(() -> "Retrying after status code " + statusCode + " in " + delay.toMillis() + "ms");
+		return delay;
+	}
+
+	/**
+	 * Decide whether to retry a request after a network error
+	 * @return Delay before retrying, or null if the request should fail
+	 */
+	private @Nullable Duration retryDelay(final @NonNull IOException e, final @NonNull Call<?> call) {
+		// Note that when receiving a GOAWAY the connection should be retried. For some reason, the Java
+		// HTTP client doesn't seem to. See also: https://stackoverflow.com/a/55092354
+		final @Nullable Duration delay = call.retryPolicy.retryAfterException(call.retries, call.previousDelay, e);
+		if (delay == null || !this.retryBudget.tryRetry()) {
+			return null;
+		}
+		this.debug(() -> "Retrying after " + e.getClass().getSimpleName() + " (" + e.getMessage() + ") in " + delay.toMillis() + "ms");
+		return delay;
+	}
+
+	private @NonNull NamelessException networkException(final @NonNull IOException e,
+														final long requestStartTime) {
+		final @Nullable String exceptionMessage = e.getMessage();
+		final StringBuilder message = new StringBuilder();
+		message.append("Network connection error (not a Nameless issue). ");
+		message.append(e.getClass().getSimpleName());
+		message.append(": ");
+		message.append(exceptionMessage);
+		if (exceptionMessage != null) {
+			if (exceptionMessage.contains("GOAWAY received")) {
+				message.append(" Your web server is probably down.");
+			} else if (exceptionMessage.contains("unable to find valid certification path to requested target")) {
+				message.append("\nHINT: Your HTTPS certificate is probably valid, but is it complete? Ensure your website uses a valid *full chain* SSL/TLS certificate.");
+			} else if (exceptionMessage.contains("No subject alternative DNS name matching")) {
+				message.append("\nHINT: Is your HTTPS certificate valid? Is it for the correct domain?");
+			} else if (exceptionMessage.contains("Connect timed out")) {
+				message.append("\nHINT: Is a webserver running at the provided domain? Are we blocked by a firewall? Is your webserver fast enough?");
+			} else if (exceptionMessage.contains("Connection refused")) {
+				message.append("\nHINT: Is the domain correct? Is your webserver running? Are we blocked by a firewall?");
+			} else if (exceptionMessage.contains("timed out")) {
+				message.append("\nHINT: The website responded too slow, no response after waiting for ");
+				message.append((System.currentTimeMillis() - requestStartTime) / 1000);
+				message.append(" seconds.");
+			}
+		}
+
+		return new NamelessException(message.toString(), e);
+	}
+
+	private @NonNull ResponseBodyStream responseBody(final @NonNull InputStream responseBody) {
+		// With debug logging enabled, keep the entire response for logging. Otherwise, only keep the
+		// start of the response which is sufficient for error messages.
+		final int prefixCapacity = this.debugLogger != null ? this.responseLengthLimit : ERROR_RESPONSE_PREFIX_LENGTH;
+		return new ResponseBodyStream(responseBody, this.responseLengthLimit, prefixCapacity);
+	}
+
+	private void recordMetrics(final @NonNull Call<?> call,
+							   final int statusCode,
+							   final long bytesReceived,
+							   final long parseNanos,
+							   final long sendTime) {
+		final long latency = System.nanoTime() - sendTime;
+		if (this.hedger != null && call.postBody == null && statusCode > 0 && statusCode < 500 && statusCode != 429) {
+			this.hedger.recordLatency(call.routeTemplate(), latency);
+		}
+		if (this.metricsRecorder == null) {
+			return;
+		}
+		final RequestMetrics metrics = new RequestMetrics(call.routeTemplate(),
+				call.postBody != null ? "POST" : "GET", statusCode, bytesReceived, parseNanos,
+				latency, call.retries);
 		try {
-			final HttpResponse<InputStream> httpResponse = this.httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-			statusCode = httpResponse.statusCode();
-			responseBody = this.getBodyAsString(httpResponse);
-		} catch (final IOException e) {
-			final @Nullable String exceptionMessage = e.getMessage();
-			final StringBuilder message = new StringBuilder();
-			message.append("Network connection error (not a Nameless issue). ");
-			message.append(e.getClass().getSimpleName());
-			message.append(": ");
-			message.append(exceptionMessage);
-			if (exceptionMessage != null) {
-				if (e.getMessage() != null && e.getMessage().contains("GOAWAY received")) {
-					// Receiving a GOAWAY means the connection should be retried. For some reason, the Java
-					// HTTP client doesn't seem to. See also: https://stackoverflow.com/a/55092354
-					if (retries > 0) {
-						this.debug(() -> "Retrying after received GOAWAY");
-						return this.makeConnection(route, postBody, retries - 1);
+			this.metricsRecorder.record(metrics);
+		} catch (final RuntimeException e) {
+			this.debug(() -> "Metrics recorder failed: " + e);
+		}
+	}
+
+	/**
+	 * Parses a response body directly from its input stream and checks it for errors. Top level fields
+	 * are passed to the response reader while they are being read.
+	 * @throws IOException If reading the response failed, or it is larger than the response size limit
+	 */
+	private <T> T handleResponse(final int statusCode,
+								 final @NonNull ResponseBodyStream body,
+								 final long requestStartTime,
+								 final @NonNull ResponseReader<T> responseReader) throws NamelessException, IOException {
+		@Nullable JsonElement error = null;
+		@Nullable JsonElement meta = null;
+		@Nullable Exception parseException = null;
+		try {
+			final JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+			reader.setStrictness(Strictness.LENIENT);
+			reader.beginObject();
+			while (reader.hasNext()) {
+				final String name = reader.nextName();
+				if (name.equals("error") || name.equals("meta")) {
+					final JsonElement value = JsonParser.parseReader(reader);
+					if (name.equals("error")) {
+						error = value;
 					} else {
-						message.append("Already retried after GOAWAY multiple times, your web server is probably down.");
+						meta = value;
 					}
-				} else if (exceptionMessage.contains("unable to find valid certification path to requested target")) {
-					message.append("\nHINT: Your HTTPS certificate is probably valid, but is it complete? Ensure your website uses a valid *full chain* SSL/TLS certificate.");
-				} else if (exceptionMessage.contains("No subject alternative DNS name matching")) {
-					message.append("\nHINT: Is your HTTPS certificate valid? Is it for the correct domain?");
-				} else if (exceptionMessage.contains("Connect timed out")) {
-					message.append("\nHINT: Is a webserver running at the provided domain? Are we blocked by a firewall? Is your webserver fast enough?");
-				} else if (exceptionMessage.contains("Connection refused")) {
-					message.append("\nHINT: Is the domain correct? Is your webserver running? Are we blocked by a firewall?");
-				} else if (exceptionMessage.contains("timed out")) {
-					message.append("\nHINT: The website responded too slow, no response after waiting for ");
-					message.append((System.currentTimeMillis() - requestStartTime) / 1000);
-					message.append(" seconds.");
+					responseReader.addField(name, value);
+				} else {
+					responseReader.readField(name, reader);
 				}
 			}
-
-			throw new NamelessException(message.toString(), e);
-		} catch (final InterruptedException e) {
-			throw new NamelessException("In-progress request was aborted", e);
+			reader.endObject();
+			if (reader.peek() != JsonToken.END_DOCUMENT) {
+				throw new MalformedJsonException("Did not consume the entire document.");
+			}
+		} catch (final IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+			final @Nullable IOException readFailure = body.readFailure();
+			if (readFailure != null) {
+				throw readFailure;
+			}
+			parseException = e;
+			body.fillPrefix();
 		}
 
-		this.debug(() -> "Website response body, after " + (System.currentTimeMillis() - requestStartTime) + "ms:\n" + regularAsciiOnly(responseBody));
+		this.debug(() -> "Website response body, after " + (System.currentTimeMillis() - requestStartTime) + "ms:\n" +
+				regularAsciiOnly(body.prefix()) + (body.isPrefixComplete() ? "" : "[truncated]"));
 
-		if (responseBody.length() == 0) {
+		if (body.count() == 0) {
 			if (statusCode == 301 || statusCode == 302 || statusCode == 303 || statusCode == 307 || statusCode == 308) {
 				throw new NamelessException("Website returned a redirect. Please ensure your URL is correct, paying attention to whether it should use HTTP or HTTPS, or whether it should or should not contain 'www.'.");
 			}
 			throw new NamelessException("Website returned empty response with status code " + statusCode);
 		}
 
-		JsonObject json;
-
-		try {
-			json = JsonParser.parseString(responseBody).getAsJsonObject();
-		} catch (final JsonSyntaxException | IllegalStateException e) {
+		if (parseException != null) {
+			final String responsePrefix = body.prefix();
 			final StringBuilder message = new StringBuilder();
 			message.append("Website returned invalid response with code ");
 			message.append(statusCode);
 			message.append(".\n");
 			if (statusCode >= 301 && statusCode <= 303) {
 				message.append("HINT: The web server returned a redirect. If your URL uses http://, change to https://. If your website forces www., make sure to add www. to the url.\n");
+			} else if (statusCode == 429) {
+				message.append("HINT: The website or a proxy in front of it is rate limiting requests. Consider configuring a client side rate limit, see NamelessApiBuilder#rateLimit.\n");
 			} else if (statusCode == 520 || statusCode == 521) {
 				message.append("HINT: Status code 520/521 is sent by CloudFlare when the backend webserver is down or having issues. Check your webserver and CloudFlare configuration.\n");
-			} else if (responseBody.contains("/aes.js")) {
+			} else if (responsePrefix.contains("/aes.js")) {
 				message.append("HINT: It looks like requests are being blocked by your web server or a proxy. ");
 				message.append("This is a common occurrence with free web hosting services; they usually don't allow API access.\n");
-			} else if (responseBody.contains("<title>Please Wait... | Cloudflare</title>") ||
-					responseBody.contains("#cf-bubbles") ||
-					responseBody.contains("_cf_chl_opt")) {
+			} else if (responsePrefix.contains("<title>Please Wait... | Cloudflare</title>") ||
+					responsePrefix.contains("#cf-bubbles") ||
+					responsePrefix.contains("_cf_chl_opt")) {
 				message.append("HINT: CloudFlare is blocking our request. Please see https://docs.namelessmc.com/cloudflare-api\n");
-			} else if (responseBody.startsWith("\ufeff")) {
+			} else if (responsePrefix.startsWith("\ufeff")) {
 				message.append("HINT: The website response contains invisible unicode characters. This seems to be caused by Partydragen's Store module, we have no idea why.\n");
 			}
 
@@ -204,17 +1001,17 @@ public class RequestHandler {
 			message.append("ms:\n");
 			message.append("-----------------\n");
 			final int totalLengthLimit = 1500; // fit in a Discord message
-			final String printableResponse = regularAsciiOnly(responseBody);
+			final String printableResponse = regularAsciiOnly(responsePrefix);
 			message.append(Ascii.truncate(printableResponse, totalLengthLimit, "[truncated]\n"));
 			if (message.charAt(message.length() - 1) != '\n') {
 				message.append('\n');
 			}
 
-			throw new NamelessException(message.toString(), e);
+			throw new NamelessException(message.toString(), parseException);
 		}
 
-		if (json.has("error")) {
-			final String errorString = json.get("error").getAsString();
+		if (error != null) {
+			final String errorString = error.getAsString();
 			if (errorString.equals("true")) {
 				throw new NamelessException("Error string is 'true', are you using an older NamelessMC version?");
 			}
@@ -223,27 +1020,199 @@ public class RequestHandler {
 				throw new NamelessException("Unknown API error: " + errorString);
 			}
 
-			final String meta;
-			if (json.has("meta") && !json.get("meta").isJsonNull()) {
-				meta = json.get("meta").toString();
+			final String metaString;
+			if (meta != null && !meta.isJsonNull()) {
+				metaString = meta.toString();
 			} else {
-				meta = null;
+				metaString = null;
+			}
+			throw new ApiException(apiError, metaString);
+		}
+
+		return responseReader.result();
+	}
+
+	/**
+	 * A single request, including its retries
+	 */
+	private static final class Call<T> {
+
+		private final @NonNull String route;
+		private final @Nullable BodyWriter postBody;
+		private final @NonNull Supplier<ResponseReader<T>> responseReader;
+		// Only set for GET requests
+		private final @Nullable RequestKey cacheKey;
+		private final @NonNull RetryPolicy retryPolicy;
+		private int retries = 0;
+		private @Nullable Duration previousDelay = null;
+		private long firstFailureTime = 0;
+		private @Nullable String routeTemplate;
+		// Only used by asynchronous requests, so they can be cancelled when a hedged request wins or the other way around
+		private volatile boolean cancelled = false;
+		private volatile @Nullable CompletableFuture<?> inFlight;
+		private @Nullable Call<T> hedge;
+
+		private Call(final @NonNull String route,
+					 final @Nullable BodyWriter postBody,
+					 final @NonNull Supplier<ResponseReader<T>> responseReader,
+					 final @Nullable RequestKey cacheKey,
+					 final @NonNull RetryPolicy retryPolicy) {
+			this.route = route;
+			this.postBody = postBody;
+			this.responseReader = responseReader;
+			this.cacheKey = cacheKey;
+			this.retryPolicy = retryPolicy;
+		}
+
+		private void retry(final @NonNull Duration delay) {
+			if (this.retries == 0) {
+				this.firstFailureTime = System.nanoTime();
+			}
+			this.retries++;
+			this.previousDelay = delay;
+		}
+
+		private @NonNull String routeTemplate() {
+			if (this.routeTemplate == null) {
+				this.routeTemplate = RequestMetrics.routeTemplate(this.route);
 			}
-			throw new ApiException(apiError, meta);
+			return this.routeTemplate;
+		}
+
+		/**
+		 * @return Identical call, with its own retries, which is cancelled together with this call
+		 */
+		private @NonNull Call<T> hedge() {
+			final Call<T> hedge = new Call<>(this.route, this.postBody, this.responseReader, this.cacheKey, this.retryPolicy);
+			hedge.routeTemplate = this.routeTemplate;
+			this.hedge = hedge;
+			return hedge;
+		}
+
+		/**
+		 * Abort the request in flight, if the HTTP client supports it, and don't make new attempts
+		 */
+		private void cancel() {
+			this.cancelled = true;
+			final @Nullable CompletableFuture<?> inFlight = this.inFlight;
+			if (inFlight != null) {
+				inFlight.cancel(true);
+			}
+			final @Nullable Call<T> hedge = this.hedge;
+			if (hedge != null && !hedge.cancelled) {
+				hedge.cancel();
+			}
+		}
+
+		private void recordRetryTime(final @NonNull RetryBudget retryBudget) {
+			if (this.retries > 0) {
+				retryBudget.recordRetryTime(System.nanoTime() - this.firstFailureTime);
+			}
+		}
+
+	}
+
+	/**
+	 * Receives top level fields of a response object while the response is being read.
+	 */
+	private interface ResponseReader<T> {
+
+		/**
+		 * Read or skip the value of a field
+		 */
+		void readField(@NonNull String name, @NonNull JsonReader reader) throws IOException;
+
+		/**
+		 * Receive a field which was already parsed by the request handler, like "error" and "meta"
+		 */
+		void addField(@NonNull String name, @NonNull JsonElement value);
+
+		T result() throws NamelessException;
+
+	}
+
+	/**
+	 * Builds a {@link JsonObject} for the entire response, and converts it using a mapper
+	 */
+	private static final class TreeResponseReader<T> implements ResponseReader<T> {
+
+		private final @NonNull JsonObject json = new JsonObject();
+		private final @NonNull ResponseMapper<T> mapper;
+
+		private TreeResponseReader(final @NonNull ResponseMapper<T> mapper) {
+			this.mapper = mapper;
+		}
+
+		@Override
+		public void readField(final @NonNull String name, final @NonNull JsonReader reader) {
+			this.json.add(name, JsonParser.parseReader(reader));
+		}
+
+		@Override
+		public void addField(final @NonNull String name, final @NonNull JsonElement value) {
+			this.json.add(name, value);
+		}
+
+		@Override
+		public T result() throws NamelessException {
+			return this.mapper.map(this.json);
 		}
 
-		return json;
 	}
 
-	private String getBodyAsString(HttpResponse<InputStream> response) throws IOException {
-		try (InputStream in = response.body();
-				InputStream limited = ByteStreams.limit(in, this.responseLengthLimit)) {
-			final byte[] bytes = limited.readAllBytes();
-			if (bytes.length == this.responseLengthLimit) {
-				throw new IOException("Response larger than limit of " + this.responseLengthLimit + " bytes.");
+	/**
+	 * Decodes a single field using a {@link ResponseDecoder}, skipping all other fields
+	 */
+	private static final class DecodingResponseReader<T> implements ResponseReader<T> {
+
+		private final @NonNull ResponseDecoder<T> decoder;
+		private @Nullable T value;
+
+		private DecodingResponseReader(final @NonNull ResponseDecoder<T> decoder) {
+			this.decoder = decoder;
+		}
+
+		@Override
+		public void readField(final @NonNull String name, final @NonNull JsonReader reader) throws IOException {
+			if (name.equals(this.decoder.field())) {
+				this.value = this.decoder.decode(reader);
+			} else {
+				reader.skipValue();
 			}
-			return new String(bytes, StandardCharsets.UTF_8);
 		}
+
+		@Override
+		public void addField(final @NonNull String name, final @NonNull JsonElement value) {
+		}
+
+		@Override
+		public T result() throws NamelessException {
+			if (this.value == null) {
+				throw new NamelessException("Website response is missing field '" + this.decoder.field() + "'");
+			}
+			return this.value;
+		}
+
+	}
+
+	/**
+	 * Writes the body of a POST request, see {@link #post(String, BodyWriter)}
+	 */
+	@FunctionalInterface
+	public interface BodyWriter {
+
+		void write(@NonNull JsonWriter writer) throws IOException;
+
+	}
+
+	/**
+	 * Converts a successful API response to another type, for use with the async request methods.
+	 */
+	@FunctionalInterface
+	public interface ResponseMapper<T> {
+
+		T map(@NonNull JsonObject response) throws NamelessException;
+
 	}
 
 	private static @NonNull String regularAsciiOnly(@NonNull String message) {
@@ -0,0 +1,117 @@
+package com.namelessmc.java_api;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decides when to hedge GET requests, see {@link HedgingPolicy}. Keeps a latency histogram per route to derive the
+ * hedging delay from, and a budget which limits hedged requests to a fraction of all GET requests.
+ */
+final class RequestHedger {
+
+	// Recalculate the delay for a route after this many new responses, calculating a percentile is not free
+	private static final int RECALCULATE_INTERVAL = 32;
+	// Start over after this many responses, so the delay follows changes in website performance
+	private static final int RESET_INTERVAL = 5000;
+	// Allow a burst of hedged requests when the website suddenly becomes slow, but not too many
+	private static final double BUDGET_CAPACITY = 10;
+
+	private final @NonNull HedgingPolicy policy;
+	private final @NonNull ConcurrentHashMap<String, RouteLatency> routes = new ConcurrentHashMap<>();
+	private double balance = 0;
+
+	private final @NonNull LongAdder hedged = new LongAdder();
+	private final @NonNull LongAdder won = new LongAdder();
+
+	RequestHedger(final @NonNull HedgingPolicy policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * Called for every GET request, excluding retries and hedged requests
+	 */
+	synchronized void onRequest() {
+		this.balance = Math.min(BUDGET_CAPACITY, this.balance + this.policy.maxRatio());
+	}
+
+	/**
+	 * @return Whether a hedged request may be sent. If so, it is taken from the budget.
+	 */
+	boolean tryHedge() {
+		synchronized (this) {
+			if (this.balance < 1) {
+				return false;
+			}
+			this.balance -= 1;
+		}
+		this.hedged.increment();
+		return true;
+	}
+
+	void onHedgeWon() {
+		this.won.increment();
+	}
+
+	/**
+	 * @param route Route template, see {@link RequestMetrics#routeTemplate(String)}
+	 * @return Time to wait for a response before sending a hedged request
+	 */
+	long delayNanos(final @NonNull String route) {
+		final @Nullable Duration fixedDelay = this.policy.fixedDelay();
+		if (fixedDelay != null) {
+			return fixedDelay.toNanos();
+		}
+		final @Nullable RouteLatency latency = this.routes.get(route);
+		if (latency == null || latency.delayNanos < 0) {
+			return this.policy.maxDelay().toNanos();
+		}
+		return latency.delayNanos;
+	}
+
+	/**
+	 * Record the latency of a successful response, to derive the hedging delay from
+	 */
+	void recordLatency(final @NonNull String route, final long nanos) {
+		if (this.policy.fixedDelay() != null) {
+			return;
+		}
+		RouteLatency latency = this.routes.get(route);
+		if (latency == null) {
+			latency = this.routes.computeIfAbsent(route, ignored -> new RouteLatency());
+		}
+		latency.histogram.record(nanos);
+		final long count = latency.histogram.count();
+		if (count >= this.policy.minSamples() && count >= latency.nextCalculation) {
+			// Concurrent calls may both calculate, that's harmless
+			latency.nextCalculation = count + RECALCULATE_INTERVAL;
+			final long percentile = latency.histogram.percentile(this.policy.percentile()).toNanos();
+			latency.delayNanos = Math.max(this.policy.minDelay().toNanos(), Math.min(this.policy.maxDelay().toNanos(), percentile));
+			if (count >= RESET_INTERVAL) {
+				// Keep using the current delay until enough new samples have been collected
+				latency.histogram.reset();
+				latency.nextCalculation = 0;
+			}
+		}
+	}
+
+	long hedgedCount() {
+		return this.hedged.sum();
+	}
+
+	long wonCount() {
+		return this.won.sum();
+	}
+
+	private static final class RouteLatency {
+
+		private final @NonNull LatencyHistogram histogram = new LatencyHistogram();
+		private volatile long delayNanos = -1;
+		private volatile long nextCalculation = 0;
+
+	}
+
+}
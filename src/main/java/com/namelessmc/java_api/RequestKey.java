@@ -0,0 +1,39 @@
+package com.namelessmc.java_api;
+
+import java.util.Objects;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Identifies a GET request and the way its response is read. Requests with equal keys produce equal results.
+ */
+final class RequestKey {
+
+	private final @NonNull String route;
+	private final @NonNull Object shape;
+
+	/**
+	 * @param route Route including parameters
+	 * @param shape Identifies how the response is read, for example a {@link ResponseDecoder}
+	 */
+	RequestKey(final @NonNull String route, final @NonNull Object shape) {
+		this.route = route;
+		this.shape = shape;
+	}
+
+	@Override
+	public boolean equals(final @Nullable Object other) {
+		if (!(other instanceof RequestKey)) {
+			return false;
+		}
+		final RequestKey key = (RequestKey) other;
+		return this.route.equals(key.route) && this.shape.equals(key.shape);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.route, this.shape);
+	}
+
+}
@@ -0,0 +1,156 @@
+package com.namelessmc.java_api;
+
+import java.time.Duration;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Measurements for a single attempt of a request
+ * @see MetricsRecorder
+ */
+public final class RequestMetrics {
+
+	private final @NonNull String route;
+	private final @NonNull String method;
+	private final int statusCode;
+	private final long bytesReceived;
+	private final long parseNanos;
+	private final long latencyNanos;
+	private final int attempt;
+
+	RequestMetrics(final @NonNull String route,
+				   final @NonNull String method,
+				   final int statusCode,
+				   final long bytesReceived,
+				   final long parseNanos,
+				   final long latencyNanos,
+				   final int attempt) {
+		this.route = route;
+		this.method = method;
+		this.statusCode = statusCode;
+		this.bytesReceived = bytesReceived;
+		this.parseNanos = parseNanos;
+		this.latencyNanos = latencyNanos;
+		this.attempt = attempt;
+	}
+
+	/**
+	 * @return Route without query parameters, with user identifiers and other numeric or prefixed ids replaced
+	 * by <code>{id}</code>, for example <code>users/{id}/groups</code>
+	 */
+	public @NonNull String route() {
+		return this.route;
+	}
+
+	/**
+	 * @return <code>GET</code> or <code>POST</code>
+	 */
+	public @NonNull String method() {
+		return this.method;
+	}
+
+	/**
+	 * @return HTTP status code, or -1 if no response was received
+	 */
+	public int statusCode() {
+		return this.statusCode;
+	}
+
+	/**
+	 * @return Size of the response body that was read, 0 if it was not read, for example when the request
+	 * was retried or a previously parsed response was reused
+	 */
+	public long bytesReceived() {
+		return this.bytesReceived;
+	}
+
+	/**
+	 * @return Time spent parsing the response. Blocking requests parse the response while it is being received,
+	 * so for those requests this includes the time spent receiving the response body.
+	 */
+	public long parseNanos() {
+		return this.parseNanos;
+	}
+
+	/**
+	 * @return Time from sending the request until the response was handled, excluding time spent waiting for
+	 * rate limits or before a retry
+	 */
+	public long latencyNanos() {
+		return this.latencyNanos;
+	}
+
+	/**
+	 * @see #parseNanos()
+	 */
+	public @NonNull Duration parseTime() {
+		return Duration.ofNanos(this.parseNanos);
+	}
+
+	/**
+	 * @see #latencyNanos()
+	 */
+	public @NonNull Duration latency() {
+		return Duration.ofNanos(this.latencyNanos);
+	}
+
+	/**
+	 * @return 0 for the first attempt of a request, 1 for the first retry, etc.
+	 */
+	public int attempt() {
+		return this.attempt;
+	}
+
+	@Override
+	public @NonNull String toString() {
+		return "RequestMetrics[" + this.method + " " + this.route + ",status=" + this.statusCode +
+				",bytes=" + this.bytesReceived + ",parse=" + this.parseNanos / 1000 + "us" +
+				",latency=" + this.latencyNanos / 1000 + "us,attempt=" + this.attempt + "]";
+	}
+
+	/**
+	 * @param route Route as sent, including parameters
+	 * @return Route suitable for grouping metrics, see {@link #route()}
+	 */
+	static @NonNull String routeTemplate(final @NonNull String route) {
+		final int parametersStart = route.indexOf('&');
+		final String path = parametersStart >= 0 ? route.substring(0, parametersStart) : route;
+		final StringBuilder template = new StringBuilder(path.length());
+		int segmentStart = 0;
+		while (segmentStart <= path.length()) {
+			int segmentEnd = path.indexOf('/', segmentStart);
+			if (segmentEnd < 0) {
+				segmentEnd = path.length();
+			}
+			if (segmentStart > 0) {
+				template.append('/');
+			}
+			if (isIdentifier(path, segmentStart, segmentEnd)) {
+				template.append("{id}");
+			} else {
+				template.append(path, segmentStart, segmentEnd);
+			}
+			segmentStart = segmentEnd + 1;
+		}
+		return template.toString();
+	}
+
+	private static boolean isIdentifier(final @NonNull String path, final int start, final int end) {
+		if (start == end) {
+			return false;
+		}
+		boolean digitsOnly = true;
+		for (int i = start; i < end; i++) {
+			final char c = path.charAt(i);
+			if (c == ':' || (c == '%' && path.regionMatches(true, i, "%3A", 0, 3))) {
+				// User transformers like id:5 or integration_id:minecraft:..., URL encoded in most routes
+				return true;
+			}
+			if (c < '0' || c > '9') {
+				digitsOnly = false;
+			}
+		}
+		return digitsOnly;
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.namelessmc.java_api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Wraps a response body stream, so it can be parsed directly without first buffering the entire
+ * response in memory. The response size limit is enforced while reading, and the first bytes of the
+ * response are kept so useful error messages can still be generated if the response turns out to be invalid.
+ */
+final class ResponseBodyStream extends FilterInputStream {
+
+	private final int limit;
+	private final int prefixCapacity;
+	private final ByteArrayOutputStream prefix;
+	private long count = 0;
+	private @Nullable IOException readFailure;
+
+	ResponseBodyStream(final @NonNull InputStream in, final int limit, final int prefixCapacity) {
+		super(in);
+		this.limit = limit;
+		this.prefixCapacity = prefixCapacity;
+		this.prefix = new ByteArrayOutputStream(Math.min(prefixCapacity, 1024));
+	}
+
+	@Override
+	public int read() throws IOException {
+		final int b;
+		try {
+			b = super.read();
+		} catch (final IOException e) {
+			this.readFailure = e;
+			throw e;
+		}
+		if (b >= 0) {
+			this.checkLimit(1);
+			if (this.prefix.size() < this.prefixCapacity) {
+				this.prefix.write(b);
+			}
+		}
+		return b;
+	}
+
+	@Override
+	public int read(final byte @NonNull [] b, final int off, final int len) throws IOException {
+		final int read;
+		try {
+			read = super.read(b, off, len);
+		} catch (final IOException e) {
+			this.readFailure = e;
+			throw e;
+		}
+		if (read > 0) {
+			this.checkLimit(read);
+			final int toCapture = Math.min(read, this.prefixCapacity - this.prefix.size());
+			if (toCapture > 0) {
+				this.prefix.write(b, off, toCapture);
+			}
+		}
+		return read;
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		// Route skipped bytes through read() so they are counted and captured
+		final byte[] buffer = new byte[(int) Math.min(n, 1024)];
+		long skipped = 0;
+		while (skipped < n) {
+			final int read = this.read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+			if (read < 0) {
+				break;
+			}
+			skipped += read;
+		}
+		return skipped;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	private void checkLimit(final int read) throws IOException {
+		this.count += read;
+		if (this.count >= this.limit) {
+			final IOException e = new ResponseTooLargeException(this.limit);
+			this.readFailure = e;
+			throw e;
+		}
+	}
+
+	/**
+	 * Continue reading the response until the prefix buffer is full or the response ends, so error hints
+	 * can look at more than what the JSON parser happened to read before it failed.
+	 */
+	void fillPrefix() {
+		final byte[] buffer = new byte[1024];
+		try {
+			while (this.prefix.size() < this.prefixCapacity) {
+				if (this.read(buffer, 0, buffer.length) < 0) {
+					break;
+				}
+			}
+		} catch (final IOException ignored) {
+			// Only used for error messages, what we have so far will do
+		}
+	}
+
+	/**
+	 * @return Exception thrown while reading the underlying stream or when exceeding the size limit, so it can
+	 * be told apart from a parse error caused by invalid response content
+	 */
+	@Nullable IOException readFailure() {
+		return this.readFailure;
+	}
+
+	/**
+	 * @return Number of bytes read so far
+	 */
+	long count() {
+		return this.count;
+	}
+
+	/**
+	 * @return First bytes of the response (up to the prefix capacity), decoded as UTF-8
+	 */
+	@NonNull String prefix() {
+		return new String(this.prefix.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return Whether the prefix contains the entire response read so far
+	 */
+	boolean isPrefixComplete() {
+		return this.prefix.size() == this.count;
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.namelessmc.java_api;
+
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.github.mizosoft.methanol.CacheAwareResponse;
+import com.github.mizosoft.methanol.HttpCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonObject;
+
+/**
+ * Keeps parsed results of cacheable GET responses, so they can be reused when the HTTP cache serves the same response
+ * again, either directly or after revalidating it with the website (304 Not Modified). The HTTP cache itself stores
+ * the response bytes and takes care of sending conditional requests.
+ * <p>
+ * Callers may modify a {@link JsonObject} response, so these are copied when stored and when reused. Decoded values
+ * are shared, see {@link RequestHandler#get(ResponseDecoder, String, Object...)}.
+ */
+final class ResponseCache {
+
+	private static final int MAX_PARSED_ENTRIES = 256;
+
+	private final @Nullable HttpCache httpCache;
+	private final @NonNull Cache<RequestKey, Entry> parsed = CacheBuilder.newBuilder()
+			.maximumSize(MAX_PARSED_ENTRIES)
+			.build();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder revalidations = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder parsedReuses = new LongAdder();
+
+	/**
+	 * @param httpCache HTTP cache used by the HTTP client, or null if responses are not cached
+	 */
+	ResponseCache(final @Nullable HttpCache httpCache) {
+		this.httpCache = httpCache;
+	}
+
+	/**
+	 * Look up a previously parsed result for a response
+	 * @param key Request key, null if this is not a GET request
+	 * @param response Response, with headers as served by the HTTP cache
+	 * @return Lookup result, which can also be used to store the parsed result. Null if the result of this
+	 * response can't be cached.
+	 */
+	<T> @Nullable Lookup<T> lookup(final @Nullable RequestKey key, final @NonNull HttpResponse<?> response) {
+		if (this.httpCache == null || key == null || !(response instanceof CacheAwareResponse)) {
+			return null;
+		}
+
+		final CacheAwareResponse.CacheStatus cacheStatus = ((CacheAwareResponse<?>) response).cacheStatus();
+		switch (cacheStatus) {
+			case HIT:
+				this.hits.increment();
+				break;
+			case CONDITIONAL_HIT:
+				this.revalidations.increment();
+				break;
+			default:
+				this.misses.increment();
+		}
+
+		if (response.statusCode() != 200) {
+			return null;
+		}
+
+		final Optional<String> validator = response.headers().firstValue("ETag")
+				.or(() -> response.headers().firstValue("Last-Modified"));
+		if (validator.isEmpty()) {
+			// Without a validator, there is no way to tell whether the cached response is still the one we parsed
+			return null;
+		}
+
+		if (cacheStatus == CacheAwareResponse.CacheStatus.HIT || cacheStatus == CacheAwareResponse.CacheStatus.CONDITIONAL_HIT) {
+			final @Nullable Entry entry = this.parsed.getIfPresent(key);
+			if (entry != null && entry.validator.equals(validator.get())) {
+				this.parsedReuses.increment();
+				return new Lookup<>(this, key, validator.get(), entry.value);
+			}
+		}
+
+		return new Lookup<>(this, key, validator.get(), null);
+	}
+
+	@NonNull ResponseCacheStats stats() {
+		return new ResponseCacheStats(this.hits.sum(), this.revalidations.sum(), this.misses.sum(), this.parsedReuses.sum(),
+				this.httpCache != null ? this.httpCache.stats() : HttpCache.Stats.empty());
+	}
+
+	static final class Lookup<T> {
+
+		private final @NonNull ResponseCache cache;
+		private final @NonNull RequestKey key;
+		private final @NonNull String validator;
+		private final @Nullable Object value;
+
+		private Lookup(final @NonNull ResponseCache cache,
+					   final @NonNull RequestKey key,
+					   final @NonNull String validator,
+					   final @Nullable Object value) {
+			this.cache = cache;
+			this.key = key;
+			this.validator = validator;
+			this.value = value;
+		}
+
+		/**
+		 * @return Whether a previously parsed result is available for this response
+		 */
+		boolean isPresent() {
+			return this.value != null;
+		}
+
+		@SuppressWarnings("unchecked")
+		T value() {
+			if (this.value == null) {
+				throw new IllegalStateException("No value present");
+			}
+			// Requests with the same key always produce values of the same type
+			return (T) copy(this.value);
+		}
+
+		/**
+		 * Store the result of parsing this response. Null results are not stored, they can't be told apart from
+		 * a missing result.
+		 */
+		void store(final T value) {
+			if (value != null) {
+				this.cache.parsed.put(this.key, new Entry(this.validator, copy(value)));
+			}
+		}
+
+	}
+
+	private static @NonNull Object copy(final @NonNull Object value) {
+		return value instanceof JsonObject ? ((JsonObject) value).deepCopy() : value;
+	}
+
+	private static final class Entry {
+
+		private final @NonNull String validator;
+		private final @NonNull Object value;
+
+		private Entry(final @NonNull String validator, final @NonNull Object value) {
+			this.validator = validator;
+			this.value = value;
+		}
+
+	}
+
+}
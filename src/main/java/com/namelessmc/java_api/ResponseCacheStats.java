@@ -0,0 +1,74 @@
+package com.namelessmc.java_api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import com.github.mizosoft.methanol.HttpCache;
+
+/**
+ * Statistics for the HTTP response cache
+ * @see RequestHandler#cacheStats()
+ * @see NamelessApiBuilder#httpCache(HttpCache)
+ */
+public final class ResponseCacheStats {
+
+	private final long hitCount;
+	private final long revalidationCount;
+	private final long missCount;
+	private final long parsedReuseCount;
+	private final HttpCache.@NonNull Stats httpCacheStats;
+
+	ResponseCacheStats(final long hitCount,
+					   final long revalidationCount,
+					   final long missCount,
+					   final long parsedReuseCount,
+					   final HttpCache.@NonNull Stats httpCacheStats) {
+		this.hitCount = hitCount;
+		this.revalidationCount = revalidationCount;
+		this.missCount = missCount;
+		this.parsedReuseCount = parsedReuseCount;
+		this.httpCacheStats = httpCacheStats;
+	}
+
+	/**
+	 * @return Number of responses served from the cache without contacting the website
+	 */
+	public long hitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * @return Number of responses served from the cache after the website confirmed they were not modified
+	 */
+	public long revalidationCount() {
+		return this.revalidationCount;
+	}
+
+	/**
+	 * @return Number of responses that were not served from the cache
+	 */
+	public long missCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * @return Number of cached responses that were not parsed again, because the result of parsing the same
+	 * response earlier was reused
+	 */
+	public long parsedReuseCount() {
+		return this.parsedReuseCount;
+	}
+
+	/**
+	 * @return Statistics as kept by the HTTP cache itself, including reads and writes
+	 */
+	public HttpCache.@NonNull Stats httpCacheStats() {
+		return this.httpCacheStats;
+	}
+
+	@Override
+	public @NonNull String toString() {
+		return "ResponseCacheStats[hits=" + this.hitCount + ",revalidations=" + this.revalidationCount +
+				",misses=" + this.missCount + ",parsedReuses=" + this.parsedReuseCount + "]";
+	}
+
+}
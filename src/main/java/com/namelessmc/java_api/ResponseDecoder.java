@@ -0,0 +1,58 @@
+package com.namelessmc.java_api;
+
+import com.google.gson.stream.JsonReader;
+import com.namelessmc.java_api.util.GsonHelper;
+import com.namelessmc.java_api.util.JsonDecoder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decodes a single top level field of an API response while the response is being read, skipping all other
+ * fields. This avoids building a {@link com.google.gson.JsonObject} tree for the entire response, which matters
+ * for large list responses.
+ *
+ * @param <T> Type of decoded object
+ * @see RequestHandler#get(ResponseDecoder, String, Object...)
+ */
+public final class ResponseDecoder<T> {
+
+	private final @NonNull String field;
+	private final @NonNull JsonDecoder<T> decoder;
+
+	private ResponseDecoder(final @NonNull String field,
+							final @NonNull JsonDecoder<T> decoder) {
+		this.field = Objects.requireNonNull(field, "Field name is null");
+		this.decoder = Objects.requireNonNull(decoder, "Decoder is null");
+	}
+
+	public @NonNull String field() {
+		return this.field;
+	}
+
+	T decode(final @NonNull JsonReader reader) throws IOException {
+		return this.decoder.decode(reader);
+	}
+
+	/**
+	 * @param field Name of top level response field
+	 * @param decoder Decoder for the value of this field
+	 */
+	public static <T> @NonNull ResponseDecoder<T> field(final @NonNull String field,
+														final @NonNull JsonDecoder<T> decoder) {
+		return new ResponseDecoder<>(field, decoder);
+	}
+
+	/**
+	 * @param field Name of top level response field, containing an array
+	 * @param elementDecoder Decoder for elements of the array
+	 * @return Decoder for an unmodifiable list of decoded elements
+	 */
+	public static <T> @NonNull ResponseDecoder<List<T>> list(final @NonNull String field,
+															 final @NonNull JsonDecoder<T> elementDecoder) {
+		return new ResponseDecoder<>(field, reader -> GsonHelper.readObjectList(reader, elementDecoder));
+	}
+
+}
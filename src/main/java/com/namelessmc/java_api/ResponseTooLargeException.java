@@ -0,0 +1,16 @@
+package com.namelessmc.java_api;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a response body that is larger than the configured response size limit
+ */
+final class ResponseTooLargeException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	ResponseTooLargeException(final int limit) {
+		super("Response larger than limit of " + limit + " bytes.");
+	}
+
+}
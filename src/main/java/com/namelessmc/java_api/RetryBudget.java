@@ -0,0 +1,87 @@
+package com.namelessmc.java_api;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Limits the number of retries relative to the number of requests, so retries can't multiply the load on a website
+ * that is already struggling. Every request adds a fraction of a retry to the budget, and every retry takes one. A
+ * minimum number of retries per second is always allowed, so retries still work when few requests are made.
+ */
+final class RetryBudget {
+
+	private final double ratio;
+	private final double minRetriesPerNano;
+	private final double capacity;
+	private double balance;
+	private long lastRefill = System.nanoTime();
+
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder denied = new LongAdder();
+	private final LongAdder retryNanos = new LongAdder();
+
+	/**
+	 * @param ratio Fraction of retries to requests, for example 0.2 to allow one retry for every 5 requests
+	 * @param minRetriesPerSecond Retries per second that are always allowed
+	 */
+	RetryBudget(final double ratio, final int minRetriesPerSecond) {
+		Preconditions.checkArgument(ratio >= 0, "Ratio must not be negative");
+		Preconditions.checkArgument(minRetriesPerSecond >= 0, "Minimum retries per second must not be negative");
+		this.ratio = ratio;
+		this.minRetriesPerNano = (double) minRetriesPerSecond / TimeUnit.SECONDS.toNanos(1);
+		// Allow saving up for a burst of retries, but not so many that a long quiet period allows a retry storm
+		this.capacity = Math.max(10, minRetriesPerSecond * 10);
+		this.balance = this.capacity;
+	}
+
+	private void refill(final long now) {
+		this.balance = Math.min(this.capacity, this.balance + (now - this.lastRefill) * this.minRetriesPerNano);
+		this.lastRefill = now;
+	}
+
+	/**
+	 * Called for every request, excluding retries
+	 */
+	synchronized void onRequest() {
+		this.refill(System.nanoTime());
+		this.balance = Math.min(this.capacity, this.balance + this.ratio);
+	}
+
+	/**
+	 * @return Whether a retry is allowed. If so, the retry is taken from the budget.
+	 */
+	boolean tryRetry() {
+		synchronized (this) {
+			this.refill(System.nanoTime());
+			if (this.balance >= 1) {
+				this.balance -= 1;
+				this.retries.increment();
+				return true;
+			}
+		}
+		this.denied.increment();
+		return false;
+	}
+
+	/**
+	 * Record the time spent on a request after its first attempt failed, including backoff delays
+	 */
+	void recordRetryTime(final long nanos) {
+		this.retryNanos.add(nanos);
+	}
+
+	long retryCount() {
+		return this.retries.sum();
+	}
+
+	long deniedCount() {
+		return this.denied.sum();
+	}
+
+	long retryNanos() {
+		return this.retryNanos.sum();
+	}
+
+}
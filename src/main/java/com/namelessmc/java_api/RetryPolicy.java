@@ -0,0 +1,68 @@
+package com.namelessmc.java_api;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decides whether a failed request should be retried, and how long to wait before retrying. Configure using
+ * {@link NamelessApiBuilder#getRetryPolicy(RetryPolicy)} and {@link NamelessApiBuilder#postRetryPolicy(RetryPolicy)}.
+ * Retries are additionally limited by a retry budget shared by all requests, see
+ * {@link NamelessApiBuilder#retryBudget(double, int)}.
+ */
+public interface RetryPolicy {
+
+	/**
+	 * Called when a request failed without a response, for example because of a timeout or a connection reset.
+	 * @param retries Number of times this request has been retried so far
+	 * @param previousDelay Delay before the previous retry, or null if this request has not been retried yet
+	 * @param exception Exception
+	 * @return Delay before retrying, or null to not retry
+	 */
+	@Nullable Duration retryAfterException(int retries, @Nullable Duration previousDelay, @NonNull IOException exception);
+
+	/**
+	 * Called when the website responded with a status code that may indicate a temporary problem: 429, or 5xx.
+	 * When the response contains a Retry-After header, requests are paused for at least that long regardless of
+	 * the returned delay.
+	 * @param retries Number of times this request has been retried so far
+	 * @param previousDelay Delay before the previous retry, or null if this request has not been retried yet
+	 * @param statusCode HTTP status code
+	 * @return Delay before retrying, or null to not retry
+	 */
+	@Nullable Duration retryAfterResponse(int retries, @Nullable Duration previousDelay, int statusCode);
+
+	/**
+	 * @return Policy that never retries
+	 */
+	static @NonNull RetryPolicy none() {
+		return BackoffRetryPolicy.NONE;
+	}
+
+	/**
+	 * Default policy for GET requests, which are idempotent. Retries twice on network errors, timeouts and status
+	 * codes which indicate the website or a proxy in front of it is temporarily unavailable.
+	 */
+	static @NonNull RetryPolicy defaultGet() {
+		return BackoffRetryPolicy.DEFAULT_GET;
+	}
+
+	/**
+	 * Default policy for POST requests, which may not be idempotent. Only retries twice when the request has certainly
+	 * not been processed by the website: when the connection could not be established, when the HTTP/2 connection
+	 * was shut down before the request was sent (GOAWAY), or when the request was rejected by rate limiting.
+	 */
+	static @NonNull RetryPolicy defaultPost() {
+		return BackoffRetryPolicy.DEFAULT_POST;
+	}
+
+	/**
+	 * @return Builder for a retry policy with exponential backoff and decorrelated jitter
+	 */
+	static BackoffRetryPolicy.@NonNull Builder backoff() {
+		return new BackoffRetryPolicy.Builder();
+	}
+
+}
@@ -0,0 +1,251 @@
+package com.namelessmc.java_api;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Caches user information, so looking up the same user again, for example by another plugin or another command,
+ * does not need a request to the website. Entries are stored by user id, and can also be found by username and by
+ * integration identifier or username, such as a Minecraft UUID or Discord id.
+ * <p>
+ * Entries expire after a fixed time, and the least recently used entries are evicted when the estimated memory
+ * used by the cache exceeds the maximum weight. Entries are invalidated when a user is modified through this
+ * library, changes made on the website itself are noticed after the entry expires.
+ * <p>
+ * One cache may be shared by multiple API instances, as long as they all use the same website. Configure using
+ * {@link NamelessApiBuilder#userCache(UserCache)}.
+ */
+public final class UserCache {
+
+	private final @NonNull Cache<Integer, Entry> entries;
+	// Encoded user transformer, like "username%3ADerkades", to user id. May point to entries that have been evicted.
+	private final @NonNull Map<String, Integer> aliases = new ConcurrentHashMap<>();
+	private final @NonNull LongAdder hits = new LongAdder();
+	private final @NonNull LongAdder misses = new LongAdder();
+	private final @NonNull LongAdder evictions = new LongAdder();
+
+	private UserCache(final @NonNull Builder builder) {
+		this.entries = CacheBuilder.newBuilder()
+				.expireAfterWrite(builder.ttl.toNanos(), TimeUnit.NANOSECONDS)
+				.maximumWeight(builder.maxWeight)
+				.<Integer, Entry>weigher((id, entry) -> entry.weight)
+				.<Integer, Entry>removalListener(notification -> {
+					final @Nullable Entry entry = notification.getValue();
+					if (entry != null) {
+						for (final String alias : entry.aliases) {
+							this.aliases.remove(alias, entry.id);
+						}
+					}
+					if (notification.wasEvicted()) {
+						this.evictions.increment();
+					}
+				})
+				.build();
+	}
+
+	/**
+	 * @param id User id
+	 * @return Cached user information, or null if not cached
+	 */
+	@Nullable UserInfo get(final int id) {
+		final @Nullable Entry entry = this.entries.getIfPresent(id);
+		if (entry == null) {
+			this.misses.increment();
+			return null;
+		}
+		this.hits.increment();
+		return entry.userInfo;
+	}
+
+	/**
+	 * @param userTransformer URL encoded user transformer, see {@link NamelessUser#userTransformer()}
+	 * @return Cached user information, or null if not cached
+	 */
+	@Nullable UserInfo get(final @NonNull String userTransformer) {
+		final @Nullable Integer id = this.aliases.get(userTransformer);
+		if (id == null) {
+			this.misses.increment();
+			return null;
+		}
+		return this.get(id);
+	}
+
+	/**
+	 * @param userInfo Parsed user information
+	 * @param userTransformer URL encoded user transformer that was used to look up the user, added as alias in case
+	 *                        it differs from the aliases derived from user information, for example in letter case
+	 */
+	void put(final @NonNull UserInfo userInfo, final @Nullable String userTransformer) {
+		final int id = userInfo.id();
+		final List<String> aliases = aliases(userInfo);
+		if (userTransformer != null && !aliases.contains(userTransformer)) {
+			aliases.add(userTransformer);
+		}
+		// Replacing an entry removes the aliases of the old entry, so only add aliases after that
+		this.entries.put(id, new Entry(id, userInfo, aliases, userInfo.estimatedSize()));
+		for (final String alias : aliases) {
+			this.aliases.put(alias, id);
+		}
+	}
+
+	/**
+	 * Remove a user from the cache, including all its aliases
+	 */
+	public void invalidate(final int id) {
+		this.entries.invalidate(id);
+	}
+
+	/**
+	 * @param userTransformer URL encoded user transformer
+	 */
+	void invalidate(final @NonNull String userTransformer) {
+		final @Nullable Integer id = this.aliases.get(userTransformer);
+		if (id != null) {
+			this.entries.invalidate(id);
+		}
+	}
+
+	public void invalidateAll() {
+		this.entries.invalidateAll();
+		this.aliases.clear();
+	}
+
+	/**
+	 * @return Number of cached users
+	 */
+	public long size() {
+		return this.entries.size();
+	}
+
+	public long hitCount() {
+		return this.hits.sum();
+	}
+
+	public long missCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * @return Number of entries removed because they expired or to stay under the maximum weight
+	 */
+	public long evictionCount() {
+		return this.evictions.sum();
+	}
+
+	private static @NonNull List<String> aliases(final @NonNull UserInfo userInfo) {
+		final List<String> aliases = new ArrayList<>();
+		aliases.add(encode("username:" + userInfo.username()));
+		if (userInfo.hasIntegrations()) {
+			for (final JsonElement element : userInfo.integrations()) {
+				final JsonObject integration = element.getAsJsonObject();
+				final String name = integration.get("integration").getAsString();
+				aliases.add(encode("integration_id:" + name + ":" + integration.get("identifier").getAsString()));
+				aliases.add(encode("integration_name:" + name + ":" + integration.get("username").getAsString()));
+			}
+		}
+		return aliases;
+	}
+
+	private static @NonNull String encode(final @NonNull String userTransformer) {
+		// Same encoding as NamelessUser
+		return URLEncoder.encode(userTransformer, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return Rough estimate of memory used by a json element in bytes
+	 */
+	static int weigh(final @NonNull JsonElement element) {
+		if (element.isJsonObject()) {
+			int weight = 64;
+			for (final Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+				weight += 48 + 2 * entry.getKey().length() + weigh(entry.getValue());
+			}
+			return weight;
+		} else if (element.isJsonArray()) {
+			int weight = 32;
+			for (final JsonElement child : element.getAsJsonArray()) {
+				weight += 8 + weigh(child);
+			}
+			return weight;
+		} else if (element.isJsonPrimitive()) {
+			final JsonPrimitive primitive = element.getAsJsonPrimitive();
+			return primitive.isString() ? 56 + 2 * primitive.getAsString().length() : 32;
+		} else {
+			return 0;
+		}
+	}
+
+	public static @NonNull Builder builder() {
+		return new Builder();
+	}
+
+	private static final class Entry {
+
+		private final int id;
+		private final @NonNull UserInfo userInfo;
+		private final @NonNull List<String> aliases;
+		private final int weight;
+
+		private Entry(final int id,
+					  final @NonNull UserInfo userInfo,
+					  final @NonNull List<String> aliases,
+					  final int weight) {
+			this.id = id;
+			this.userInfo = userInfo;
+			this.aliases = aliases;
+			this.weight = weight;
+		}
+
+	}
+
+	public static final class Builder {
+
+		private @NonNull Duration ttl = Duration.ofMinutes(1);
+		private long maxWeight = 16 * 1024 * 1024;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param ttl Time after which cached user information is no longer used, default 1 minute
+		 */
+		public @NonNull Builder ttl(final @NonNull Duration ttl) {
+			Preconditions.checkArgument(ttl.compareTo(Duration.ZERO) > 0, "TTL must be positive");
+			this.ttl = ttl;
+			return this;
+		}
+
+		/**
+		 * @param maxWeightBytes Estimated memory used by cached user information, after which the least recently
+		 *                       used users are evicted. Default 16MiB, which fits tens of thousands of users.
+		 */
+		public @NonNull Builder maxWeight(final long maxWeightBytes) {
+			Preconditions.checkArgument(maxWeightBytes >= 0, "Max weight must not be negative");
+			this.maxWeight = maxWeightBytes;
+			return this;
+		}
+
+		public @NonNull UserCache build() {
+			return new UserCache(this);
+		}
+
+	}
+
+}
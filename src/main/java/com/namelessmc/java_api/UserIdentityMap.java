@@ -0,0 +1,258 @@
+package com.namelessmc.java_api;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.integrations.IntegrationData;
+import com.namelessmc.java_api.integrations.StandardIntegrationTypes;
+
+/**
+ * Maps Minecraft UUIDs and Discord ids to NamelessMC user ids and back. UUIDs are stored as two longs, Discord ids
+ * as longs and user ids as ints, in open addressing hash tables, so a million users with both integrations use
+ * about 75MiB. Lookups do not allocate and usually do not take a lock.
+ * <p>
+ * When configured using {@link NamelessApiBuilder#identityMap(UserIdentityMap)}, the map is filled with every
+ * user information response and user listing, and lookups like {@link NamelessAPI#userByMinecraftUuid(UUID)}
+ * load known users by id instead of by integration identifier. The loaded user is checked to still have the
+ * identifier; if not, the mapping is corrected and the user is looked up by integration identifier instead. Users
+ * can also be added manually using {@link #add(NamelessUser)}. Mappings of a user are replaced or removed when
+ * newer information about that user is received.
+ * <p>
+ * Thread safe. One map may be shared by multiple API instances, as long as they all use the same website.
+ */
+public final class UserIdentityMap {
+
+	private final StampedLock lock = new StampedLock();
+	private final IdentityTable minecraft = new IdentityTable(true);
+	private final IdentityTable discord = new IdentityTable(false);
+
+	/**
+	 * @return User id, or -1 if unknown
+	 */
+	public int userIdByMinecraftUuid(final @NonNull UUID uuid) {
+		return this.userId(this.minecraft, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+	}
+
+	/**
+	 * @return User id, or -1 if unknown
+	 */
+	public int userIdByDiscordId(final long discordId) {
+		return this.userId(this.discord, 0, discordId);
+	}
+
+	/**
+	 * @return Minecraft UUID, or null if unknown
+	 */
+	public @Nullable UUID minecraftUuid(final int userId) {
+		long stamp = this.lock.tryOptimisticRead();
+		int entry = this.minecraft.entry(userId);
+		long hi = this.minecraft.hi(entry);
+		long lo = this.minecraft.lo(entry);
+		if (!this.lock.validate(stamp)) {
+			stamp = this.lock.readLock();
+			try {
+				entry = this.minecraft.entry(userId);
+				hi = this.minecraft.hi(entry);
+				lo = this.minecraft.lo(entry);
+			} finally {
+				this.lock.unlockRead(stamp);
+			}
+		}
+		return entry >= 0 ? new UUID(hi, lo) : null;
+	}
+
+	/**
+	 * @return Discord id, or -1 if unknown
+	 */
+	public long discordId(final int userId) {
+		long stamp = this.lock.tryOptimisticRead();
+		int entry = this.discord.entry(userId);
+		long lo = this.discord.lo(entry);
+		if (!this.lock.validate(stamp)) {
+			stamp = this.lock.readLock();
+			try {
+				entry = this.discord.entry(userId);
+				lo = this.discord.lo(entry);
+			} finally {
+				this.lock.unlockRead(stamp);
+			}
+		}
+		return entry >= 0 ? lo : -1;
+	}
+
+	public void putMinecraftUuid(final int userId, final @NonNull UUID uuid) {
+		checkUserId(userId);
+		final long stamp = this.lock.writeLock();
+		try {
+			this.minecraft.put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), userId);
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
+
+	public void putDiscordId(final int userId, final long discordId) {
+		checkUserId(userId);
+		final long stamp = this.lock.writeLock();
+		try {
+			this.discord.put(0, discordId, userId);
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Add the Minecraft and Discord integrations of a user. Uses user information that has already been loaded,
+	 * for example from a user listing, or requests it if not loaded yet.
+	 */
+	public void add(final @NonNull NamelessUser user) throws NamelessException {
+		final int userId = user.id();
+		final @Nullable IntegrationData minecraft = user.integrations().get(StandardIntegrationTypes.MINECRAFT);
+		final @Nullable IntegrationData discord = user.integrations().get(StandardIntegrationTypes.DISCORD);
+		this.update(userId,
+				minecraft != null ? NamelessAPI.websiteUuidToJavaUuid(minecraft.identifier()) : null,
+				discord != null ? Long.parseLong(discord.identifier()) : -1);
+	}
+
+	/**
+	 * @see #add(NamelessUser)
+	 */
+	public void addAll(final @NonNull Iterable<@NonNull NamelessUser> users) throws NamelessException {
+		for (final NamelessUser user : users) {
+			this.add(user);
+		}
+	}
+
+	/**
+	 * Add the Minecraft and Discord integrations of a user. Invalid identifiers are skipped, so one bad integration
+	 * does not fail parsing of every response containing the user.
+	 * @param requests Used to log skipped identifiers
+	 */
+	void add(final @NonNull UserInfo userInfo, final @NonNull RequestHandler requests) {
+		if (!userInfo.hasIntegrations()) {
+			return;
+		}
+		@Nullable UUID minecraft = null;
+		long discord = -1;
+		for (final JsonElement element : userInfo.integrations()) {
+			final JsonObject integration = element.getAsJsonObject();
+			final String name = integration.get("integration").getAsString();
+			if (!name.equals(StandardIntegrationTypes.MINECRAFT) && !name.equals(StandardIntegrationTypes.DISCORD)) {
+				continue;
+			}
+			final String identifier = integration.get("identifier").getAsString();
+			try {
+				if (name.equals(StandardIntegrationTypes.MINECRAFT)) {
+					minecraft = NamelessAPI.websiteUuidToJavaUuid(identifier);
+				} else {
+					discord = Long.parseLong(identifier);
+				}
+			} catch (final IllegalArgumentException e) {
+				requests.debug(() -> "Not adding invalid " + name + " identifier '" + identifier + "' of user " +
+						userInfo.id() + " to identity map");
+			}
+		}
+		this.update(userInfo.id(), minecraft, discord);
+	}
+
+	/**
+	 * Replace all mappings for a user
+	 * @param minecraft Minecraft UUID, or null if the user has no Minecraft integration
+	 * @param discord Discord id, or -1 if the user has no Discord integration
+	 */
+	private void update(final int userId, final @Nullable UUID minecraft, final long discord) {
+		final long stamp = this.lock.writeLock();
+		try {
+			if (minecraft != null) {
+				this.minecraft.put(minecraft.getMostSignificantBits(), minecraft.getLeastSignificantBits(), userId);
+			} else {
+				this.minecraft.remove(userId);
+			}
+			if (discord >= 0) {
+				this.discord.put(0, discord, userId);
+			} else {
+				this.discord.remove(userId);
+			}
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Remove all mappings for a user
+	 */
+	public void remove(final int userId) {
+		this.update(userId, null, -1);
+	}
+
+	public void clear() {
+		final long stamp = this.lock.writeLock();
+		try {
+			this.minecraft.clear();
+			this.discord.clear();
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * @return Number of users with a known Minecraft UUID
+	 */
+	public int minecraftSize() {
+		return this.read(this.minecraft::size);
+	}
+
+	/**
+	 * @return Number of users with a known Discord id
+	 */
+	public int discordSize() {
+		return this.read(this.discord::size);
+	}
+
+	/**
+	 * @return Approximate memory used by this map in bytes
+	 */
+	public long memoryUsage() {
+		final long stamp = this.lock.readLock();
+		try {
+			return this.minecraft.memoryUsage() + this.discord.memoryUsage();
+		} finally {
+			this.lock.unlockRead(stamp);
+		}
+	}
+
+	private int userId(final @NonNull IdentityTable table, final long hi, final long lo) {
+		final long stamp = this.lock.tryOptimisticRead();
+		final int userId = table.userId(hi, lo);
+		if (this.lock.validate(stamp)) {
+			return userId;
+		}
+		final long readStamp = this.lock.readLock();
+		try {
+			return table.userId(hi, lo);
+		} finally {
+			this.lock.unlockRead(readStamp);
+		}
+	}
+
+	private int read(final @NonNull IntSupplier read) {
+		final long stamp = this.lock.readLock();
+		try {
+			return read.getAsInt();
+		} finally {
+			this.lock.unlockRead(stamp);
+		}
+	}
+
+	private static void checkUserId(final int userId) {
+		Preconditions.checkArgument(userId > 0, "User id must be positive");
+	}
+
+}
@@ -0,0 +1,554 @@
+package com.namelessmc.java_api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.namelessmc.java_api.exception.NamelessException;
+
+/**
+ * Copy of the website's user list kept in memory, indexed by id, username, Minecraft UUID, Discord id and group.
+ * While the index is fresh, {@link FilteredUserListBuilder} queries using the standard {@link UserFilter filters}
+ * are answered from the index without a request to the website.
+ * <p>
+ * All users are loaded on first use or when calling {@link #refresh()}. After the refresh interval, only users
+ * registered since the last refresh are requested. Changes to existing users made through this library are
+ * applied to the index right away, changes made on the website itself are noticed at the next full refresh.
+ * Refreshes happen in the background, triggered by using the index. When the last refresh is older than the
+ * maximum age, queries are sent to the website instead. Queries filtering by group, ban or verification status
+ * also need the last full refresh to be within the status maximum age, which by default allows the same delay
+ * for a full refresh.
+ * <p>
+ * Configure using {@link NamelessApiBuilder#userIndex(Builder)}.
+ */
+public final class UserIndex {
+
+	private final @NonNull NamelessAPI api;
+	private final long refreshIntervalNanos;
+	private final long fullRefreshIntervalNanos;
+	private final long maxAgeNanos;
+	private final long statusMaxAgeNanos;
+	private final int pageSize;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+	private volatile long retryTime = System.nanoTime();
+	// All fields below are guarded by the lock
+	private final @NonNull TreeMap<Integer, UserInfo> byId = new TreeMap<>();
+	private final @NonNull Map<String, Integer> byUsername = new HashMap<>();
+	// Has its own lock, only modified while holding the write lock
+	private final @NonNull UserIdentityMap identities = new UserIdentityMap();
+	private final @NonNull Map<Integer, NavigableSet<Integer>> byGroup = new HashMap<>();
+	// Users missing from the user list response, because of an old website version, make filters unusable
+	private int incompleteUsers = 0;
+	private boolean loaded = false;
+	private long refreshTime;
+	private long fullRefreshTime;
+
+	private UserIndex(final @NonNull NamelessAPI api, final @NonNull Builder builder) {
+		this.api = api;
+		this.refreshIntervalNanos = builder.refreshInterval.toNanos();
+		this.fullRefreshIntervalNanos = builder.fullRefreshInterval.toNanos();
+		this.maxAgeNanos = builder.maxAge.toNanos();
+		final @Nullable Duration statusMaxAge = builder.statusMaxAge;
+		this.statusMaxAgeNanos = statusMaxAge != null
+				? statusMaxAge.toNanos()
+				: builder.fullRefreshInterval.plus(builder.maxAge).toNanos();
+		this.pageSize = builder.pageSize;
+	}
+
+	/**
+	 * Load all users again, replacing the current index
+	 * @return Future completed on the completion executor when the index has been replaced
+	 */
+	public @NonNull CompletableFuture<Void> refresh() {
+		return this.api.requests().onCompletionExecutor(this.reload());
+	}
+
+	/**
+	 * @return True if the index has been refreshed within the maximum age, so queries are answered locally
+	 */
+	public boolean isFresh() {
+		this.lock.readLock().lock();
+		try {
+			return this.loaded && System.nanoTime() - this.refreshTime <= this.maxAgeNanos;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return Number of users in the index
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.byId.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * The lookup methods below return users from the index, which may be outdated or not loaded yet. Use the methods
+	 * in {@link NamelessAPI} to look up users on the website.
+	 * @return User with the given id, or null if not in the index
+	 */
+	public @Nullable NamelessUser user(final int id) {
+		return this.lookup(() -> id);
+	}
+
+	public @Nullable NamelessUser userByUsername(final @NonNull String username) {
+		return this.lookup(() -> this.byUsername.getOrDefault(username.toLowerCase(Locale.ROOT), -1));
+	}
+
+	public @Nullable NamelessUser userByMinecraftUuid(final @NonNull UUID uuid) {
+		return this.lookup(() -> this.identities.userIdByMinecraftUuid(uuid));
+	}
+
+	public @Nullable NamelessUser userByDiscordId(final long id) {
+		return this.lookup(() -> this.identities.userIdByDiscordId(id));
+	}
+
+	/**
+	 * @return Users in the group, sorted by id
+	 */
+	public @NonNull List<@NonNull NamelessUser> usersInGroup(final int groupId) {
+		this.refreshIfDue();
+		this.lock.readLock().lock();
+		try {
+			final @Nullable NavigableSet<Integer> ids = this.byGroup.get(groupId);
+			return ids != null ? this.toUsers(this.usersById(ids)) : List.of();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private @Nullable NamelessUser lookup(final @NonNull IdLookup lookup) {
+		this.refreshIfDue();
+		this.lock.readLock().lock();
+		try {
+			final @Nullable UserInfo userInfo = this.byId.get(lookup.id());
+			return userInfo != null ? new NamelessUser(this.api, userInfo) : null;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Evaluate a user list query locally
+	 * @param filters Filters, or null to list all users
+	 * @param any True if users must match any filter, false if users must match all filters
+	 * @return Matching users sorted by id, or null if the query must be sent to the website, because the index is
+	 * not fresh or because a filter is not supported
+	 */
+	@Nullable List<NamelessUser> query(final @Nullable Map<UserFilter<?>, Object> filters, final boolean any) {
+		this.refreshIfDue();
+		this.lock.readLock().lock();
+		try {
+			final long now = System.nanoTime();
+			if (!this.loaded || now - this.refreshTime > this.maxAgeNanos) {
+				return null;
+			}
+			if (filters == null || filters.isEmpty()) {
+				return this.toUsers(this.byId.values());
+			}
+			if (this.incompleteUsers > 0) {
+				final int incompleteUsers = this.incompleteUsers;
+				this.api.requests().debug(() -> "Not using user index, " + incompleteUsers + " users are missing fields in the user list");
+				return null;
+			}
+
+			final List<UserFilterPredicate> predicates = new ArrayList<>(filters.size());
+			for (final Map.Entry<UserFilter<?>, Object> filter : filters.entrySet()) {
+				final @Nullable UserFilterPredicate predicate = predicate(filter.getKey(), filter.getValue());
+				if (predicate == null) {
+					return null;
+				}
+				predicates.add(predicate);
+			}
+
+			// Refreshing new users does not update existing users, so groups, bans and verification are only as
+			// recent as the last full refresh
+			if (now - this.fullRefreshTime > this.statusMaxAgeNanos && !onlyIntegrationFilters(filters)) {
+				this.api.requests().debug(() -> "Not using user index, group and status filters need a full refresh within the status maximum age");
+				return null;
+			}
+
+			// A group filter limits the users to check, if all filters must match
+			Collection<UserInfo> candidates = this.byId.values();
+			if (!any) {
+				for (final Map.Entry<UserFilter<?>, Object> filter : filters.entrySet()) {
+					if (filter.getKey() == UserFilter.GROUP_ID) {
+						final @Nullable NavigableSet<Integer> ids = this.byGroup.get((Integer) filter.getValue());
+						if (ids == null) {
+							return List.of();
+						} else if (ids.size() < candidates.size()) {
+							candidates = this.usersById(ids);
+						}
+					}
+				}
+			}
+
+			final List<NamelessUser> users = new ArrayList<>();
+			for (final UserInfo userInfo : candidates) {
+				if (matches(userInfo, predicates, any)) {
+					users.add(new NamelessUser(this.api, userInfo));
+				}
+			}
+			return users;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private static boolean onlyIntegrationFilters(final @NonNull Map<UserFilter<?>, Object> filters) {
+		for (final UserFilter<?> filter : filters.keySet()) {
+			if (filter != UserFilter.INTEGRATION) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean matches(final @NonNull UserInfo userInfo,
+								   final @NonNull List<UserFilterPredicate> predicates,
+								   final boolean any) {
+		for (final UserFilterPredicate predicate : predicates) {
+			if (predicate.test(userInfo) == any) {
+				return any;
+			}
+		}
+		return !any;
+	}
+
+	private static @Nullable UserFilterPredicate predicate(final @NonNull UserFilter<?> filter, final @NonNull Object value) {
+		if (filter == UserFilter.BANNED) {
+			return userInfo -> userInfo.banned() == (Boolean) value;
+		} else if (filter == UserFilter.VERIFIED) {
+			return userInfo -> userInfo.validated() == (Boolean) value;
+		} else if (filter == UserFilter.GROUP_ID) {
+			final int groupId = (Integer) value;
+			return userInfo -> userInfo.groups().stream().anyMatch(group -> group.getId() == groupId);
+		} else if (filter == UserFilter.INTEGRATION) {
+			final String integration = (String) value;
+			return userInfo -> {
+				for (final JsonElement element : userInfo.integrations()) {
+					if (element.getAsJsonObject().get("integration").getAsString().equalsIgnoreCase(integration)) {
+						return true;
+					}
+				}
+				return false;
+			};
+		} else {
+			// Custom filter, only the website knows what it means
+			return null;
+		}
+	}
+
+	/**
+	 * Request user information again and update the index, after a user was modified through this library
+	 */
+	void invalidate(final int id) {
+		this.lock.readLock().lock();
+		try {
+			if (!this.byId.containsKey(id)) {
+				return;
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		this.api.requests().getAsyncDirect(this::parse, "users/id:" + id).whenComplete((userInfo, throwable) -> {
+			if (throwable != null) {
+				// Possibly deleted, a full refresh will find out
+				this.api.requests().debug(() -> "Failed to update user " + id + " in user index: " + throwable);
+				return;
+			}
+			this.lock.writeLock().lock();
+			try {
+				if (this.byId.containsKey(id)) {
+					this.remove(id);
+					this.add(userInfo);
+				}
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+		});
+	}
+
+	private void refreshIfDue() {
+		final long now = System.nanoTime();
+		if (now - this.retryTime < 0) {
+			return;
+		}
+		final boolean full;
+		this.lock.readLock().lock();
+		try {
+			full = !this.loaded || now - this.fullRefreshTime >= this.fullRefreshIntervalNanos;
+			if (!full && now - this.refreshTime < this.refreshIntervalNanos) {
+				return;
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		if (!this.refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		final CompletableFuture<Void> refresh = full ? this.reload() : this.refreshNewUsers();
+		refresh.whenComplete((ignored, throwable) -> {
+			if (throwable != null) {
+				this.api.requests().debug(() -> "Failed to refresh user index: " + throwable);
+				this.retryTime = System.nanoTime() + this.refreshIntervalNanos;
+			}
+			this.refreshing.set(false);
+		});
+	}
+
+	/**
+	 * Request users after the last known user. Users are listed by id, so new users are at the end of the list. If
+	 * the last known user is not found at the expected position, users have been deleted and all users are loaded
+	 * again.
+	 */
+	private @NonNull CompletableFuture<Void> refreshNewUsers() {
+		final int offset;
+		final int lastId;
+		this.lock.readLock().lock();
+		try {
+			offset = this.byId.size() - 1;
+			lastId = offset >= 0 ? this.byId.lastKey() : -1;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		if (offset < 0) {
+			return this.reload();
+		}
+
+		return this.loadAll(new ArrayList<>(), offset).thenCompose(users -> {
+			if (users.isEmpty() || users.get(0).id() != lastId) {
+				this.api.requests().debug(() -> "User list changed, loading all users into user index again");
+				return this.reload();
+			}
+			this.lock.writeLock().lock();
+			try {
+				for (final UserInfo userInfo : users.subList(1, users.size())) {
+					this.remove(userInfo.id());
+					this.add(userInfo);
+				}
+				this.refreshTime = System.nanoTime();
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+			return CompletableFuture.completedFuture(null);
+		});
+	}
+
+	/**
+	 * Like {@link #refresh()}, but the future completes on the thread that handled the last response. Pages and
+	 * replacing the index are handled there too, not on the completion executor which may be a game server thread.
+	 */
+	private @NonNull CompletableFuture<Void> reload() {
+		return this.loadAll(new ArrayList<>(), 0).thenAccept(this::replaceAll);
+	}
+
+	private @NonNull CompletableFuture<List<UserInfo>> loadAll(final @NonNull List<UserInfo> users, final int offset) {
+		return this.api.requests().getAsyncDirect(
+				ResponseDecoder.list("users", reader -> this.parse(JsonParser.parseReader(reader).getAsJsonObject())),
+				"users",
+				"groups", null,
+				"limit", this.pageSize,
+				"offset", offset
+		).thenCompose(page -> {
+			if (!page.isEmpty() && !users.isEmpty() && page.get(0).id() <= users.get(users.size() - 1).id()) {
+				return CompletableFuture.failedFuture(new NamelessException("Website returned users out of order, it does not support the offset parameter"));
+			}
+			users.addAll(page);
+			if (page.size() < this.pageSize) {
+				return CompletableFuture.completedFuture(users);
+			}
+			return this.loadAll(users, offset + page.size());
+		});
+	}
+
+	private @NonNull UserInfo parse(final @NonNull JsonObject json) {
+		return this.api.parseUserInfo(json);
+	}
+
+	private void replaceAll(final @NonNull List<UserInfo> users) {
+		this.lock.writeLock().lock();
+		try {
+			this.byId.clear();
+			this.byUsername.clear();
+			this.identities.clear();
+			this.byGroup.clear();
+			this.incompleteUsers = 0;
+			for (final UserInfo userInfo : users) {
+				this.add(userInfo);
+			}
+			this.loaded = true;
+			this.refreshTime = this.fullRefreshTime = System.nanoTime();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void add(final @NonNull UserInfo userInfo) {
+		final int id = userInfo.id();
+		this.byId.put(id, userInfo);
+		this.byUsername.put(userInfo.username().toLowerCase(Locale.ROOT), id);
+		if (!userInfo.hasListFields()) {
+			this.incompleteUsers++;
+		}
+		if (userInfo.hasGroups()) {
+			for (final Group group : userInfo.groups()) {
+				this.byGroup.computeIfAbsent(group.getId(), k -> new TreeSet<>()).add(id);
+			}
+		}
+		this.identities.add(userInfo, this.api.requests());
+	}
+
+	private void remove(final int id) {
+		final @Nullable UserInfo userInfo = this.byId.remove(id);
+		if (userInfo == null) {
+			return;
+		}
+		this.byUsername.remove(userInfo.username().toLowerCase(Locale.ROOT), id);
+		if (!userInfo.hasListFields()) {
+			this.incompleteUsers--;
+		}
+		if (userInfo.hasGroups()) {
+			for (final Group group : userInfo.groups()) {
+				final @Nullable NavigableSet<Integer> ids = this.byGroup.get(group.getId());
+				if (ids != null) {
+					ids.remove(id);
+				}
+			}
+		}
+		this.identities.remove(id);
+	}
+
+	private @NonNull List<UserInfo> usersById(final @NonNull Collection<Integer> ids) {
+		final List<UserInfo> users = new ArrayList<>(ids.size());
+		for (final Integer id : ids) {
+			final @Nullable UserInfo userInfo = this.byId.get(id);
+			if (userInfo != null) {
+				users.add(userInfo);
+			}
+		}
+		return users;
+	}
+
+	private @NonNull List<NamelessUser> toUsers(final @NonNull Collection<UserInfo> users) {
+		final List<NamelessUser> list = new ArrayList<>(users.size());
+		for (final UserInfo userInfo : users) {
+			list.add(new NamelessUser(this.api, userInfo));
+		}
+		return list;
+	}
+
+	public static @NonNull Builder builder() {
+		return new Builder();
+	}
+
+	@FunctionalInterface
+	private interface IdLookup {
+
+		/**
+		 * @return User id, or -1 if not found
+		 */
+		int id();
+
+	}
+
+	@FunctionalInterface
+	private interface UserFilterPredicate {
+
+		boolean test(@NonNull UserInfo userInfo);
+
+	}
+
+	public static final class Builder {
+
+		private @NonNull Duration refreshInterval = Duration.ofSeconds(10);
+		private @NonNull Duration fullRefreshInterval = Duration.ofMinutes(10);
+		private @NonNull Duration maxAge = Duration.ofMinutes(1);
+		private @Nullable Duration statusMaxAge = null;
+		private int pageSize = 500;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param refreshInterval Time after which new users are requested, default 10 seconds
+		 */
+		public @NonNull Builder refreshInterval(final @NonNull Duration refreshInterval) {
+			Preconditions.checkArgument(refreshInterval.compareTo(Duration.ZERO) > 0, "Refresh interval must be positive");
+			this.refreshInterval = refreshInterval;
+			return this;
+		}
+
+		/**
+		 * @param fullRefreshInterval Time after which all users are requested again, to notice changes made on the
+		 *                            website. Default 10 minutes.
+		 */
+		public @NonNull Builder fullRefreshInterval(final @NonNull Duration fullRefreshInterval) {
+			Preconditions.checkArgument(fullRefreshInterval.compareTo(Duration.ZERO) > 0, "Full refresh interval must be positive");
+			this.fullRefreshInterval = fullRefreshInterval;
+			return this;
+		}
+
+		/**
+		 * @param maxAge Maximum time since the last refresh for queries to be answered from the index, default 1 minute
+		 */
+		public @NonNull Builder maxAge(final @NonNull Duration maxAge) {
+			Preconditions.checkArgument(!maxAge.isNegative(), "Max age must not be negative");
+			this.maxAge = maxAge;
+			return this;
+		}
+
+		/**
+		 * @param statusMaxAge Maximum time since the last full refresh for queries filtering by group, ban or
+		 *                     verification status to be answered from the index. Default is the full refresh interval
+		 *                     plus the maximum age.
+		 */
+		public @NonNull Builder statusMaxAge(final @NonNull Duration statusMaxAge) {
+			Preconditions.checkArgument(!statusMaxAge.isNegative(), "Status max age must not be negative");
+			this.statusMaxAge = statusMaxAge;
+			return this;
+		}
+
+		/**
+		 * @param pageSize Number of users requested at once, default 500
+		 */
+		public @NonNull Builder pageSize(final int pageSize) {
+			Preconditions.checkArgument(pageSize >= 2, "Page size must be at least 2");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		@NonNull UserIndex build(final @NonNull NamelessAPI api) {
+			return new UserIndex(Objects.requireNonNull(api, "API is null"), this);
+		}
+
+	}
+
+}
@@ -0,0 +1,232 @@
+package com.namelessmc.java_api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.util.GsonHelper;
+
+/**
+ * User information from a <code>users/{user}</code> response or a user list, parsed once into an immutable object.
+ * Groups and profile field definitions are shared between users. Integrations and verification information are
+ * kept as json and decoded when used.
+ * <p>
+ * User lists may not contain every field, accessing a missing field throws {@link IllegalStateException}.
+ */
+final class UserInfo {
+
+	private static final long MISSING_TIMESTAMP = Long.MIN_VALUE;
+
+	private final int id;
+	private final @NonNull String username;
+	private final @Nullable String displayName;
+	private final @Nullable String locale;
+	private final long registeredTimestamp;
+	private final long lastOnlineTimestamp;
+	private final @Nullable Boolean banned;
+	private final @Nullable Boolean validated;
+	private final boolean staff;
+	private final @Nullable List<Group> groups;
+	private final @NonNull List<CustomProfileFieldValue> profileFields;
+	private final @Nullable JsonObject verification;
+	private final @Nullable JsonArray integrations;
+
+	private UserInfo(final @NonNull JsonObject json, final @NonNull UserInfoInterner interner) {
+		this.id = json.get("id").getAsInt();
+		this.username = json.get("username").getAsString();
+		this.displayName = GsonHelper.getNullableString(json, "displayname");
+		final @Nullable String locale = GsonHelper.getNullableString(json, "locale");
+		// Only a few different locales exist
+		this.locale = locale != null ? locale.intern() : null;
+		this.registeredTimestamp = json.has("registered_timestamp") ? json.get("registered_timestamp").getAsLong() : MISSING_TIMESTAMP;
+		this.lastOnlineTimestamp = json.has("last_online_timestamp") ? json.get("last_online_timestamp").getAsLong() : MISSING_TIMESTAMP;
+		this.banned = json.has("banned") ? json.get("banned").getAsBoolean() : null;
+		this.validated = json.has("validated") ? json.get("validated").getAsBoolean() : null;
+
+		if (json.has("groups")) {
+			final JsonArray groupsJson = json.getAsJsonArray("groups");
+			final Group[] groups = new Group[groupsJson.size()];
+			boolean staff = false;
+			for (int i = 0; i < groups.length; i++) {
+				groups[i] = interner.group(new Group(groupsJson.get(i).getAsJsonObject()));
+				staff |= groups[i].isStaff();
+			}
+			this.groups = List.of(groups);
+			this.staff = staff;
+		} else {
+			this.groups = null;
+			this.staff = false;
+		}
+
+		if (json.has("profile_fields")) {
+			final JsonObject fieldsJson = json.getAsJsonObject("profile_fields");
+			final List<CustomProfileFieldValue> profileFields = new ArrayList<>(fieldsJson.size());
+			for (final Map.Entry<String, JsonElement> e : fieldsJson.entrySet()) {
+				final JsonObject values = e.getValue().getAsJsonObject();
+				final CustomProfileField field = interner.profileField(new CustomProfileField(
+						Integer.parseInt(e.getKey()),
+						values.get("name").getAsString(),
+						CustomProfileFieldType.fromNamelessTypeInt(values.get("type").getAsInt()),
+						values.get("public").getAsBoolean(),
+						values.get("required").getAsBoolean(),
+						values.get("description").getAsString()
+				));
+				profileFields.add(new CustomProfileFieldValue(field, GsonHelper.getNullableString(values, "value")));
+			}
+			this.profileFields = List.copyOf(profileFields);
+		} else {
+			this.profileFields = List.of();
+		}
+
+		this.verification = json.has("verification") ? json.getAsJsonObject("verification") : null;
+		this.integrations = json.has("integrations") ? json.getAsJsonArray("integrations") : null;
+	}
+
+	static @NonNull UserInfo parse(final @NonNull JsonObject json, final @NonNull UserInfoInterner interner) {
+		return new UserInfo(json, interner);
+	}
+
+	private static <T> @NonNull T require(final @Nullable T value, final @NonNull String field) {
+		if (value == null) {
+			throw new IllegalStateException("User information does not contain field '" + field + "'");
+		}
+		return value;
+	}
+
+	private static long require(final long timestamp, final @NonNull String field) {
+		if (timestamp == MISSING_TIMESTAMP) {
+			throw new IllegalStateException("User information does not contain field '" + field + "'");
+		}
+		return timestamp;
+	}
+
+	int id() {
+		return this.id;
+	}
+
+	@NonNull String username() {
+		return this.username;
+	}
+
+	@NonNull String displayName() {
+		return require(this.displayName, "displayname");
+	}
+
+	@NonNull String locale() {
+		return require(this.locale, "locale");
+	}
+
+	long registeredTimestamp() {
+		return require(this.registeredTimestamp, "registered_timestamp");
+	}
+
+	long lastOnlineTimestamp() {
+		return require(this.lastOnlineTimestamp, "last_online_timestamp");
+	}
+
+	boolean banned() {
+		return require(this.banned, "banned");
+	}
+
+	boolean validated() {
+		return require(this.validated, "validated");
+	}
+
+	/**
+	 * @return True if all fields needed to evaluate {@link UserFilter standard user filters} are present
+	 */
+	boolean hasListFields() {
+		return this.banned != null && this.validated != null && this.groups != null && this.integrations != null;
+	}
+
+	/**
+	 * @return True if all fields of a <code>users/{user}</code> response are present
+	 */
+	boolean isComplete() {
+		return this.hasListFields() &&
+				this.displayName != null &&
+				this.locale != null &&
+				this.registeredTimestamp != MISSING_TIMESTAMP &&
+				this.lastOnlineTimestamp != MISSING_TIMESTAMP;
+	}
+
+	boolean hasGroups() {
+		return this.groups != null;
+	}
+
+	/**
+	 * @return Unmodifiable list of groups, in the order returned by the website
+	 */
+	@NonNull List<Group> groups() {
+		if (this.groups == null) {
+			throw new IllegalStateException("Groups array missing: https://github.com/NamelessMC/Nameless/issues/3052");
+		}
+		return this.groups;
+	}
+
+	boolean staff() {
+		this.groups();
+		return this.staff;
+	}
+
+	@NonNull List<CustomProfileFieldValue> profileFields() {
+		return this.profileFields;
+	}
+
+	@NonNull JsonObject verification() {
+		return require(this.verification, "verification");
+	}
+
+	boolean hasIntegrations() {
+		return this.integrations != null;
+	}
+
+	@NonNull JsonArray integrations() {
+		return require(this.integrations, "integrations");
+	}
+
+	/**
+	 * @return Identifier of the user for an integration, or null if the user does not have the integration
+	 */
+	@Nullable String integrationIdentifier(final @NonNull String name) {
+		for (final JsonElement element : this.integrations()) {
+			final JsonObject integration = element.getAsJsonObject();
+			if (integration.get("integration").getAsString().equals(name)) {
+				return integration.get("identifier").getAsString();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return Rough estimate of memory used by this object in bytes, excluding shared groups and profile fields
+	 */
+	int estimatedSize() {
+		int size = 80 + 48 + 2 * this.username.length();
+		if (this.displayName != null && this.displayName != this.username) {
+			size += 48 + 2 * this.displayName.length();
+		}
+		if (this.groups != null) {
+			size += 16 + 4 * this.groups.size();
+		}
+		size += 16 + 4 * this.profileFields.size();
+		for (final CustomProfileFieldValue field : this.profileFields) {
+			final @Nullable String value = field.value();
+			size += 16 + (value != null ? 48 + 2 * value.length() : 0);
+		}
+		if (this.verification != null) {
+			size += UserCache.weigh(this.verification);
+		}
+		if (this.integrations != null) {
+			size += UserCache.weigh(this.integrations);
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.namelessmc.java_api;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Shares identical groups and profile field definitions between users, so every cached user doesn't hold its own
+ * copy. Only the most recently seen version of each group or field is kept, there are only a few per website.
+ */
+final class UserInfoInterner {
+
+	private final @NonNull Map<Integer, Group> groups = new ConcurrentHashMap<>();
+	private final @NonNull Map<Integer, CustomProfileField> profileFields = new ConcurrentHashMap<>();
+
+	@NonNull Group group(final @NonNull Group group) {
+		final @Nullable Group existing = this.groups.get(group.getId());
+		if (existing != null &&
+				existing.getName().equals(group.getName()) &&
+				existing.getOrder() == group.getOrder() &&
+				existing.isStaff() == group.isStaff()) {
+			return existing;
+		}
+		this.groups.put(group.getId(), group);
+		return group;
+	}
+
+	@NonNull CustomProfileField profileField(final @NonNull CustomProfileField field) {
+		final @Nullable CustomProfileField existing = this.profileFields.get(field.id());
+		if (existing != null &&
+				existing.name().equals(field.name()) &&
+				existing.type() == field.type() &&
+				existing.isPublic() == field.isPublic() &&
+				existing.isRequired() == field.isRequired() &&
+				Objects.equals(existing.description(), field.description())) {
+			return existing;
+		}
+		this.profileFields.put(field.id(), field);
+		return field;
+	}
+
+}
@@ -0,0 +1,573 @@
+package com.namelessmc.java_api;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.namelessmc.java_api.exception.NamelessException;
+
+/**
+ * Combines user lookups by id or integration identifier into batches, so code that loads many users one at a time,
+ * like rendering a list of store payments, does not make a request for every user. Lookups for the same user are
+ * combined, asynchronous lookups made within a short window are resolved together, and users referenced by
+ * objects in the same response are loaded along with the first of them, see {@link #hint(int)}.
+ * <p>
+ * The website cannot list users by id, so a batch is resolved by listing users until all requested users have been
+ * found, if that takes fewer requests than looking them up one at a time. Otherwise, users are requested
+ * concurrently. Integration identifiers are resolved by listing users with that integration, see
+ * {@link NamelessAPI#usersByMinecraftUuids(java.util.Collection)}.
+ * <p>
+ * Configure using {@link NamelessApiBuilder#userLoader(Builder)}. When configured, it is used by all methods that
+ * load user information.
+ */
+public final class UserLoader {
+
+	private static final int MAX_HINTS = 10_000;
+	private static final long PREFETCH_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+	private final @NonNull NamelessAPI api;
+	private final long windowNanos;
+	private final int maxBatchSize;
+	private final int pageSize;
+	private final int listThreshold;
+
+	private final Object lock = new Object();
+	// All fields below are guarded by the lock
+	private final @NonNull Map<Object, CompletableFuture<@Nullable UserInfo>> pending = new LinkedHashMap<>();
+	private final @NonNull Map<Object, CompletableFuture<@Nullable UserInfo>> inFlight = new HashMap<>();
+	private final @NonNull Set<Integer> hints = new LinkedHashSet<>();
+	// Users loaded because of a hint, not requested yet. Null user info if the user does not exist.
+	private final @NonNull Map<Integer, Prefetched> prefetched = new LinkedHashMap<>(16, 0.75f, false) {
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Integer, Prefetched> eldest) {
+			return this.size() > MAX_HINTS;
+		}
+	};
+	private boolean dispatchScheduled = false;
+
+	private UserLoader(final @NonNull NamelessAPI api, final @NonNull Builder builder) {
+		this.api = api;
+		this.windowNanos = builder.window.toNanos();
+		this.maxBatchSize = builder.maxBatchSize;
+		this.pageSize = builder.pageSize;
+		this.listThreshold = builder.listThreshold;
+	}
+
+	/**
+	 * Note that a user is referenced, for example by a store payment. The user is not requested now, but is loaded
+	 * along with the next batch of users, so it is available without a request when it is looked up shortly after.
+	 * @param userId NamelessMC user id
+	 */
+	public void hint(final int userId) {
+		synchronized (this.lock) {
+			if (this.prefetched.containsKey(userId) || this.pending.containsKey(userId) || this.inFlight.containsKey(userId)) {
+				return;
+			}
+			if (this.hints.size() >= MAX_HINTS) {
+				final Iterator<Integer> iterator = this.hints.iterator();
+				iterator.next();
+				iterator.remove();
+			}
+			this.hints.add(userId);
+		}
+	}
+
+	/**
+	 * @return Key identifying the user in batches, or null if users with this user transformer can't be batched
+	 */
+	static @Nullable Object key(final int id, final @NonNull String userTransformer) {
+		if (id >= 0) {
+			return id;
+		}
+		final String decoded = URLDecoder.decode(userTransformer, StandardCharsets.UTF_8);
+		if (!decoded.startsWith("integration_id:")) {
+			return null;
+		}
+		final int separator = decoded.indexOf(':', "integration_id:".length());
+		if (separator < 0) {
+			return null;
+		}
+		return new IntegrationKey(decoded.substring("integration_id:".length(), separator), decoded.substring(separator + 1));
+	}
+
+	/**
+	 * Load a user right away, along with other pending lookups and hinted users
+	 * @param key Key returned by {@link #key(int, String)}
+	 * @return User information, or null if the user does not exist
+	 */
+	@Nullable UserInfo load(final @NonNull Object key) throws NamelessException {
+		return await(this.load(key, true));
+	}
+
+	/**
+	 * Load a user after the batch window, along with other lookups made in the meantime
+	 * @param key Key returned by {@link #key(int, String)}
+	 * @return Future completed with user information, or null if the user does not exist. Completed on the thread
+	 * that handled the last response, not on the completion executor.
+	 */
+	@NonNull CompletableFuture<@Nullable UserInfo> loadAsync(final @NonNull Object key) {
+		return this.load(key, false);
+	}
+
+	private @NonNull CompletableFuture<@Nullable UserInfo> load(final @NonNull Object key, final boolean now) {
+		final CompletableFuture<@Nullable UserInfo> future;
+		boolean dispatch = false;
+		boolean schedule = false;
+		synchronized (this.lock) {
+			final @Nullable Prefetched prefetched = this.prefetched.remove(key);
+			if (prefetched != null && System.nanoTime() - prefetched.time < PREFETCH_TTL_NANOS) {
+				return CompletableFuture.completedFuture(prefetched.userInfo);
+			}
+			this.hints.remove(key);
+
+			final @Nullable CompletableFuture<@Nullable UserInfo> inFlight = this.inFlight.get(key);
+			if (inFlight != null) {
+				return inFlight;
+			}
+			final @Nullable CompletableFuture<@Nullable UserInfo> pending = this.pending.get(key);
+			if (pending != null) {
+				future = pending;
+			} else {
+				future = new CompletableFuture<>();
+				this.pending.put(key, future);
+			}
+			if (now || this.pending.size() >= this.maxBatchSize) {
+				dispatch = true;
+			} else if (!this.dispatchScheduled) {
+				this.dispatchScheduled = true;
+				schedule = true;
+			}
+		}
+
+		if (dispatch) {
+			this.dispatch();
+		} else if (schedule) {
+			this.api.requests().delayedExecutor(this.windowNanos).execute(() -> {
+				synchronized (this.lock) {
+					this.dispatchScheduled = false;
+				}
+				this.dispatch();
+			});
+		}
+		return future;
+	}
+
+	private void dispatch() {
+		while (true) {
+			final Map<Object, CompletableFuture<@Nullable UserInfo>> batch = new LinkedHashMap<>();
+			final Set<Integer> hinted = new TreeSet<>();
+			synchronized (this.lock) {
+				final Iterator<Map.Entry<Object, CompletableFuture<@Nullable UserInfo>>> iterator = this.pending.entrySet().iterator();
+				while (iterator.hasNext() && batch.size() < this.maxBatchSize) {
+					final Map.Entry<Object, CompletableFuture<@Nullable UserInfo>> entry = iterator.next();
+					iterator.remove();
+					batch.put(entry.getKey(), entry.getValue());
+					this.inFlight.put(entry.getKey(), entry.getValue());
+				}
+				if (batch.isEmpty()) {
+					return;
+				}
+				this.takeHints(batch, hinted);
+			}
+			this.resolve(batch, hinted);
+		}
+	}
+
+	/**
+	 * Add hinted users to a batch of users by id, if that does not make the batch more expensive
+	 * @param hinted Set to add the ids of hinted users to
+	 */
+	private void takeHints(final @NonNull Map<Object, CompletableFuture<@Nullable UserInfo>> batch,
+						   final @NonNull Set<Integer> hinted) {
+		final TreeSet<Integer> ids = new TreeSet<>();
+		for (final Object key : batch.keySet()) {
+			if (key instanceof Integer) {
+				ids.add((Integer) key);
+			}
+		}
+		if (ids.isEmpty() || this.hints.isEmpty()) {
+			return;
+		}
+		for (final Integer id : this.hints) {
+			if (ids.size() >= this.maxBatchSize) {
+				break;
+			}
+			ids.add(id);
+		}
+		final int listLimit = this.listLimit(ids);
+		if (listLimit > 0) {
+			for (final Integer id : ids.headSet(listLimit, true)) {
+				if (!batch.containsKey(id)) {
+					// Added to the batch, so lookups made while the batch is in flight wait for it
+					final CompletableFuture<@Nullable UserInfo> future = new CompletableFuture<>();
+					batch.put(id, future);
+					this.inFlight.put(id, future);
+					hinted.add(id);
+					this.hints.remove(id);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Listing users is ordered by id, so a user is at most at position id - 1. Users are found by listing up to the
+	 * id that saves the most requests compared to requesting users one at a time, users with higher ids are
+	 * requested one at a time.
+	 * @return Highest id to find by listing users, or -1 if no users should be found by listing users
+	 */
+	private int listLimit(final @NonNull TreeSet<Integer> ids) {
+		int limit = -1;
+		long bestSaving = 0;
+		int count = 0;
+		for (final int id : ids) {
+			count++;
+			final long pages = (id + this.pageSize - 1L) / this.pageSize;
+			if (count - pages > bestSaving) {
+				bestSaving = count - pages;
+				limit = id;
+			}
+		}
+		return limit;
+	}
+
+	private void resolve(final @NonNull Map<Object, CompletableFuture<@Nullable UserInfo>> batch,
+						 final @NonNull Set<Integer> hinted) {
+		final TreeSet<Integer> ids = new TreeSet<>();
+		final Map<String, Set<String>> identifiers = new HashMap<>();
+		for (final Object key : batch.keySet()) {
+			if (key instanceof Integer) {
+				ids.add((Integer) key);
+			} else {
+				final IntegrationKey integrationKey = (IntegrationKey) key;
+				identifiers.computeIfAbsent(integrationKey.integration, k -> new LinkedHashSet<>()).add(integrationKey.identifier);
+			}
+		}
+
+		if (!ids.isEmpty()) {
+			final int listLimit = this.listLimit(ids);
+			final CompletableFuture<Map<Object, UserInfo>> future;
+			if (listLimit > 0) {
+				final List<Object> individually = new ArrayList<>(ids.tailSet(listLimit, false));
+				future = this.listIds(new TreeSet<>(ids.headSet(listLimit, true)))
+						.thenCombine(this.requestIndividually(individually), (listed, requested) -> {
+							listed.putAll(requested);
+							return listed;
+						});
+			} else {
+				future = this.requestIndividually(new ArrayList<>(ids));
+			}
+			final Predicate<Object> idKeys = key -> key instanceof Integer;
+			future.thenAccept(found -> {
+				synchronized (this.lock) {
+					for (final Integer id : hinted) {
+						this.prefetched.put(id, new Prefetched(found.get(id)));
+					}
+				}
+				this.complete(batch, idKeys, entry -> entry.getValue().complete(found.get(entry.getKey())));
+			}).exceptionally(throwable -> {
+				this.complete(batch, idKeys, entry -> entry.getValue().completeExceptionally(throwable));
+				return null;
+			});
+		}
+
+		identifiers.forEach((integration, integrationIdentifiers) -> {
+			final CompletableFuture<Map<Object, UserInfo>> future = integrationIdentifiers.size() >= this.listThreshold
+					? this.listIdentifiers(integration, integrationIdentifiers)
+					: this.requestIndividually(keys(integration, integrationIdentifiers));
+			final Predicate<Object> integrationKeys =
+					key -> key instanceof IntegrationKey && ((IntegrationKey) key).integration.equals(integration);
+			future.thenAccept(found ->
+					this.complete(batch, integrationKeys, entry -> entry.getValue().complete(found.get(entry.getKey())))
+			).exceptionally(throwable -> {
+				this.complete(batch, integrationKeys, entry -> entry.getValue().completeExceptionally(throwable));
+				return null;
+			});
+		});
+	}
+
+	/**
+	 * Remove lookups in a batch from the in-flight lookups, and complete their futures
+	 * @param keys Keys of the lookups to complete
+	 * @param completion Completes the future of a lookup
+	 */
+	private void complete(final @NonNull Map<Object, CompletableFuture<@Nullable UserInfo>> batch,
+						  final @NonNull Predicate<Object> keys,
+						  final @NonNull Consumer<Map.Entry<Object, CompletableFuture<@Nullable UserInfo>>> completion) {
+		final List<Map.Entry<Object, CompletableFuture<@Nullable UserInfo>>> completed = new ArrayList<>();
+		synchronized (this.lock) {
+			for (final Map.Entry<Object, CompletableFuture<@Nullable UserInfo>> entry : batch.entrySet()) {
+				if (keys.test(entry.getKey())) {
+					this.inFlight.remove(entry.getKey());
+					completed.add(entry);
+				}
+			}
+		}
+		completed.forEach(completion);
+	}
+
+	/**
+	 * List users until all users with the given ids have been found
+	 */
+	private @NonNull CompletableFuture<Map<Object, UserInfo>> listIds(final @NonNull TreeSet<Integer> ids) {
+		final ListingState state = new ListingState(ids);
+		return this.listPage(state, 0).thenCompose(ignored -> this.completeIncomplete(state.found));
+	}
+
+	private @NonNull CompletableFuture<Void> listPage(final @NonNull ListingState state, final int offset) {
+		return this.api.users().pageAsync(this.pageSize, offset).thenCompose(page -> {
+			if (!page.isEmpty() && offset > 0 && page.get(0).cachedUserInfo().id() == state.firstUserId) {
+				return CompletableFuture.failedFuture(new NamelessException("Website returned the first page again, it does not support the offset parameter"));
+			}
+			int lastId = -1;
+			for (final NamelessUser user : page) {
+				final UserInfo userInfo = user.cachedUserInfo();
+				if (state.firstUserId < 0) {
+					state.firstUserId = userInfo.id();
+				}
+				if (userInfo.id() <= state.previousId) {
+					state.ordered = false;
+				}
+				state.previousId = userInfo.id();
+				lastId = userInfo.id();
+				if (state.remaining.remove(userInfo.id())) {
+					state.found.put(userInfo.id(), userInfo);
+				}
+			}
+			if (state.remaining.isEmpty() ||
+					page.size() < this.pageSize ||
+					(state.ordered && lastId >= state.maxId)) {
+				return CompletableFuture.completedFuture(null);
+			}
+			return this.listPage(state, offset + page.size());
+		});
+	}
+
+	private @NonNull CompletableFuture<Map<Object, UserInfo>> listIdentifiers(final @NonNull String integration,
+																			  final @NonNull Set<String> identifiers) {
+		return BulkUserLookup.integrationIdentifiers(this.api, integration, this.pageSize).lookupAsync(identifiers).thenCompose(users -> {
+			final Map<Object, UserInfo> found = new HashMap<>();
+			users.forEach((identifier, user) -> user.ifPresent(u -> found.put(new IntegrationKey(integration, identifier), u.cachedUserInfo())));
+			return this.completeIncomplete(found);
+		});
+	}
+
+	/**
+	 * Request users from a listing again if the listing did not contain all user information, and add complete
+	 * users to the user cache
+	 */
+	private @NonNull CompletableFuture<Map<Object, UserInfo>> completeIncomplete(final @NonNull Map<Object, UserInfo> found) {
+		final @Nullable UserCache userCache = this.api.userCache();
+		// Key in the found map, by user id
+		final Map<Integer, Object> incomplete = new HashMap<>();
+		for (final Map.Entry<Object, UserInfo> entry : found.entrySet()) {
+			final UserInfo userInfo = entry.getValue();
+			if (userInfo.isComplete()) {
+				if (userCache != null) {
+					userCache.put(userInfo, null);
+				}
+			} else {
+				incomplete.put(userInfo.id(), entry.getKey());
+			}
+		}
+		if (incomplete.isEmpty()) {
+			return CompletableFuture.completedFuture(found);
+		}
+		return this.requestIndividually(new ArrayList<>(incomplete.keySet())).thenApply(requested -> {
+			for (final Map.Entry<Integer, Object> entry : incomplete.entrySet()) {
+				final @Nullable UserInfo userInfo = requested.get(entry.getKey());
+				if (userInfo != null) {
+					found.put(entry.getValue(), userInfo);
+				} else {
+					// Deleted since it was listed
+					found.remove(entry.getValue());
+				}
+			}
+			return found;
+		});
+	}
+
+	/**
+	 * Request users concurrently, one request per user
+	 * @return Future completed with the users that exist
+	 */
+	private @NonNull CompletableFuture<Map<Object, UserInfo>> requestIndividually(final @NonNull List<Object> keys) {
+		final Map<Object, UserInfo> found = new HashMap<>();
+		final List<CompletableFuture<Void>> futures = new ArrayList<>(keys.size());
+		for (final Object key : keys) {
+			final NamelessUser user = key instanceof Integer
+					? new NamelessUser(this.api, (int) (Integer) key)
+					: new NamelessUser(this.api, "integration_id:" + ((IntegrationKey) key).integration + ":" + ((IntegrationKey) key).identifier);
+			futures.add(user.requestIfExistsAsync().thenAccept(userInfo -> {
+				if (userInfo != null) {
+					synchronized (found) {
+						found.put(key, userInfo);
+					}
+				}
+			}));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> found);
+	}
+
+	private static @NonNull List<Object> keys(final @NonNull String integration, final @NonNull Set<String> identifiers) {
+		final List<Object> keys = new ArrayList<>(identifiers.size());
+		for (final String identifier : identifiers) {
+			keys.add(new IntegrationKey(integration, identifier));
+		}
+		return keys;
+	}
+
+	private static <T> T await(final @NonNull CompletableFuture<T> future) throws NamelessException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new NamelessException("Interrupted while loading user", e);
+		} catch (final ExecutionException e) {
+			Throwable cause = e.getCause() != null ? e.getCause() : e;
+			while (cause instanceof CompletionException && cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			if (cause instanceof NamelessException) {
+				throw (NamelessException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else {
+				throw new NamelessException("Failed to load user", cause);
+			}
+		}
+	}
+
+	public static @NonNull Builder builder() {
+		return new Builder();
+	}
+
+	private static final class IntegrationKey {
+
+		private final @NonNull String integration;
+		private final @NonNull String identifier;
+
+		private IntegrationKey(final @NonNull String integration, final @NonNull String identifier) {
+			this.integration = integration;
+			this.identifier = identifier;
+		}
+
+		@Override
+		public boolean equals(final @Nullable Object other) {
+			if (!(other instanceof IntegrationKey)) {
+				return false;
+			}
+			final IntegrationKey key = (IntegrationKey) other;
+			return this.integration.equals(key.integration) && this.identifier.equals(key.identifier);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.integration.hashCode() + this.identifier.hashCode();
+		}
+
+	}
+
+	private static final class Prefetched {
+
+		private final @Nullable UserInfo userInfo;
+		private final long time = System.nanoTime();
+
+		private Prefetched(final @Nullable UserInfo userInfo) {
+			this.userInfo = userInfo;
+		}
+
+	}
+
+	private static final class ListingState {
+
+		private final @NonNull Set<Integer> remaining;
+		private final int maxId;
+		private final @NonNull Map<Object, UserInfo> found = new HashMap<>();
+		private int firstUserId = -1;
+		private int previousId = -1;
+		// Stop listing after the highest requested id, unless the website does not order users by id
+		private boolean ordered = true;
+
+		private ListingState(final @NonNull TreeSet<Integer> ids) {
+			this.remaining = new TreeSet<>(ids);
+			this.maxId = ids.last();
+		}
+
+	}
+
+	public static final class Builder {
+
+		private @NonNull Duration window = Duration.ofMillis(5);
+		private int maxBatchSize = 1000;
+		private int pageSize = 500;
+		private int listThreshold = 20;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param window Time to wait for more asynchronous lookups before requesting a batch, default 5 milliseconds.
+		 *               Blocking lookups are requested right away.
+		 */
+		public @NonNull Builder window(final @NonNull Duration window) {
+			Preconditions.checkArgument(!window.isNegative(), "Window must not be negative");
+			this.window = window;
+			return this;
+		}
+
+		/**
+		 * @param maxBatchSize Maximum number of users in a batch, default 1000
+		 */
+		public @NonNull Builder maxBatchSize(final int maxBatchSize) {
+			Preconditions.checkArgument(maxBatchSize >= 1, "Max batch size must be at least 1");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 * @param pageSize Number of users requested at once when listing users, default 500
+		 */
+		public @NonNull Builder pageSize(final int pageSize) {
+			Preconditions.checkArgument(pageSize >= 2, "Page size must be at least 2");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * @param listThreshold Minimum number of identifiers of the same integration in a batch to find them by
+		 *                      listing users with that integration instead of requesting them one at a time,
+		 *                      default 20
+		 */
+		public @NonNull Builder listThreshold(final int listThreshold) {
+			Preconditions.checkArgument(listThreshold >= 1, "List threshold must be at least 1");
+			this.listThreshold = listThreshold;
+			return this;
+		}
+
+		@NonNull UserLoader build(final @NonNull NamelessAPI api) {
+			return new UserLoader(Objects.requireNonNull(api, "API is null"), this);
+		}
+
+	}
+
+}
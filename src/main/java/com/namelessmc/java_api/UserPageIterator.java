@@ -0,0 +1,107 @@
+package com.namelessmc.java_api;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.exception.UncheckedNamelessException;
+
+/**
+ * Iterates over users, requesting one page of users at a time. When prefetching is enabled, the next page is
+ * requested as soon as the current page has been received, so it is usually available by the time it is needed.
+ * @see FilteredUserListBuilder#makeIterator()
+ */
+final class UserPageIterator implements Iterator<NamelessUser> {
+
+	private final @NonNull FilteredUserListBuilder builder;
+	private final int pageSize;
+	private final boolean prefetch;
+
+	private @NonNull List<NamelessUser> page = List.of();
+	private int index = 0;
+	private int offset = 0;
+	private boolean lastPage = false;
+	private int firstUserId = -1;
+	private @Nullable CompletableFuture<List<NamelessUser>> nextPage;
+
+	UserPageIterator(final @NonNull FilteredUserListBuilder builder, final int pageSize, final boolean prefetch) {
+		this.builder = builder;
+		this.pageSize = pageSize;
+		this.prefetch = prefetch;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (this.index >= this.page.size()) {
+			if (this.lastPage) {
+				return false;
+			}
+			try {
+				this.loadPage();
+			} catch (final NamelessException e) {
+				throw new UncheckedNamelessException(e);
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public @NonNull NamelessUser next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return this.page.get(this.index++);
+	}
+
+	private void loadPage() throws NamelessException {
+		final CompletableFuture<List<NamelessUser>> nextPage = this.nextPage;
+		final List<NamelessUser> page = nextPage != null
+				? await(nextPage)
+				: this.builder.page(this.pageSize, this.offset);
+		this.nextPage = null;
+
+		if (!page.isEmpty()) {
+			final int firstUserId = page.get(0).id();
+			if (this.offset == 0) {
+				this.firstUserId = firstUserId;
+			} else if (firstUserId == this.firstUserId) {
+				// Otherwise we would loop forever, requesting the first page
+				throw new NamelessException("Website returned the first page again, it does not support the offset parameter. Use makeRequest() instead.");
+			}
+		}
+
+		this.page = page;
+		this.index = 0;
+		this.offset += page.size();
+		this.lastPage = page.size() < this.pageSize;
+		if (this.prefetch && !this.lastPage) {
+			this.nextPage = this.builder.pageAsync(this.pageSize, this.offset);
+		}
+	}
+
+	private static @NonNull List<NamelessUser> await(final @NonNull CompletableFuture<List<NamelessUser>> future) throws NamelessException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			future.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new NamelessException("Interrupted while waiting for the next page of users", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause() != null ? e.getCause() : e;
+			if (cause instanceof NamelessException) {
+				throw (NamelessException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else {
+				throw new NamelessException("Failed to request the next page of users", cause);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.namelessmc.java_api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates executors running tasks on virtual threads. Virtual threads are not available in Java 11, this class is
+ * replaced by an implementation in <code>META-INF/versions/21</code> of the multi-release jar.
+ */
+final class VirtualThreads {
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * @return Whether virtual threads are available in this Java version
+	 */
+	static boolean isSupported() {
+		return false;
+	}
+
+	/**
+	 * @param namePrefix Thread name prefix, followed by a number
+	 * @return Executor starting a new virtual thread for every task
+	 * @throws UnsupportedOperationException If virtual threads are not supported, see {@link #isSupported()}
+	 */
+	static @NonNull ExecutorService newExecutor(final @NonNull String namePrefix) {
+		throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+	}
+
+}
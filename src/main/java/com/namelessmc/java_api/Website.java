@@ -4,6 +4,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.exception.UnknownNamelessVersionException;
+import com.namelessmc.java_api.modules.ModuleSet;
 import com.namelessmc.java_api.modules.NamelessModule;
 
 import java.util.Set;
@@ -13,7 +14,7 @@ import java.util.stream.StreamSupport;
 public class Website implements LanguageEntity {
 
 	private final String version;
-	private final Set<NamelessModule> modules;
+	private final ModuleSet modules;
 	private final String rawLanguage;
 
 	Website(final JsonObject json) throws NamelessException {
@@ -26,10 +27,10 @@ public class Website implements LanguageEntity {
 
 		this.version = json.get("nameless_version").getAsString();
 
-		this.modules = StreamSupport.stream(json.get("modules").getAsJsonArray().spliterator(), false)
+		this.modules = ModuleSet.of(StreamSupport.stream(json.get("modules").getAsJsonArray().spliterator(), false)
 				.map(JsonElement::getAsString)
 				.map(NamelessModule::byName)
-				.collect(Collectors.toUnmodifiableSet());
+				.collect(Collectors.toList()));
 
 		if (json.get("locale").isJsonNull()) {
 			throw new NamelessException("Website returned null locale. This can happen if you upgraded from v2-pr12 to v2-pr13, please try switching the site's language to something else and back.");
@@ -46,6 +47,10 @@ public class Website implements LanguageEntity {
 		return NamelessVersion.parse(this.version);
 	}
 
+	/**
+	 * @return Installed modules. Use {@link Set#contains(Object)} to check whether a module is installed, which is
+	 * cheap for standard modules.
+	 */
 	public Set<NamelessModule> modules() {
 		return this.modules;
 	}
@@ -0,0 +1,105 @@
+package com.namelessmc.java_api;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.exception.NamelessException;
+
+/**
+ * Caches website info. After the TTL has passed, cached info is still returned while a single request refreshes it
+ * in the background, so callers never wait for website info once it has been loaded. When a refresh fails, the old
+ * info keeps being used and the refresh is tried again after a tenth of the TTL. Concurrent requests for the initial
+ * load are shared by the request coalescer.
+ */
+final class WebsiteCache {
+
+	private final @NonNull RequestHandler requests;
+	private final long ttlNanos;
+	private final long jitterNanos;
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+	private volatile @Nullable Entry entry;
+
+	/**
+	 * @param ttl Time after which website info is refreshed
+	 * @param jitter Maximum random time added to or subtracted from the TTL, so many API instances started at the
+	 *               same time don't all refresh at once
+	 */
+	WebsiteCache(final @NonNull RequestHandler requests,
+				 final @NonNull Duration ttl,
+				 final @NonNull Duration jitter) {
+		Preconditions.checkArgument(ttl.compareTo(Duration.ZERO) > 0, "TTL must be positive");
+		Preconditions.checkArgument(!jitter.isNegative() && jitter.compareTo(ttl) < 0, "Jitter must be between zero and the TTL");
+		this.requests = Objects.requireNonNull(requests, "Request handler is null");
+		this.ttlNanos = ttl.toNanos();
+		this.jitterNanos = jitter.toNanos();
+	}
+
+	@NonNull Website get() throws NamelessException {
+		final @Nullable Entry entry = this.entry;
+		if (entry == null) {
+			return this.store(this.requests.get("info"));
+		}
+		this.refreshIfDue(entry);
+		return entry.website;
+	}
+
+	@NonNull CompletableFuture<@NonNull Website> getAsync() {
+		final @Nullable Entry entry = this.entry;
+		if (entry == null) {
+			return this.requests.getAsync(this::store, "info");
+		}
+		this.refreshIfDue(entry);
+		return CompletableFuture.completedFuture(entry.website);
+	}
+
+	/**
+	 * @return Cached website info, possibly stale, or null if website info has not been loaded yet
+	 */
+	@Nullable Website getIfPresent() {
+		final @Nullable Entry entry = this.entry;
+		return entry != null ? entry.website : null;
+	}
+
+	private void refreshIfDue(final @NonNull Entry entry) {
+		if (System.nanoTime() - entry.refreshTime < 0 || !this.refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		this.requests.getAsync(this::store, "info").whenComplete((website, throwable) -> {
+			if (throwable != null) {
+				this.requests.debug(() -> "Failed to refresh website info, using old website info: " + throwable);
+				this.entry = new Entry(entry.website, System.nanoTime() + this.ttlNanos / 10);
+			}
+			this.refreshing.set(false);
+		});
+	}
+
+	private @NonNull Website store(final @NonNull JsonObject json) throws NamelessException {
+		final Website website = new Website(json);
+		final long jitter = this.jitterNanos > 0
+				? ThreadLocalRandom.current().nextLong(-this.jitterNanos, this.jitterNanos + 1)
+				: 0;
+		this.entry = new Entry(website, System.nanoTime() + this.ttlNanos + jitter);
+		return website;
+	}
+
+	private static final class Entry {
+
+		private final @NonNull Website website;
+		private final long refreshTime;
+
+		private Entry(final @NonNull Website website, final long refreshTime) {
+			this.website = website;
+			this.refreshTime = refreshTime;
+		}
+
+	}
+
+}
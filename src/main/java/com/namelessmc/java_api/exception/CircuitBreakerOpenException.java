@@ -0,0 +1,33 @@
+package com.namelessmc.java_api.exception;
+
+import java.time.Duration;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Thrown without contacting the website, because too many recent requests to the website failed.
+ * @see com.namelessmc.java_api.CircuitBreaker
+ */
+public class CircuitBreakerOpenException extends NamelessException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final @NonNull Duration retryAfter;
+
+	public CircuitBreakerOpenException(final @NonNull Duration retryAfter) {
+		super("Not sending request, because too many recent requests to the website failed. " +
+				(retryAfter.isZero()
+						? "A few test requests are being made to check if the website has recovered."
+						: "Requests will be attempted again in " + Math.max(1, retryAfter.toSeconds()) + " seconds."));
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * @return Time until the circuit breaker starts letting through test requests again. Zero if test
+	 * requests are currently being made.
+	 */
+	public @NonNull Duration retryAfter() {
+		return this.retryAfter;
+	}
+
+}
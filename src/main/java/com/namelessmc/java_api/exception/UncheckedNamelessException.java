@@ -0,0 +1,24 @@
+package com.namelessmc.java_api.exception;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Wraps a {@link NamelessException} where a checked exception can't be thrown, for example from an iterator
+ */
+public class UncheckedNamelessException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final @NonNull NamelessException cause;
+
+	public UncheckedNamelessException(final @NonNull NamelessException cause) {
+		super(cause.getMessage(), cause);
+		this.cause = cause;
+	}
+
+	@Override
+	public synchronized @NonNull NamelessException getCause() {
+		return this.cause;
+	}
+
+}
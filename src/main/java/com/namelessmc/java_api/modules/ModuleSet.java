@@ -0,0 +1,54 @@
+package com.namelessmc.java_api.modules;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Immutable set of modules. Checking whether a standard module such as {@link NamelessModule#STORE} is in the set
+ * is a single bit test, custom modules are looked up in a hash set.
+ */
+public final class ModuleSet extends AbstractSet<NamelessModule> {
+
+	private final long standardModules;
+	private final @NonNull Set<NamelessModule> modules;
+
+	private ModuleSet(final @NonNull Set<NamelessModule> modules) {
+		long standardModules = 0;
+		for (final NamelessModule module : modules) {
+			if (module.index >= 0) {
+				standardModules |= 1L << module.index;
+			}
+		}
+		this.standardModules = standardModules;
+		this.modules = modules;
+	}
+
+	public static @NonNull ModuleSet of(final @NonNull Collection<NamelessModule> modules) {
+		return new ModuleSet(Set.copyOf(modules));
+	}
+
+	@Override
+	public boolean contains(final @Nullable Object object) {
+		if (object instanceof NamelessModule && ((NamelessModule) object).index >= 0) {
+			return (this.standardModules & (1L << ((NamelessModule) object).index)) != 0;
+		}
+		// Custom module, which may have the same name as a standard module
+		return object != null && this.modules.contains(object);
+	}
+
+	@Override
+	public @NonNull Iterator<NamelessModule> iterator() {
+		return this.modules.iterator();
+	}
+
+	@Override
+	public int size() {
+		return this.modules.size();
+	}
+
+}
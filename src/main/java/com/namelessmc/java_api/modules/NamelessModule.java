@@ -9,6 +9,8 @@ import java.util.Objects;
 
 public class NamelessModule {
 
+	private static int NEXT_INDEX = 0;
+
 	public static final NamelessModule CORE = new NamelessModule("Core", true, null);
 	public static final NamelessModule FORUM = new NamelessModule("Forum", true, null);
 	public static final NamelessModule DISCORD_INTEGRATION = new NamelessModule("Discord Integration", true, null);
@@ -21,11 +23,21 @@ public class NamelessModule {
 	private final String name;
 	private final boolean included;
 	private final @Nullable String downloadLink;
+	// Position in MODULES, used as bit index by ModuleSet. -1 for custom modules.
+	final int index;
 
 	private NamelessModule(String name, boolean included, @Nullable String downloadLink) {
 		this.name = name;
 		this.included = included;
 		this.downloadLink = downloadLink;
+		this.index = NEXT_INDEX++;
+	}
+
+	private NamelessModule(String name) {
+		this.name = name;
+		this.included = false;
+		this.downloadLink = null;
+		this.index = -1;
 	}
 
 	public String name() {
@@ -59,7 +71,7 @@ public class NamelessModule {
 	}
 
 	public static NamelessModule custom(String name) {
-		return new NamelessModule(Objects.requireNonNull(name), false, null);
+		return new NamelessModule(Objects.requireNonNull(name));
 	}
 
 	public static NamelessModule byName(String name) {
@@ -12,6 +12,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.net.URL;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 public class DiscordAPI {
 
@@ -28,11 +29,22 @@ public class DiscordAPI {
 	 * @see #updateBotSettings(URL, long, String, long)
 	 */
 	public void updateBotUrl(final @NonNull URL url) throws NamelessException {
+		this.requests.post("discord/update-bot-settings", botUrlBody(url));
+	}
+
+	/**
+	 * Asynchronous version of {@link #updateBotUrl(URL)}
+	 */
+	public @NonNull CompletableFuture<Void> updateBotUrlAsync(final @NonNull URL url) {
+		return this.requests.postAsync("discord/update-bot-settings", botUrlBody(url), response -> null);
+	}
+
+	private static @NonNull JsonObject botUrlBody(final @NonNull URL url) {
 		Objects.requireNonNull(url, "Bot url is null");
 
 		final JsonObject json = new JsonObject();
 		json.addProperty("url", url.toString());
-		this.requests.post("discord/update-bot-settings", json);
+		return json;
 	}
 
 	/**
@@ -42,12 +54,23 @@ public class DiscordAPI {
 	 * @see #updateBotSettings(URL, long, String, long)
 	 */
 	public void updateBotUser(final @NonNull String username, final long userId) throws NamelessException {
+		this.requests.post("discord/update-bot-settings", botUserBody(username, userId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #updateBotUser(String, long)}
+	 */
+	public @NonNull CompletableFuture<Void> updateBotUserAsync(final @NonNull String username, final long userId) {
+		return this.requests.postAsync("discord/update-bot-settings", botUserBody(username, userId), response -> null);
+	}
+
+	private static @NonNull JsonObject botUserBody(final @NonNull String username, final long userId) {
 		Objects.requireNonNull(username, "Bot username is null");
 
 		final JsonObject json = new JsonObject();
 		json.addProperty("bot_username", username);
 		json.addProperty("bot_user_id", userId + "");
-		this.requests.post("discord/update-bot-settings", json);
+		return json;
 	}
 
 	/**
@@ -56,9 +79,20 @@ public class DiscordAPI {
 	 * @see #updateBotSettings(URL, long, String, long)
 	 */
 	public void updateGuildId(final long guildId) throws NamelessException {
+		this.requests.post("discord/update-bot-settings", guildIdBody(guildId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #updateGuildId(long)}
+	 */
+	public @NonNull CompletableFuture<Void> updateGuildIdAsync(final long guildId) {
+		return this.requests.postAsync("discord/update-bot-settings", guildIdBody(guildId), response -> null);
+	}
+
+	private static @NonNull JsonObject guildIdBody(final long guildId) {
 		final JsonObject json = new JsonObject();
 		json.addProperty("guild_id", guildId + "");
-		this.requests.post("discord/update-bot-settings", json);
+		return json;
 	}
 
 	/**
@@ -75,6 +109,23 @@ public class DiscordAPI {
 									  final long guildId,
 									  final @NonNull String username,
 									  final long userId) throws NamelessException {
+		this.requests.post("discord/update-bot-settings", botSettingsBody(url, guildId, username, userId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #updateBotSettings(URL, long, String, long)}
+	 */
+	public @NonNull CompletableFuture<Void> updateBotSettingsAsync(final @NonNull URL url,
+																   final long guildId,
+																   final @NonNull String username,
+																   final long userId) {
+		return this.requests.postAsync("discord/update-bot-settings", botSettingsBody(url, guildId, username, userId), response -> null);
+	}
+
+	private static @NonNull JsonObject botSettingsBody(final @NonNull URL url,
+													   final long guildId,
+													   final @NonNull String username,
+													   final long userId) {
 		Objects.requireNonNull(url, "Bot url is null");
 		Objects.requireNonNull(username, "Bot username is null");
 
@@ -83,7 +134,7 @@ public class DiscordAPI {
 		json.addProperty("guild_id", guildId + "");
 		json.addProperty("bot_username", username);
 		json.addProperty("bot_user_id", userId + "");
-		this.requests.post("discord/update-bot-settings", json);
+		return json;
 	}
 
 	/**
@@ -96,15 +147,16 @@ public class DiscordAPI {
 									  final @NonNull String discordUsername)
 			throws NamelessException {
 		Objects.requireNonNull(discordUsername, "Discord username is null");
+		this.updateDiscordUsernames(new long[] {discordUserId}, new String[] {discordUsername});
+	}
 
-		final JsonObject user = new JsonObject();
-		user.addProperty("id", discordUserId);
-		user.addProperty("name", discordUsername);
-		final JsonArray users = new JsonArray();
-		users.add(user);
-		final JsonObject json = new JsonObject();
-		json.add("users", users);
-		this.requests.post("discord/update-usernames", json);
+	/**
+	 * Asynchronous version of {@link #updateDiscordUsername(long, String)}
+	 */
+	public @NonNull CompletableFuture<Void> updateDiscordUsernameAsync(final long discordUserId,
+																	   final @NonNull String discordUsername) {
+		Objects.requireNonNull(discordUsername, "Discord username is null");
+		return this.updateDiscordUsernamesAsync(new long[] {discordUserId}, new String[] {discordUsername});
 	}
 
 	/**
@@ -125,18 +177,40 @@ public class DiscordAPI {
 			return;
 		}
 
-		final JsonArray users = new JsonArray();
+		this.requests.post("discord/update-usernames", discordUsernamesBody(discordUserIds, discordUsernames));
+	}
 
-		for (int i = 0; i < discordUserIds.length; i++) {
-			final JsonObject user = new JsonObject();
-			user.addProperty("id", discordUserIds[i]);
-			user.addProperty("name", discordUsernames[i]);
-			users.add(user);
+	/**
+	 * Asynchronous version of {@link #updateDiscordUsernames(long[], String[])}
+	 */
+	public @NonNull CompletableFuture<Void> updateDiscordUsernamesAsync(final long@NonNull[] discordUserIds,
+																		final @NonNull String@NonNull[] discordUsernames) {
+		Objects.requireNonNull(discordUserIds, "User ids array is null");
+		Objects.requireNonNull(discordUsernames, "Usernames array is null");
+		Preconditions.checkArgument(discordUserIds.length == discordUsernames.length,
+				"discord user ids and discord usernames must be of same length");
+
+		if (discordUserIds.length == 0) {
+			return CompletableFuture.completedFuture(null);
 		}
 
-		final JsonObject json = new JsonObject();
-		json.add("users", users);
-		this.requests.post("discord/update-usernames", json);
+		return this.requests.postAsync("discord/update-usernames", discordUsernamesBody(discordUserIds, discordUsernames), response -> null);
+	}
+
+	private static RequestHandler.@NonNull BodyWriter discordUsernamesBody(final long@NonNull[] discordUserIds,
+																		  final @NonNull String@NonNull[] discordUsernames) {
+		return writer -> {
+			writer.beginObject();
+			writer.name("users").beginArray();
+			for (int i = 0; i < discordUserIds.length; i++) {
+				writer.beginObject();
+				writer.name("id").value(discordUserIds[i]);
+				writer.name("name").value(discordUsernames[i]);
+				writer.endObject();
+			}
+			writer.endArray();
+			writer.endObject();
+		};
 	}
 
 	/**
@@ -144,6 +218,17 @@ public class DiscordAPI {
 	 * @param discordRoles Map of Discord roles, key is role id, value is role name
 	 */
 	public void updateRoleList(final @NonNull Map<Long, String> discordRoles) throws NamelessException {
+		this.requests.post("discord/submit-role-list", roleListBody(discordRoles));
+	}
+
+	/**
+	 * Asynchronous version of {@link #updateRoleList(Map)}
+	 */
+	public @NonNull CompletableFuture<Void> updateRoleListAsync(final @NonNull Map<Long, String> discordRoles) {
+		return this.requests.postAsync("discord/submit-role-list", roleListBody(discordRoles), response -> null);
+	}
+
+	private static @NonNull JsonObject roleListBody(final @NonNull Map<Long, String> discordRoles) {
 		final JsonArray roles = new JsonArray();
 		discordRoles.forEach((id, name) -> {
 			final JsonObject role = new JsonObject();
@@ -153,7 +238,7 @@ public class DiscordAPI {
 		});
 		final JsonObject json = new JsonObject();
 		json.add("roles", roles);
-		this.requests.post("discord/submit-role-list", json);
+		return json;
 	}
 
 }
@@ -1,62 +1,64 @@
 package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.namelessmc.java_api.NamelessAPI;
 import com.namelessmc.java_api.RequestHandler;
+import com.namelessmc.java_api.ResponseDecoder;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.modules.NamelessModule;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class StoreAPI {
 
+	private static final ResponseDecoder<List<StoreProduct>> PRODUCTS = ResponseDecoder.list("products", StoreProduct::read);
+	private static final ResponseDecoder<List<StoreCategory>> CATEGORIES = ResponseDecoder.list("categories", StoreCategory::read);
+
 	private final NamelessAPI api;
 	private final RequestHandler requests;
+	private final ResponseDecoder<List<StorePayment>> paymentsDecoder;
 
 	public StoreAPI(final NamelessAPI api) throws NamelessException {
 		this.api = api;
 		this.requests = api.requests();
+		this.paymentsDecoder = ResponseDecoder.list("payments", reader -> StorePayment.read(api, reader));
 		this.api.ensureModuleInstalled(NamelessModule.STORE);
 	}
 
 	public List<StoreProduct> products() throws NamelessException {
-		JsonObject response = this.requests.get("store/products");
-		JsonArray productsJson = response.getAsJsonArray("products");
-		List<StoreProduct> products = new ArrayList<>(productsJson.size());
-		for (JsonElement productElement : productsJson) {
-			products.add(new StoreProduct(productElement.getAsJsonObject()));
-		}
-		return Collections.unmodifiableList(products);
+		return this.requests.get(PRODUCTS, "store/products");
+	}
+
+	public CompletableFuture<List<StoreProduct>> productsAsync() {
+		return this.requests.getAsync(PRODUCTS, "store/products");
 	}
 
 	public List<StorePayment> payments(PaymentsFilter... filters) throws NamelessException {
+		return this.requests.get(this.paymentsDecoder, "store/payments", paymentsParameters(filters));
+	}
+
+	public CompletableFuture<List<StorePayment>> paymentsAsync(PaymentsFilter... filters) {
+		return this.requests.getAsync(this.paymentsDecoder, "store/payments", paymentsParameters(filters));
+	}
+
+	private static Object[] paymentsParameters(PaymentsFilter[] filters) {
 		Object[] params = new Object[filters.length * 2];
 		for (int i = 0; i < filters.length; i++) {
 			params[i*2] = filters[i].name();
 			params[i*2+1] = filters[i].value();
 		}
-		JsonObject response = this.requests.get("store/payments", params);
-		JsonArray paymentsJson = response.getAsJsonArray("payments");
-		List<StorePayment> payments = new ArrayList<>(paymentsJson.size());
-		for (JsonElement productElement : paymentsJson) {
-			payments.add(new StorePayment(this.api, productElement.getAsJsonObject()));
-		}
-		return Collections.unmodifiableList(payments);
+		return params;
 	}
 
 	public List<StoreCategory> categories() throws NamelessException {
-		JsonObject response = this.requests.get("store/products");
-		JsonArray array = response.getAsJsonArray("categories");
-		List<StoreCategory> categories = new ArrayList<>(array.size());
-		for (JsonElement element : array) {
-			categories.add(new StoreCategory(element.getAsJsonObject()));
-		}
-		return Collections.unmodifiableList(categories);
+		return this.requests.get(CATEGORIES, "store/products");
+	}
+
+	public CompletableFuture<List<StoreCategory>> categoriesAsync() {
+		return this.requests.getAsync(CATEGORIES, "store/products");
 	}
 
 	public PendingCommandsResponse pendingCommands(int connectionId) throws NamelessException {
@@ -64,14 +66,27 @@ public class StoreAPI {
 		return new PendingCommandsResponse(this.api, response);
 	}
 
+	public CompletableFuture<PendingCommandsResponse> pendingCommandsAsync(int connectionId) {
+		return this.requests.getAsync(response -> new PendingCommandsResponse(this.api, response),
+				"store/pending-commands", "connection_id", connectionId);
+	}
+
 	public void markCommandsExecuted(Collection<PendingCommandsResponse.PendingCommand> commands) throws NamelessException {
+		this.requests.post("store/commands-executed", markCommandsExecutedBody(commands));
+	}
+
+	public CompletableFuture<Void> markCommandsExecutedAsync(Collection<PendingCommandsResponse.PendingCommand> commands) {
+		return this.requests.postAsync("store/commands-executed", markCommandsExecutedBody(commands), response -> null);
+	}
+
+	private static JsonObject markCommandsExecutedBody(Collection<PendingCommandsResponse.PendingCommand> commands) {
 		JsonArray array = new JsonArray(commands.size());
 		for (PendingCommandsResponse.PendingCommand command : commands) {
 			array.add(command.id());
 		}
 		JsonObject body = new JsonObject();
 		body.add("commands", array);
-		this.requests.post("store/commands-executed", body);
+		return body;
 	}
 
 }
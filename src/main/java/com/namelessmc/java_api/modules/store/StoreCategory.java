@@ -1,6 +1,11 @@
 package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.namelessmc.java_api.util.GsonHelper;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
 
 public class StoreCategory {
 
@@ -16,6 +21,44 @@ public class StoreCategory {
 		this.disabled = json.get("disabled").getAsBoolean();
 	}
 
+	private StoreCategory(int id, String name, boolean hidden, boolean disabled) {
+		this.id = id;
+		this.name = name;
+		this.hidden = hidden;
+		this.disabled = disabled;
+	}
+
+	static StoreCategory read(JsonReader reader) throws IOException {
+		@Nullable Integer id = null;
+		@Nullable String name = null;
+		@Nullable Boolean hidden = null;
+		@Nullable Boolean disabled = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "name":
+					name = GsonHelper.nextString(reader);
+					break;
+				case "hidden":
+					hidden = GsonHelper.nextBoolean(reader);
+					break;
+				case "disabled":
+					disabled = GsonHelper.nextBoolean(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new StoreCategory(GsonHelper.requireField(id, "id"),
+				GsonHelper.requireField(name, "name"),
+				GsonHelper.requireField(hidden, "hidden"),
+				GsonHelper.requireField(disabled, "disabled"));
+	}
+
 	public int id() {
 		return this.id;
 	}
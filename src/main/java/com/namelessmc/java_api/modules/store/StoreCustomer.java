@@ -1,11 +1,16 @@
 package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.namelessmc.java_api.NamelessAPI;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.UserLoader;
+import com.namelessmc.java_api.util.GsonHelper;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.UUID;
 
 public class StoreCustomer {
@@ -28,6 +33,66 @@ public class StoreCustomer {
 		if (this.username == null && this.identifier == null) {
 			throw new IllegalStateException("Username and identifier cannot be null at the same time");
 		}
+
+		hintUser(api, this.userId);
+	}
+
+	private StoreCustomer(NamelessAPI api, int id, @Nullable Integer userId,
+						  @Nullable String username, @Nullable String identifier) {
+		this.api = api;
+		this.id = id;
+		this.userId = userId;
+		this.username = username;
+		this.identifier = identifier;
+
+		hintUser(api, userId);
+	}
+
+	/**
+	 * Customers are usually read in lists, so load their users together when the first one is requested
+	 */
+	private static void hintUser(final NamelessAPI api, final @Nullable Integer userId) {
+		final @Nullable UserLoader userLoader = api.userLoader();
+		if (userLoader != null && userId != null) {
+			userLoader.hint(userId);
+		}
+	}
+
+	static StoreCustomer read(NamelessAPI api, JsonReader reader) throws IOException {
+		@Nullable Integer id = null;
+		@Nullable Integer userId = null;
+		@Nullable String username = null;
+		@Nullable String identifier = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "customer_id":
+					id = reader.nextInt();
+					break;
+				case "user_id":
+					if (reader.peek() == JsonToken.NULL) {
+						reader.nextNull();
+					} else {
+						userId = reader.nextInt();
+					}
+					break;
+				case "username":
+					username = GsonHelper.nextNullableString(reader);
+					break;
+				case "identifier":
+					identifier = GsonHelper.nextNullableString(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if (username == null && identifier == null) {
+			throw new IllegalStateException("Username and identifier cannot be null at the same time");
+		}
+
+		return new StoreCustomer(api, GsonHelper.requireField(id, "customer_id"), userId, username, identifier);
 	}
 
 	public int id() {
@@ -3,10 +3,12 @@ package com.namelessmc.java_api.modules.store;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import com.namelessmc.java_api.NamelessAPI;
 import com.namelessmc.java_api.util.GsonHelper;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -48,6 +50,100 @@ public class StorePayment {
 		}
 	}
 
+	private StorePayment(int id, int orderId, int gatewayId, @Nullable String transaction, String amount,
+						 String currency, String fee, PaymentStatus status, Date creationDate, Date lastUpdateDate,
+						 StoreCustomer payingCustomer, StoreCustomer receivingCustomer, List<StorePaymentProduct> products) {
+		this.id = id;
+		this.orderId = orderId;
+		this.gatewayId = gatewayId;
+		this.transaction = transaction;
+		this.amount = amount;
+		this.currency = currency;
+		this.fee = fee;
+		this.status = status;
+		this.creationDate = creationDate;
+		this.lastUpdateDate = lastUpdateDate;
+		this.payingCustomer = payingCustomer;
+		this.receivingCustomer = receivingCustomer;
+		this.products = products;
+	}
+
+	static StorePayment read(NamelessAPI api, JsonReader reader) throws IOException {
+		@Nullable Integer id = null;
+		@Nullable Integer orderId = null;
+		@Nullable Integer gatewayId = null;
+		@Nullable String transaction = null;
+		@Nullable String amount = null;
+		@Nullable String currency = null;
+		@Nullable String fee = null;
+		@Nullable Integer statusId = null;
+		@Nullable Long created = null;
+		@Nullable Long lastUpdated = null;
+		@Nullable StoreCustomer payingCustomer = null;
+		@Nullable StoreCustomer receivingCustomer = null;
+		@Nullable List<StorePaymentProduct> products = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "order_id":
+					orderId = reader.nextInt();
+					break;
+				case "gateway_id":
+					gatewayId = reader.nextInt();
+					break;
+				case "transaction":
+					transaction = GsonHelper.nextNullableString(reader);
+					break;
+				case "amount":
+					amount = GsonHelper.nextString(reader);
+					break;
+				case "currency":
+					currency = GsonHelper.nextString(reader);
+					break;
+				case "fee":
+					fee = GsonHelper.nextString(reader);
+					break;
+				case "status_id":
+					statusId = reader.nextInt();
+					break;
+				case "created":
+					created = reader.nextLong();
+					break;
+				case "last_updated":
+					lastUpdated = reader.nextLong();
+					break;
+				case "customer":
+					payingCustomer = StoreCustomer.read(api, reader);
+					break;
+				case "recipient":
+					receivingCustomer = StoreCustomer.read(api, reader);
+					break;
+				case "products":
+					products = GsonHelper.readObjectList(reader, StorePaymentProduct::read);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new StorePayment(GsonHelper.requireField(id, "id"),
+				GsonHelper.requireField(orderId, "order_id"),
+				GsonHelper.requireField(gatewayId, "gateway_id"),
+				transaction,
+				GsonHelper.requireField(amount, "amount"),
+				GsonHelper.requireField(currency, "currency"),
+				GsonHelper.requireField(fee, "fee"),
+				PaymentStatus.BY_ID[GsonHelper.requireField(statusId, "status_id")],
+				new Date(GsonHelper.requireField(created, "created") * 1000),
+				new Date(GsonHelper.requireField(lastUpdated, "last_updated") * 1000),
+				GsonHelper.requireField(payingCustomer, "customer"),
+				GsonHelper.requireField(receivingCustomer, "recipient"),
+				GsonHelper.requireField(products, "products"));
+	}
+
 	public int id() {
 		return id;
 	}
@@ -1,6 +1,11 @@
 package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.namelessmc.java_api.util.GsonHelper;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
 
 public class StorePaymentProduct {
 
@@ -12,6 +17,32 @@ public class StorePaymentProduct {
 		this.name = json.get("name").getAsString();
 	}
 
+	private StorePaymentProduct(int id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	static StorePaymentProduct read(JsonReader reader) throws IOException {
+		@Nullable Integer id = null;
+		@Nullable String name = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "name":
+					name = GsonHelper.nextString(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new StorePaymentProduct(GsonHelper.requireField(id, "id"),
+				GsonHelper.requireField(name, "name"));
+	}
+
 	public int id() {
 		return id;
 	}
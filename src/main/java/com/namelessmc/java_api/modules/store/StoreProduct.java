@@ -1,8 +1,11 @@
 package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import com.namelessmc.java_api.util.GsonHelper;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.List;
 
 public class StoreProduct {
@@ -38,6 +41,99 @@ public class StoreProduct {
 		this.actions = GsonHelper.toObjectList(json.getAsJsonArray("actions"), StoreProductAction::new);
 	}
 
+	private StoreProduct(int id, int categoryId, String name, int priceCents, boolean hidden, boolean disabled,
+						 int[] requiredProductsIds, int[] requiredGroupsIds, int[] requiredIntegrationsIds,
+						 String descriptionHtml, List<StoreProductField> fields, List<StoreProductAction> actions) {
+		this.id = id;
+		this.categoryId = categoryId;
+		this.name = name;
+		this.priceCents = priceCents;
+		this.hidden = hidden;
+		this.disabled = disabled;
+		this.requiredProductsIds = requiredProductsIds;
+		this.requiredGroupsIds = requiredGroupsIds;
+		this.requiredIntegrationsIds = requiredIntegrationsIds;
+		this.descriptionHtml = descriptionHtml;
+		this.fields = fields;
+		this.actions = actions;
+	}
+
+	static StoreProduct read(JsonReader reader) throws IOException {
+		@Nullable Integer id = null;
+		@Nullable Integer categoryId = null;
+		@Nullable String name = null;
+		@Nullable Integer priceCents = null;
+		@Nullable Boolean hidden = null;
+		@Nullable Boolean disabled = null;
+		int @Nullable [] requiredProductsIds = null;
+		int @Nullable [] requiredGroupsIds = null;
+		int @Nullable [] requiredIntegrationsIds = null;
+		@Nullable String descriptionHtml = null;
+		@Nullable List<StoreProductField> fields = null;
+		@Nullable List<StoreProductAction> actions = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "category_id":
+					categoryId = reader.nextInt();
+					break;
+				case "name":
+					name = GsonHelper.nextString(reader);
+					break;
+				case "price_cents":
+					priceCents = reader.nextInt();
+					break;
+				case "hidden":
+					hidden = GsonHelper.nextBoolean(reader);
+					break;
+				case "disabled":
+					disabled = GsonHelper.nextBoolean(reader);
+					break;
+				case "required_products":
+					requiredProductsIds = GsonHelper.readIntArray(reader);
+					break;
+				case "required_groups":
+					requiredGroupsIds = GsonHelper.readIntArray(reader);
+					break;
+				case "required_integrations":
+					requiredIntegrationsIds = GsonHelper.readIntArray(reader);
+					break;
+				case "description":
+					descriptionHtml = GsonHelper.nextString(reader);
+					break;
+				case "fields":
+					fields = GsonHelper.readObjectList(reader, StoreProductField::read);
+					break;
+				case "actions":
+					actions = GsonHelper.readObjectList(reader, StoreProductAction::read);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if (priceCents == null) {
+			throw new IllegalArgumentException("Missing price_cents, are you using an old store module version?");
+		}
+
+		return new StoreProduct(GsonHelper.requireField(id, "id"),
+				GsonHelper.requireField(categoryId, "category_id"),
+				GsonHelper.requireField(name, "name"),
+				priceCents,
+				GsonHelper.requireField(hidden, "hidden"),
+				GsonHelper.requireField(disabled, "disabled"),
+				GsonHelper.requireField(requiredProductsIds, "required_products"),
+				GsonHelper.requireField(requiredGroupsIds, "required_groups"),
+				GsonHelper.requireField(requiredIntegrationsIds, "required_integrations"),
+				GsonHelper.requireField(descriptionHtml, "description"),
+				GsonHelper.requireField(fields, "fields"),
+				GsonHelper.requireField(actions, "actions"));
+	}
+
 	public int id() {
 		return this.id;
 	}
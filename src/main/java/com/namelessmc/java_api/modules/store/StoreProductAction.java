@@ -1,6 +1,11 @@
 package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.namelessmc.java_api.util.GsonHelper;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
 
 public class StoreProductAction {
 
@@ -20,6 +25,56 @@ public class StoreProductAction {
 		this.ownConnections = json.get("own_connections").getAsBoolean();
 	}
 
+	private StoreProductAction(int id, int typeId, int serviceId, String command, boolean requireOnline, boolean ownConnections) {
+		this.id = id;
+		this.typeId = typeId;
+		this.serviceId = serviceId;
+		this.command = command;
+		this.requireOnline = requireOnline;
+		this.ownConnections = ownConnections;
+	}
+
+	static StoreProductAction read(JsonReader reader) throws IOException {
+		@Nullable Integer id = null;
+		@Nullable Integer typeId = null;
+		@Nullable Integer serviceId = null;
+		@Nullable String command = null;
+		@Nullable Boolean requireOnline = null;
+		@Nullable Boolean ownConnections = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "type":
+					typeId = reader.nextInt();
+					break;
+				case "service_id":
+					serviceId = reader.nextInt();
+					break;
+				case "command":
+					command = GsonHelper.nextString(reader);
+					break;
+				case "require_online":
+					requireOnline = GsonHelper.nextBoolean(reader);
+					break;
+				case "own_connections":
+					ownConnections = GsonHelper.nextBoolean(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new StoreProductAction(GsonHelper.requireField(id, "id"),
+				GsonHelper.requireField(typeId, "type"),
+				GsonHelper.requireField(serviceId, "service_id"),
+				GsonHelper.requireField(command, "command"),
+				GsonHelper.requireField(requireOnline, "require_online"),
+				GsonHelper.requireField(ownConnections, "own_connections"));
+	}
+
 	public int id() {
 		return this.id;
 	}
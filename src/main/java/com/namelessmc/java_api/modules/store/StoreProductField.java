@@ -2,8 +2,11 @@ package com.namelessmc.java_api.modules.store;
 
 import com.google.gson.JsonObject;
 import com.namelessmc.java_api.util.GsonHelper;
+import com.google.gson.stream.JsonReader;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
+
 public class StoreProductField {
 
 	private final int id;
@@ -24,6 +27,63 @@ public class StoreProductField {
 		this.defaultValue = json.get("default_value").getAsString();
 	}
 
+	private StoreProductField(int id, String identifier, int typeId, boolean required, int min,
+							  @Nullable String regex, String defaultValue) {
+		this.id = id;
+		this.identifier = identifier;
+		this.typeId = typeId;
+		this.required = required;
+		this.min = min;
+		this.regex = regex;
+		this.defaultValue = defaultValue;
+	}
+
+	static StoreProductField read(JsonReader reader) throws IOException {
+		@Nullable Integer id = null;
+		@Nullable String identifier = null;
+		@Nullable Integer typeId = null;
+		@Nullable Boolean required = null;
+		@Nullable Integer min = null;
+		@Nullable String regex = null;
+		@Nullable String defaultValue = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "id":
+					id = reader.nextInt();
+					break;
+				case "identifier":
+					identifier = GsonHelper.nextString(reader);
+					break;
+				case "type":
+					typeId = reader.nextInt();
+					break;
+				case "required":
+					required = GsonHelper.nextBoolean(reader);
+					break;
+				case "min":
+					min = reader.nextInt();
+					break;
+				case "regex":
+					regex = GsonHelper.nextNullableString(reader);
+					break;
+				case "default_value":
+					defaultValue = GsonHelper.nextString(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new StoreProductField(GsonHelper.requireField(id, "id"),
+				GsonHelper.requireField(identifier, "identifier"),
+				GsonHelper.requireField(typeId, "type"),
+				GsonHelper.requireField(required, "required"),
+				GsonHelper.requireField(min, "min"),
+				regex,
+				GsonHelper.requireField(defaultValue, "default_value"));
+	}
+
 	public int id() {
 		return this.id;
 	}
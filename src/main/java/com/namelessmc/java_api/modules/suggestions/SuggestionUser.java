@@ -3,6 +3,7 @@ package com.namelessmc.java_api.modules.suggestions;
 import com.google.gson.JsonObject;
 import com.namelessmc.java_api.NamelessAPI;
 import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.UserLoader;
 import com.namelessmc.java_api.exception.NamelessException;
 
 public class SuggestionUser {
@@ -17,6 +18,12 @@ public class SuggestionUser {
 
 		this.id = json.get("id").getAsInt();
 		this.username = json.get("username").getAsString();
+
+		// Suggestions are usually listed, so load their users together when the first one is requested
+		final UserLoader userLoader = api.userLoader();
+		if (userLoader != null) {
+			userLoader.hint(this.id);
+		}
 	}
 
 	public int userId() {
@@ -6,6 +6,8 @@ import com.namelessmc.java_api.RequestHandler;
 import com.namelessmc.java_api.exception.NamelessException;
 import com.namelessmc.java_api.modules.NamelessModule;
 
+import java.util.concurrent.CompletableFuture;
+
 public class SuggestionsAPI {
 
 	private final NamelessAPI api;
@@ -22,4 +24,8 @@ public class SuggestionsAPI {
 		return new Suggestion(this.api, response);
 	}
 
+	public CompletableFuture<Suggestion> suggestionAsync(int suggestionId) {
+		return this.requests.getAsync(response -> new Suggestion(this.api, response), "suggestions/" + suggestionId);
+	}
+
 }
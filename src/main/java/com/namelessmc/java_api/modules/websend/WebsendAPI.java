@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class WebsendAPI {
 
@@ -24,7 +25,14 @@ public class WebsendAPI {
 	}
 
 	public @NonNull List<WebsendCommand> commands(int serverId) throws NamelessException {
-		JsonObject response = this.requests.get("websend/commands","server_id", serverId);
+		return commandsFromResponse(this.requests.get("websend/commands","server_id", serverId));
+	}
+
+	public @NonNull CompletableFuture<List<WebsendCommand>> commandsAsync(int serverId) {
+		return this.requests.getAsync(WebsendAPI::commandsFromResponse, "websend/commands", "server_id", serverId);
+	}
+
+	private static @NonNull List<WebsendCommand> commandsFromResponse(JsonObject response) {
 		JsonArray commandsJson = response.getAsJsonArray("commands");
 		List<WebsendCommand> commands = new ArrayList<>(commandsJson.size());
 		for (JsonElement e : commandsJson) {
@@ -41,15 +49,30 @@ public class WebsendAPI {
 	}
 
 	public void sendConsoleLog(int serverId, Collection<String> lines, boolean clearPrevious) throws NamelessException {
-		JsonObject body = new JsonObject();
-		body.addProperty("server_id", serverId);
-		body.addProperty("clear_previous", clearPrevious);
-		JsonArray content = new JsonArray();
-		for (String line : lines) {
-			content.add(line);
-		}
-		body.add("content", content);
-		this.requests.post("websend/console", body);
+		this.requests.post("websend/console", consoleLogBody(serverId, lines, clearPrevious));
+	}
+
+	public @NonNull CompletableFuture<Void> sendConsoleLogAsync(int serverId, Collection<String> lines) {
+		return sendConsoleLogAsync(serverId, lines, false);
+	}
+
+	public @NonNull CompletableFuture<Void> sendConsoleLogAsync(int serverId, Collection<String> lines, boolean clearPrevious) {
+		return this.requests.postAsync("websend/console", consoleLogBody(serverId, lines, clearPrevious), response -> null);
+	}
+
+	private static RequestHandler.BodyWriter consoleLogBody(int serverId, Collection<String> lines, boolean clearPrevious) {
+		// Console logs can be large, write them directly instead of building a JsonObject first
+		return writer -> {
+			writer.beginObject();
+			writer.name("server_id").value(serverId);
+			writer.name("clear_previous").value(clearPrevious);
+			writer.name("content").beginArray();
+			for (String line : lines) {
+				writer.value(line);
+			}
+			writer.endArray();
+			writer.endObject();
+		};
 	}
 
 }
@@ -3,8 +3,11 @@ package com.namelessmc.java_api.util;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.function.Function;
 
@@ -52,4 +55,66 @@ public class GsonHelper {
 		return null;
 	}
 
+	public static int[] readIntArray(JsonReader reader) throws IOException {
+		int[] array = new int[8];
+		int size = 0;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (size == array.length) {
+				array = Arrays.copyOf(array, size * 2);
+			}
+			array[size++] = reader.nextInt();
+		}
+		reader.endArray();
+		return size == array.length ? array : Arrays.copyOf(array, size);
+	}
+
+	public static <T> List<T> readObjectList(JsonReader reader, JsonDecoder<T> decoder) throws IOException {
+		List<T> list = new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext()) {
+			list.add(decoder.decode(reader));
+		}
+		reader.endArray();
+		return Collections.unmodifiableList(list);
+	}
+
+	public static @Nullable String nextNullableString(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return nextString(reader);
+	}
+
+	/**
+	 * Like {@link JsonReader#nextString()}, but also accepts booleans like {@link JsonElement#getAsString()} does
+	 */
+	public static String nextString(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.BOOLEAN) {
+			return String.valueOf(reader.nextBoolean());
+		}
+		return reader.nextString();
+	}
+
+	/**
+	 * Like {@link JsonReader#nextBoolean()}, but also accepts strings and numbers like {@link JsonElement#getAsBoolean()} does
+	 */
+	public static boolean nextBoolean(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.BOOLEAN) {
+			return reader.nextBoolean();
+		}
+		return Boolean.parseBoolean(reader.nextString());
+	}
+
+	/**
+	 * For use by stream decoders, to throw a useful exception if a required field was missing
+	 */
+	public static <T> T requireField(@Nullable T value, String field) {
+		if (value == null) {
+			throw new IllegalStateException("Missing or null field: " + field);
+		}
+		return value;
+	}
+
 }
@@ -0,0 +1,20 @@
+package com.namelessmc.java_api.util;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+
+/**
+ * Reads an object directly from a JSON token stream, without first building a {@link com.google.gson.JsonElement} tree.
+ * @param <T> Type of decoded object
+ */
+@FunctionalInterface
+public interface JsonDecoder<T> {
+
+	/**
+	 * @param reader Reader positioned at the start of the value to decode. The entire value must be consumed.
+	 * @return Decoded object
+	 */
+	T decode(JsonReader reader) throws IOException;
+
+}
@@ -0,0 +1,24 @@
+package com.namelessmc.java_api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors running tasks on virtual threads, Java 21 version.
+ */
+final class VirtualThreads {
+
+	private VirtualThreads() {
+	}
+
+	static boolean isSupported() {
+		return true;
+	}
+
+	static @NonNull ExecutorService newExecutor(final @NonNull String namePrefix) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+	}
+
+}
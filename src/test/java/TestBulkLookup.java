@@ -0,0 +1,128 @@
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.UserCache;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.junit.jupiter.api.Assertions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class TestBulkLookup {
+
+	@Test
+	void testMinecraftUuids() throws Exception {
+		final MockData data = MockData.generate(2500);
+		final List<UUID> uuids = new ArrayList<>();
+		final List<Integer> ids = new ArrayList<>();
+		for (final JsonObject user : data.users()) {
+			for (final JsonElement integration : user.getAsJsonArray("integrations")) {
+				if (integration.getAsJsonObject().get("integration").getAsString().equals("Minecraft") && uuids.size() < 1500) {
+					uuids.add(NamelessAPI.websiteUuidToJavaUuid(integration.getAsJsonObject().get("identifier").getAsString()));
+					ids.add(user.get("id").getAsInt());
+				}
+			}
+		}
+		final UUID unregistered = UUID.randomUUID();
+		uuids.add(unregistered);
+
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final UserCache cache = UserCache.builder().build();
+			final NamelessAPI api = server.apiBuilder().userCache(cache).build();
+
+			final Map<UUID, Optional<NamelessUser>> users = api.usersByMinecraftUuids(uuids);
+			Assertions.assertEquals(uuids, new ArrayList<>(users.keySet()));
+			for (int i = 0; i < ids.size(); i++) {
+				Assertions.assertEquals(ids.get(i), user(users, uuids.get(i)).id());
+			}
+			Assertions.assertEquals(Optional.empty(), users.get(unregistered));
+			// At most 1000 users per request
+			Assertions.assertEquals((data.userCount() + 999) / 1000, server.requestCount("users"));
+			Assertions.assertEquals(0, server.requestCount("users/{user}"));
+
+			// Found users are cached
+			final @Nullable NamelessUser cached = api.userByMinecraftUuid(uuids.get(0));
+			if (cached == null) {
+				throw new AssertionError("User not found");
+			}
+			Assertions.assertEquals(ids.get(0), cached.id());
+			Assertions.assertEquals(0, server.requestCount("users/{user}"));
+		}
+	}
+
+	@Test
+	void testBlockingOnCompletionExecutor() throws Exception {
+		final MockData data = MockData.generate(300);
+		final UUID uuid = UUID.randomUUID();
+		final int userId = data.addUser("Derkades", uuid, 123456789L);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI api = server.apiBuilder().completionExecutor(executor).build();
+			final Map<UUID, Optional<NamelessUser>> users = executor.submit(() -> api.usersByMinecraftUuids(List.of(uuid)))
+					.get(10, TimeUnit.SECONDS);
+			Assertions.assertEquals(userId, user(users, uuid).id());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testDiscordIdsAndUsernames() throws Exception {
+		final MockData data = MockData.generate(100);
+		final int userId = data.addUser("Derkades", UUID.randomUUID(), 123456789L);
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI api = server.apiBuilder().build();
+
+			final Map<Long, Optional<NamelessUser>> byDiscordId = api.usersByDiscordIdsAsync(List.of(123456789L, 42L)).join();
+			Assertions.assertEquals(userId, user(byDiscordId, 123456789L).id());
+			Assertions.assertEquals(Optional.empty(), byDiscordId.get(42L));
+
+			final Map<String, Optional<NamelessUser>> byUsername = api.usersByUsernames(List.of("derkades", "Derkades", "Nobody"));
+			Assertions.assertEquals(userId, user(byUsername, "derkades").id());
+			Assertions.assertEquals(userId, user(byUsername, "Derkades").id());
+			Assertions.assertEquals(Optional.empty(), byUsername.get("Nobody"));
+			Assertions.assertEquals(2, server.requestCount("users"));
+		}
+	}
+
+	@Test
+	void testInvalidIdentifiers() throws Exception {
+		final MockData data = MockData.generate(100);
+		final UUID uuid = UUID.randomUUID();
+		final int userId = data.addUser("Derkades", uuid, 123456789L);
+		final int invalidUserId = data.addUser("Invalid", UUID.randomUUID(), 42L);
+		data.updateUser(invalidUserId, user -> {
+			for (final JsonElement integration : user.getAsJsonArray("integrations")) {
+				integration.getAsJsonObject().addProperty("identifier", "invalid");
+			}
+		});
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI api = server.apiBuilder().build();
+
+			// Pages containing the invalid user are still matched
+			Assertions.assertEquals(userId, user(api.usersByMinecraftUuids(List.of(uuid)), uuid).id());
+			Assertions.assertEquals(userId, user(api.usersByDiscordIds(List.of(123456789L, 42L)), 123456789L).id());
+			Assertions.assertEquals(Optional.empty(), api.usersByDiscordIds(List.of(42L)).get(42L));
+		}
+	}
+
+	private static <K extends @NonNull Object> NamelessUser user(final Map<K, Optional<NamelessUser>> users, final K key) {
+		final Optional<NamelessUser> user = users.getOrDefault(key, Optional.empty());
+		if (!user.isPresent()) {
+			throw new AssertionError("No user for " + key);
+		}
+		return user.get();
+	}
+
+}
@@ -0,0 +1,138 @@
+import com.github.mizosoft.methanol.Methanol;
+import com.namelessmc.java_api.CircuitBreaker;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.RetryPolicy;
+import com.namelessmc.java_api.exception.CircuitBreakerOpenException;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestCircuitBreaker {
+
+	@Test
+	void testStateTransitions() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final List<String> transitions = Collections.synchronizedList(new ArrayList<>());
+			final CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+					.windowSize(4)
+					.minimumRequests(4)
+					.openDuration(Duration.ofMillis(300))
+					.halfOpenRequests(2)
+					.stateListener((previous, current) -> transitions.add(previous + "->" + current))
+					.build();
+			final NamelessAPI api = server.apiBuilder()
+					.circuitBreaker(circuitBreaker)
+					.getRetryPolicy(RetryPolicy.none())
+					.build();
+
+			server.failures(1, 502);
+			for (int i = 0; i < 4; i++) {
+				Assertions.assertThrows(NamelessException.class, () -> api.user(1));
+			}
+			Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+			Assertions.assertEquals(4, server.requestCount("users/{user}"));
+
+			// Open, requests fail without being sent
+			server.clearFaults();
+			Assertions.assertThrows(CircuitBreakerOpenException.class, () -> api.user(1));
+			final ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> api.userAsync(1).get());
+			Assertions.assertInstanceOf(CircuitBreakerOpenException.class, e.getCause());
+			Assertions.assertEquals(4, server.requestCount("users/{user}"));
+
+			// A failed test request opens the circuit again
+			Thread.sleep(350);
+			server.failures(1, 502);
+			Assertions.assertThrows(NamelessException.class, () -> api.user(1));
+			Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+
+			// Enough successful test requests close it
+			Thread.sleep(350);
+			server.clearFaults();
+			final @Nullable NamelessUser user = api.user(1);
+			Assertions.assertTrue(user != null);
+			Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+			final @Nullable NamelessUser userAsync = api.userAsync(1).get();
+			Assertions.assertTrue(userAsync != null);
+			Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+			Assertions.assertEquals(7, server.requestCount("users/{user}"));
+
+			Assertions.assertEquals(List.of(
+					"CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"
+			), transitions);
+		}
+	}
+
+	@Test
+	void testUnexpectedFailureReleasesPermit() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+					.windowSize(1)
+					.minimumRequests(1)
+					.openDuration(Duration.ofMillis(100))
+					.halfOpenRequests(1)
+					.build();
+			final AtomicBoolean fail = new AtomicBoolean();
+			final NamelessAPI api = server.apiBuilder()
+					.circuitBreaker(circuitBreaker)
+					.getRetryPolicy(RetryPolicy.none())
+					.interceptor(new FailingInterceptor(fail))
+					.build();
+
+			server.failures(1, 502);
+			Assertions.assertThrows(NamelessException.class, () -> api.user(1));
+			server.clearFaults();
+			Thread.sleep(150);
+
+			// The only test request fails without a result, the permit must be returned for the next test request
+			fail.set(true);
+			Assertions.assertThrows(RuntimeException.class, () -> api.user(1));
+			Assertions.assertThrows(ExecutionException.class, () -> api.userAsync(1).get());
+			fail.set(false);
+			final @Nullable NamelessUser user = api.user(1);
+			Assertions.assertTrue(user != null);
+			Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+		}
+	}
+
+	private static class FailingInterceptor implements Methanol.Interceptor {
+
+		private final AtomicBoolean fail;
+
+		private FailingInterceptor(final AtomicBoolean fail) {
+			this.fail = fail;
+		}
+
+		@Override
+		public <T> HttpResponse<T> intercept(final HttpRequest request, final Chain<T> chain) throws IOException, InterruptedException {
+			if (this.fail.get()) {
+				throw new IllegalStateException("Interceptor failure");
+			}
+			return chain.forward(request);
+		}
+
+		@Override
+		public <T> CompletableFuture<HttpResponse<T>> interceptAsync(final HttpRequest request, final Chain<T> chain) {
+			if (this.fail.get()) {
+				throw new IllegalStateException("Interceptor failure");
+			}
+			return chain.forwardAsync(request);
+		}
+
+	}
+
+}
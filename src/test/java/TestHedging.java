@@ -0,0 +1,112 @@
+import com.github.mizosoft.methanol.Methanol;
+import com.namelessmc.java_api.HedgingPolicy;
+import com.namelessmc.java_api.RequestHandler;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestHedging {
+
+	@Test
+	void testHedgeWins() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final FailingInterceptor interceptor = new FailingInterceptor();
+			final RequestHandler requests = server.apiBuilder()
+					.hedging(HedgingPolicy.builder().delay(Duration.ofMillis(100)).maxRatio(1).build())
+					.interceptor(interceptor)
+					.build()
+					.requests();
+
+			// Open connections first, so the original request reaches the server before the hedged request
+			for (int i = 0; i < 3; i++) {
+				Assertions.assertNotNull(requests.get("users/id:1"));
+			}
+			Thread.sleep(300);
+			final long requestCount = server.requestCount();
+			final long hedgedCount = requests.hedgedRequestCount();
+			final long winCount = requests.hedgeWinCount();
+
+			// Only the original request is slow, the hedged request sent after 100ms responds immediately
+			server.latency(number -> number == requestCount + 1 ? Duration.ofMillis(500) : Duration.ZERO);
+			interceptor.failNext.set(true);
+			final long start = System.nanoTime();
+			Assertions.assertNotNull(requests.get("users/id:1"));
+			final long elapsed = System.nanoTime() - start;
+			Assertions.assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(100), "Hedged request sent too early");
+			Assertions.assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(500), "Waited for slow request");
+
+			// The original request fails later, it is cancelled so it must not be retried
+			Thread.sleep(1000);
+			Assertions.assertEquals(requestCount + 2, server.requestCount());
+			Assertions.assertEquals(hedgedCount + 1, requests.hedgedRequestCount());
+			Assertions.assertEquals(winCount + 1, requests.hedgeWinCount());
+		}
+	}
+
+	@Test
+	void testNoHedgeForFastResponse() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final RequestHandler requests = server.apiBuilder()
+					.hedging(HedgingPolicy.builder().delay(Duration.ofMillis(500)).maxRatio(1).build())
+					.build()
+					.requests();
+
+			for (int i = 0; i < 10; i++) {
+				Assertions.assertNotNull(requests.get("users/id:1"));
+			}
+			Assertions.assertEquals(10, server.requestCount("users/{user}"));
+			Assertions.assertEquals(0, requests.hedgedRequestCount());
+		}
+	}
+
+	@Test
+	void testMaxRatio() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final RequestHandler requests = server.apiBuilder()
+					.hedging(HedgingPolicy.builder().delay(Duration.ofMillis(20)).maxRatio(0.5).build())
+					.build()
+					.requests();
+
+			// Every request is slow enough to hedge, but only every second request may be hedged
+			server.latency(Duration.ofMillis(150));
+			for (int i = 0; i < 10; i++) {
+				Assertions.assertNotNull(requests.get("users/id:1"));
+			}
+			Assertions.assertEquals(5, requests.hedgedRequestCount());
+			Assertions.assertEquals(15, server.requestCount("users/{user}"));
+		}
+	}
+
+	/**
+	 * Fails the first asynchronous request after {@link #failNext} is set, once its response has arrived
+	 */
+	private static class FailingInterceptor implements Methanol.Interceptor {
+
+		private final AtomicBoolean failNext = new AtomicBoolean();
+
+		@Override
+		public <T> HttpResponse<T> intercept(final HttpRequest request, final Chain<T> chain) throws IOException, InterruptedException {
+			return chain.forward(request);
+		}
+
+		@Override
+		public <T> CompletableFuture<HttpResponse<T>> interceptAsync(final HttpRequest request, final Chain<T> chain) {
+			final CompletableFuture<HttpResponse<T>> response = chain.forwardAsync(request);
+			if (this.failNext.compareAndSet(true, false)) {
+				return response.thenCompose(ignored -> CompletableFuture.failedFuture(new IOException("Connection reset")));
+			}
+			return response;
+		}
+
+	}
+
+}
@@ -0,0 +1,178 @@
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.UserIdentityMap;
+import com.namelessmc.java_api.logger.ApiLogger;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class TestIdentityMap {
+
+	@Test
+	void testRandomOperations() {
+		final UserIdentityMap map = new UserIdentityMap();
+		final Map<Integer, UUID> uuids = new HashMap<>();
+		final Map<UUID, Integer> users = new HashMap<>();
+		final Random random = new Random(1);
+		// Few distinct users and UUIDs, so entries are often replaced and removed
+		final UUID[] pool = new UUID[3000];
+		for (int i = 0; i < pool.length; i++) {
+			pool[i] = new UUID(random.nextLong(), random.nextLong());
+		}
+
+		for (int i = 0; i < 200_000; i++) {
+			final int userId = 1 + random.nextInt(2000);
+			if (random.nextInt(4) == 0) {
+				map.remove(userId);
+				final UUID removed = uuids.remove(userId);
+				if (removed != null) {
+					users.remove(removed);
+				}
+			} else {
+				final UUID uuid = pool[random.nextInt(pool.length)];
+				map.putMinecraftUuid(userId, uuid);
+				final Integer previousUser = users.put(uuid, userId);
+				if (previousUser != null) {
+					uuids.remove(previousUser);
+				}
+				final UUID previousUuid = uuids.put(userId, uuid);
+				if (previousUuid != null && !previousUuid.equals(uuid)) {
+					users.remove(previousUuid);
+				}
+			}
+		}
+
+		Assertions.assertEquals(uuids.size(), map.minecraftSize());
+		for (int userId = 1; userId <= 2000; userId++) {
+			Assertions.assertEquals(uuids.get(userId), map.minecraftUuid(userId));
+		}
+		for (final UUID uuid : pool) {
+			Assertions.assertEquals(users.getOrDefault(uuid, -1), map.userIdByMinecraftUuid(uuid));
+		}
+	}
+
+	@Test
+	void testMemoryUsage() {
+		final UserIdentityMap map = new UserIdentityMap();
+		final Random random = new Random(2);
+		for (int userId = 1; userId <= 1_000_000; userId++) {
+			map.putMinecraftUuid(userId, new UUID(random.nextLong(), random.nextLong()));
+			map.putDiscordId(userId, random.nextLong() >>> 1);
+		}
+		Assertions.assertEquals(1_000_000, map.minecraftSize());
+		Assertions.assertEquals(1_000_000, map.discordSize());
+		Assertions.assertTrue(map.memoryUsage() < 80L * 1024 * 1024, "Uses " + map.memoryUsage() + " bytes");
+	}
+
+	@Test
+	void testFilledFromResponses() throws Exception {
+		final MockData data = MockData.generate(100);
+		final UUID uuid = UUID.fromString("09948878-fe20-44e3-a072-42c39869dd1f");
+		final int userId = data.addUser("Derkades", uuid, 123456789L);
+
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final UserIdentityMap map = new UserIdentityMap();
+			final NamelessAPI api = server.apiBuilder().identityMap(map).build();
+			Assertions.assertNotEquals("id:" + userId, api.userByMinecraftUuidLazy(uuid).userTransformer());
+
+			api.users().makeRequest();
+			Assertions.assertEquals(userId, map.userIdByMinecraftUuid(uuid));
+			Assertions.assertEquals(userId, map.userIdByDiscordId(123456789L));
+			Assertions.assertEquals(uuid, map.minecraftUuid(userId));
+			Assertions.assertEquals(123456789L, map.discordId(userId));
+
+			// Known users are loaded by id, and identified by id once loaded
+			final NamelessUser user = api.userByMinecraftUuidLazy(uuid);
+			Assertions.assertEquals("Derkades", user.username());
+			Assertions.assertEquals("id:" + userId, user.userTransformer());
+			Assertions.assertEquals(userId, api.userByDiscordIdLazy(123456789L).id());
+		}
+	}
+
+	@Test
+	void testStaleMapping() throws Exception {
+		final MockData data = MockData.generate(100);
+		final UUID uuid = UUID.fromString("09948878-fe20-44e3-a072-42c39869dd1f");
+		final int oldUserId = data.addUser("Derkades", uuid, 123456789L);
+
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final UserIdentityMap map = new UserIdentityMap();
+			final NamelessAPI api = server.apiBuilder().identityMap(map).build();
+			api.users().makeRequest();
+			Assertions.assertEquals(oldUserId, map.userIdByMinecraftUuid(uuid));
+
+			// Integrations are moved to a new account
+			data.updateUser(oldUserId, user -> user.add("integrations", new JsonArray()));
+			final int newUserId = data.addUser("Derkades2", uuid, 123456789L);
+
+			final @Nullable NamelessUser byUuid = api.userByMinecraftUuid(uuid);
+			if (byUuid == null) {
+				throw new AssertionError("User not found");
+			}
+			Assertions.assertEquals(newUserId, byUuid.id());
+			Assertions.assertEquals(newUserId, map.userIdByMinecraftUuid(uuid));
+
+			map.putDiscordId(oldUserId, 123456789L);
+			final @Nullable NamelessUser byDiscordId = api.userByDiscordIdAsync(123456789L).get();
+			if (byDiscordId == null) {
+				throw new AssertionError("User not found");
+			}
+			Assertions.assertEquals(newUserId, byDiscordId.id());
+
+			// Lookups of a deleted user
+			map.putMinecraftUuid(100_000, uuid);
+			Assertions.assertEquals(newUserId, api.userByMinecraftUuidLazy(uuid).id());
+			Assertions.assertEquals(newUserId, map.userIdByMinecraftUuid(uuid));
+		}
+	}
+
+	@Test
+	void testInvalidIdentifiers() throws Exception {
+		final MockData data = MockData.generate(10);
+		final UUID uuid = UUID.randomUUID();
+		final int userId = data.addUser("Derkades", uuid, 123456789L);
+		final int invalidUserId = data.addUser("Invalid", UUID.randomUUID(), 42L);
+		data.updateUser(invalidUserId, user -> {
+			for (final JsonElement integration : user.getAsJsonArray("integrations")) {
+				integration.getAsJsonObject().addProperty("identifier", "invalid");
+			}
+		});
+
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final UserIdentityMap map = new UserIdentityMap();
+			final List<String> messages = new CopyOnWriteArrayList<>();
+			final NamelessAPI api = server.apiBuilder()
+					.identityMap(map)
+					.customDebugLogger(new ApiLogger() {
+						@Override
+						public void log(final String string) {
+							messages.add(string);
+						}
+					})
+					.build();
+
+			// The invalid integrations are skipped, other users are still added
+			Assertions.assertEquals(12, api.users().makeRequest().size());
+			Assertions.assertEquals(userId, map.userIdByMinecraftUuid(uuid));
+			Assertions.assertEquals(userId, map.userIdByDiscordId(123456789L));
+			final @Nullable NamelessUser invalid = api.user(invalidUserId);
+			if (invalid == null) {
+				throw new AssertionError("User not found");
+			}
+			Assertions.assertEquals("Invalid", invalid.username());
+			Assertions.assertTrue(messages.stream().anyMatch(message -> message.contains("'invalid'")), "Not logged");
+		}
+	}
+
+}
@@ -0,0 +1,29 @@
+import com.namelessmc.java_api.LatencyHistogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class TestLatencyHistogram {
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(Duration.ZERO, histogram.p99());
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        Assertions.assertEquals(1000, histogram.count());
+        assertClose(500, histogram.p50());
+        assertClose(990, histogram.p99());
+        assertClose(999, histogram.p999());
+        Assertions.assertEquals(Duration.ofMillis(1000), histogram.percentile(100));
+    }
+
+    private static void assertClose(long expectedMillis, Duration actual) {
+        // Buckets are accurate to about 3%
+        Assertions.assertEquals(expectedMillis, actual.toNanos() / 1e6, expectedMillis * 0.04);
+    }
+
+}
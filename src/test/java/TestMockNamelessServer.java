@@ -0,0 +1,76 @@
+import com.namelessmc.java_api.Group;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.exception.ApiError;
+import com.namelessmc.java_api.exception.ApiException;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import com.namelessmc.java_api.modules.websend.WebsendCommand;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+public class TestMockNamelessServer {
+
+	@Test
+	void testRoutes() throws Exception {
+		final MockData data = MockData.generate(100);
+		final UUID uuid = UUID.fromString("09948878-fe20-44e3-a072-42c39869dd1f");
+		final int userId = data.addUser("Derkades", uuid, 123456789L);
+		data.addWebsendCommand(1, "say hello");
+
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI api = server.apiBuilder().build();
+			Assertions.assertEquals("2.1.2", api.website().rawVersion());
+			Assertions.assertEquals(101, api.users().makeRequest().size());
+
+			final @Nullable NamelessUser user = api.userByMinecraftUuid(uuid);
+			if (user == null) {
+				throw new AssertionError("User not found");
+			}
+			Assertions.assertEquals(userId, user.id());
+			Assertions.assertEquals("Derkades", user.username());
+			Assertions.assertEquals(1, user.groups().size());
+
+			final Group vip = api.group("VIP").get(0);
+			user.addGroups(vip);
+			Assertions.assertEquals(2, user.groups().size());
+
+			final List<WebsendCommand> commands = api.websend().commands(1);
+			Assertions.assertEquals(1, commands.size());
+			Assertions.assertEquals("say hello", commands.get(0).command());
+			Assertions.assertTrue(api.websend().commands(1).isEmpty());
+
+			Assertions.assertNull(api.userByMinecraftUuid(UUID.randomUUID()));
+			// Two lookups, and reloading user info after adding a group
+			Assertions.assertEquals(3, server.requestCount("users/{user}"));
+		}
+	}
+
+	@Test
+	void testFaults() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().start()) {
+			final NamelessAPI api = server.apiBuilder().build();
+
+			server.apiError("groups", ApiError.NAMELESS_API_IS_DISABLED);
+			final ApiException apiException = Assertions.assertThrows(ApiException.class, api::getAllGroups);
+			Assertions.assertEquals(ApiError.NAMELESS_API_IS_DISABLED, apiException.apiError());
+
+			server.clearFaults();
+			server.failures(1, 500);
+			Assertions.assertThrows(NamelessException.class, api::getAllGroups);
+
+			server.clearFaults();
+			server.latency(Duration.ofMillis(200));
+			final long start = System.nanoTime();
+			Assertions.assertFalse(api.getAllGroups().isEmpty());
+			Assertions.assertTrue(System.nanoTime() - start >= Duration.ofMillis(200).toNanos());
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.RequestHandler;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestRequestCoalescing {
+
+	@Test
+	void testConcurrentRequestsShareRoundTrip() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final RequestHandler requests = server.apiBuilder().build().requests();
+			server.latency(Duration.ofMillis(200));
+
+			final List<CompletableFuture<JsonObject>> futures = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				futures.add(requests.getAsync("users/id:1"));
+			}
+			final List<JsonObject> responses = new ArrayList<>();
+			for (final CompletableFuture<JsonObject> future : futures) {
+				responses.add(future.get(10, TimeUnit.SECONDS));
+			}
+
+			Assertions.assertEquals(1, server.requestCount("users/{user}"));
+			Assertions.assertEquals(10, requests.getRequestCount());
+			Assertions.assertEquals(9, requests.coalescedRequestCount());
+			Assertions.assertEquals(0.9, requests.coalescingRatio(), 1e-9);
+
+			// Every caller gets its own copy of the shared response
+			responses.get(0).addProperty("username", "changed");
+			Assertions.assertEquals(responses.get(1).get("id"), responses.get(0).get("id"));
+			Assertions.assertNotEquals("changed", responses.get(1).get("username").getAsString());
+
+			// Different requests are not shared
+			requests.getAsync("users/id:2").get(10, TimeUnit.SECONDS);
+			Assertions.assertEquals(2, server.requestCount("users/{user}"));
+			Assertions.assertEquals(9, requests.coalescedRequestCount());
+		}
+	}
+
+	@Test
+	void testBlockingRequestsShareRoundTrip() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final RequestHandler requests = server.apiBuilder().build().requests();
+			server.latency(Duration.ofMillis(200));
+
+			final List<Future<JsonObject>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(() -> requests.get("users/id:1")));
+			}
+			for (final Future<JsonObject> future : futures) {
+				Assertions.assertEquals(1, future.get(10, TimeUnit.SECONDS).get("id").getAsInt());
+			}
+			Assertions.assertEquals(1, server.requestCount("users/{user}"));
+			Assertions.assertEquals(0.75, requests.coalescingRatio(), 1e-9);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testCachedResponseCopied() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final RequestHandler requests = server.apiBuilder().memoryCache(1024 * 1024).build().requests();
+			server.cacheHeaders(Duration.ZERO);
+
+			// The parsed response is kept by the cache, modifying the returned response must not affect it
+			requests.get("users/id:1").addProperty("username", "changed");
+			final JsonObject reused = requests.get("users/id:1");
+			Assertions.assertEquals(1, requests.cacheStats().parsedReuseCount());
+			Assertions.assertNotEquals("changed", reused.get("username").getAsString());
+			reused.addProperty("username", "changed");
+			Assertions.assertNotEquals("changed", requests.get("users/id:1").get("username").getAsString());
+			Assertions.assertEquals(2, requests.cacheStats().parsedReuseCount());
+		}
+	}
+
+	@Test
+	void testDisabled() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final NamelessAPI api = server.apiBuilder().requestCoalescing(false).build();
+			server.latency(Duration.ofMillis(100));
+
+			final List<CompletableFuture<JsonObject>> futures = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				futures.add(api.requests().getAsync("users/id:1"));
+			}
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+			Assertions.assertEquals(5, server.requestCount("users/{user}"));
+			Assertions.assertEquals(0, api.requests().coalescingRatio());
+		}
+	}
+
+}
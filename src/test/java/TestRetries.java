@@ -0,0 +1,106 @@
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.RequestHandler;
+import com.namelessmc.java_api.RetryPolicy;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class TestRetries {
+
+	@Test
+	void testGetRetries() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final RequestHandler requests = server.apiBuilder().build().requests();
+
+			// Bad gateway is retried by default, twice
+			server.failures(1, 502);
+			Assertions.assertThrows(NamelessException.class, () -> requests.get("users/id:1"));
+			Assertions.assertEquals(3, server.requestCount("users/{user}"));
+			Assertions.assertThrows(ExecutionException.class, () -> requests.getAsync("users/id:1").get(10, TimeUnit.SECONDS));
+			Assertions.assertEquals(6, server.requestCount("users/{user}"));
+			Assertions.assertEquals(4, requests.retryCount());
+
+			// Internal server errors are not
+			server.failures(1, 500);
+			Assertions.assertThrows(NamelessException.class, () -> requests.get("users/id:1"));
+			Assertions.assertEquals(7, server.requestCount("users/{user}"));
+
+			// Too many requests is retried, after waiting
+			server.failures(1, 429);
+			final long start = System.nanoTime();
+			Assertions.assertThrows(NamelessException.class, () -> requests.get("users/id:1"));
+			Assertions.assertEquals(10, server.requestCount("users/{user}"));
+			Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(2));
+
+			server.clearFaults();
+			Assertions.assertNotNull(requests.get("users/id:1"));
+			Assertions.assertEquals(11, server.requestCount("users/{user}"));
+		}
+	}
+
+	@Test
+	void testPostRetries() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final RequestHandler requests = server.apiBuilder().build().requests();
+
+			// The website may have processed the request before the proxy failed, so not retried by default
+			server.failures(1, 502);
+			Assertions.assertThrows(NamelessException.class, () -> requests.post("reports/create", new JsonObject()));
+			Assertions.assertEquals(1, server.requestCount("reports/create"));
+			Assertions.assertThrows(ExecutionException.class, () -> requests.postAsync("reports/create", new JsonObject()).get(10, TimeUnit.SECONDS));
+			Assertions.assertEquals(2, server.requestCount("reports/create"));
+
+			// Too many requests means the request was not processed
+			server.failures(1, 429);
+			Assertions.assertThrows(NamelessException.class, () -> requests.post("reports/create", new JsonObject()));
+			Assertions.assertEquals(5, server.requestCount("reports/create"));
+			Assertions.assertEquals(2, requests.retryCount());
+		}
+	}
+
+	@Test
+	void testConnectionFailure() throws Exception {
+		final NamelessAPI api;
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			api = server.apiBuilder().build();
+		}
+
+		// The server is gone, so connections are refused. The request has certainly not been sent, so POST
+		// requests are retried too.
+		final RequestHandler requests = api.requests();
+		Assertions.assertThrows(NamelessException.class, () -> requests.get("users/id:1"));
+		Assertions.assertEquals(2, requests.retryCount());
+		Assertions.assertThrows(ExecutionException.class, () -> requests.getAsync("users/id:1").get(10, TimeUnit.SECONDS));
+		Assertions.assertEquals(4, requests.retryCount());
+		Assertions.assertThrows(NamelessException.class, () -> requests.post("reports/create", new JsonObject()));
+		Assertions.assertEquals(6, requests.retryCount());
+	}
+
+	@Test
+	void testRetryBudget() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final RequestHandler requests = server.apiBuilder()
+					.getRetryPolicy(RetryPolicy.backoff().baseDelay(Duration.ofMillis(1)).retryOnStatus(502).build())
+					.retryBudget(0, 0)
+					.build()
+					.requests();
+
+			// The budget starts with 10 retries and does not grow, 5 requests use them up
+			server.failures(1, 502);
+			for (int i = 0; i < 8; i++) {
+				Assertions.assertThrows(NamelessException.class, () -> requests.get("users/id:1"));
+			}
+			Assertions.assertEquals(5 * 3 + 3, server.requestCount("users/{user}"));
+			Assertions.assertEquals(10, requests.retryCount());
+			Assertions.assertEquals(3, requests.retriesDeniedByBudgetCount());
+		}
+	}
+
+}
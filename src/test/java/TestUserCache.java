@@ -0,0 +1,87 @@
+import com.namelessmc.java_api.Group;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.UserCache;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.junit.jupiter.api.Assertions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public class TestUserCache {
+
+	@Test
+	void testAliases() throws Exception {
+		final MockData data = MockData.generate(10);
+		final UUID uuid = UUID.fromString("09948878-fe20-44e3-a072-42c39869dd1f");
+		final int userId = data.addUser("Derkades", uuid, 123456789L);
+
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final UserCache cache = UserCache.builder().build();
+			final NamelessAPI api = server.apiBuilder().userCache(cache).build();
+
+			final NamelessUser user = found(api.userByMinecraftUuid(uuid));
+			Assertions.assertEquals(userId, user.id());
+			Assertions.assertEquals("Derkades", found(api.userByDiscordId(123456789L)).username());
+			Assertions.assertEquals("Derkades", found(api.userByUsername("Derkades")).username());
+			Assertions.assertEquals(userId, found(api.userAsync(userId).join()).id());
+			Assertions.assertEquals(1, server.requestCount("users/{user}"));
+			Assertions.assertEquals(3, cache.hitCount());
+
+			// Shared by another API instance
+			final NamelessAPI other = server.apiBuilder().userCache(cache).build();
+			Assertions.assertEquals(userId, found(other.userByMinecraftUuid(uuid)).id());
+			Assertions.assertEquals(1, server.requestCount("users/{user}"));
+
+			// Modifying a user invalidates it, including aliases
+			final Group vip = api.group("VIP").get(0);
+			user.addGroups(vip);
+			Assertions.assertEquals(2, found(api.userByDiscordId(123456789L)).groups().size());
+			Assertions.assertEquals(2, server.requestCount("users/{user}"));
+
+			api.userByMinecraftUuidLazy(uuid).updateUsername("Derkades2");
+			Assertions.assertNull(api.userByUsername("Derkades"));
+			Assertions.assertEquals("Derkades2", found(api.userByMinecraftUuid(uuid)).username());
+			Assertions.assertEquals(4, server.requestCount("users/{user}"));
+
+			// Users that don't exist are not cached
+			Assertions.assertNull(api.userByUsername("Derkades"));
+			Assertions.assertEquals(5, server.requestCount("users/{user}"));
+		}
+	}
+
+	@Test
+	void testEviction() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(100)).start()) {
+			final UserCache cache = UserCache.builder()
+					.maxWeight(20_000)
+					.ttl(Duration.ofMillis(200))
+					.build();
+			final NamelessAPI api = server.apiBuilder().userCache(cache).build();
+			for (int id = 1; id <= 100; id++) {
+				api.user(id);
+			}
+			Assertions.assertTrue(cache.size() < 100);
+			Assertions.assertTrue(cache.evictionCount() > 0);
+
+			api.user(100);
+			final long requests = server.requestCount("users/{user}");
+			api.user(100);
+			Assertions.assertEquals(requests, server.requestCount("users/{user}"));
+			Thread.sleep(300);
+			api.user(100);
+			Assertions.assertEquals(requests + 1, server.requestCount("users/{user}"));
+		}
+	}
+
+	private static NamelessUser found(final @Nullable NamelessUser user) {
+		if (user == null) {
+			throw new AssertionError("User not found");
+		}
+		return user;
+	}
+
+}
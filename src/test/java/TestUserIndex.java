@@ -0,0 +1,230 @@
+import com.namelessmc.java_api.Group;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.RetryPolicy;
+import com.namelessmc.java_api.UserFilter;
+import com.namelessmc.java_api.UserIndex;
+import com.namelessmc.java_api.exception.NamelessException;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.junit.jupiter.api.Assertions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+public class TestUserIndex {
+
+	@Test
+	void testQueries() throws Exception {
+		final MockData data = MockData.generate(300);
+		final UUID uuid = UUID.fromString("09948878-fe20-44e3-a072-42c39869dd1f");
+		final int userId = data.addUser("Derkades", uuid, 123456789L);
+
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI remote = server.apiBuilder().build();
+			final NamelessAPI api = server.apiBuilder().userIndex(UserIndex.builder().pageSize(100)).build();
+			final UserIndex index = userIndex(api);
+			index.refresh().join();
+			Assertions.assertTrue(index.isFresh());
+			Assertions.assertEquals(301, index.size());
+
+			final List<Group> groups = remote.getAllGroups();
+			final List<List<Integer>> expected = new ArrayList<>();
+			for (final Group group : groups) {
+				expected.add(ids(remote.users().withFilter(UserFilter.GROUP_ID, group.getId()).withFilter(UserFilter.BANNED, false).makeRequest()));
+				expected.add(ids(remote.users().any().withFilter(UserFilter.GROUP_ID, group.getId()).withFilter(UserFilter.VERIFIED, false).makeRequest()));
+				expected.add(ids(remote.users().withFilter(UserFilter.GROUP_ID, group.getId()).makeRequest()));
+			}
+
+			final long requests = server.requestCount("users");
+			final List<List<Integer>> actual = new ArrayList<>();
+			for (final Group group : groups) {
+				actual.add(ids(api.users().withFilter(UserFilter.GROUP_ID, group.getId()).withFilter(UserFilter.BANNED, false).makeRequest()));
+				actual.add(ids(api.users().any().withFilter(UserFilter.GROUP_ID, group.getId()).withFilter(UserFilter.VERIFIED, false).makeRequest()));
+				actual.add(ids(index.usersInGroup(group.getId())));
+			}
+			Assertions.assertEquals(expected, actual);
+			Assertions.assertEquals(301, api.users().stream().count());
+			Assertions.assertEquals(requests, server.requestCount("users"));
+
+			Assertions.assertEquals(userId, found(index.userByMinecraftUuid(uuid)).id());
+			Assertions.assertEquals(userId, found(index.userByDiscordId(123456789L)).id());
+			Assertions.assertEquals(userId, found(index.userByUsername("derkades")).id());
+			Assertions.assertEquals("Derkades", found(index.user(userId)).username());
+
+			// Custom filters are sent to the website
+			api.users().withFilter(new UserFilter<>("custom"), "value").makeRequest();
+			Assertions.assertEquals(requests + 1, server.requestCount("users"));
+		}
+	}
+
+	@Test
+	void testRefresh() throws Exception {
+		final MockData data = MockData.generate(50);
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI api = server.apiBuilder()
+					.userIndex(UserIndex.builder().pageSize(20).refreshInterval(Duration.ofMillis(200)))
+					.build();
+			final UserIndex index = userIndex(api);
+			index.refresh().join();
+			final long requests = server.requestCount("users");
+
+			// Only new users are requested
+			final int userId = data.addUser("Derkades", UUID.randomUUID(), null);
+			Thread.sleep(250);
+			await(() -> index.user(userId) != null);
+			Assertions.assertEquals(requests + 1, server.requestCount("users"));
+
+			// Users modified through this library are updated
+			final NamelessUser user = found(index.user(userId));
+			Assertions.assertFalse(user.isBanned());
+			user.banUser();
+			await(() -> {
+				final NamelessUser updated = index.user(userId);
+				try {
+					return updated != null && updated.isBanned();
+				} catch (final NamelessException e) {
+					throw new AssertionError(e);
+				}
+			});
+			Assertions.assertTrue(ids(api.users().withFilter(UserFilter.BANNED, true).makeRequest()).contains(userId));
+		}
+	}
+
+	@Test
+	void testStatusFiltersNeedFullRefresh() throws Exception {
+		final MockData data = MockData.generate(50);
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI api = server.apiBuilder()
+					.userIndex(UserIndex.builder()
+							.refreshInterval(Duration.ofMillis(50))
+							.statusMaxAge(Duration.ofMillis(300)))
+					.getRetryPolicy(RetryPolicy.none())
+					.build();
+			final UserIndex index = userIndex(api);
+			index.refresh().join();
+			Assertions.assertTrue(api.users().withFilter(UserFilter.BANNED, true).makeRequest().isEmpty());
+			final long requests = server.requestCount("users");
+
+			// Banned on the website, only a full refresh would notice
+			data.updateUser(1, user -> user.addProperty("banned", true));
+			final long deadline = System.nanoTime() + Duration.ofMillis(400).toNanos();
+			while (System.nanoTime() < deadline) {
+				index.user(1);
+				Thread.sleep(10);
+			}
+			Assertions.assertTrue(index.isFresh());
+			Assertions.assertTrue(server.requestCount("users") > requests);
+
+			// New users are up to date and answered locally, groups and status are not
+			server.failures(1, 502);
+			Assertions.assertEquals(50, api.users().withFilter(UserFilter.INTEGRATION, "Minecraft").makeRequest().size());
+			Assertions.assertThrows(NamelessException.class, () -> api.users().withFilter(UserFilter.BANNED, true).makeRequest());
+			server.clearFaults();
+			Assertions.assertEquals(List.of(1), ids(api.users().withFilter(UserFilter.BANNED, true).makeRequest()));
+		}
+	}
+
+	@Test
+	void testGroupFilterWithDefaults() throws Exception {
+		final MockData data = MockData.generate(50);
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI api = server.apiBuilder()
+					.userIndex(UserIndex.builder())
+					.getRetryPolicy(RetryPolicy.none())
+					.build();
+			final UserIndex index = userIndex(api);
+			index.refresh().join();
+			final int groupId = api.getAllGroups().get(0).getId();
+			final int expected = api.users().withFilter(UserFilter.GROUP_ID, groupId).makeRequest().size();
+
+			// Two minutes later, only new users have been requested since the full refresh
+			age(index, Duration.ofMinutes(2));
+			index.user(1);
+			await(index::isFresh);
+
+			server.failures(1, 502);
+			Assertions.assertEquals(expected, api.users().withFilter(UserFilter.GROUP_ID, groupId).makeRequest().size());
+		}
+	}
+
+	@Test
+	void testLoadWithoutCompletionExecutor() throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final CountDownLatch blocked = new CountDownLatch(1);
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(50)).start()) {
+			final NamelessAPI api = server.apiBuilder()
+					.completionExecutor(executor)
+					.userIndex(UserIndex.builder().pageSize(20))
+					.build();
+			final UserIndex index = userIndex(api);
+
+			// Like a busy game server thread, loading the index must not need it
+			executor.execute(() -> {
+				try {
+					blocked.await();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			index.user(1);
+			await(index::isFresh);
+			Assertions.assertEquals(50, index.size());
+		} finally {
+			blocked.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private static UserIndex userIndex(final NamelessAPI api) {
+		final @Nullable UserIndex index = api.userIndex();
+		if (index == null) {
+			throw new AssertionError("No user index configured");
+		}
+		return index;
+	}
+
+	private static NamelessUser found(final @Nullable NamelessUser user) {
+		if (user == null) {
+			throw new AssertionError("User not found");
+		}
+		return user;
+	}
+
+	/**
+	 * Pretend the last refreshes happened longer ago, instead of waiting
+	 */
+	private static void age(final UserIndex index, final Duration duration) throws ReflectiveOperationException {
+		for (final String name : List.of("refreshTime", "fullRefreshTime")) {
+			final Field field = UserIndex.class.getDeclaredField(name);
+			field.setAccessible(true);
+			field.setLong(index, field.getLong(index) - duration.toNanos());
+		}
+	}
+
+	private static void await(final BooleanSupplier condition) throws InterruptedException {
+		final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (!condition.getAsBoolean()) {
+			Assertions.assertTrue(System.nanoTime() < deadline, "Timed out");
+			Thread.sleep(10);
+		}
+	}
+
+	private static List<Integer> ids(final List<NamelessUser> users) throws NamelessException {
+		final List<Integer> ids = new ArrayList<>(users.size());
+		for (final NamelessUser user : users) {
+			ids.add(user.id());
+		}
+		return ids;
+	}
+
+}
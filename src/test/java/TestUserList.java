@@ -0,0 +1,106 @@
+import com.namelessmc.java_api.Group;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.RetryPolicy;
+import com.namelessmc.java_api.UserFilter;
+import com.namelessmc.java_api.exception.UncheckedNamelessException;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestUserList {
+
+	@Test
+	void testPages() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(1050)).start()) {
+			final NamelessAPI api = server.apiBuilder().build();
+
+			int previousId = 0;
+			int count = 0;
+			final Iterator<NamelessUser> iterator = api.users().pageSize(100).prefetch(true).makeIterator();
+			while (iterator.hasNext()) {
+				final int id = iterator.next().id();
+				Assertions.assertTrue(id > previousId);
+				previousId = id;
+				count++;
+			}
+			Assertions.assertEquals(1050, count);
+			Assertions.assertEquals(11, server.requestCount("users"));
+
+			final long banned = api.users().withFilter(UserFilter.BANNED, true).makeRequest().size();
+			Assertions.assertEquals(banned, api.users().withFilter(UserFilter.BANNED, true).pageSize(7).stream().count());
+		}
+	}
+
+	@Test
+	void testPrefetchOnCompletionExecutor() throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(350)).start()) {
+			final NamelessAPI api = server.apiBuilder().completionExecutor(executor).build();
+			// Waiting for a prefetched page must not need the completion executor, which is busy iterating
+			final long count = executor.submit(() -> api.users().pageSize(100).prefetch(true).stream().count())
+					.get(10, TimeUnit.SECONDS);
+			Assertions.assertEquals(350, count);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testConcurrentRequestsCoalesced() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(100)).start()) {
+			final NamelessAPI api = server.apiBuilder().build();
+			server.latency(Duration.ofMillis(200));
+			final Future<List<NamelessUser>> first = executor.submit(() -> api.users().makeRequest());
+			final Future<List<NamelessUser>> second = executor.submit(() -> api.users().makeRequest());
+			Assertions.assertEquals(100, first.get(10, TimeUnit.SECONDS).size());
+			Assertions.assertEquals(100, second.get(10, TimeUnit.SECONDS).size());
+			Assertions.assertEquals(1, server.requestCount("users"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testSharedGroups() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(200)).start()) {
+			final NamelessAPI api = server.apiBuilder().build();
+			final Map<Integer, Group> seen = new HashMap<>();
+			for (final NamelessUser user : api.users().makeRequest()) {
+				for (final Group group : user.groups()) {
+					// Identical groups are shared between users
+					Assertions.assertSame(seen.computeIfAbsent(group.getId(), id -> group), group);
+				}
+				Assertions.assertSame(user.groups(), user.groups());
+			}
+			Assertions.assertFalse(seen.isEmpty());
+		}
+	}
+
+	@Test
+	void testFailure() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(100)).start()) {
+			final NamelessAPI api = server.apiBuilder().getRetryPolicy(RetryPolicy.none()).build();
+			final Iterator<NamelessUser> iterator = api.users().pageSize(10).makeIterator();
+			iterator.next();
+			server.failures(1, 500);
+			for (int i = 0; i < 9; i++) {
+				iterator.next();
+			}
+			Assertions.assertThrows(UncheckedNamelessException.class, iterator::hasNext);
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessUser;
+import com.namelessmc.java_api.UserLoader;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import com.namelessmc.java_api.modules.store.StorePayment;
+import org.junit.jupiter.api.Assertions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class TestUserLoader {
+
+	@Test
+	void testHintedUsers() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(2500)).start()) {
+			final NamelessAPI api = server.apiBuilder().userLoader(UserLoader.builder()).build();
+
+			final List<StorePayment> payments = api.store().payments();
+			Assertions.assertEquals(100, payments.size());
+			for (final StorePayment payment : payments) {
+				Assertions.assertEquals(payment.payingCustomer().username(), found(payment.payingCustomer().user()).username());
+			}
+			// All customers are loaded with a single page of the user list
+			Assertions.assertEquals(1, server.requestCount("users"));
+			Assertions.assertEquals(0, server.requestCount("users/{user}"));
+		}
+	}
+
+	@Test
+	void testBlockingOnCompletionExecutor() throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(200)).start()) {
+			final NamelessAPI api = server.apiBuilder()
+					.completionExecutor(executor)
+					.userLoader(UserLoader.builder())
+					.build();
+			// Like a plugin looking up users on the main thread, which is also the completion executor
+			final String username = executor.submit(() -> {
+				for (final StorePayment payment : api.store().payments()) {
+					Assertions.assertNotNull(found(payment.payingCustomer().user()).username());
+				}
+				return api.userLazy(150).username();
+			}).get(10, TimeUnit.SECONDS);
+			Assertions.assertEquals(found(api.user(150)).username(), username);
+			// Asynchronous lookups still complete on the completion executor
+			final Thread executorThread = executor.submit(Thread::currentThread).get();
+			Assertions.assertSame(executorThread, api.userAsync(151).thenApply(user -> Thread.currentThread()).get(10, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testAsyncBatches() throws Exception {
+		final MockData data = MockData.generate(1000);
+		final UUID uuid = UUID.randomUUID();
+		final int userId = data.addUser("Derkades", uuid, 123456789L);
+		try (MockNamelessServer server = MockNamelessServer.builder().data(data).start()) {
+			final NamelessAPI api = server.apiBuilder()
+					.userLoader(UserLoader.builder().window(Duration.ofMillis(50)).pageSize(200).listThreshold(2))
+					.build();
+
+			final List<CompletableFuture<@Nullable NamelessUser>> futures = new ArrayList<>();
+			for (int id = 1; id <= 400; id++) {
+				// Every user twice, lookups of the same user are combined
+				futures.add(api.userAsync(id));
+				futures.add(api.userAsync(id));
+			}
+			final CompletableFuture<@Nullable NamelessUser> missing = api.userAsync(100_000);
+			final CompletableFuture<@Nullable NamelessUser> byUuid = api.userByMinecraftUuidAsync(uuid);
+			final CompletableFuture<@Nullable NamelessUser> byDiscordId = api.userByDiscordIdAsync(123456789L);
+			final CompletableFuture<@Nullable NamelessUser> byMissingUuid = api.userByMinecraftUuidAsync(UUID.randomUUID());
+			for (int i = 0; i < futures.size(); i++) {
+				Assertions.assertEquals(i / 2 + 1, found(futures.get(i).join()).id());
+			}
+			Assertions.assertNull(missing.join());
+			Assertions.assertEquals(userId, found(byUuid.join()).id());
+			Assertions.assertEquals(userId, found(byDiscordId.join()).id());
+			Assertions.assertNull(byMissingUuid.join());
+			// Listing users up to id 400 takes two pages, user 100000 is requested separately. Minecraft UUIDs
+			// are found by listing users, a single Discord id is below the list threshold.
+			Assertions.assertEquals(2, server.requestCount("users/{user}"));
+			Assertions.assertTrue(server.requestCount("users") < 20, "Made " + server.requestCount("users") + " requests");
+
+			// A single user is requested directly
+			Assertions.assertEquals(5, found(api.user(5)).id());
+			Assertions.assertEquals(3, server.requestCount("users/{user}"));
+		}
+	}
+
+	private static NamelessUser found(final @Nullable NamelessUser user) {
+		if (user == null) {
+			throw new AssertionError("User not found");
+		}
+		return user;
+	}
+
+}
@@ -1,7 +1,9 @@
+import com.namelessmc.java_api.IdentifierCodec;
 import com.namelessmc.java_api.NamelessAPI;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
 import java.util.UUID;
 
 public class TestUuid {
@@ -12,6 +14,27 @@ public class TestUuid {
         String website = "09948878fe2044e3a07242c39869dd1f";
         Assertions.assertEquals(NamelessAPI.javaUuidToWebsiteUuid(java), website);
         Assertions.assertEquals(NamelessAPI.websiteUuidToJavaUuid(website), java);
+        Assertions.assertEquals(NamelessAPI.websiteUuidToJavaUuid(website.toUpperCase()), java);
+        Assertions.assertEquals(NamelessAPI.websiteUuidToJavaUuid(java.toString()), java);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid(website.substring(1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NamelessAPI.websiteUuidToJavaUuid(website.replace('f', 'g')));
+    }
+
+    @Test
+    void testBulkConversion() {
+        final Random random = new Random(0);
+        final UUID[] uuids = new UUID[1000];
+        for (int i = 0; i < uuids.length; i++) {
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        final String[] website = new String[uuids.length];
+        IdentifierCodec.javaUuidsToWebsiteUuids(uuids, website);
+        final UUID[] java = new UUID[uuids.length];
+        IdentifierCodec.websiteUuidsToJavaUuids(website, java);
+        for (int i = 0; i < uuids.length; i++) {
+            Assertions.assertEquals(uuids[i].toString().replace("-", ""), website[i]);
+            Assertions.assertEquals(uuids[i], java[i]);
+        }
     }
 
 }
@@ -0,0 +1,81 @@
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.RetryPolicy;
+import com.namelessmc.java_api.Website;
+import com.namelessmc.java_api.exception.MissingModuleException;
+import com.namelessmc.java_api.mock.MockData;
+import com.namelessmc.java_api.mock.MockNamelessServer;
+import com.namelessmc.java_api.modules.NamelessModule;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+public class TestWebsiteCache {
+
+	@Test
+	void testStaleWhileRevalidate() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final NamelessAPI api = server.apiBuilder()
+					.websiteInfoCache(Duration.ofMillis(200), Duration.ZERO)
+					.getRetryPolicy(RetryPolicy.none())
+					.build();
+			Assertions.assertNull(api.websiteIfCached());
+			final Website website = api.website();
+			Assertions.assertSame(website, api.website());
+			Assertions.assertEquals(1, server.requestCount("info"));
+
+			// Expired, the old info is returned while it is refreshed in the background
+			server.data().version("2.2.0");
+			server.latency(Duration.ofMillis(100));
+			Thread.sleep(300);
+			Assertions.assertSame(website, api.website());
+			Assertions.assertSame(website, api.websiteAsync().join());
+			waitFor(() -> api.websiteIfCached() != website);
+			Assertions.assertEquals("2.2.0", api.website().rawVersion());
+			Assertions.assertEquals(2, server.requestCount("info"));
+
+			// A failed refresh keeps the old info
+			final Website refreshed = api.website();
+			server.failures(1, 500);
+			Thread.sleep(300);
+			Assertions.assertSame(refreshed, api.website());
+			waitFor(() -> server.requestCount("info") == 3);
+			Thread.sleep(50);
+			Assertions.assertSame(refreshed, api.website());
+		}
+	}
+
+	@Test
+	void testModules() throws Exception {
+		try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(10)).start()) {
+			final NamelessAPI api = server.apiBuilder()
+					.websiteInfoCache(Duration.ofMillis(200), Duration.ZERO)
+					.build();
+			Assertions.assertSame(api.websend(), api.websend());
+			Assertions.assertSame(api.store(), api.storeAsync().join());
+			Assertions.assertTrue(api.website().modules().contains(NamelessModule.custom("Store")));
+			Assertions.assertFalse(api.website().modules().contains(NamelessModule.custom("Shop")));
+			Assertions.assertEquals(1, server.requestCount("info"));
+
+			server.data().modules().remove("Websend");
+			Thread.sleep(300);
+			api.website();
+			waitFor(() -> {
+				final @Nullable Website cached = api.websiteIfCached();
+				return cached != null && !cached.modules().contains(NamelessModule.WEBSEND);
+			});
+			Assertions.assertThrows(MissingModuleException.class, api::websend);
+		}
+	}
+
+	private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+		final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (!condition.getAsBoolean()) {
+			Assertions.assertTrue(System.nanoTime() < deadline, "Timed out");
+			Thread.sleep(10);
+		}
+	}
+
+}
@@ -0,0 +1,432 @@
+package com.namelessmc.java_api.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.namelessmc.java_api.NamelessAPI;
+
+/**
+ * Website state served by {@link MockNamelessServer}. Users are stored as the JSON objects the website would
+ * return, and are replaced instead of modified, so a response can be written while another request changes the
+ * same user. POST requests that change state, like adding groups or banning a user, change this data.
+ */
+public final class MockData {
+
+	private static final long SEED = 0x4d6f636b4e616d65L;
+	private static final long BASE_TIMESTAMP = 1_514_764_800L; // 2018-01-01
+	private static final String[] LOCALES = {"en_UK", "en_US", "nl_NL", "de_DE", "fr_FR"};
+	private static final String[] NOTIFICATION_TYPES = {"tag", "message", "like", "profile-comment", "follow"};
+
+	private volatile @NonNull String version = "2.1.2";
+	private volatile @NonNull String locale = "en_UK";
+	private final @NonNull List<String> modules = Collections.synchronizedList(new ArrayList<>(
+			List.of("Core", "Forum", "Discord Integration", "Cookie Consent", "Store", "Websend", "Suggestions")));
+	private final @NonNull List<JsonObject> groups = new ArrayList<>();
+	private final @NonNull List<JsonObject> announcements = new ArrayList<>();
+	private final @NonNull List<JsonObject> products = new ArrayList<>();
+	private final @NonNull List<JsonObject> payments = new ArrayList<>();
+
+	private final @NonNull Map<Integer, JsonObject> users = new ConcurrentHashMap<>();
+	// Lookup key (see userTransformer) to user id
+	private final @NonNull Map<String, Integer> userIndex = new ConcurrentHashMap<>();
+	private final @NonNull Map<Integer, List<String>> userIndexKeys = new ConcurrentHashMap<>();
+	private final @NonNull Map<Integer, Integer> notificationCounts = new ConcurrentHashMap<>();
+	private final @NonNull Map<Integer, Float> credits = new ConcurrentHashMap<>();
+	private int nextUserId = 1;
+
+	private final @NonNull Map<Integer, List<JsonObject>> websendCommands = new ConcurrentHashMap<>();
+	private final @NonNull Map<Integer, List<String>> consoleLines = new ConcurrentHashMap<>();
+	private final @NonNull Map<Integer, List<JsonObject>> pendingCommands = new ConcurrentHashMap<>();
+	private int nextCommandId = 1;
+
+	/**
+	 * Create website data with groups, announcements and store products, but no users
+	 */
+	public MockData() {
+		final String[] groupNames = {"Member", "Admin", "Moderator", "VIP", "VIP+", "Builder"};
+		for (int i = 0; i < groupNames.length; i++) {
+			final JsonObject group = new JsonObject();
+			group.addProperty("id", i + 1);
+			group.addProperty("name", groupNames[i]);
+			group.addProperty("staff", i == 1 || i == 2);
+			group.addProperty("order", i + 1);
+			this.groups.add(group);
+		}
+
+		for (int i = 1; i <= 3; i++) {
+			final JsonObject announcement = new JsonObject();
+			announcement.addProperty("id", i);
+			announcement.addProperty("header", "Announcement " + i);
+			announcement.addProperty("message", "This is announcement " + i);
+			final JsonArray pages = new JsonArray();
+			pages.add("index");
+			announcement.add("pages", pages);
+			final JsonArray groups = new JsonArray();
+			groups.add(1);
+			announcement.add("groups", groups);
+			this.announcements.add(announcement);
+		}
+
+		for (int i = 1; i <= 10; i++) {
+			final JsonObject product = new JsonObject();
+			product.addProperty("id", i);
+			product.addProperty("category_id", 1 + i % 3);
+			product.addProperty("name", "Product " + i);
+			product.addProperty("price_cents", 100 * i);
+			product.addProperty("hidden", false);
+			product.addProperty("disabled", false);
+			product.add("required_products", new JsonArray());
+			product.add("required_groups", new JsonArray());
+			product.add("required_integrations", new JsonArray());
+			product.addProperty("description", "<p>Product " + i + "</p>");
+			product.add("fields", new JsonArray());
+			product.add("actions", new JsonArray());
+			this.products.add(product);
+		}
+	}
+
+	/**
+	 * Create website data with generated users. The same user count always produces the same users.
+	 * @param userCount Number of users, with ids 1 to userCount
+	 */
+	public static @NonNull MockData generate(final int userCount) {
+		final MockData data = new MockData();
+		final Random random = new Random(SEED);
+		for (int i = 0; i < userCount; i++) {
+			final String username = "user" + (i + 1);
+			final UUID uuid = new UUID(random.nextLong(), random.nextLong());
+			final int userId = data.addUser(username, uuid, random.nextInt(3) == 0 ? 100_000_000_000_000_000L + i : null);
+			final int extraGroup = random.nextInt(data.groups.size() + 4);
+			if (extraGroup > 0 && extraGroup < data.groups.size()) {
+				data.addGroups(userId, new int[] {extraGroup + 1});
+			}
+			data.notificationCounts.put(userId, random.nextInt(4));
+			data.updateUser(userId, user -> {
+				user.addProperty("locale", LOCALES[random.nextInt(LOCALES.length)]);
+				user.addProperty("registered_timestamp", BASE_TIMESTAMP + random.nextInt(200_000_000));
+				user.addProperty("last_online_timestamp", BASE_TIMESTAMP + 200_000_000 + random.nextInt(10_000_000));
+			});
+		}
+		for (int i = 1; i <= Math.min(userCount, 100); i++) {
+			final JsonObject payment = new JsonObject();
+			payment.addProperty("id", i);
+			payment.addProperty("order_id", i);
+			payment.addProperty("gateway_id", 1);
+			payment.addProperty("transaction", "TX" + i);
+			payment.addProperty("amount", "5.00");
+			payment.addProperty("currency", "USD");
+			payment.addProperty("fee", "0.30");
+			payment.addProperty("status_id", 1);
+			payment.addProperty("created", BASE_TIMESTAMP + i * 3600L);
+			payment.addProperty("last_updated", BASE_TIMESTAMP + i * 3600L);
+			final JsonObject customer = new JsonObject();
+			customer.addProperty("customer_id", i);
+			customer.addProperty("user_id", i);
+			customer.addProperty("username", "user" + i);
+			payment.add("customer", customer);
+			payment.add("recipient", customer);
+			final JsonArray products = new JsonArray();
+			final JsonObject product = new JsonObject();
+			product.addProperty("id", 1 + random.nextInt(10));
+			product.addProperty("name", "Product");
+			products.add(product);
+			payment.add("products", products);
+			data.payments.add(payment);
+		}
+		return data;
+	}
+
+	/**
+	 * Add a user in the member group, with a Minecraft integration and optionally a Discord integration
+	 * @return New user id
+	 */
+	public int addUser(final @NonNull String username,
+					   final @NonNull UUID minecraftUuid,
+					   final @Nullable Long discordId) {
+		final List<JsonObject> integrations = new ArrayList<>(2);
+		integrations.add(integration("Minecraft", NamelessAPI.javaUuidToWebsiteUuid(minecraftUuid), username));
+		if (discordId != null) {
+			integrations.add(integration("Discord", String.valueOf(discordId), username.toLowerCase()));
+		}
+		return this.addUser(username, username.toLowerCase() + "@example.com", integrations);
+	}
+
+	/**
+	 * Add a user in the member group
+	 * @return New user id
+	 */
+	synchronized int addUser(final @NonNull String username,
+							 final @NonNull String email,
+							 final @NonNull List<JsonObject> integrations) {
+		final int id = this.nextUserId++;
+		final JsonObject user = new JsonObject();
+		user.addProperty("exists", true);
+		user.addProperty("id", id);
+		user.addProperty("username", username);
+		user.addProperty("displayname", username);
+		user.addProperty("email", email);
+		user.addProperty("avatar_url", "https://example.com/avatars/" + id + ".png");
+		user.addProperty("locale", "en_UK");
+		user.addProperty("registered_timestamp", BASE_TIMESTAMP);
+		user.addProperty("last_online_timestamp", BASE_TIMESTAMP);
+		user.addProperty("banned", false);
+		user.addProperty("validated", true);
+		final JsonArray groups = new JsonArray();
+		groups.add(this.groups.get(0).deepCopy());
+		user.add("groups", groups);
+		user.add("profile_fields", new JsonObject());
+		final JsonArray integrationsJson = new JsonArray();
+		integrations.forEach(integrationsJson::add);
+		user.add("integrations", integrationsJson);
+		this.putUser(user);
+		return id;
+	}
+
+	static @NonNull JsonObject integration(final @NonNull String name,
+												   final @NonNull String identifier,
+												   final @NonNull String username) {
+		final JsonObject integration = new JsonObject();
+		integration.addProperty("integration", name);
+		integration.addProperty("identifier", identifier);
+		integration.addProperty("username", username);
+		integration.addProperty("verified", true);
+		integration.addProperty("linked_date", BASE_TIMESTAMP);
+		integration.addProperty("show_publicly", true);
+		return integration;
+	}
+
+	private void putUser(final @NonNull JsonObject user) {
+		final int id = user.get("id").getAsInt();
+		this.users.put(id, user);
+		final List<String> keys = new ArrayList<>();
+		keys.add("id:" + id);
+		keys.add(String.valueOf(id));
+		keys.add("username:" + user.get("username").getAsString());
+		keys.add("email:" + user.get("email").getAsString());
+		for (final JsonElement element : user.getAsJsonArray("integrations")) {
+			final JsonObject integration = element.getAsJsonObject();
+			final String name = integration.get("integration").getAsString().toLowerCase();
+			keys.add("integration_id:" + name + ":" + integration.get("identifier").getAsString());
+			keys.add("integration_name:" + name + ":" + integration.get("username").getAsString());
+		}
+		final @Nullable List<String> previousKeys = this.userIndexKeys.put(id, keys);
+		if (previousKeys != null) {
+			previousKeys.forEach(this.userIndex::remove);
+		}
+		keys.forEach(key -> this.userIndex.put(key, id));
+	}
+
+	/**
+	 * Change a user. The change is made to a copy, which then replaces the user.
+	 * @return False if the user does not exist
+	 */
+	public synchronized boolean updateUser(final int id, final @NonNull Consumer<JsonObject> update) {
+		final @Nullable JsonObject user = this.users.get(id);
+		if (user == null) {
+			return false;
+		}
+		final JsonObject copy = user.deepCopy();
+		update.accept(copy);
+		this.putUser(copy);
+		return true;
+	}
+
+	/**
+	 * @param userTransformer Like the website accepts, for example "id:1", "username:user1" or
+	 *                        "integration_id:minecraft:uuid"
+	 * @return User id, or null if no user matches
+	 */
+	public @Nullable Integer userId(final @NonNull String userTransformer) {
+		final int separator = userTransformer.indexOf(':');
+		if (separator > 0 && userTransformer.startsWith("integration_")) {
+			// Integration names are case insensitive
+			final int second = userTransformer.indexOf(':', separator + 1);
+			if (second > 0) {
+				return this.userIndex.get(userTransformer.substring(0, second).toLowerCase() + userTransformer.substring(second));
+			}
+		}
+		return this.userIndex.get(userTransformer);
+	}
+
+	public @Nullable JsonObject user(final int id) {
+		return this.users.get(id);
+	}
+
+	public @NonNull List<JsonObject> users() {
+		final List<JsonObject> users = new ArrayList<>(this.users.values());
+		users.sort((a, b) -> Integer.compare(a.get("id").getAsInt(), b.get("id").getAsInt()));
+		return users;
+	}
+
+	public int userCount() {
+		return this.users.size();
+	}
+
+	synchronized void addGroups(final int userId, final int @NonNull [] groupIds) {
+		this.updateUser(userId, user -> {
+			final JsonArray groups = user.getAsJsonArray("groups");
+			for (final int groupId : groupIds) {
+				final @Nullable JsonObject group = this.group(groupId);
+				if (group == null || containsGroup(groups, groupId)) {
+					continue;
+				}
+				groups.add(group.deepCopy());
+			}
+			final List<JsonElement> sorted = new ArrayList<>(groups.asList());
+			sorted.sort((a, b) -> Integer.compare(a.getAsJsonObject().get("order").getAsInt(), b.getAsJsonObject().get("order").getAsInt()));
+			final JsonArray sortedGroups = new JsonArray();
+			sorted.forEach(sortedGroups::add);
+			user.add("groups", sortedGroups);
+		});
+	}
+
+	synchronized void removeGroups(final int userId, final int @NonNull [] groupIds) {
+		this.updateUser(userId, user -> {
+			final JsonArray groups = user.getAsJsonArray("groups");
+			for (final int groupId : groupIds) {
+				groups.asList().removeIf(group -> group.getAsJsonObject().get("id").getAsInt() == groupId);
+			}
+		});
+	}
+
+	private static boolean containsGroup(final @NonNull JsonArray groups, final int groupId) {
+		for (final JsonElement group : groups) {
+			if (group.getAsJsonObject().get("id").getAsInt() == groupId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public @Nullable JsonObject group(final int id) {
+		for (final JsonObject group : this.groups) {
+			if (group.get("id").getAsInt() == id) {
+				return group;
+			}
+		}
+		return null;
+	}
+
+	public @NonNull List<JsonObject> groups() {
+		return Collections.unmodifiableList(this.groups);
+	}
+
+	public @NonNull List<JsonObject> announcements() {
+		return Collections.unmodifiableList(this.announcements);
+	}
+
+	public @NonNull List<JsonObject> products() {
+		return Collections.unmodifiableList(this.products);
+	}
+
+	public @NonNull List<JsonObject> payments() {
+		return Collections.unmodifiableList(this.payments);
+	}
+
+	public int notificationCount(final int userId) {
+		return this.notificationCounts.getOrDefault(userId, 0);
+	}
+
+	@NonNull String notificationType(final int index) {
+		return NOTIFICATION_TYPES[index % NOTIFICATION_TYPES.length];
+	}
+
+	public float credits(final int userId) {
+		return this.credits.getOrDefault(userId, 0f);
+	}
+
+	void addCredits(final int userId, final float credits) {
+		this.credits.merge(userId, credits, Float::sum);
+	}
+
+	public @NonNull String version() {
+		return this.version;
+	}
+
+	public void version(final @NonNull String version) {
+		this.version = version;
+	}
+
+	public @NonNull String locale() {
+		return this.locale;
+	}
+
+	public void locale(final @NonNull String locale) {
+		this.locale = locale;
+	}
+
+	/**
+	 * @return Mutable list of installed module names
+	 */
+	public @NonNull List<String> modules() {
+		return this.modules;
+	}
+
+	/**
+	 * Queue a command, returned once by the next websend/commands request for the server
+	 */
+	public synchronized void addWebsendCommand(final int serverId, final @NonNull String command) {
+		final JsonObject json = new JsonObject();
+		json.addProperty("id", this.nextCommandId++);
+		json.addProperty("command", command);
+		this.websendCommands.computeIfAbsent(serverId, ignored -> new ArrayList<>()).add(json);
+	}
+
+	synchronized @NonNull List<JsonObject> takeWebsendCommands(final int serverId) {
+		final @Nullable List<JsonObject> commands = this.websendCommands.remove(serverId);
+		return commands != null ? commands : List.of();
+	}
+
+	synchronized void addConsoleLines(final int serverId, final @NonNull List<String> lines, final boolean clearPrevious) {
+		final List<String> console = this.consoleLines.computeIfAbsent(serverId, ignored -> new ArrayList<>());
+		if (clearPrevious) {
+			console.clear();
+		}
+		console.addAll(lines);
+	}
+
+	/**
+	 * @return Console lines sent using websend/console
+	 */
+	public synchronized @NonNull List<String> consoleLines(final int serverId) {
+		final @Nullable List<String> lines = this.consoleLines.get(serverId);
+		return lines != null ? List.copyOf(lines) : List.of();
+	}
+
+	/**
+	 * Queue a store command for a user, returned by store/pending-commands until it is marked as executed
+	 */
+	public synchronized void addPendingCommand(final int connectionId, final int userId, final @NonNull String command) {
+		final JsonObject json = new JsonObject();
+		json.addProperty("id", this.nextCommandId++);
+		json.addProperty("user_id", userId);
+		json.addProperty("command", command);
+		json.addProperty("order_id", 1);
+		json.addProperty("require_online", false);
+		this.pendingCommands.computeIfAbsent(connectionId, ignored -> new ArrayList<>()).add(json);
+	}
+
+	synchronized @NonNull List<JsonObject> pendingCommands(final int connectionId) {
+		final @Nullable List<JsonObject> commands = this.pendingCommands.get(connectionId);
+		return commands != null ? List.copyOf(commands) : List.of();
+	}
+
+	synchronized void markCommandsExecuted(final @NonNull List<Integer> commandIds) {
+		for (final List<JsonObject> commands : this.pendingCommands.values()) {
+			commands.removeIf(command -> commandIds.contains(command.get("id").getAsInt()));
+		}
+	}
+
+}
@@ -0,0 +1,794 @@
+package com.namelessmc.java_api.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.namelessmc.java_api.NamelessAPI;
+import com.namelessmc.java_api.NamelessApiBuilder;
+import com.namelessmc.java_api.exception.ApiError;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process HTTP server implementing the NamelessMC v2 API routes used by this library, for tests and load tests
+ * that should not depend on a real website. Serves {@link MockData}, and can inject latency and errors.
+ * <p>
+ * Latency is injected without blocking a server thread, so a small server can sustain thousands of slow requests
+ * per second.
+ * <pre>
+ * try (MockNamelessServer server = MockNamelessServer.builder().data(MockData.generate(1000)).start()) {
+ *     NamelessAPI api = server.apiBuilder().build();
+ *     server.latency(Duration.ofMillis(20), Duration.ofMillis(50));
+ *     ...
+ * }
+ * </pre>
+ */
+public final class MockNamelessServer implements AutoCloseable {
+
+	private static final String ROUTE_PREFIX = "route=/api/v2/";
+	private static final byte[] SERVER_ERROR = "<html><body><h1>Internal Server Error</h1></body></html>"
+			.getBytes(StandardCharsets.UTF_8);
+
+	private final @NonNull HttpServer server;
+	private final @NonNull ExecutorService executor;
+	private final @NonNull ScheduledExecutorService delayExecutor;
+	private final @NonNull MockData data;
+	private final @NonNull String apiKey;
+	private final @NonNull Gson gson = new Gson();
+	private final @NonNull Map<String, RouteHandler> routes = new HashMap<>();
+
+	private volatile long minLatencyNanos = 0;
+	private volatile long maxLatencyNanos = 0;
+	private volatile @Nullable LongFunction<Duration> latencyFunction = null;
+	private volatile double failureRatio = 0;
+	private volatile int failureStatusCode = 500;
+	private volatile @Nullable Duration cacheMaxAge = null;
+	private final @NonNull Map<String, ApiError> apiErrors = new ConcurrentHashMap<>();
+
+	private final @NonNull AtomicLong requestCount = new AtomicLong();
+	private final @NonNull Map<String, LongAdder> routeRequestCounts = new ConcurrentHashMap<>();
+
+	private MockNamelessServer(final @NonNull Builder builder) throws IOException {
+		this.data = builder.data;
+		this.apiKey = builder.apiKey;
+		this.executor = Executors.newFixedThreadPool(builder.threads, daemonThreads("mock-nameless-server"));
+		this.delayExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreads("mock-nameless-latency"));
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port), 1024);
+		this.registerRoutes();
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/", this::handle);
+		this.server.start();
+	}
+
+	public static @NonNull Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return API URL to pass to {@link NamelessAPI#builder(URL, String)}
+	 */
+	public @NonNull URL apiUrl() {
+		try {
+			return new URL("http://127.0.0.1:" + this.server.getAddress().getPort() + "/index.php?route=/api/v2/");
+		} catch (final MalformedURLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return API builder with this server's URL and API key
+	 */
+	public @NonNull NamelessApiBuilder apiBuilder() {
+		return NamelessAPI.builder(this.apiUrl(), this.apiKey);
+	}
+
+	public @NonNull MockData data() {
+		return this.data;
+	}
+
+	/**
+	 * Delay every response by a fixed amount of time
+	 */
+	public void latency(final @NonNull Duration latency) {
+		this.latency(latency, latency);
+	}
+
+	/**
+	 * Delay every response by a random amount of time, uniformly distributed between min and max
+	 */
+	public void latency(final @NonNull Duration min, final @NonNull Duration max) {
+		Preconditions.checkArgument(!min.isNegative() && max.compareTo(min) >= 0, "Invalid latency range");
+		this.minLatencyNanos = min.toNanos();
+		this.maxLatencyNanos = max.toNanos();
+		this.latencyFunction = null;
+	}
+
+	/**
+	 * Delay each response by a different amount of time, for example to make only the first request slow
+	 * @param latency Returns the delay for a request, given its number. The first request is number 1.
+	 */
+	public void latency(final @NonNull LongFunction<Duration> latency) {
+		this.latencyFunction = Objects.requireNonNull(latency, "Latency function is null");
+	}
+
+	/**
+	 * Respond to a fraction of requests with an HTML error page, like a broken web server or proxy would
+	 * @param ratio Fraction of requests to fail, between 0 and 1
+	 * @param statusCode Status code of failed responses, for example 500 or 429
+	 */
+	public void failures(final double ratio, final int statusCode) {
+		Preconditions.checkArgument(ratio >= 0 && ratio <= 1, "Ratio must be in [0, 1]");
+		this.failureStatusCode = statusCode;
+		this.failureRatio = ratio;
+	}
+
+	/**
+	 * Respond to all requests for a route with an API error
+	 * @param route Route template, for example "users/{user}" or "websend/commands"
+	 * @param error Error to respond with, or null to respond normally again
+	 */
+	public void apiError(final @NonNull String route, final @Nullable ApiError error) {
+		if (error == null) {
+			this.apiErrors.remove(route);
+		} else {
+			this.apiErrors.put(route, error);
+		}
+	}
+
+	/**
+	 * Send caching headers with successful GET responses: an ETag, and Cache-Control with the given max age.
+	 * Conditional requests for an unchanged response are answered with 304 Not Modified. The website does not
+	 * send these headers, this is for testing HTTP caching.
+	 * @param maxAge Max age, or null to not send caching headers (default)
+	 */
+	public void cacheHeaders(final @Nullable Duration maxAge) {
+		this.cacheMaxAge = maxAge;
+	}
+
+	/**
+	 * Remove injected latency, failures and API errors
+	 */
+	public void clearFaults() {
+		this.latency(Duration.ZERO);
+		this.failures(0, 500);
+		this.apiErrors.clear();
+	}
+
+	/**
+	 * @return Number of requests received, including failed requests
+	 */
+	public long requestCount() {
+		return this.requestCount.get();
+	}
+
+	/**
+	 * @param route Route template, for example "users/{user}" or "websend/commands"
+	 * @return Number of requests received for the route
+	 */
+	public long requestCount(final @NonNull String route) {
+		final @Nullable LongAdder count = this.routeRequestCounts.get(route);
+		return count != null ? count.sum() : 0;
+	}
+
+	@Override
+	public void close() {
+		this.server.stop(0);
+		this.executor.shutdownNow();
+		this.delayExecutor.shutdownNow();
+	}
+
+	private void handle(final @NonNull HttpExchange exchange) throws IOException {
+		final long number = this.requestCount.incrementAndGet();
+		Response response;
+		try {
+			response = this.respond(exchange);
+		} catch (final MockApiException e) {
+			response = this.error(e.error, e.statusCode);
+		} catch (final RuntimeException e) {
+			// Mostly invalid requests, a real website would respond with a PHP error
+			response = new Response(500, "text/html", SERVER_ERROR);
+		}
+
+		final @Nullable LongFunction<Duration> latencyFunction = this.latencyFunction;
+		final long delay;
+		if (latencyFunction != null) {
+			delay = latencyFunction.apply(number).toNanos();
+		} else {
+			final long min = this.minLatencyNanos;
+			final long max = this.maxLatencyNanos;
+			delay = max > min ? ThreadLocalRandom.current().nextLong(min, max) : min;
+		}
+		if (delay > 0) {
+			final Response delayed = response;
+			this.delayExecutor.schedule(() -> send(exchange, delayed), delay, TimeUnit.NANOSECONDS);
+		} else {
+			send(exchange, response);
+		}
+	}
+
+	private static void send(final @NonNull HttpExchange exchange, final @NonNull Response response) {
+		try (exchange) {
+			exchange.getResponseHeaders().set("Content-Type", response.contentType);
+			final @Nullable String cacheControl = response.cacheControl;
+			final @Nullable String etag = response.etag;
+			if (cacheControl != null && etag != null) {
+				exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+				exchange.getResponseHeaders().set("ETag", etag);
+			}
+			exchange.sendResponseHeaders(response.statusCode, response.body.length == 0 ? -1 : response.body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(response.body);
+			}
+		} catch (final IOException e) {
+			// Client went away
+		}
+	}
+
+	private @NonNull Response respond(final @NonNull HttpExchange exchange) throws IOException, MockApiException {
+		final @Nullable String query = exchange.getRequestURI().getRawQuery();
+		if (query == null || !query.startsWith(ROUTE_PREFIX)) {
+			return new Response(404, "text/html", "Not found".getBytes(StandardCharsets.UTF_8));
+		}
+
+		final String[] parts = query.substring(ROUTE_PREFIX.length()).split("&");
+		final String[] segments = parts[0].split("/");
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = URLDecoder.decode(segments[i], StandardCharsets.UTF_8);
+		}
+		final Map<String, String> parameters = new LinkedHashMap<>();
+		for (int i = 1; i < parts.length; i++) {
+			final int equals = parts[i].indexOf('=');
+			if (equals < 0) {
+				parameters.put(parts[i], "");
+			} else {
+				parameters.put(parts[i].substring(0, equals), URLDecoder.decode(parts[i].substring(equals + 1), StandardCharsets.UTF_8));
+			}
+		}
+
+		final String route = routeTemplate(segments);
+		this.routeRequestCounts.computeIfAbsent(route, ignored -> new LongAdder()).increment();
+
+		final double failureRatio = this.failureRatio;
+		if (failureRatio > 0 && ThreadLocalRandom.current().nextDouble() < failureRatio) {
+			return new Response(this.failureStatusCode, "text/html", SERVER_ERROR);
+		}
+
+		final @Nullable String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+		if (authorization == null) {
+			throw new MockApiException(ApiError.NAMELESS_MISSING_API_KEY, 401);
+		}
+		if (!authorization.equals("Bearer " + this.apiKey)) {
+			throw new MockApiException(ApiError.NAMELESS_INVALID_API_KEY, 401);
+		}
+
+		final @Nullable ApiError injectedError = this.apiErrors.get(route);
+		if (injectedError != null) {
+			throw new MockApiException(injectedError, 400);
+		}
+
+		final @Nullable RouteHandler handler = this.routes.get(exchange.getRequestMethod() + " " + route);
+		if (handler == null) {
+			throw new MockApiException(ApiError.NAMELESS_INVALID_API_METHOD, 404);
+		}
+
+		final JsonObject body;
+		if (exchange.getRequestMethod().equals("POST")) {
+			try (InputStream in = exchange.getRequestBody()) {
+				final JsonElement element = JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+				if (!element.isJsonObject()) {
+					throw new MockApiException(ApiError.NAMELESS_INVALID_POST_CONTENTS, 400);
+				}
+				body = element.getAsJsonObject();
+			}
+		} else {
+			body = new JsonObject();
+		}
+
+		final int userId;
+		if (route.contains("{user}")) {
+			final @Nullable Integer id = this.data.userId(segments[1]);
+			if (id == null) {
+				throw new MockApiException(ApiError.NAMELESS_CANNOT_FIND_USER, 404);
+			}
+			userId = id;
+		} else {
+			userId = -1;
+		}
+
+		final JsonObject result = handler.handle(new Request(parameters, body, userId));
+		final Response response = new Response(200, "application/json", this.json(result));
+		final @Nullable Duration cacheMaxAge = this.cacheMaxAge;
+		if (cacheMaxAge != null && exchange.getRequestMethod().equals("GET")) {
+			response.cacheControl = "max-age=" + cacheMaxAge.toSeconds();
+			response.etag = "\"" + Integer.toHexString(Arrays.hashCode(response.body)) + "\"";
+			if (response.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				final Response notModified = new Response(304, "application/json", new byte[0]);
+				notModified.cacheControl = response.cacheControl;
+				notModified.etag = response.etag;
+				return notModified;
+			}
+		}
+		return response;
+	}
+
+	/**
+	 * Replace the user transformer in a route by "{user}"
+	 */
+	private static @NonNull String routeTemplate(final @NonNull String @NonNull [] segments) {
+		if (segments.length >= 2) {
+			final boolean transformer;
+			switch (segments[0]) {
+				case "users":
+					transformer = !segments[1].equals("register");
+					break;
+				case "discord":
+				case "minecraft":
+					transformer = segments.length > 2;
+					break;
+				default:
+					transformer = false;
+			}
+			if (transformer) {
+				final String[] template = segments.clone();
+				template[1] = "{user}";
+				return String.join("/", template);
+			}
+		}
+		return String.join("/", segments);
+	}
+
+	private byte @NonNull [] json(final @NonNull JsonObject json) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+			this.gson.toJson(json, writer);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private @NonNull Response error(final @NonNull ApiError error, final int statusCode) {
+		final JsonObject json = new JsonObject();
+		json.addProperty("error", error.toString());
+		json.add("meta", JsonNull.INSTANCE);
+		return new Response(statusCode, "application/json", this.json(json));
+	}
+
+	private void route(final @NonNull String method, final @NonNull String route, final @NonNull RouteHandler handler) {
+		this.routes.put(method + " " + route, handler);
+	}
+
+	private void registerRoutes() {
+		final MockData data = this.data;
+
+		this.route("GET", "info", request -> {
+			final JsonObject json = new JsonObject();
+			json.addProperty("nameless_version", data.version());
+			json.addProperty("locale", data.locale());
+			final JsonArray modules = new JsonArray();
+			synchronized (data.modules()) {
+				data.modules().forEach(modules::add);
+			}
+			json.add("modules", modules);
+			return json;
+		});
+
+		this.route("GET", "announcements", request -> listResponse("announcements", data.announcements()));
+
+		this.route("GET", "groups", request -> {
+			final @Nullable String id = request.parameters.get("id");
+			final @Nullable String name = request.parameters.get("name");
+			final JsonArray groups = new JsonArray();
+			for (final JsonObject group : data.groups()) {
+				if ((id == null || group.get("id").getAsString().equals(id)) &&
+						(name == null || group.get("name").getAsString().equals(name))) {
+					groups.add(group);
+				}
+			}
+			final JsonObject json = new JsonObject();
+			json.add("groups", groups);
+			return json;
+		});
+
+		this.route("GET", "users", request -> {
+			final boolean and = !"OR".equalsIgnoreCase(request.parameters.get("operator"));
+			final @Nullable String limitParameter = request.parameters.get("limit");
+			final int limit = limitParameter != null ? Integer.parseInt(limitParameter) : 0;
+			final @Nullable String offsetParameter = request.parameters.get("offset");
+			int skip = offsetParameter != null ? Integer.parseInt(offsetParameter) : 0;
+			final List<Filter> filters = new ArrayList<>();
+			request.parameters.forEach((name, value) -> {
+				switch (name) {
+					case "banned":
+						filters.add(user -> user.get("banned").getAsBoolean() == Boolean.parseBoolean(value));
+						break;
+					case "verified":
+						filters.add(user -> user.get("validated").getAsBoolean() == Boolean.parseBoolean(value));
+						break;
+					case "group_id":
+						filters.add(user -> user.getAsJsonArray("groups").asList().stream()
+								.anyMatch(group -> group.getAsJsonObject().get("id").getAsString().equals(value)));
+						break;
+					case "integration":
+						filters.add(user -> user.getAsJsonArray("integrations").asList().stream()
+								.anyMatch(integration -> integration.getAsJsonObject().get("integration").getAsString().equalsIgnoreCase(value)));
+						break;
+					default:
+				}
+			});
+			final JsonArray users = new JsonArray();
+			for (final JsonObject user : data.users()) {
+				if (limit > 0 && users.size() >= limit) {
+					break;
+				}
+				if (filters.isEmpty() ||
+						(and ? filters.stream().allMatch(f -> f.test(user)) : filters.stream().anyMatch(f -> f.test(user)))) {
+					if (skip > 0) {
+						skip--;
+					} else {
+						users.add(user);
+					}
+				}
+			}
+			final JsonObject json = new JsonObject();
+			json.addProperty("limit", limit);
+			json.add("users", users);
+			return json;
+		});
+
+		this.route("GET", "users/{user}", request -> {
+			final @Nullable JsonObject user = data.user(request.userId);
+			if (user == null) {
+				// Deleted after the user id was looked up
+				throw new MockApiException(ApiError.NAMELESS_CANNOT_FIND_USER, 404);
+			}
+			return user;
+		});
+
+		this.route("GET", "users/{user}/notifications", request -> {
+			final JsonArray notifications = new JsonArray();
+			for (int i = 0; i < data.notificationCount(request.userId); i++) {
+				final JsonObject notification = new JsonObject();
+				notification.addProperty("type", data.notificationType(i));
+				notification.addProperty("message", "Notification " + (i + 1));
+				notification.addProperty("url", "https://example.com/notifications/" + (i + 1));
+				notifications.add(notification);
+			}
+			final JsonObject json = new JsonObject();
+			json.add("notifications", notifications);
+			return json;
+		});
+
+		this.route("GET", "users/{user}/announcements", request -> listResponse("announcements", data.announcements()));
+
+		this.route("POST", "users/register", request -> {
+			final String username = request.body.get("username").getAsString();
+			final String email = request.body.get("email").getAsString();
+			if (data.userId("username:" + username) != null) {
+				throw new MockApiException(ApiError.CORE_USERNAME_ALREADY_EXISTS, 400);
+			}
+			if (data.userId("email:" + email) != null) {
+				throw new MockApiException(ApiError.CORE_EMAIL_ALREADY_EXISTS, 400);
+			}
+			final List<JsonObject> integrations = new ArrayList<>();
+			if (request.body.has("integrations")) {
+				for (final Map.Entry<String, JsonElement> entry : request.body.getAsJsonObject("integrations").entrySet()) {
+					final JsonObject integration = entry.getValue().getAsJsonObject();
+					integrations.add(MockData.integration(entry.getKey(),
+							integration.get("identifier").getAsString(), integration.get("username").getAsString()));
+				}
+			}
+			final int userId = data.addUser(username, email, integrations);
+			final JsonObject json = new JsonObject();
+			json.addProperty("user_id", userId);
+			json.addProperty("link", "https://example.com/complete_signup/?c=" + userId);
+			return json;
+		});
+
+		this.route("POST", "users/{user}/update-username", request -> {
+			final String username = request.body.get("username").getAsString();
+			data.updateUser(request.userId, user -> {
+				user.addProperty("username", username);
+				user.addProperty("displayname", username);
+			});
+			return new JsonObject();
+		});
+
+		this.route("POST", "users/{user}/groups/add", request -> {
+			data.addGroups(request.userId, groupIds(request.body));
+			return new JsonObject();
+		});
+
+		this.route("POST", "users/{user}/groups/remove", request -> {
+			data.removeGroups(request.userId, groupIds(request.body));
+			return new JsonObject();
+		});
+
+		this.route("POST", "users/{user}/ban", request -> {
+			data.updateUser(request.userId, user -> user.addProperty("banned", true));
+			return new JsonObject();
+		});
+
+		this.route("POST", "users/{user}/verify", request -> {
+			data.updateUser(request.userId, user -> user.addProperty("validated", true));
+			return new JsonObject();
+		});
+
+		this.route("GET", "users/{user}/credits", request -> {
+			final float credits = data.credits(request.userId);
+			final JsonObject json = new JsonObject();
+			json.addProperty("credits", credits);
+			json.addProperty("cents", Math.round(credits * 100));
+			json.addProperty("customer_id", request.userId);
+			return json;
+		});
+
+		this.route("POST", "users/{user}/add-credits", request -> {
+			data.addCredits(request.userId, request.body.get("credits").getAsFloat());
+			return new JsonObject();
+		});
+
+		this.route("POST", "users/{user}/remove-credits", request -> {
+			data.addCredits(request.userId, -request.body.get("credits").getAsFloat());
+			return new JsonObject();
+		});
+
+		this.route("POST", "integration/verify", request -> new JsonObject());
+		this.route("POST", "reports/create", request -> new JsonObject());
+		this.route("POST", "minecraft/server-info", request -> new JsonObject());
+		this.route("POST", "minecraft/update-groups", request -> new JsonObject());
+		this.route("POST", "minecraft/{user}/sync-groups", request -> new JsonObject());
+
+		this.route("GET", "store/products", request -> {
+			final JsonObject json = new JsonObject();
+			json.add("products", toArray(data.products()));
+			final JsonArray categories = new JsonArray();
+			for (int i = 1; i <= 3; i++) {
+				final JsonObject category = new JsonObject();
+				category.addProperty("id", i);
+				category.addProperty("name", "Category " + i);
+				category.addProperty("hidden", false);
+				category.addProperty("disabled", false);
+				categories.add(category);
+			}
+			json.add("categories", categories);
+			return json;
+		});
+
+		this.route("GET", "store/payments", request -> listResponse("payments", data.payments()));
+
+		this.route("GET", "store/pending-commands", request -> {
+			final int connectionId = Integer.parseInt(request.parameter("connection_id"));
+			final Map<Integer, JsonObject> customers = new LinkedHashMap<>();
+			for (final JsonObject command : data.pendingCommands(connectionId)) {
+				final int userId = command.get("user_id").getAsInt();
+				final JsonObject customer = customers.computeIfAbsent(userId, id -> {
+					final @Nullable JsonObject user = data.user(id);
+					final JsonObject json = new JsonObject();
+					json.addProperty("customer_id", id);
+					json.addProperty("user_id", id);
+					json.addProperty("username", user != null ? user.get("username").getAsString() : "user" + id);
+					json.add("commands", new JsonArray());
+					return json;
+				});
+				customer.getAsJsonArray("commands").add(command);
+			}
+			final JsonObject json = new JsonObject();
+			json.addProperty("online_mode", true);
+			json.add("customers", toArray(customers.values()));
+			return json;
+		});
+
+		this.route("POST", "store/commands-executed", request -> {
+			final List<Integer> ids = new ArrayList<>();
+			request.body.getAsJsonArray("commands").forEach(id -> ids.add(id.getAsInt()));
+			data.markCommandsExecuted(ids);
+			return new JsonObject();
+		});
+
+		this.route("POST", "store/order/create", request -> new JsonObject());
+
+		this.route("GET", "websend/commands", request -> {
+			final int serverId = Integer.parseInt(request.parameter("server_id"));
+			return listResponse("commands", data.takeWebsendCommands(serverId));
+		});
+
+		this.route("POST", "websend/console", request -> {
+			final List<String> lines = new ArrayList<>();
+			request.body.getAsJsonArray("content").forEach(line -> lines.add(line.getAsString()));
+			data.addConsoleLines(request.body.get("server_id").getAsInt(), lines,
+					request.body.has("clear_previous") && request.body.get("clear_previous").getAsBoolean());
+			return new JsonObject();
+		});
+
+		this.route("POST", "discord/update-bot-settings", request -> new JsonObject());
+		this.route("POST", "discord/update-usernames", request -> new JsonObject());
+		this.route("POST", "discord/submit-role-list", request -> new JsonObject());
+		this.route("POST", "discord/set-roles", request -> new JsonObject());
+		this.route("POST", "discord/{user}/sync-roles", request -> new JsonObject());
+	}
+
+	private static @NonNull JsonObject listResponse(final @NonNull String field, final @NonNull Iterable<JsonObject> elements) {
+		final JsonObject json = new JsonObject();
+		json.add(field, toArray(elements));
+		return json;
+	}
+
+	private static @NonNull JsonArray toArray(final @NonNull Iterable<JsonObject> elements) {
+		final JsonArray array = new JsonArray();
+		elements.forEach(array::add);
+		return array;
+	}
+
+	private static int @NonNull [] groupIds(final @NonNull JsonObject body) {
+		return body.getAsJsonArray("groups").asList().stream().mapToInt(JsonElement::getAsInt).toArray();
+	}
+
+	private static @NonNull ThreadFactory daemonThreads(final @NonNull String name) {
+		final AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			final Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	@FunctionalInterface
+	private interface RouteHandler {
+
+		@NonNull JsonObject handle(@NonNull Request request) throws MockApiException;
+
+	}
+
+	@FunctionalInterface
+	private interface Filter {
+
+		boolean test(@NonNull JsonObject user);
+
+	}
+
+	private static final class Request {
+
+		private final @NonNull Map<String, String> parameters;
+		private final @NonNull JsonObject body;
+		private final int userId;
+
+		private Request(final @NonNull Map<String, String> parameters, final @NonNull JsonObject body, final int userId) {
+			this.parameters = parameters;
+			this.body = body;
+			this.userId = userId;
+		}
+
+		private @NonNull String parameter(final @NonNull String name) throws MockApiException {
+			final @Nullable String value = this.parameters.get(name);
+			if (value == null) {
+				throw new MockApiException(ApiError.NAMELESS_INVALID_GET_CONTENTS, 400);
+			}
+			return value;
+		}
+
+	}
+
+	private static final class Response {
+
+		private final int statusCode;
+		private final @NonNull String contentType;
+		private final byte @NonNull [] body;
+		private @Nullable String cacheControl;
+		private @Nullable String etag;
+
+		private Response(final int statusCode, final @NonNull String contentType, final byte @NonNull [] body) {
+			this.statusCode = statusCode;
+			this.contentType = contentType;
+			this.body = body;
+		}
+
+	}
+
+	private static final class MockApiException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		private final @NonNull ApiError error;
+		private final int statusCode;
+
+		private MockApiException(final @NonNull ApiError error, final int statusCode) {
+			super(error.toString(), null, false, false);
+			this.error = error;
+			this.statusCode = statusCode;
+		}
+
+	}
+
+	public static final class Builder {
+
+		private @NonNull MockData data = new MockData();
+		private @NonNull String apiKey = "mock";
+		private int port = 0;
+		private int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+		private Builder() {
+		}
+
+		/**
+		 * @param data Website data to serve, default without users
+		 */
+		public @NonNull Builder data(final @NonNull MockData data) {
+			this.data = Objects.requireNonNull(data, "Data is null");
+			return this;
+		}
+
+		/**
+		 * @param apiKey API key clients must send, default "mock"
+		 */
+		public @NonNull Builder apiKey(final @NonNull String apiKey) {
+			this.apiKey = Objects.requireNonNull(apiKey, "API key is null");
+			return this;
+		}
+
+		/**
+		 * @param port Port to listen on, default 0 to choose a free port
+		 */
+		public @NonNull Builder port(final int port) {
+			Preconditions.checkArgument(port >= 0 && port <= 65535, "Invalid port");
+			this.port = port;
+			return this;
+		}
+
+		/**
+		 * @param threads Number of threads handling requests, default the number of processors but at least 4
+		 */
+		public @NonNull Builder threads(final int threads) {
+			Preconditions.checkArgument(threads >= 1, "Threads must be at least 1");
+			this.threads = threads;
+			return this;
+		}
+
+		public @NonNull MockNamelessServer start() throws IOException {
+			return new MockNamelessServer(this);
+		}
+
+	}
+
+}